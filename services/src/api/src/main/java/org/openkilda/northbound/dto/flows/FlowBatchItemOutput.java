@@ -0,0 +1,52 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.dto.flows;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The result of a single flow of a batch operation.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlowBatchItemOutput {
+    @JsonProperty("flow_id")
+    private String flowId;
+
+    @JsonProperty("successful")
+    private boolean successful;
+
+    @JsonProperty("error")
+    private String error;
+
+    @Builder
+    @JsonCreator
+    public FlowBatchItemOutput(
+            @JsonProperty("flow_id") String flowId,
+            @JsonProperty("successful") boolean successful,
+            @JsonProperty("error") String error) {
+        this.flowId = flowId;
+        this.successful = successful;
+        this.error = error;
+    }
+}
@@ -26,4 +26,10 @@ public interface KafkaConfig {
     @Key("hosts")
     @NotBlank
     String getHosts();
+
+    /**
+     * Comma separated list of topics to be written in the binary format.
+     */
+    @Key("binary-topics")
+    String getBinaryTopics();
 }
@@ -41,6 +41,13 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
     @Key("testing-mode")
     String getTestingMode();
 
+    /**
+     * Comma separated list of topics that must be written in the binary format (see
+     * {@link org.openkilda.messaging.codec.MessageCodec}). All other topics are written as JSON.
+     */
+    @Key("binary-topics")
+    String getBinaryTopics();
+
     default boolean isTestingMode() {
         return "YES".equals(getTestingMode());
     }
@@ -76,7 +83,7 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
         properties.put("linger.ms", 10);
 
         properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        properties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 
         return properties;
     }
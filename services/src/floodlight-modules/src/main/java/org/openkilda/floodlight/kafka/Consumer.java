@@ -18,13 +18,17 @@ package org.openkilda.floodlight.kafka;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.floodlight.service.kafka.KafkaConsumerSetup;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
@@ -33,15 +37,24 @@ import org.apache.kafka.common.errors.InterruptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ExecutorService;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 public class Consumer implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
+    private static final String SWITCH_ID_FIELD = "switch_id";
 
-    private final ExecutorService handlersPool;
+    private final SwitchAffinityExecutor handlersPool;
     private final RecordHandler.Factory handlerFactory;
     private final KafkaConsumerSetup kafkaSetup;
     private final long commitInterval;
@@ -49,7 +62,7 @@ public class Consumer implements Runnable {
     private final KafkaUtilityService kafkaUtilityService;
     private final ISwitchManager switchManager; // HACK alert.. adding to facilitate safeSwitchTick()
 
-    public Consumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
+    public Consumer(FloodlightModuleContext moduleContext, SwitchAffinityExecutor handlersPool,
                     KafkaConsumerSetup kafkaSetup, RecordHandler.Factory handlerFactory,
                     long commitInterval) {
         this.handlersPool = requireNonNull(handlersPool);
@@ -76,32 +89,53 @@ public class Consumer implements Runnable {
              *  - max.poll.records = 500 (must be able to process about 2 records per second
              */
 
+            Map<TopicPartition, Deque<ConsumerRecord<String, String>>> parked = new HashMap<>();
+            PartitionsRebalanceListener rebalanceListener = new PartitionsRebalanceListener(parked);
             try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer =
-                         kafkaUtilityService.makeConsumer(kafkaSetup)) {
+                         kafkaUtilityService.makeConsumer(kafkaSetup, rebalanceListener)) {
                 logger.info("Kafka consumer: start. Topics: {}", kafkaSetup.getTopics());
 
                 KafkaOffsetRegistry offsetRegistry = new KafkaOffsetRegistry(consumer, commitInterval);
+                rebalanceListener.offsetRegistry = offsetRegistry;
+
+                try {
+                    while (true) {
+                        resubmitParked(consumer, offsetRegistry, parked);
 
-                while (true) {
-                    try {
                         ConsumerRecords<String, String> batch = consumer.poll(100);
-                        if (batch.isEmpty()) {
-                            continue;
+                        if (!batch.isEmpty()) {
+                            logger.debug("Received records batch contain {} messages", batch.count());
+
+                            for (ConsumerRecord<String, String> record : batch) {
+                                offsetRegistry.add(record);
+                                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                                Deque<ConsumerRecord<String, String>> partitionParked = parked.get(partition);
+                                if (partitionParked != null) {
+                                    // keep the order of the partition records behind the parked one.
+                                    partitionParked.add(record);
+                                } else if (!submit(record, offsetRegistry)) {
+                                    logger.debug("Handlers queue is full, pause partition {}", partition);
+                                    consumer.pause(Collections.singleton(partition));
+                                    parked.computeIfAbsent(partition, p -> new ArrayDeque<>()).add(record);
+                                }
+                            }
                         }
 
-                        logger.debug("Received records batch contain {} messages", batch.count());
-
-                        for (ConsumerRecord<String, String> record : batch) {
-                            handle(record);
+                        // commit offsets of completed records, handlers complete them asynchronously so it must be
+                        // checked on empty batches too.
+                        offsetRegistry.commitIfRequired();
 
-                            offsetRegistry.addAndCommit(record);
+                        if (!batch.isEmpty()) {
+                            switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
                         }
-                    } finally {
-                        // force to commit after each completed batch or in a case of an exception / error.
-                        offsetRegistry.commitOffsets();
                     }
-
-                    switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
+                } finally {
+                    // commit what is already completed in a case of an exception / error.
+                    try {
+                        offsetRegistry.commitOffsetsSync();
+                    } catch (Exception e) {
+                        logger.warn("Failed to commit offsets of the closing consumer: {}", e.getMessage());
+                    }
                 }
             } catch (InterruptException ex) {
                 // Gracefully finish loop on thread interruption.
@@ -114,22 +148,116 @@ public class Consumer implements Runnable {
         }
     }
 
-    protected void handle(ConsumerRecord<String, String> record) {
+    /**
+     * Tries to pass the parked records to the handlers again, the partition is resumed once all its parked records are
+     * accepted.
+     */
+    private void resubmitParked(org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
+                                KafkaOffsetRegistry offsetRegistry,
+                                Map<TopicPartition, Deque<ConsumerRecord<String, String>>> parked) {
+        Iterator<Entry<TopicPartition, Deque<ConsumerRecord<String, String>>>> iterator = parked.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<TopicPartition, Deque<ConsumerRecord<String, String>>> entry = iterator.next();
+            Deque<ConsumerRecord<String, String>> records = entry.getValue();
+            while (!records.isEmpty() && submit(records.peekFirst(), offsetRegistry)) {
+                records.pollFirst();
+            }
+
+            if (records.isEmpty()) {
+                logger.debug("Resume partition {}", entry.getKey());
+                consumer.resume(Collections.singleton(entry.getKey()));
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean submit(ConsumerRecord<String, String> record, KafkaOffsetRegistry offsetRegistry) {
+        return handle(record, () -> offsetRegistry.complete(record));
+    }
+
+    /**
+     * Passes the record to the handler. The onComplete callback must be called once the record is processed (or
+     * skipped), otherwise the offset of the record and all following records of the partition won't be committed.
+     *
+     * @return false if the handlers queue is full and the record was not accepted, it must be passed again later.
+     */
+    protected boolean handle(ConsumerRecord<String, String> record, Runnable onComplete) {
         logger.trace("received message: {} - {}", record.offset(), record.value());
-        handlersPool.execute(handlerFactory.produce(record));
+        RecordHandler handler = handlerFactory.produce(record);
+        // the handler may reply asynchronously, when the switch completes the command.
+        handler.getCompletion().whenComplete((ignore, error) -> onComplete.run());
+        return handlersPool.tryExecute(getSwitchAffinityKey(record), handler);
     }
 
     /**
-     * Holds offsets for Kafka partitions and performs sync commits of them.
+     * Extracts the switch the command addressed to, so commands of the same switch are handled in order. Only the
+     * first "switch_id" field is looked up with the streaming parser, the record is fully parsed later by the handler.
+     * Records without a switch are routed by the record key (if any).
+     */
+    @VisibleForTesting
+    static String getSwitchAffinityKey(ConsumerRecord<String, String> record) {
+        String value = record.value();
+        if (value != null) {
+            try (JsonParser parser = MAPPER.getFactory().createParser(value)) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token == JsonToken.FIELD_NAME && SWITCH_ID_FIELD.equals(parser.getCurrentName())
+                            && parser.nextToken() == JsonToken.VALUE_STRING) {
+                        return parser.getText();
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("Unable to extract switch id from the record {}: {}", record.offset(), e.getMessage());
+            }
+        }
+        return record.key();
+    }
+
+    /**
+     * Commits the completed offsets of the revoked partitions and drops their state, so the records which are not
+     * completed yet are redelivered to the new owner of the partition and not parked here forever.
+     */
+    private static class PartitionsRebalanceListener implements ConsumerRebalanceListener {
+        private final Map<TopicPartition, Deque<ConsumerRecord<String, String>>> parked;
+        private KafkaOffsetRegistry offsetRegistry;
+
+        PartitionsRebalanceListener(Map<TopicPartition, Deque<ConsumerRecord<String, String>>> parked) {
+            this.parked = parked;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            logger.info("Kafka consumer: partitions revoked {}", partitions);
+            parked.keySet().removeAll(partitions);
+            if (offsetRegistry != null) {
+                offsetRegistry.revoke(partitions);
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            logger.info("Kafka consumer: partitions assigned {}", partitions);
+        }
+    }
+
+    /**
+     * Tracks offsets of Kafka records being handled and commits offsets of completed records.
      * <p/>
-     * Note: the implementation is not thread-safe.
+     * For each partition the registry holds offsets of the added but not yet completed records. The committed
+     * offset (watermark) of the partition is the offset of the first not completed record, or the next offset after
+     * the last added one if all records are completed. So an offset is committed only when all records before it are
+     * handled, and the records are redelivered after a crash if they were not completed. Commits are asynchronous and
+     * performed not more often than the auto commit interval.
+     * <p/>
+     * Note: {@link #complete(ConsumerRecord)} may be called from any thread, other methods must be called from the
+     * consumer thread only.
      */
     @VisibleForTesting
     static class KafkaOffsetRegistry {
         private final org.apache.kafka.clients.consumer.Consumer<String, String> consumer;
         private final long autoCommitInterval;
 
-        private final Map<TopicPartition, Long> partitionToUncommittedOffset = new HashMap<>();
+        private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
         private long lastCommitTime;
 
         KafkaOffsetRegistry(org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
@@ -141,43 +269,129 @@ public class Consumer implements Runnable {
         }
 
         /**
-         * Add the record's offset to the registry and perform a commit
-         * if more than autoCommitInterval ms passed since the last commit.
+         * Adds the record's offset to the registry as a pending one.
          */
-        void addAndCommit(ConsumerRecord<String, String> record) {
+        void add(ConsumerRecord<String, String> record) {
             TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            partitions.computeIfAbsent(partition, p -> new PartitionOffsets()).add(record.offset());
+        }
 
-            Long previousOffset = partitionToUncommittedOffset.get(partition);
-            if (previousOffset != null && previousOffset > record.offset()) {
-                throw new IllegalArgumentException(
-                        format("The record has offset %d which less than the previously added %d.",
-                                record.offset(), previousOffset));
+        /**
+         * Marks the record as completed.
+         */
+        void complete(ConsumerRecord<String, String> record) {
+            PartitionOffsets offsets = partitions.get(new TopicPartition(record.topic(), record.partition()));
+            if (offsets != null) {
+                offsets.complete(record.offset());
             }
+        }
 
-            partitionToUncommittedOffset.put(partition, record.offset());
-
-            // commit offsets of processed messages
+        /**
+         * Performs a commit if more than autoCommitInterval ms passed since the last commit.
+         */
+        void commitIfRequired() {
             if ((System.currentTimeMillis() - lastCommitTime) >= autoCommitInterval) {
                 commitOffsets();
             }
         }
 
         /**
-         * Commits the offsets added since the last commit.
+         * Asynchronously commits the watermarks advanced since the last commit.
          */
         void commitOffsets() {
-            if (!partitionToUncommittedOffset.isEmpty()) {
-                Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
-                for (Entry<TopicPartition, Long> e : partitionToUncommittedOffset.entrySet()) {
-                    partitionToMetadata.put(e.getKey(), new OffsetAndMetadata(e.getValue() + 1));
-                }
+            Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = collectWatermarks();
+            if (!partitionToMetadata.isEmpty()) {
+                consumer.commitAsync(partitionToMetadata, (offsets, exception) -> {
+                    if (exception != null) {
+                        logger.warn("Failed to commit offsets {}: {}", offsets, exception.getMessage());
+                    }
+                });
+            }
 
-                consumer.commitSync(partitionToMetadata);
+            lastCommitTime = System.currentTimeMillis();
+        }
 
-                partitionToUncommittedOffset.clear();
+        /**
+         * Synchronously commits the watermarks advanced since the last commit.
+         */
+        void commitOffsetsSync() {
+            Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = collectWatermarks();
+            if (!partitionToMetadata.isEmpty()) {
+                consumer.commitSync(partitionToMetadata);
             }
 
             lastCommitTime = System.currentTimeMillis();
         }
+
+        /**
+         * Synchronously commits the watermarks of the revoked partitions and forgets them. Completions of their
+         * records still being handled are ignored.
+         */
+        void revoke(Collection<TopicPartition> revoked) {
+            Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
+            for (TopicPartition partition : revoked) {
+                PartitionOffsets offsets = partitions.remove(partition);
+                long watermark = offsets != null ? offsets.advanceWatermark() : -1;
+                if (watermark >= 0) {
+                    partitionToMetadata.put(partition, new OffsetAndMetadata(watermark));
+                }
+            }
+            if (!partitionToMetadata.isEmpty()) {
+                consumer.commitSync(partitionToMetadata);
+            }
+        }
+
+        private Map<TopicPartition, OffsetAndMetadata> collectWatermarks() {
+            Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
+            for (Entry<TopicPartition, PartitionOffsets> e : partitions.entrySet()) {
+                long watermark = e.getValue().advanceWatermark();
+                if (watermark >= 0) {
+                    partitionToMetadata.put(e.getKey(), new OffsetAndMetadata(watermark));
+                }
+            }
+            return partitionToMetadata;
+        }
+    }
+
+    /**
+     * Pending offsets of a partition. Offsets are added in ascending order by the consumer thread, and removed on
+     * completion by handler threads.
+     */
+    private static class PartitionOffsets {
+        private final NavigableSet<Long> pending = new ConcurrentSkipListSet<>();
+        private long lastAdded = -1;
+        private long committed = -1;
+
+        void add(long offset) {
+            if (lastAdded > offset) {
+                throw new IllegalArgumentException(
+                        format("The record has offset %d which less than the previously added %d.",
+                                offset, lastAdded));
+            }
+            if (committed < 0) {
+                // the consumer position, there is nothing to commit until the record is completed.
+                committed = offset;
+            }
+            pending.add(offset);
+            lastAdded = offset;
+        }
+
+        void complete(long offset) {
+            pending.remove(offset);
+        }
+
+        /**
+         * Returns the new watermark to commit or -1 if it hasn't been advanced since the last call.
+         */
+        long advanceWatermark() {
+            // lastAdded is changed by the consumer thread only, so completions can only move the watermark forward.
+            Long firstPending = pending.ceiling(Long.MIN_VALUE);
+            long watermark = firstPending != null ? firstPending : lastAdded + 1;
+            if (watermark <= committed) {
+                return -1;
+            }
+            committed = watermark;
+            return watermark;
+        }
     }
 }
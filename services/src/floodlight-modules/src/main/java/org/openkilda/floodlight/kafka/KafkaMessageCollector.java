@@ -36,11 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaMessageCollector implements IFloodlightModule {
@@ -82,8 +78,10 @@ public class KafkaMessageCollector implements IFloodlightModule {
         FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(moduleContext, this);
         KafkaMessageCollectorConfig consumerConfig = provider.getConfiguration(KafkaMessageCollectorConfig.class);
 
-        ExecutorService generalExecutor = buildExecutorWithNoQueue(consumerConfig.getGeneralExecutorCount());
-        logger.info("Kafka Consumer: general executor threads = {}", consumerConfig.getGeneralExecutorCount());
+        SwitchAffinityExecutor generalExecutor = new SwitchAffinityExecutor("kafka-general",
+                consumerConfig.getGeneralExecutorCount(), consumerConfig.getExecutorQueueSize());
+        logger.info("Kafka Consumer: general executor threads = {}, queue size = {}",
+                consumerConfig.getGeneralExecutorCount(), consumerConfig.getExecutorQueueSize());
 
         KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
         KafkaTopicsConfig topics = kafkaUtility.getTopics();
@@ -93,18 +91,20 @@ public class KafkaMessageCollector implements IFloodlightModule {
         launcher.launch(generalExecutor, new KafkaConsumerSetup(topics.getSpeakerFlowTopic()));
         launcher.launch(generalExecutor, new KafkaConsumerSetup(topics.getSpeakerFlowPingTopic()));
 
-        ExecutorService discoCommandExecutor = buildExecutorWithNoQueue(consumerConfig.getDiscoExecutorCount());
-        logger.info("Kafka Consumer: disco executor threads = {}", consumerConfig.getDiscoExecutorCount());
+        SwitchAffinityExecutor discoCommandExecutor = new SwitchAffinityExecutor("kafka-disco",
+                consumerConfig.getDiscoExecutorCount(), consumerConfig.getExecutorQueueSize());
+        logger.info("Kafka Consumer: disco executor threads = {}, queue size = {}",
+                consumerConfig.getDiscoExecutorCount(), consumerConfig.getExecutorQueueSize());
 
         KafkaConsumerSetup kafkaSetup = new KafkaConsumerSetup(topics.getSpeakerDiscoTopic());
         kafkaSetup.offsetResetStrategy(OffsetResetStrategy.LATEST);
         launcher.launch(discoCommandExecutor, kafkaSetup);
-    }
 
-    private ExecutorService buildExecutorWithNoQueue(int executorCount) {
-        // A thread pool of fixed sized and no work queue.
-        return new ThreadPoolExecutor(executorCount, executorCount, 0L, TimeUnit.MILLISECONDS,
-                new SynchronousQueue<>(), new RetryableExecutionHandler());
+        long statsInterval = consumerConfig.getExecutorStatsInterval();
+        Executors.newSingleThreadScheduledExecutor().scheduleWithFixedDelay(() -> {
+            generalExecutor.logQueueDepths();
+            discoCommandExecutor.logQueueDepths();
+        }, statsInterval, statsInterval, TimeUnit.SECONDS);
     }
 
     private static class ConsumerLauncher {
@@ -124,7 +124,7 @@ public class KafkaMessageCollector implements IFloodlightModule {
             isTestingMode = moduleContext.getServiceImpl(KafkaUtilityService.class).isTestingMode();
         }
 
-        private void launch(ExecutorService handlerExecutor, KafkaConsumerSetup kafkaSetup) {
+        private void launch(SwitchAffinityExecutor handlerExecutor, KafkaConsumerSetup kafkaSetup) {
             Consumer consumer;
             if (!isTestingMode) {
                 consumer = new Consumer(moduleContext, handlerExecutor, kafkaSetup, handlerFactory,
@@ -137,22 +137,4 @@ public class KafkaMessageCollector implements IFloodlightModule {
                     .scheduleWithFixedDelay(consumer, 0, 1, TimeUnit.MILLISECONDS);
         }
     }
-
-    /**
-     * Handler of rejected messages by ThreadPoolExecutor, in case of reject this handler will wait
-     * until one of executors becomes available.
-     */
-    private static class RetryableExecutionHandler implements RejectedExecutionHandler {
-        @Override
-        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            if (!executor.isShutdown()) {
-                try {
-                    executor.getQueue().put(r);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.error("Couldn't retry to process message", e);
-                }
-            }
-        }
-    }
 }
@@ -36,6 +36,16 @@ public interface KafkaMessageCollectorConfig {
     @Min(1)
     int getDiscoExecutorCount();
 
+    @Key("consumer-executor-queue-size")
+    @Default("100")
+    @Min(1)
+    int getExecutorQueueSize();
+
+    @Key("consumer-executor-stats-interval")
+    @Default("60")
+    @Min(1)
+    long getExecutorStatsInterval();
+
     @Key("consumer-auto-commit-interval")
     @Default("1000")
     @Min(1)
@@ -17,6 +17,7 @@ package org.openkilda.floodlight.kafka;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.openkilda.floodlight.kafka.ErrorMessageBuilder.anError;
 import static org.openkilda.messaging.Utils.MAPPER;
 
@@ -39,6 +40,7 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.CommandWithReplyToMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
@@ -68,6 +70,7 @@ import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.rule.FlowCommandErrorData;
 import org.openkilda.messaging.floodlight.request.PingRequest;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
 import org.openkilda.messaging.info.meter.MeterEntry;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
@@ -88,8 +91,8 @@ import org.openkilda.model.SwitchId;
 
 import net.floodlightcontroller.core.IOFSwitch;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
-import org.projectfloodlight.openflow.protocol.OFMeterConfig;
+import org.projectfloodlight.openflow.protocol.OFFlowMod;
+import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
@@ -102,6 +105,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 class RecordHandler implements Runnable {
@@ -112,6 +117,12 @@ class RecordHandler implements Runnable {
 
     private final CommandProcessorService commandProcessor;
 
+    /**
+     * Async switch operations started while handling the record, the record is handled once all of them are done.
+     */
+    private final List<CompletableFuture<?>> asyncOperations = new ArrayList<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
     public RecordHandler(ConsumerContext context, ConsumerRecord<String, String> record) {
         this.context = context;
         this.record = record;
@@ -134,16 +145,21 @@ class RecordHandler implements Runnable {
         } catch (SwitchOperationException e) {
             logger.error("Unable to handle request {}: {}", message.getData().getClass().getName(), e.getMessage());
         } catch (FlowCommandException e) {
-            String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
-            logger.error("Failed to handle message {}: {}", message, errorMessage);
-            ErrorData errorData = new FlowCommandErrorData(e.getFlowId(), e.getCookie(), e.getTransactionId(),
-                    e.getErrorType(), errorMessage, e.getMessage());
-            ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
-                    message.getCorrelationId(), replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, error);
+            replyWithError(message, e, replyToTopic, replyDestination);
         }
     }
 
+    private void replyWithError(CommandMessage message, FlowCommandException e, String replyToTopic,
+                                Destination replyDestination) {
+        String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        logger.error("Failed to handle message {}: {}", message, errorMessage);
+        ErrorData errorData = new FlowCommandErrorData(e.getFlowId(), e.getCookie(), e.getTransactionId(),
+                e.getErrorType(), errorMessage, e.getMessage());
+        ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
+                message.getCorrelationId(), replyDestination);
+        getKafkaProducer().sendMessageAndTrack(replyToTopic, error);
+    }
+
     private void handleCommand(CommandMessage message, String replyToTopic, Destination replyDestination)
             throws FlowCommandException, SwitchOperationException {
         logger.debug("Handling message: '{}'. Reply topic: '{}'. Reply destination: '{}'.",
@@ -153,6 +169,8 @@ class RecordHandler implements Runnable {
 
         if (data instanceof DiscoverIslCommandData) {
             doDiscoverIslCommand(message);
+        } else if (data instanceof DiscoverIslBatchCommandData) {
+            doDiscoverIslBatchCommand(message);
         } else if (data instanceof PingRequest) {
             doPingRequest(commandContext, (PingRequest) data);
         } else if (data instanceof DiscoverPathCommandData) {
@@ -178,7 +196,7 @@ class RecordHandler implements Runnable {
         } else if (data instanceof DumpRulesRequest) {
             doDumpRulesRequest(message, replyToTopic);
         } else if (data instanceof BatchInstallRequest) {
-            doBatchInstall(message);
+            doBatchInstall(message, replyToTopic, replyDestination);
         } else if (data instanceof PortsCommandData) {
             doPortsCommandDataRequest(message);
         } else if (data instanceof DeleteMeterRequest) {
@@ -217,6 +235,20 @@ class RecordHandler implements Runnable {
                 new InfoMessage(confirmation, System.currentTimeMillis(), message.getCorrelationId()));
     }
 
+    private void doDiscoverIslBatchCommand(CommandMessage message) {
+        DiscoverIslBatchCommandData command = (DiscoverIslBatchCommandData) message.getData();
+        SwitchId switchId = command.getSwitchId();
+        List<OFPort> ports = command.getPortNumbers().stream()
+                .map(OFPort::of)
+                .collect(Collectors.toList());
+        context.getPathVerificationService().sendDiscoveryMessages(DatapathId.of(switchId.toLong()), ports);
+
+        DiscoPacketSendingBatchConfirmation confirmation = new DiscoPacketSendingBatchConfirmation(
+                switchId, command.getPortNumbers());
+        getKafkaProducer().sendMessageAndTrack(context.getKafkaTopoDiscoTopic(),
+                new InfoMessage(confirmation, System.currentTimeMillis(), message.getCorrelationId()));
+    }
+
     private void doPingRequest(CommandContext context, PingRequest request) {
         PingRequestCommand command = new PingRequestCommand(context, request.getPing());
         commandProcessor.process(command);
@@ -238,9 +270,7 @@ class RecordHandler implements Runnable {
         logger.info("Installing ingress flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installIngressFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyWhenInstalled(installFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
@@ -248,26 +278,29 @@ class RecordHandler implements Runnable {
     }
 
     /**
-     * Installs ingress flow on the switch.
+     * Builds ingress flow for the switch.
      *
      * @param command command message for flow installation
+     * @param meterMods collects the meter the flow refers to
+     * @return flow mod to be installed
      */
-    private void installIngressFlow(final InstallIngressFlow command) throws SwitchOperationException {
+    private OFFlowMod buildIngressFlow(final InstallIngressFlow command, List<OFMeterMod> meterMods)
+            throws SwitchOperationException {
         logger.debug("Creating an ingress flow: {}", command);
+        DatapathId dpid = DatapathId.of(command.getSwitchId().toLong());
 
         long meterId = 0;
         if (command.getMeterId() != null && command.getMeterId() > 0) {
             meterId = command.getMeterId();
 
-            installMeter(DatapathId.of(command.getSwitchId().toLong()), meterId, command.getBandwidth(),
-                    command.getId());
+            buildMeter(dpid, meterId, command.getBandwidth(), command.getId()).ifPresent(meterMods::add);
         } else {
             logger.debug("Installing unmetered ingress flow. Switch: {}, cookie: {}",
                     command.getSwitchId(), command.getCookie());
         }
 
-        context.getSwitchManager().installIngressFlow(
-                DatapathId.of(command.getSwitchId().toLong()),
+        return context.getSwitchManager().buildIngressFlow(
+                dpid,
                 command.getId(),
                 command.getCookie(),
                 command.getInputPort(),
@@ -289,9 +322,7 @@ class RecordHandler implements Runnable {
         logger.info("Installing egress flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installEgressFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyWhenInstalled(installFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
@@ -299,15 +330,17 @@ class RecordHandler implements Runnable {
     }
 
     /**
-     * Installs egress flow on the switch.
+     * Builds egress flow for the switch.
      *
      * @param command command message for flow installation
+     * @return flow mod to be installed
      */
-    private void installEgressFlow(InstallEgressFlow command) throws SwitchOperationException {
+    private OFFlowMod buildEgressFlow(InstallEgressFlow command) throws SwitchOperationException {
         logger.debug("Creating an egress flow: {}", command);
+        DatapathId dpid = DatapathId.of(command.getSwitchId().toLong());
 
-        context.getSwitchManager().installEgressFlow(
-                DatapathId.of(command.getSwitchId().toLong()),
+        return context.getSwitchManager().buildEgressFlow(
+                dpid,
                 command.getId(),
                 command.getCookie(),
                 command.getInputPort(),
@@ -328,9 +361,7 @@ class RecordHandler implements Runnable {
         logger.info("Installing transit flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installTransitFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyWhenInstalled(installFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
@@ -338,15 +369,17 @@ class RecordHandler implements Runnable {
     }
 
     /**
-     * Installs transit flow on the switch.
+     * Builds transit flow for the switch.
      *
      * @param command command message for flow installation
+     * @return flow mod to be installed
      */
-    private void installTransitFlow(final InstallTransitFlow command) throws SwitchOperationException {
+    private OFFlowMod buildTransitFlow(final InstallTransitFlow command) throws SwitchOperationException {
         logger.debug("Creating a transit flow: {}", command);
+        DatapathId dpid = DatapathId.of(command.getSwitchId().toLong());
 
-        context.getSwitchManager().installTransitFlow(
-                DatapathId.of(command.getSwitchId().toLong()),
+        return context.getSwitchManager().buildTransitFlow(
+                dpid,
                 command.getId(),
                 command.getCookie(),
                 command.getInputPort(),
@@ -365,9 +398,7 @@ class RecordHandler implements Runnable {
         logger.info("Installing one switch flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
-            installOneSwitchFlow(command);
-            message.setDestination(replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            replyWhenInstalled(installFlow(command), message, command, replyToTopic, replyDestination);
         } catch (SwitchOperationException e) {
             throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
                     ErrorType.CREATION_FAILURE, e);
@@ -375,24 +406,28 @@ class RecordHandler implements Runnable {
     }
 
     /**
-     * Installs flow through one switch.
+     * Builds flow through one switch.
      *
      * @param command command message for flow installation
+     * @param meterMods collects the meter the flow refers to
+     * @return flow mod to be installed
      */
-    private void installOneSwitchFlow(InstallOneSwitchFlow command) throws SwitchOperationException {
+    private OFFlowMod buildOneSwitchFlow(InstallOneSwitchFlow command, List<OFMeterMod> meterMods)
+            throws SwitchOperationException {
+        DatapathId dpid = DatapathId.of(command.getSwitchId().toLong());
+
         long meterId = 0;
         if (command.getMeterId() != null && command.getMeterId() > 0) {
             meterId = command.getMeterId();
-            installMeter(DatapathId.of(command.getSwitchId().toLong()), meterId, command.getBandwidth(),
-                    command.getId());
+            buildMeter(dpid, meterId, command.getBandwidth(), command.getId()).ifPresent(meterMods::add);
         } else {
             logger.debug("Installing unmetered one switch flow. Switch: {}, cookie: {}",
                     command.getSwitchId(), command.getCookie());
         }
 
         OutputVlanType directOutputVlanType = command.getOutputVlanType();
-        context.getSwitchManager().installOneSwitchFlow(
-                DatapathId.of(command.getSwitchId().toLong()),
+        return context.getSwitchManager().buildOneSwitchFlow(
+                dpid,
                 command.getId(),
                 command.getCookie(),
                 command.getInputPort(),
@@ -403,6 +438,69 @@ class RecordHandler implements Runnable {
                 meterId);
     }
 
+    /**
+     * Builds the flow mod of the install command, the meter the flow refers to is added to meterMods.
+     */
+    private OFFlowMod buildFlow(BaseInstallFlow command, List<OFMeterMod> meterMods)
+            throws SwitchOperationException, FlowCommandException {
+        if (command instanceof InstallIngressFlow) {
+            return buildIngressFlow((InstallIngressFlow) command, meterMods);
+        } else if (command instanceof InstallEgressFlow) {
+            return buildEgressFlow((InstallEgressFlow) command);
+        } else if (command instanceof InstallTransitFlow) {
+            return buildTransitFlow((InstallTransitFlow) command);
+        } else if (command instanceof InstallOneSwitchFlow) {
+            return buildOneSwitchFlow((InstallOneSwitchFlow) command, meterMods);
+        } else {
+            throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
+                    ErrorType.REQUEST_INVALID, "Unsupported install command.");
+        }
+    }
+
+    /**
+     * Installs the flow and its meter on the switch.
+     *
+     * @param command command message for flow installation
+     * @return future completed when the switch has processed the flow
+     */
+    private CompletableFuture<Void> installFlow(BaseInstallFlow command)
+            throws SwitchOperationException, FlowCommandException {
+        List<OFMeterMod> meterMods = new ArrayList<>();
+        OFFlowMod flowMod = buildFlow(command, meterMods);
+        return context.getSwitchManager().installAsync(DatapathId.of(command.getSwitchId().toLong()),
+                meterMods, singletonList(flowMod));
+    }
+
+    /**
+     * Sends the command back as a confirmation when the switch has processed it, or sends an error if the
+     * installation failed.
+     */
+    private void replyWhenInstalled(CompletableFuture<Void> installation, CommandMessage message,
+                                    BaseInstallFlow command, String replyToTopic, Destination replyDestination) {
+        trackAsync(installation.whenComplete((ignore, error) -> {
+            try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                if (error == null) {
+                    message.setDestination(replyDestination);
+                    getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+                } else {
+                    replyWithError(message, toFlowCommandException(command, error), replyToTopic,
+                            replyDestination);
+                }
+            }
+        }));
+    }
+
+    private FlowCommandException toFlowCommandException(BaseInstallFlow command, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof SwitchOperationException) {
+            return new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
+                    ErrorType.CREATION_FAILURE, (SwitchOperationException) cause);
+        }
+        return new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
+                ErrorType.CREATION_FAILURE, String.valueOf(cause.getMessage()));
+    }
+
     /**
      * Removes flow.
      *
@@ -451,10 +549,12 @@ class RecordHandler implements Runnable {
      * @param message NetworkCommandData
      */
     private void doNetworkDump(final CommandMessage message) throws SwitchOperationException {
-        logger.info("Processing request from WFM to dump switches. {}", message.getCorrelationId());
+        NetworkCommandData request = (NetworkCommandData) message.getData();
+        logger.info("Processing request from WFM to dump switches. {} (shard {} of {})", message.getCorrelationId(),
+                request.getShardIndex(), request.getShardCount());
 
         SwitchTrackingService switchTracking = context.getModuleContext().getServiceImpl(SwitchTrackingService.class);
-        switchTracking.dumpAllSwitches(message.getCorrelationId());
+        switchTracking.dumpSwitches(message.getCorrelationId(), request::isRequested);
     }
 
     private void doInstallSwitchRules(final CommandMessage message, String replyToTopic, Destination replyDestination) {
@@ -616,59 +716,106 @@ class RecordHandler implements Runnable {
             SwitchId switchId = request.getSwitchId();
             logger.info("Loading installed rules for switch {}", switchId);
 
-            List<OFFlowStatsEntry> flowEntries =
-                    context.getSwitchManager().dumpFlowTable(DatapathId.of(switchId.toLong()));
-            List<FlowEntry> flows = flowEntries.stream()
-                    .map(OfFlowStatsConverter::toFlowEntry)
-                    .collect(Collectors.toList());
-
-            SwitchFlowEntries response = SwitchFlowEntries.builder()
-                    .switchId(switchId)
-                    .flowEntries(flows)
-                    .build();
-            InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(),
-                    message.getCorrelationId());
-            producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+            trackAsync(context.getSwitchManager().dumpFlowTableAsync(DatapathId.of(switchId.toLong()))
+                    .whenComplete((flowEntries, error) -> {
+                        try (CorrelationContextClosable closable =
+                                     CorrelationContext.create(message.getCorrelationId())) {
+                            if (error != null) {
+                                logger.error("Could not get flow stats for {}.", switchId, error);
+                                replyRulesDumpError(message, replyToTopic,
+                                        new SwitchNotFoundException(DatapathId.of(switchId.toLong())));
+                                return;
+                            }
+
+                            List<FlowEntry> flows = flowEntries.stream()
+                                    .map(OfFlowStatsConverter::toFlowEntry)
+                                    .collect(Collectors.toList());
+
+                            SwitchFlowEntries response = SwitchFlowEntries.builder()
+                                    .switchId(switchId)
+                                    .flowEntries(flows)
+                                    .build();
+                            InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(),
+                                    message.getCorrelationId());
+                            producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+                        }
+                    }));
         } catch (SwitchOperationException e) {
-            logger.error("Dumping of rules on switch '{}' was unsuccessful: {}", request.getSwitchId(), e.getMessage());
-            anError(ErrorType.NOT_FOUND)
-                    .withMessage(e.getMessage())
-                    .withDescription("The switch was not found when requesting a rules dump.")
-                    .withCorrelationId(message.getCorrelationId())
-                    .withTopic(replyToTopic)
-                    .sendVia(producerService);
+            replyRulesDumpError(message, replyToTopic, e);
         }
     }
 
+    private void replyRulesDumpError(CommandMessage message, String replyToTopic, SwitchOperationException e) {
+        DumpRulesRequest request = (DumpRulesRequest) message.getData();
+        logger.error("Dumping of rules on switch '{}' was unsuccessful: {}", request.getSwitchId(), e.getMessage());
+        anError(ErrorType.NOT_FOUND)
+                .withMessage(e.getMessage())
+                .withDescription("The switch was not found when requesting a rules dump.")
+                .withCorrelationId(message.getCorrelationId())
+                .withTopic(replyToTopic)
+                .sendVia(getKafkaProducer());
+    }
+
     /**
-     * Batch install of flows on the switch.
+     * Batch install of flows on the switch. All meter mods and flow mods are built up front and written to the
+     * switch at once. Each command gets its own confirmation or error reply, as if it was sent separately.
      *
      * @param message with list of flows.
      */
-    private void doBatchInstall(final CommandMessage message) throws FlowCommandException {
+    private void doBatchInstall(final CommandMessage message, String replyToTopic, Destination replyDestination) {
         BatchInstallRequest request = (BatchInstallRequest) message.getData();
         final SwitchId switchId = request.getSwitchId();
-        logger.info("Do batch install flow rules on switch '{}'", switchId);
+        final DatapathId dpid = DatapathId.of(switchId.toLong());
+        logger.info("Do batch install of {} flow rules on switch '{}'", request.getFlowCommands().size(), switchId);
 
+        List<OFMeterMod> meterMods = new ArrayList<>();
+        List<OFFlowMod> flowMods = new ArrayList<>();
+        List<BaseInstallFlow> commands = new ArrayList<>();
         for (BaseInstallFlow command : request.getFlowCommands()) {
             logger.debug("Processing command for switch {} {}", switchId, command);
             try {
-                if (command instanceof InstallIngressFlow) {
-                    installIngressFlow((InstallIngressFlow) command);
-                } else if (command instanceof InstallEgressFlow) {
-                    installEgressFlow((InstallEgressFlow) command);
-                } else if (command instanceof InstallTransitFlow) {
-                    installTransitFlow((InstallTransitFlow) command);
-                } else if (command instanceof InstallOneSwitchFlow) {
-                    installOneSwitchFlow((InstallOneSwitchFlow) command);
-                } else {
-                    throw new FlowCommandException(command.getId(), command.getCookie(), command.getTransactionId(),
-                            ErrorType.REQUEST_INVALID, "Unsupported command for batch install.");
-                }
+                OFFlowMod flowMod = buildFlow(command, meterMods);
+                flowMods.add(flowMod);
+                commands.add(command);
             } catch (SwitchOperationException e) {
-                logger.error("Error during flow installation", e);
+                replyWithError(message, new FlowCommandException(command.getId(), command.getCookie(),
+                        command.getTransactionId(), ErrorType.CREATION_FAILURE, e), replyToTopic, replyDestination);
+            } catch (FlowCommandException e) {
+                replyWithError(message, e, replyToTopic, replyDestination);
             }
         }
+
+        if (flowMods.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture<Set<Long>> installation;
+        try {
+            installation = context.getSwitchManager().installBatchAsync(dpid, meterMods, flowMods);
+        } catch (SwitchOperationException e) {
+            installation = new CompletableFuture<>();
+            installation.completeExceptionally(e);
+        }
+
+        trackAsync(installation.whenComplete((failedXids, error) -> {
+            try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                for (int i = 0; i < commands.size(); i++) {
+                    BaseInstallFlow command = commands.get(i);
+                    if (error != null) {
+                        replyWithError(message, toFlowCommandException(command, error), replyToTopic,
+                                replyDestination);
+                    } else if (failedXids.contains(flowMods.get(i).getXid())) {
+                        replyWithError(message, new FlowCommandException(command.getId(), command.getCookie(),
+                                command.getTransactionId(), ErrorType.CREATION_FAILURE,
+                                format("Switch %s rejected the flow", switchId)), replyToTopic, replyDestination);
+                    } else {
+                        CommandMessage reply = new CommandMessage(command, System.currentTimeMillis(),
+                                message.getCorrelationId(), replyDestination);
+                        getKafkaProducer().sendMessageAndTrack(replyToTopic, reply);
+                    }
+                }
+            }
+        }));
     }
 
     private void doPortsCommandDataRequest(CommandMessage message) {
@@ -849,17 +996,34 @@ class RecordHandler implements Runnable {
             SwitchId switchId = request.getSwitchId();
             logger.debug("Get all meters for switch {}", switchId);
             ISwitchManager switchManager = context.getSwitchManager();
-            List<OFMeterConfig> meterEntries = switchManager.dumpMeters(DatapathId.of(switchId.toLong()));
-            List<MeterEntry> meters = meterEntries.stream()
-                    .map(OfMeterConverter::toMeterEntry)
-                    .collect(Collectors.toList());
-
-            SwitchMeterEntries response = SwitchMeterEntries.builder()
-                    .switchId(switchId)
-                    .meterEntries(meters)
-                    .build();
-            InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(), message.getCorrelationId());
-            producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+            trackAsync(switchManager.dumpMetersAsync(DatapathId.of(switchId.toLong()))
+                    .whenComplete((meterEntries, error) -> {
+                        try (CorrelationContextClosable closable =
+                                     CorrelationContext.create(message.getCorrelationId())) {
+                            if (error != null || meterEntries == null) {
+                                logger.error("Unable to dump meters", error);
+                                anError(ErrorType.NOT_FOUND)
+                                        .withMessage(error != null ? error.getMessage() : null)
+                                        .withDescription("Unable to dump meters")
+                                        .withCorrelationId(message.getCorrelationId())
+                                        .withTopic(replyToTopic)
+                                        .sendVia(producerService);
+                                return;
+                            }
+
+                            List<MeterEntry> meters = meterEntries.stream()
+                                    .map(OfMeterConverter::toMeterEntry)
+                                    .collect(Collectors.toList());
+
+                            SwitchMeterEntries response = SwitchMeterEntries.builder()
+                                    .switchId(switchId)
+                                    .meterEntries(meters)
+                                    .build();
+                            InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(),
+                                    message.getCorrelationId());
+                            producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+                        }
+                    }));
         } catch (UnsupportedSwitchOperationException e) {
             String messageString = "Not supported: " + request.getSwitchId();
             logger.error(messageString, e);
@@ -888,17 +1052,17 @@ class RecordHandler implements Runnable {
         }
     }
 
-    private void installMeter(DatapathId dpid, long meterId, long bandwidth, String flowId) {
+    private Optional<OFMeterMod> buildMeter(DatapathId dpid, long meterId, long bandwidth, String flowId) {
         try {
-            context.getSwitchManager().installMeter(dpid, bandwidth, meterId);
-        } catch (UnsupportedOperationException e) {
+            return Optional.of(context.getSwitchManager().buildMeter(dpid, bandwidth, meterId));
+        } catch (UnsupportedSwitchOperationException e) {
             logger.info("Skip meter {} installation for flow {} on switch {}: {}",
                     meterId, flowId, dpid, e.getMessage());
         } catch (SwitchOperationException e) {
             logger.error("Failed to install meter {} for flow {} on switch {}: {}", meterId, flowId, dpid,
                     e.getMessage());
         }
-
+        return Optional.empty();
     }
 
     private void parseRecord(ConsumerRecord<String, String> record) {
@@ -925,7 +1089,24 @@ class RecordHandler implements Runnable {
 
     @Override
     public void run() {
-        parseRecord(record);
+        try {
+            parseRecord(record);
+        } finally {
+            CompletableFuture.allOf(asyncOperations.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((ignore, error) -> completion.complete(null));
+        }
+    }
+
+    /**
+     * Returns the future which is completed when the record is handled, including the async switch operations started
+     * by the handler and the replies sent on their completion.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    private void trackAsync(CompletableFuture<?> operation) {
+        asyncOperations.add(operation);
     }
 
     private IKafkaProducerService getKafkaProducer() {
@@ -0,0 +1,171 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes tasks in a fixed set of serial lanes. Each lane is a single thread with a bounded queue, a task is bound
+ * to the lane by the hash of its affinity key (the switch id of the command).
+ * <p/>
+ * So commands of one switch are executed one by one in the order of submission, commands of different switches are
+ * executed in parallel and a slow switch delays only the switches which share its lane. When the lane queue is full
+ * {@link #execute} blocks the submitting thread until there is a room in the queue, while {@link #tryExecute} rejects
+ * the task, so the Kafka consumer can pause the partition instead of being blocked.
+ */
+public class SwitchAffinityExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(SwitchAffinityExecutor.class);
+
+    private final String name;
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicInteger[] maxQueueDepths;
+    private final AtomicLong[] blockedSubmits;
+    private final RetryableExecutionHandler retryHandler = new RetryableExecutionHandler();
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public SwitchAffinityExecutor(String name, int laneCount, int queueSize) {
+        checkArgument(laneCount > 0, "laneCount must be positive");
+        checkArgument(queueSize > 0, "queueSize must be positive");
+
+        this.name = name;
+        lanes = new ThreadPoolExecutor[laneCount];
+        maxQueueDepths = new AtomicInteger[laneCount];
+        blockedSubmits = new AtomicLong[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueSize),
+                    new ThreadFactoryBuilder().setNameFormat(name + "-lane-" + i).setDaemon(true).build(),
+                    new ThreadPoolExecutor.AbortPolicy());
+            maxQueueDepths[i] = new AtomicInteger();
+            blockedSubmits[i] = new AtomicLong();
+        }
+    }
+
+    /**
+     * Submits the task to the lane of the affinity key. Tasks without a key are spread over the lanes in round robin
+     * manner, so there is no ordering guarantee for them.
+     */
+    public void execute(String affinityKey, Runnable task) {
+        int lane = getLane(affinityKey);
+        if (!submit(lane, task)) {
+            retryHandler.rejectedExecution(task, lanes[lane]);
+        }
+    }
+
+    /**
+     * Submits the task to the lane of the affinity key without blocking.
+     *
+     * @return false if the lane queue is full (or the executor is shut down) and the task was not accepted.
+     */
+    public boolean tryExecute(String affinityKey, Runnable task) {
+        return submit(getLane(affinityKey), task);
+    }
+
+    private boolean submit(int lane, Runnable task) {
+        try {
+            lanes[lane].execute(task);
+        } catch (RejectedExecutionException e) {
+            blockedSubmits[lane].incrementAndGet();
+            return false;
+        }
+
+        int depth = lanes[lane].getQueue().size();
+        AtomicInteger maxDepth = maxQueueDepths[lane];
+        int current = maxDepth.get();
+        while (depth > current && !maxDepth.compareAndSet(current, depth)) {
+            current = maxDepth.get();
+        }
+        return true;
+    }
+
+    int getLane(String affinityKey) {
+        if (affinityKey == null) {
+            return Math.floorMod(roundRobin.getAndIncrement(), lanes.length);
+        }
+        return Math.floorMod(affinityKey.hashCode(), lanes.length);
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the current number of queued (not yet started) tasks of the lane.
+     */
+    public int getQueueDepth(int lane) {
+        return lanes[lane].getQueue().size();
+    }
+
+    /**
+     * Returns the max number of queued tasks of the lane observed since the previous call.
+     */
+    public int resetMaxQueueDepth(int lane) {
+        return maxQueueDepths[lane].getAndSet(getQueueDepth(lane));
+    }
+
+    /**
+     * Returns the number of submits which found the lane queue full, so had to wait for a room in it or were rejected.
+     */
+    public long getBlockedSubmits(int lane) {
+        return blockedSubmits[lane].get();
+    }
+
+    /**
+     * Logs queue depths of the lanes, the busiest lane first.
+     */
+    public void logQueueDepths() {
+        int total = 0;
+        int busiest = 0;
+        int busiestDepth = -1;
+        StringBuilder depths = new StringBuilder();
+        for (int i = 0; i < lanes.length; i++) {
+            int depth = resetMaxQueueDepth(i);
+            total += depth;
+            if (depth > busiestDepth) {
+                busiestDepth = depth;
+                busiest = i;
+            }
+            if (i > 0) {
+                depths.append(',');
+            }
+            depths.append(depth);
+        }
+
+        logger.info("Executor {}: max queue depth {} (lane {}), total {}, blocked submits {}, per lane [{}]",
+                name, busiestDepth, busiest, total, getBlockedSubmits(busiest), depths);
+    }
+
+    /**
+     * Stops accepting new tasks, already queued tasks will be executed.
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
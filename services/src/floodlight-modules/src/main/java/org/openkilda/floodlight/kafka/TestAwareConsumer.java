@@ -29,7 +29,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 public class TestAwareConsumer extends Consumer {
     private static final Logger logger = LoggerFactory.getLogger(TestAwareConsumer.class);
@@ -37,7 +36,7 @@ public class TestAwareConsumer extends Consumer {
     private KafkaBreakTrigger breakTrigger;
     private List<KafkaBreakTrigger> expectedTriggers;
 
-    public TestAwareConsumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
+    public TestAwareConsumer(FloodlightModuleContext moduleContext, SwitchAffinityExecutor handlersPool,
                              KafkaConsumerSetup kafkaSetup, RecordHandler.Factory handlerFactory,
                              long commitInterval) {
         super(moduleContext, handlersPool, kafkaSetup, handlerFactory, commitInterval);
@@ -57,7 +56,7 @@ public class TestAwareConsumer extends Consumer {
     }
 
     @Override
-    protected void handle(ConsumerRecord<String, String> record) {
+    protected boolean handle(ConsumerRecord<String, String> record, Runnable onComplete) {
         boolean isHandled = false;
         for (KafkaBreakTrigger trigger : expectedTriggers) {
             if (!trigger.handle(record.key(), record.value())) {
@@ -68,14 +67,16 @@ public class TestAwareConsumer extends Consumer {
         }
 
         if (isHandled) {
-            return;
+            onComplete.run();
+            return true;
         }
 
         if (!breakTrigger.isCommunicationEnabled()) {
             logger.info("Suppress record - key: {}, value: {}", record.key(), record.value());
-            return;
+            onComplete.run();
+            return true;
         }
 
-        super.handle(record);
+        return super.handle(record, onComplete);
     }
 }
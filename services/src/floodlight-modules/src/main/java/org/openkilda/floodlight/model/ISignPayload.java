@@ -19,4 +19,9 @@ import com.auth0.jwt.JWTCreator;
 
 public interface ISignPayload {
     JWTCreator.Builder toSign(JWTCreator.Builder token);
+
+    /**
+     * Produce fixed layout binary representation of the data.
+     */
+    byte[] toSign();
 }
@@ -25,10 +25,13 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.projectfloodlight.openflow.types.DatapathId;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 public class PingData implements ISignPayload {
     private static String JWT_KEY_PREFIX = "openkilda.ping.";
+    private static final int BINARY_SIZE = 1 + 2 + 8 + 8 + 16 + 8 + 8;
 
     private long sendTime = 0;
     private long senderLatency = 0;
@@ -64,6 +67,29 @@ public class PingData implements ISignPayload {
         return data;
     }
 
+    /**
+     * Build {@link PingData} from the binary representation produced by {@link #toSign()}.
+     */
+    public static PingData of(ByteBuffer buffer) throws CorruptedNetworkDataException {
+        PingData data;
+        try {
+            boolean hasVlan = buffer.get() != 0;
+            short sourceVlan = buffer.getShort();
+            DatapathId source = DatapathId.of(buffer.getLong());
+            DatapathId dest = DatapathId.of(buffer.getLong());
+            UUID packetId = new UUID(buffer.getLong(), buffer.getLong());
+
+            data = new PingData(hasVlan ? sourceVlan : null, source, dest, packetId);
+            data.setSenderLatency(buffer.getLong());
+            data.setSendTime(buffer.getLong());
+        } catch (BufferUnderflowException e) {
+            throw new CorruptedNetworkDataException(
+                    String.format("Corrupted flow verification package (%d bytes)", buffer.limit()));
+        }
+
+        return data;
+    }
+
     /**
      * Build {@link PingData} from {@link Ping} instance.
      */
@@ -98,6 +124,23 @@ public class PingData implements ISignPayload {
         return token;
     }
 
+    /**
+     * Produce binary representation of the data.
+     */
+    public byte[] toSign() {
+        sendTime = System.currentTimeMillis();
+        return ByteBuffer.allocate(BINARY_SIZE)
+                .put((byte) (sourceVlan != null ? 1 : 0))
+                .putShort(sourceVlan != null ? sourceVlan : 0)
+                .putLong(source.getLong())
+                .putLong(dest.getLong())
+                .putLong(pingId.getMostSignificantBits())
+                .putLong(pingId.getLeastSignificantBits())
+                .putLong(getSenderLatency())
+                .putLong(sendTime)
+                .array();
+    }
+
     /**
      * Calculate flow's latency.
      */
@@ -19,10 +19,19 @@ import net.floodlightcontroller.core.module.IFloodlightService;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
+import java.util.List;
+
 public interface IPathVerificationService extends IFloodlightService {
 
     public boolean sendDiscoveryMessage(DatapathId srcSwId, OFPort port);
 
     public boolean sendDiscoveryMessage(DatapathId srcSwId, OFPort port, DatapathId dstSwId);
 
+    /**
+     * Sends discovery packets from the ports of the switch in one write batch.
+     *
+     * @return true if packets are sent from all ports.
+     */
+    public boolean sendDiscoveryMessages(DatapathId srcSwId, List<OFPort> ports);
+
 }
@@ -18,6 +18,8 @@ package org.openkilda.floodlight.pathverification;
 import org.openkilda.floodlight.command.Command;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
+import org.openkilda.floodlight.error.InvalidSignatureConfigurationException;
 import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.floodlight.pathverification.type.PathType;
 import org.openkilda.floodlight.pathverification.web.PathVerificationServiceWebRoutable;
@@ -28,7 +30,9 @@ import org.openkilda.floodlight.service.of.IInputTranslator;
 import org.openkilda.floodlight.service.of.InputService;
 import org.openkilda.floodlight.service.ping.PingService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
+import org.openkilda.floodlight.utils.BinarySignature;
 import org.openkilda.floodlight.utils.CorrelationContext;
+import org.openkilda.floodlight.utils.SignatureFormat;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslChangeType;
@@ -40,7 +44,6 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import com.auth0.jwt.interfaces.DecodedJWT;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -58,6 +61,7 @@ import net.floodlightcontroller.packet.UDP;
 import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.util.OFMessageUtils;
 import org.apache.commons.codec.binary.Hex;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.projectfloodlight.openflow.protocol.OFPacketOut;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
@@ -103,8 +107,10 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
 
     private String topoDiscoTopic;
     private double islBandwidthQuotient = 1.0;
+    private SignatureFormat signatureFormat = SignatureFormat.JWT;
     private Algorithm algorithm;
     private JWTVerifier verifier;
+    private BinarySignature binarySignature;
 
     /**
      * IFloodlightModule Methods.
@@ -151,6 +157,12 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
 
         islBandwidthQuotient = config.getIslBandwidthQuotient();
 
+        try {
+            signatureFormat = SignatureFormat.of(config.getSignatureFormat());
+        } catch (IllegalArgumentException e) {
+            throw new FloodlightModuleException(
+                    String.format("Invalid signature format \"%s\"", config.getSignatureFormat()));
+        }
         initAlgorithm(config.getHmac256Secret());
     }
 
@@ -159,12 +171,18 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         try {
             algorithm = Algorithm.HMAC256(secret);
             verifier = JWT.require(algorithm).build();
-        } catch (UnsupportedEncodingException e) {
+            binarySignature = new BinarySignature(secret);
+        } catch (UnsupportedEncodingException | InvalidSignatureConfigurationException e) {
             logger.error("Ivalid secret", e);
             throw new FloodlightModuleException("Invalid secret for HMAC256");
         }
     }
 
+    @VisibleForTesting
+    void setSignatureFormat(SignatureFormat signatureFormat) {
+        this.signatureFormat = signatureFormat;
+    }
+
     @Override
     public void startUp(FloodlightModuleContext context) throws FloodlightModuleException {
         logger.info("Stating {}", PathVerificationService.class.getCanonicalName());
@@ -241,6 +259,47 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return result;
     }
 
+    @Override
+    public boolean sendDiscoveryMessages(DatapathId srcSwId, List<OFPort> ports) {
+        boolean result = false;
+
+        try {
+            IOFSwitch srcSwitch = switchService.getSwitch(srcSwId);
+            if (srcSwitch != null) {
+                List<OFMessage> packets = new ArrayList<>(ports.size());
+                List<Integer> portNumbers = new ArrayList<>(ports.size());
+                for (OFPort port : ports) {
+                    if (srcSwitch.getPort(port) == null) {
+                        continue;
+                    }
+
+                    OFPacketOut ofPacketOut = generateVerificationPacket(srcSwitch, port, null, true);
+                    if (ofPacketOut != null) {
+                        packets.add(ofPacketOut);
+                        portNumbers.add(port.getPortNumber());
+                    } else {
+                        logger.error("<== Received null from generateVerificationPacket, inputs where: "
+                                + "srcSwitch: {}, port: {}", srcSwitch, port);
+                    }
+                }
+
+                // all packet-outs of the switch are written at once
+                Collection<OFMessage> failed = srcSwitch.write(packets);
+                result = failed.isEmpty() && packets.size() == ports.size();
+
+                logIsl.info("push discovery packages via: {} ports {}", srcSwitch.getId(), portNumbers);
+                if (!failed.isEmpty()) {
+                    logger.error("Failed to send {} of {} PACKET_OUT(ISL discovery packet) via {}",
+                            failed.size(), packets.size(), srcSwitch.getId());
+                }
+            }
+        } catch (Exception exception) {
+            logger.error(String.format("Unhandled exception in %s", getClass().getName()), exception);
+        }
+
+        return result;
+    }
+
     public OFPacketOut generateVerificationPacket(IOFSwitch srcSw, OFPort port) {
         return generateVerificationPacket(srcSw, port, null, true);
     }
@@ -317,12 +376,7 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
             vp.getOptionalTlvList().add(typeTlv);
 
             if (sign) {
-                String token = JWT.create()
-                        .withClaim("dpid", dpid.getLong())
-                        .withClaim("ts", time + swLatency)
-                        .sign(algorithm);
-
-                byte[] tokenBytes = token.getBytes(Charset.forName("UTF-8"));
+                byte[] tokenBytes = signVerificationData(dpid.getLong(), time + swLatency);
 
                 byte[] tokenTlvValue = ByteBuffer.allocate(4 + tokenBytes.length).put((byte) 0x00)
                         .put((byte) 0x26).put((byte) 0xe1)
@@ -374,6 +428,33 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return null;
     }
 
+    private byte[] signVerificationData(long dpid, long timestamp) {
+        if (signatureFormat == SignatureFormat.BINARY) {
+            return binarySignature.sign(ByteBuffer.allocate(2 * Long.BYTES)
+                    .putLong(dpid)
+                    .putLong(timestamp)
+                    .array());
+        }
+
+        String token = JWT.create()
+                .withClaim("dpid", dpid)
+                .withClaim("ts", timestamp)
+                .sign(algorithm);
+        return token.getBytes(Charset.forName("UTF-8"));
+    }
+
+    /**
+     * Verify signature of the verification packet. Both signature formats are accepted, so speakers with different
+     * format settings can discover ISLs between each other.
+     */
+    private void verifyVerificationData(byte[] token) throws CorruptedNetworkDataException {
+        if (BinarySignature.isBinary(token)) {
+            binarySignature.verify(token);
+        } else {
+            verifier.verify(new String(token));
+        }
+    }
+
     private VerificationPacket deserialize(Ethernet eth) throws Exception {
         if (eth.getPayload() instanceof IPv4) {
             IPv4 ip = (IPv4) eth.getPayload();
@@ -449,12 +530,11 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
                     bb.position(4);
                     byte[] tokenArray = new byte[lldptlv.getLength() - 4];
                     bb.get(tokenArray, 0, tokenArray.length);
-                    String token = new String(tokenArray);
 
                     try {
-                        DecodedJWT jwt = verifier.verify(token);
+                        verifyVerificationData(tokenArray);
                         signed = true;
-                    } catch (JWTVerificationException e) {
+                    } catch (JWTVerificationException | CorruptedNetworkDataException e) {
                         logger.error("Packet verification failed", e);
                         return;
                     }
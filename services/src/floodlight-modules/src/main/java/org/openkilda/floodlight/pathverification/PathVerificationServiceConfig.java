@@ -34,4 +34,11 @@ public interface PathVerificationServiceConfig {
     @Key("hmac256-secret")
     @NotBlank
     String getHmac256Secret();
+
+    /**
+     * Format of verification packets signature: JWT or BINARY. Received packets are accepted in both formats.
+     */
+    @Key("signature-format")
+    @Default("JWT")
+    String getSignatureFormat();
 }
@@ -20,20 +20,20 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
 abstract class AbstractWorker {
-    protected final Producer<String, String> kafkaProducer;
+    protected final Producer<String, byte[]> kafkaProducer;
 
     AbstractWorker(AbstractWorker other) {
         this(other.kafkaProducer);
     }
 
-    AbstractWorker(Producer<String, String> kafkaProducer) {
+    AbstractWorker(Producer<String, byte[]> kafkaProducer) {
         this.kafkaProducer = kafkaProducer;
     }
 
     /**
      * Serialize and send message into kafka topic.
      */
-    abstract SendStatus send(ProducerRecord<String, String> record, Callback callback);
+    abstract SendStatus send(ProducerRecord<String, byte[]> record, Callback callback);
 
     void deactivate(long transitionPeriod) {}
 
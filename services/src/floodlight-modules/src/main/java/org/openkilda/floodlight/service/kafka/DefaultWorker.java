@@ -20,12 +20,12 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
 class DefaultWorker extends AbstractWorker {
-    DefaultWorker(Producer<String, String> kafkaProducer) {
+    DefaultWorker(Producer<String, byte[]> kafkaProducer) {
         super(kafkaProducer);
     }
 
     @Override
-    SendStatus send(ProducerRecord<String, String> record, Callback callback) {
+    SendStatus send(ProducerRecord<String, byte[]> record, Callback callback) {
         return new SendStatus(kafkaProducer.send(record, callback));
     }
 }
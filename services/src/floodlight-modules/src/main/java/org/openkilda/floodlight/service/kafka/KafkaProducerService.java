@@ -17,9 +17,9 @@ package org.openkilda.floodlight.service.kafka;
 
 import org.openkilda.floodlight.service.HeartBeatService;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.TopicFormatSelector;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
@@ -28,6 +28,7 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,14 +37,16 @@ public class KafkaProducerService implements IKafkaProducerService {
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
 
     private HeartBeatService heartBeat;
-    private Producer<String, String> producer;
+    private Producer<String, byte[]> producer;
+    private TopicFormatSelector formatSelector;
     private final Map<String, AbstractWorker> workersMap = new HashMap<>();
-    private final ObjectMapper jsonObjectMapper = new ObjectMapper();
 
     @Override
     public void setup(FloodlightModuleContext moduleContext) {
         heartBeat = moduleContext.getServiceImpl(HeartBeatService.class);
-        producer = moduleContext.getServiceImpl(KafkaUtilityService.class).makeProducer();
+        KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
+        producer = kafkaUtility.makeProducer();
+        formatSelector = kafkaUtility.getTopicFormatSelector();
     }
 
     /**
@@ -93,25 +96,25 @@ public class KafkaProducerService implements IKafkaProducerService {
         return sendStatus;
     }
 
-    protected SendStatus produce(ProducerRecord<String, String> record, Callback callback) {
-        logger.debug("Send kafka message: {} <== {}", record.topic(), record.value());
+    protected SendStatus produce(ProducerRecord<String, byte[]> record, Callback callback) {
+        logger.debug("Send kafka message: {} <== {} bytes", record.topic(), record.value().length);
         return getWorker(record.topic())
                 .send(record, callback);
     }
 
-    private ProducerRecord<String, String> encode(String topic, Message payload) {
+    private ProducerRecord<String, byte[]> encode(String topic, Message payload) {
         return encode(topic, null, payload);
     }
 
-    private ProducerRecord<String, String> encode(String topic, String key, Message payload) {
-        return new ProducerRecord<>(topic, key, encodeValue(payload));
+    private ProducerRecord<String, byte[]> encode(String topic, String key, Message payload) {
+        return new ProducerRecord<>(topic, key, encodeValue(topic, payload));
     }
 
-    private String encodeValue(Message message) {
-        String encoded;
+    private byte[] encodeValue(String topic, Message message) {
+        byte[] encoded;
         try {
-            encoded = jsonObjectMapper.writeValueAsString(message);
-        } catch (JsonProcessingException e) {
+            encoded = MessageCodec.encode(message, formatSelector.getFormat(topic));
+        } catch (IOException e) {
             throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
         }
 
@@ -18,10 +18,12 @@ package org.openkilda.floodlight.service.kafka;
 import org.openkilda.config.KafkaTopicsConfig;
 import org.openkilda.floodlight.KafkaChannel;
 import org.openkilda.floodlight.service.IService;
+import org.openkilda.messaging.codec.TopicFormatSelector;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
@@ -45,7 +47,19 @@ public class KafkaUtilityService implements IService {
         return consumer;
     }
 
-    public Producer<String, String> makeProducer() {
+    /**
+     * Create new kafka-consumer and apply setting from {@link KafkaConsumerSetup} argument, the listener is notified
+     * about the partitions assignment changes.
+     */
+    public Consumer<String, String> makeConsumer(KafkaConsumerSetup setup,
+                                                 ConsumerRebalanceListener rebalanceListener) {
+        Properties config = setup.applyConfig(owner.getConfig().consumerProperties());
+        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config);
+        setup.applyInstance(consumer, rebalanceListener);
+        return consumer;
+    }
+
+    public Producer<String, byte[]> makeProducer() {
         return new KafkaProducer<>(owner.getConfig().producerProperties());
     }
 
@@ -53,6 +67,10 @@ public class KafkaUtilityService implements IService {
         return owner.getTopics();
     }
 
+    public TopicFormatSelector getTopicFormatSelector() {
+        return new TopicFormatSelector(owner.getConfig().getBinaryTopics());
+    }
+
     public boolean isTestingMode() {
         return owner.getConfig().isTestingMode();
     }
@@ -41,8 +41,8 @@ class OrderAwareWorker extends AbstractWorker {
     }
 
     @Override
-    protected synchronized SendStatus send(ProducerRecord<String, String> record, Callback callback) {
-        ProducerRecord<String, String> actualRecord = record;
+    protected synchronized SendStatus send(ProducerRecord<String, byte[]> record, Callback callback) {
+        ProducerRecord<String, byte[]> actualRecord = record;
         if (partition != null) {
             actualRecord = new ProducerRecord<>(record.topic(), partition, record.key(), record.value());
         }
@@ -21,6 +21,7 @@ import org.openkilda.floodlight.service.IService;
 import org.openkilda.floodlight.service.of.InputService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.floodlight.utils.DataSignature;
+import org.openkilda.floodlight.utils.SignatureFormat;
 import org.openkilda.messaging.model.Ping;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
@@ -56,8 +57,9 @@ public class PingService implements IService {
         // FIXME(surabujin): avoid usage foreign module configuration
         Map<String, String> config = moduleContext.getConfigParams(PathVerificationService.class);
         try {
-            signature = new DataSignature(config.get("hmac256-secret"));
-        } catch (InvalidSignatureConfigurationException e) {
+            signature = new DataSignature(
+                    config.get("hmac256-secret"), SignatureFormat.of(config.get("signature-format")));
+        } catch (InvalidSignatureConfigurationException | IllegalArgumentException e) {
             throw new FloodlightModuleException(String.format("Unable to initialize %s", getClass().getName()), e);
         }
 
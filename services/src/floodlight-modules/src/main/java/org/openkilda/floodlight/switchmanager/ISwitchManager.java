@@ -23,8 +23,10 @@ import org.openkilda.model.OutputVlanType;
 
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
 import org.projectfloodlight.openflow.protocol.OFMeterConfig;
+import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.MacAddress;
@@ -32,6 +34,8 @@ import org.projectfloodlight.openflow.types.OFPort;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 
 public interface ISwitchManager extends IFloodlightService {
@@ -167,6 +171,49 @@ public interface ISwitchManager extends IFloodlightService {
                                                       int outputVlanId, final OutputVlanType outputVlanType,
                                                       final long meterId) throws SwitchOperationException;
 
+    /**
+     * Builds the flow mod of {@link #installIngressFlow} without sending it to the switch.
+     *
+     * @return OF flow mod message
+     * @throws SwitchOperationException Switch not found
+     */
+    OFFlowMod buildIngressFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                               final int inputPort, final int outputPort, final int inputVlanId,
+                               final int transitVlanId, final OutputVlanType outputVlanType,
+                               final long meterId) throws SwitchOperationException;
+
+    /**
+     * Builds the flow mod of {@link #installEgressFlow} without sending it to the switch.
+     *
+     * @return OF flow mod message
+     * @throws SwitchOperationException Switch not found
+     */
+    OFFlowMod buildEgressFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                              final int inputPort, final int outputPort, final int transitVlanId,
+                              final int outputVlanId, final OutputVlanType outputVlanType)
+            throws SwitchOperationException;
+
+    /**
+     * Builds the flow mod of {@link #installTransitFlow} without sending it to the switch.
+     *
+     * @return OF flow mod message
+     * @throws SwitchOperationException Switch not found
+     */
+    OFFlowMod buildTransitFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                               final int inputPort, final int outputPort, final int transitVlanId)
+            throws SwitchOperationException;
+
+    /**
+     * Builds the flow mod of {@link #installOneSwitchFlow} without sending it to the switch.
+     *
+     * @return OF flow mod message
+     * @throws SwitchOperationException Switch not found
+     */
+    OFFlowMod buildOneSwitchFlow(final DatapathId dpid, final String flowId, final Long cookie,
+                                 final int inputPort, final int outputPort, int inputVlanId,
+                                 int outputVlanId, final OutputVlanType outputVlanType,
+                                 final long meterId) throws SwitchOperationException;
+
     /**
      * Returns list of installed flows.
      *
@@ -175,6 +222,16 @@ public interface ISwitchManager extends IFloodlightService {
      */
     List<OFFlowStatsEntry> dumpFlowTable(final DatapathId dpid) throws SwitchNotFoundException;
 
+    /**
+     * Requests the list of installed flows without waiting for the switch response.
+     *
+     * @param dpid switch id
+     * @return future of OF flow stats entries
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<List<OFFlowStatsEntry>> dumpFlowTableAsync(final DatapathId dpid)
+            throws SwitchNotFoundException;
+
     /**
      * Returns list of installed meters.
      *
@@ -184,6 +241,15 @@ public interface ISwitchManager extends IFloodlightService {
      */
     List<OFMeterConfig> dumpMeters(final DatapathId dpid) throws SwitchOperationException;
 
+    /**
+     * Requests the list of installed meters without waiting for the switch response.
+     *
+     * @param dpid switch id
+     * @return future of OF meter config stats entries
+     * @throws SwitchOperationException Switch not found or doesn't support meters
+     */
+    CompletableFuture<List<OFMeterConfig>> dumpMetersAsync(final DatapathId dpid) throws SwitchOperationException;
+
     /**
      * Installs a meter on ingress switch OF_13.
      * TODO: describe params meaning in accordance with OF
@@ -195,6 +261,45 @@ public interface ISwitchManager extends IFloodlightService {
      */
     void installMeter(DatapathId dpid, long bandwidth, long meterId) throws SwitchOperationException;
 
+    /**
+     * Builds the meter mod of {@link #installMeter} without sending it to the switch.
+     *
+     * @param dpid      datapath ID of the switch
+     * @param bandwidth the bandwidth limit value
+     * @param meterId   the meter ID
+     * @return OF meter mod message
+     * @throws SwitchOperationException Switch not found or doesn't support meters
+     */
+    OFMeterMod buildMeter(DatapathId dpid, long bandwidth, long meterId) throws SwitchOperationException;
+
+    /**
+     * Writes meter mods and flow mods to the switch without waiting for each of them to be processed. The meters are
+     * confirmed by a single barrier before the flows are written, because the flows may refer to them. The flows are
+     * confirmed by one more barrier. Failed meter installation is logged and doesn't prevent flows installation.
+     *
+     * @param dpid      datapath ID of the switch
+     * @param meterMods meter mods to be written first
+     * @param flowMods  flow mods to be written after the meters
+     * @return future completed when the switch has processed all flow mods
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<Void> installAsync(DatapathId dpid, List<OFMeterMod> meterMods, List<OFFlowMod> flowMods)
+            throws SwitchNotFoundException;
+
+    /**
+     * Writes meter mods and flow mods to the switch with a single write call, the switch is asked to complete the
+     * meters before the flows. The whole batch is confirmed by a single barrier.
+     *
+     * @param dpid      datapath ID of the switch
+     * @param meterMods meter mods of the batch
+     * @param flowMods  flow mods of the batch
+     * @return future of the xids of the messages which weren't written or were rejected by the switch, completed when
+     *         the barrier reply is received
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<Set<Long>> installBatchAsync(DatapathId dpid, List<OFMeterMod> meterMods,
+                                                   List<OFFlowMod> flowMods) throws SwitchNotFoundException;
+
     /**
      * Deletes the meter from the switch OF_13.
      *
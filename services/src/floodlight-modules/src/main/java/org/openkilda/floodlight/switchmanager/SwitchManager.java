@@ -48,6 +48,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
@@ -59,6 +61,7 @@ import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import net.floodlightcontroller.util.FlowModUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -112,8 +115,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -137,6 +143,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     public static final int FLOW_PRIORITY = FlowModUtils.PRIORITY_HIGH;
     public static final long MAX_CENTEC_SWITCH_BURST_SIZE = 32000L;
 
+    /**
+     * Time to wait for a switch reply to the requests written by the async methods.
+     */
+    private static final long REPLY_TIMEOUT_SECONDS = 10;
+
 
     // This is invalid VID mask - it cut of highest bit that indicate presence of VLAN tag on package. But valid mask
     // 0x1FFF lead to rule reject during install attempt on accton based switches.
@@ -145,10 +156,17 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     private IOFSwitchService ofSwitchService;
     private IKafkaProducerService producerService;
     private SwitchTrackingService switchTracking;
+    private IThreadPoolService threadPoolService;
 
     private ConnectModeRequest.Mode connectMode;
     private SwitchManagerConfig config;
 
+    /**
+     * Xids of the messages written by {@link #installBatchAsync} and not confirmed by a barrier yet, grouped by switch
+     * (xids are only unique per connection) and mapped to the set collecting the xids rejected by the switch.
+     */
+    private final Map<DatapathId, Map<Long, Set<Long>>> pendingBatchXids = new ConcurrentHashMap<>();
+
     /**
      * Create an OFInstructionApplyActions which applies actions.
      *
@@ -191,6 +209,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 IFloodlightProviderService.class,
                 IOFSwitchService.class,
                 IRestApiService.class,
+                IThreadPoolService.class,
                 KafkaUtilityService.class,
                 IKafkaProducerService.class);
     }
@@ -203,6 +222,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         ofSwitchService = context.getServiceImpl(IOFSwitchService.class);
         producerService = context.getServiceImpl(IKafkaProducerService.class);
         switchTracking = context.getServiceImpl(SwitchTrackingService.class);
+        threadPoolService = context.getServiceImpl(IThreadPoolService.class);
 
         FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(context, this);
         config = provider.getConfiguration(SwitchManagerConfig.class);
@@ -239,6 +259,15 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         logger.debug("OF_ERROR: {}", msg);
         // TODO: track xid for flow id
         if (OFType.ERROR.equals(msg.getType())) {
+            Map<Long, Set<Long>> switchPendingXids = pendingBatchXids.get(sw.getId());
+            Set<Long> rejectedXids = switchPendingXids != null ? switchPendingXids.get(msg.getXid()) : null;
+            if (rejectedXids != null) {
+                // The batch reply reports the rejected commands, so don't report them one more time here.
+                logger.error("Switch {} rejected batch message with xid {}: {}", sw.getId(), msg.getXid(), msg);
+                rejectedXids.add(msg.getXid());
+                return Command.CONTINUE;
+            }
+
             ErrorMessage error = new ErrorMessage(
                     new ErrorData(ErrorType.INTERNAL_ERROR, ((OFErrorMsg) msg).getErrType().toString(), null),
                     System.currentTimeMillis(), CorrelationContext.getId(), Destination.WFM_TRANSACTION);
@@ -327,6 +356,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final Long cookie, final int inputPort, final int outputPort,
             final int inputVlanId, final int transitVlanId,
             final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
+        OFFlowMod flowMod = buildIngressFlow(dpid, flowId, cookie, inputPort, outputPort, inputVlanId, transitVlanId,
+                outputVlanType, meterId);
+        return pushFlow(lookupSwitch(dpid), "--InstallIngressFlow--", flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildIngressFlow(
+            final DatapathId dpid, final String flowId,
+            final Long cookie, final int inputPort, final int outputPort,
+            final int inputVlanId, final int transitVlanId,
+            final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
@@ -355,7 +398,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         if (!isCentecSwitch(sw)) {
             builder.setFlags(ImmutableSet.of(OFFlowModFlags.RESET_COUNTS));
         }
-        return pushFlow(sw, "--InstallIngressFlow--", builder.build());
+        return builder.build();
     }
 
     /**
@@ -367,6 +410,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final int inputPort, final int outputPort,
             final int transitVlanId, final int outputVlanId,
             final OutputVlanType outputVlanType) throws SwitchOperationException {
+        OFFlowMod flowMod = buildEgressFlow(dpid, flowId, cookie, inputPort, outputPort, transitVlanId, outputVlanId,
+                outputVlanType);
+        return pushFlow(lookupSwitch(dpid), "--InstallEgressFlow--", flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildEgressFlow(
+            final DatapathId dpid, String flowId, final Long cookie,
+            final int inputPort, final int outputPort,
+            final int transitVlanId, final int outputVlanId,
+            final OutputVlanType outputVlanType) throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
@@ -386,7 +443,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setInstructions(ImmutableList.of(actions))
                 .build();
 
-        return pushFlow(sw, "--InstallEgressFlow--", flowMod);
+        return flowMod;
     }
 
     /**
@@ -397,6 +454,18 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final DatapathId dpid, final String flowId,
             final Long cookie, final int inputPort, final int outputPort,
             final int transitVlanId) throws SwitchOperationException {
+        OFFlowMod flowMod = buildTransitFlow(dpid, flowId, cookie, inputPort, outputPort, transitVlanId);
+        return pushFlow(lookupSwitch(dpid), flowId, flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildTransitFlow(
+            final DatapathId dpid, final String flowId,
+            final Long cookie, final int inputPort, final int outputPort,
+            final int transitVlanId) throws SwitchOperationException {
         List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
@@ -416,7 +485,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setMatch(match)
                 .build();
 
-        return pushFlow(sw, flowId, flowMod);
+        return flowMod;
     }
 
     /**
@@ -429,6 +498,21 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final int outputPort, final int inputVlanId,
             final int outputVlanId,
             final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
+        OFFlowMod flowMod = buildOneSwitchFlow(dpid, flowId, cookie, inputPort, outputPort, inputVlanId, outputVlanId,
+                outputVlanType, meterId);
+        return pushFlow(lookupSwitch(dpid), flowId, flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildOneSwitchFlow(
+            final DatapathId dpid, final String flowId,
+            final Long cookie, final int inputPort,
+            final int outputPort, final int inputVlanId,
+            final int outputVlanId,
+            final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
         // TODO: As per other locations, how different is this to IngressFlow? Why separate code path?
         //          As with any set of tests, the more we test the same code path, the better.
         //          Based on brief glance, this looks 90% the same as IngressFlow.
@@ -463,7 +547,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             builder.setFlags(ImmutableSet.of(OFFlowModFlags.RESET_COUNTS));
         }
 
-        return pushFlow(sw, flowId, builder.build());
+        return builder.build();
     }
 
     /**
@@ -497,6 +581,27 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return entries;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<OFFlowStatsEntry>> dumpFlowTableAsync(final DatapathId dpid)
+            throws SwitchNotFoundException {
+        IOFSwitch sw = lookupSwitch(dpid);
+
+        OFFactory ofFactory = sw.getOFFactory();
+        OFFlowStatsRequest flowRequest = ofFactory.buildFlowStatsRequest()
+                .setOutGroup(OFGroup.ANY)
+                .setCookieMask(U64.ZERO)
+                .build();
+
+        return toCompletableFuture(sw.writeStatsRequest(flowRequest))
+                .thenApply(values -> values == null ? new ArrayList<>() : values.stream()
+                        .map(OFFlowStatsReply::getEntries)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList()));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -531,12 +636,49 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<OFMeterConfig>> dumpMetersAsync(final DatapathId dpid)
+            throws SwitchOperationException {
+        IOFSwitch sw = lookupSwitch(dpid);
+        verifySwitchSupportsMeters(sw);
+
+        OFFactory ofFactory = sw.getOFFactory();
+        OFMeterConfigStatsRequest meterRequest = ofFactory.buildMeterConfigStatsRequest()
+                .setMeterId(0xffffffff)
+                .build();
+
+        return toCompletableFuture(sw.writeStatsRequest(meterRequest))
+                .thenApply(values -> values == null ? null : values.stream()
+                        .map(OFMeterConfigStatsReply::getEntries)
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList()));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void installMeter(DatapathId dpid, long bandwidth, final long meterId)
             throws SwitchOperationException {
+        OFMeterMod meterMod = buildMeter(dpid, bandwidth, meterId);
+        IOFSwitch sw = lookupSwitch(dpid);
+
+        pushFlow(sw, "--InstallMeter--", meterMod);
+
+        // All cases when we're installing meters require that we wait until the command is processed and
+        // the meter is installed.
+        sendBarrierRequest(sw);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFMeterMod buildMeter(DatapathId dpid, long bandwidth, final long meterId)
+            throws SwitchOperationException {
         if (meterId > 0L) {
             IOFSwitch sw = lookupSwitch(dpid);
             verifySwitchSupportsMeters(sw);
@@ -549,12 +691,80 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             }
 
             Set<OFMeterFlags> flags = ImmutableSet.of(OFMeterFlags.KBPS, OFMeterFlags.BURST, OFMeterFlags.STATS);
-            buildAndInstallMeter(sw, flags, bandwidth, burstSize, meterId);
+            return buildMeterMod(sw, flags, bandwidth, burstSize, meterId);
         } else {
             throw new InvalidMeterIdException(dpid, "Meter id must be positive.");
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> installAsync(DatapathId dpid, List<OFMeterMod> meterMods,
+                                                List<OFFlowMod> flowMods) throws SwitchNotFoundException {
+        IOFSwitch sw = lookupSwitch(dpid);
+
+        CompletableFuture<Void> metersInstalled;
+        if (meterMods.isEmpty()) {
+            metersInstalled = CompletableFuture.completedFuture(null);
+        } else {
+            // Flow mods refer to the meters, so the meters must be processed by the switch before the flows are
+            // written. One barrier covers the whole group of meters.
+            metersInstalled = writeWithBarrier(sw, meterMods)
+                    .exceptionally(e -> {
+                        logger.error("Failed to install meters on switch {}: {}", dpid, e.getMessage());
+                        return null;
+                    });
+        }
+
+        return metersInstalled.thenCompose(ignore -> writeWithBarrier(sw, flowMods));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Set<Long>> installBatchAsync(DatapathId dpid, List<OFMeterMod> meterMods,
+                                                         List<OFFlowMod> flowMods) throws SwitchNotFoundException {
+        IOFSwitch sw = lookupSwitch(dpid);
+        OFFactory ofFactory = sw.getOFFactory();
+
+        List<OFMessage> messages = new ArrayList<>(meterMods.size() + flowMods.size() + 1);
+        messages.addAll(meterMods);
+        if (!meterMods.isEmpty()) {
+            // Makes the switch complete the meters before the flows referring to them, without waiting for the reply.
+            messages.add(ofFactory.buildBarrierRequest().build());
+        }
+        messages.addAll(flowMods);
+
+        Set<Long> rejectedXids = ConcurrentHashMap.newKeySet();
+        Map<Long, Set<Long>> switchPendingXids = pendingBatchXids.computeIfAbsent(dpid,
+                ignore -> new ConcurrentHashMap<>());
+        for (OFMessage message : messages) {
+            switchPendingXids.put(message.getXid(), rejectedXids);
+        }
+
+        logger.info("Installing {} meters and {} flows on switch {}", meterMods.size(), flowMods.size(), dpid);
+        for (OFMessage message : sw.write(messages)) {
+            logger.error("Failed to write {} to switch {}", message, dpid);
+            rejectedXids.add(message.getXid());
+        }
+
+        OFBarrierRequest barrierRequest = ofFactory.buildBarrierRequest().build();
+        return toCompletableFuture(sw.writeRequest(barrierRequest))
+                .whenComplete((reply, error) -> messages.forEach(
+                        message -> switchPendingXids.remove(message.getXid())))
+                .thenApply(reply -> {
+                    for (OFMeterMod meterMod : meterMods) {
+                        if (rejectedXids.contains(meterMod.getXid())) {
+                            logger.error("Failed to install meter {} on switch {}", meterMod.getMeterId(), dpid);
+                        }
+                    }
+                    return ImmutableSet.copyOf(rejectedXids);
+                });
+    }
+
     @Override
     public Map<DatapathId, IOFSwitch> getAllSwitchMap() {
         return ofSwitchService.getAllSwitchMap();
@@ -808,6 +1018,17 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
 
     private void buildAndInstallMeter(IOFSwitch sw, Set<OFMeterFlags> flags, long bandwidth, long burstSize,
                                       long meterId) throws OfInstallException {
+        OFMeterMod meterMod = buildMeterMod(sw, flags, bandwidth, burstSize, meterId);
+
+        pushFlow(sw, "--InstallMeter--", meterMod);
+
+        // All cases when we're installing meters require that we wait until the command is processed and
+        // the meter is installed.
+        sendBarrierRequest(sw);
+    }
+
+    private OFMeterMod buildMeterMod(IOFSwitch sw, Set<OFMeterFlags> flags, long bandwidth, long burstSize,
+                                     long meterId) {
         logger.info("Installing meter {} on switch {} with bandwidth {}", meterId, sw.getId(), bandwidth);
 
         OFFactory ofFactory = sw.getOFFactory();
@@ -829,13 +1050,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             meterModBuilder.setMeters(singletonList(bandBuilder.build()));
         }
 
-        OFMeterMod meterMod = meterModBuilder.build();
-
-        pushFlow(sw, "--InstallMeter--", meterMod);
-
-        // All cases when we're installing meters require that we wait until the command is processed and
-        // the meter is installed.
-        sendBarrierRequest(sw);
+        return meterModBuilder.build();
     }
 
     private void buildAndDeleteMeter(IOFSwitch sw, final DatapathId dpid, final long meterId)
@@ -906,6 +1121,53 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return result;
     }
 
+    /**
+     * Writes the messages without waiting for the switch and closes them with a single barrier request.
+     *
+     * @return future completed when the barrier reply is received.
+     */
+    private CompletableFuture<Void> writeWithBarrier(IOFSwitch sw, List<? extends OFMessage> messages) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        for (OFMessage message : messages) {
+            logger.debug("Writing {} to switch {}", message, sw.getId());
+            if (!sw.write(message)) {
+                result.completeExceptionally(new OfInstallException(sw.getId(), message));
+                return result;
+            }
+        }
+
+        OFBarrierRequest barrierRequest = sw.getOFFactory().buildBarrierRequest().build();
+        return toCompletableFuture(sw.writeRequest(barrierRequest))
+                .thenApply(reply -> null);
+    }
+
+    /**
+     * Adapts the switch reply future. The result is completed on the Floodlight thread pool, so the dependent stages
+     * never run on the switch I/O threads which deliver the replies, and fails with {@link TimeoutException} if the
+     * switch does not reply in {@link #REPLY_TIMEOUT_SECONDS}.
+     */
+    private <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = threadPoolService.getScheduledExecutor().schedule(
+                () -> result.completeExceptionally(new TimeoutException(
+                        String.format("No switch reply in %d seconds", REPLY_TIMEOUT_SECONDS))),
+                REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                timeout.cancel(false);
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                timeout.cancel(false);
+                result.completeExceptionally(error);
+            }
+        }, threadPoolService.getScheduledExecutor());
+        return result;
+    }
+
 
     private List<Long> deleteRulesWithCookie(final DatapathId dpid, Long... cookiesToRemove)
             throws SwitchOperationException {
@@ -48,6 +48,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 
 public class SwitchTrackingService implements IOFSwitchListener, IService {
     private static final Logger logger = LoggerFactory.getLogger(SwitchTrackingService.class);
@@ -63,9 +64,17 @@ public class SwitchTrackingService implements IOFSwitchListener, IService {
      * Send dump contain all connected at this moment switches.
      */
     public void dumpAllSwitches(String correlationId) throws SwitchOperationException {
+        dumpSwitches(correlationId, switchId -> true);
+    }
+
+    /**
+     * Send dump contain connected at this moment switches accepted by the filter. The dump markers are sent
+     * even if no switch is accepted.
+     */
+    public void dumpSwitches(String correlationId, Predicate<SwitchId> filter) throws SwitchOperationException {
         discoveryLock.writeLock().lock();
         try {
-            dumpAllSwitchesAction(correlationId);
+            dumpSwitchesAction(correlationId, filter);
         } finally {
             discoveryLock.writeLock().unlock();
         }
@@ -152,7 +161,8 @@ public class SwitchTrackingService implements IOFSwitchListener, IService {
         context.getServiceImpl(IOFSwitchService.class).addOFSwitchListener(this);
     }
 
-    private void dumpAllSwitchesAction(String correlationId) throws SwitchOperationException {
+    private void dumpSwitchesAction(String correlationId, Predicate<SwitchId> filter)
+            throws SwitchOperationException {
         producerService.enableGuaranteedOrder(topoDiscoTopic);
         try {
             producerService.sendMessageAndTrack(
@@ -160,7 +170,12 @@ public class SwitchTrackingService implements IOFSwitchListener, IService {
                     new InfoMessage(new NetworkDumpBeginMarker(), System.currentTimeMillis(), correlationId));
 
             for (IOFSwitch sw : switchManager.getAllSwitchMap().values()) {
-                NetworkDumpSwitchData swData = new NetworkDumpSwitchData(new SwitchId(sw.getId().getLong()));
+                SwitchId switchId = new SwitchId(sw.getId().getLong());
+                if (!filter.test(switchId)) {
+                    continue;
+                }
+
+                NetworkDumpSwitchData swData = new NetworkDumpSwitchData(switchId);
                 producerService.sendMessageAndTrack(topoDiscoTopic,
                                                     new InfoMessage(swData, System.currentTimeMillis(), correlationId));
 
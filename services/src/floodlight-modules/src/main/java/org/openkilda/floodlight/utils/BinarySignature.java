@@ -0,0 +1,132 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.utils;
+
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
+import org.openkilda.floodlight.error.InvalidSignatureConfigurationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Compact alternative to JWT for data carried by discovery and ping packets.
+ *
+ * <p>Signed data layout: 2 bytes header ({@code 0x00} followed by the format version), fixed layout payload, first
+ * {@link #TAG_SIZE} bytes of HMAC-SHA256 of the header and the payload. JWT tokens always start with a printable
+ * character, so both formats can be told apart by the first byte. {@link Mac} instances are created once per thread
+ * and reused.
+ */
+public class BinarySignature {
+    public static final int HEADER_SIZE = 2;
+    public static final int TAG_SIZE = 16;
+
+    private static final byte VERSION = 1;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Signer> signer;
+
+    public BinarySignature(String secret) throws InvalidSignatureConfigurationException {
+        if (secret == null) {
+            throw new InvalidSignatureConfigurationException(
+                    "Can't initialize sign/verify objects", new IllegalArgumentException("secret is null"));
+        }
+        key = new SecretKeySpec(secret.getBytes(Charset.forName("UTF-8")), ALGORITHM);
+        try {
+            new Signer(key);
+        } catch (GeneralSecurityException e) {
+            throw new InvalidSignatureConfigurationException("Can't initialize sign/verify objects", e);
+        }
+        signer = ThreadLocal.withInitial(this::makeSigner);
+    }
+
+    /**
+     * Check whether data is (probably) signed by {@link BinarySignature} i.e. it has the proper header.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length >= HEADER_SIZE + TAG_SIZE && data[0] == 0 && data[1] == VERSION;
+    }
+
+    /**
+     * Wrap payload into header and signature.
+     */
+    public byte[] sign(byte[] payload) {
+        byte[] result = new byte[HEADER_SIZE + payload.length + TAG_SIZE];
+        result[0] = 0;
+        result[1] = VERSION;
+        System.arraycopy(payload, 0, result, HEADER_SIZE, payload.length);
+
+        byte[] tag = signer.get().calculate(result, HEADER_SIZE + payload.length);
+        System.arraycopy(tag, 0, result, HEADER_SIZE + payload.length, TAG_SIZE);
+        return result;
+    }
+
+    /**
+     * Verify data signature and return the payload.
+     */
+    public ByteBuffer verify(byte[] data) throws CorruptedNetworkDataException {
+        if (!isBinary(data)) {
+            throw new CorruptedNetworkDataException("Bad signature: unknown signed data header");
+        }
+
+        int payloadEnd = data.length - TAG_SIZE;
+        byte[] tag = signer.get().calculate(data, payloadEnd);
+        int diff = 0;
+        for (int i = 0; i < TAG_SIZE; i++) {
+            diff |= tag[i] ^ data[payloadEnd + i];
+        }
+        if (diff != 0) {
+            throw new CorruptedNetworkDataException("Bad signature: HMAC mismatch");
+        }
+
+        return ByteBuffer.wrap(data, HEADER_SIZE, payloadEnd - HEADER_SIZE).slice();
+    }
+
+    private Signer makeSigner() {
+        try {
+            return new Signer(key);
+        } catch (GeneralSecurityException e) {
+            // must not happen, the very same key has been checked in the constructor
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Signer {
+        private final Mac mac;
+        private final byte[] tag;
+
+        Signer(SecretKeySpec key) throws GeneralSecurityException {
+            mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            tag = new byte[mac.getMacLength()];
+        }
+
+        byte[] calculate(byte[] data, int length) {
+            mac.update(data, 0, length);
+            try {
+                mac.doFinal(tag, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            return tag;
+        }
+    }
+}
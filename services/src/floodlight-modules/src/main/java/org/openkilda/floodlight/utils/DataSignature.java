@@ -27,26 +27,57 @@ import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
+/**
+ * Sign data using {@link SignatureFormat configured format}. Verification accepts both formats, so the format can be
+ * switched without breaking packets produced by not yet reconfigured speakers.
+ */
 public class DataSignature {
+    private final SignatureFormat format;
     private final Algorithm signAlgorithm;
     private final JWTVerifier signVerification;
+    private final BinarySignature binarySignature;
 
     public DataSignature(String secret) throws InvalidSignatureConfigurationException {
+        this(secret, SignatureFormat.JWT);
+    }
+
+    public DataSignature(String secret, SignatureFormat format) throws InvalidSignatureConfigurationException {
+        this.format = format;
         try {
             signAlgorithm = Algorithm.HMAC256(secret);
             signVerification = JWT.require(signAlgorithm).build();
         } catch (UnsupportedEncodingException e) {
             throw new InvalidSignatureConfigurationException("Can't initialize sing/verify objects", e);
         }
+        binarySignature = new BinarySignature(secret);
     }
 
+    /**
+     * Sign data.
+     */
     public byte[] sign(ISignPayload payload) {
+        if (format == SignatureFormat.BINARY) {
+            return binarySignature.sign(payload.toSign());
+        }
+
         JWTCreator.Builder token = payload.toSign(JWT.create());
         return token.sign(signAlgorithm).getBytes(Charset.forName("UTF-8"));
     }
 
+    public boolean isBinary(byte[] payload) {
+        return BinarySignature.isBinary(payload);
+    }
+
+    /**
+     * Verify data signed in {@link SignatureFormat#BINARY} format.
+     */
+    public ByteBuffer verifyBinary(byte[] payload) throws CorruptedNetworkDataException {
+        return binarySignature.verify(payload);
+    }
+
     /**
      * Verify data signature.
      */
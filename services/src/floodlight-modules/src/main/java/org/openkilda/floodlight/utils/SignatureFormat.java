@@ -0,0 +1,34 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.utils;
+
+import java.util.Locale;
+
+public enum SignatureFormat {
+    JWT,
+    BINARY;
+
+    /**
+     * Parse format name (case insensitive), {@code null} means {@link #JWT}.
+     */
+    public static SignatureFormat of(String name) {
+        if (name == null) {
+            return JWT;
+        }
+        return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+    }
+}
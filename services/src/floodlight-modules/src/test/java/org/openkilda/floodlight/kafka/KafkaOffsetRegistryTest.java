@@ -17,16 +17,22 @@ package org.openkilda.floodlight.kafka;
 
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.mock;
+import static org.junit.Assert.assertEquals;
 
 import org.openkilda.floodlight.kafka.Consumer.KafkaOffsetRegistry;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaOffsetRegistryTest {
@@ -43,18 +49,20 @@ public class KafkaOffsetRegistryTest {
 
         // when
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
+        registry.complete(record);
+        registry.commitIfRequired();
 
         // then
         EasyMock.verify(consumer);
     }
 
     @Test
-    public void shouldCommitOnAddIfIntervalPassed() throws InterruptedException {
+    public void shouldCommitIfIntervalPassed() throws InterruptedException {
         // given
         @SuppressWarnings("unchecked")
         KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        consumer.commitSync(anyObject());
+        consumer.commitAsync(anyObject(), anyObject());
         EasyMock.expectLastCall();
         EasyMock.replay(consumer);
         Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 1L);
@@ -63,7 +71,9 @@ public class KafkaOffsetRegistryTest {
         TimeUnit.MILLISECONDS.sleep(10);
 
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
+        registry.complete(record);
+        registry.commitIfRequired();
 
         // then
         EasyMock.verify(consumer);
@@ -74,14 +84,15 @@ public class KafkaOffsetRegistryTest {
         // given
         @SuppressWarnings("unchecked")
         KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
-        consumer.commitSync(anyObject());
+        consumer.commitAsync(anyObject(), anyObject());
         EasyMock.expectLastCall();
         EasyMock.replay(consumer);
         Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
 
         // when
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
+        registry.complete(record);
         registry.commitOffsets();
 
         // then
@@ -96,14 +107,93 @@ public class KafkaOffsetRegistryTest {
         Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
 
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 10, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
 
         expectedException.expect(IllegalArgumentException.class);
 
         // when
         ConsumerRecord<String, String> outdated = new ConsumerRecord<>("test", 1, 1, "key2", "value2");
-        registry.addAndCommit(outdated);
+        registry.add(outdated);
 
         // then an IllegalArgumentException is thrown
     }
+
+    @Test
+    public void shouldCommitOnlyContiguousCompletedOffsets() {
+        // given
+        @SuppressWarnings("unchecked")
+        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        Capture<Map<TopicPartition, OffsetAndMetadata>> firstCommit = EasyMock.newCapture();
+        Capture<Map<TopicPartition, OffsetAndMetadata>> secondCommit = EasyMock.newCapture();
+        consumer.commitAsync(EasyMock.capture(firstCommit), anyObject());
+        consumer.commitAsync(EasyMock.capture(secondCommit), anyObject());
+        EasyMock.replay(consumer);
+        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        ConsumerRecord<String, String> first = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        ConsumerRecord<String, String> second = new ConsumerRecord<>("test", 1, 2, "key", "value");
+        ConsumerRecord<String, String> third = new ConsumerRecord<>("test", 1, 3, "key", "value");
+        registry.add(first);
+        registry.add(second);
+        registry.add(third);
+
+        // when
+        registry.complete(first);
+        registry.complete(third);
+        registry.commitOffsets();
+
+        registry.complete(second);
+        registry.commitOffsets();
+
+        // then
+        EasyMock.verify(consumer);
+        TopicPartition partition = new TopicPartition("test", 1);
+        assertEquals(2, firstCommit.getValue().get(partition).offset());
+        assertEquals(4, secondCommit.getValue().get(partition).offset());
+    }
+
+    @Test
+    public void shouldCommitAndForgetRevokedPartition() {
+        // given
+        @SuppressWarnings("unchecked")
+        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        Capture<Map<TopicPartition, OffsetAndMetadata>> commit = EasyMock.newCapture();
+        consumer.commitSync(EasyMock.capture(commit));
+        EasyMock.replay(consumer);
+        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        ConsumerRecord<String, String> first = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        ConsumerRecord<String, String> second = new ConsumerRecord<>("test", 1, 2, "key", "value");
+        registry.add(first);
+        registry.add(second);
+        registry.complete(first);
+
+        // when
+        TopicPartition partition = new TopicPartition("test", 1);
+        registry.revoke(Collections.singleton(partition));
+        registry.complete(second);
+        registry.commitOffsets();
+
+        // then
+        EasyMock.verify(consumer);
+        assertEquals(1, commit.getValue().size());
+        assertEquals(2, commit.getValue().get(partition).offset());
+    }
+
+    @Test
+    public void shouldNotCommitIfNothingCompleted() {
+        // given
+        @SuppressWarnings("unchecked")
+        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        EasyMock.replay(consumer);
+        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        // when
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 0, "key", "value");
+        registry.add(record);
+        registry.commitOffsets();
+
+        // then
+        EasyMock.verify(consumer);
+    }
 }
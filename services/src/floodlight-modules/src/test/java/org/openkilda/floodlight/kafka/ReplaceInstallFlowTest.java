@@ -52,9 +52,11 @@ import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.projectfloodlight.openflow.protocol.OFBarrierReply;
@@ -65,6 +67,8 @@ import org.projectfloodlight.openflow.types.DatapathId;
 
 import java.io.IOException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 public class ReplaceInstallFlowTest {
@@ -75,6 +79,7 @@ public class ReplaceInstallFlowTest {
 
     private static final FloodlightModuleContext context = new FloodlightModuleContext();
     private final ExecutorService parseRecordExecutor = MoreExecutors.sameThreadExecutor();
+    private final ScheduledExecutorService scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
     protected SwitchDescription switchDescription;
     protected OutputCommands scheme;
     private IOFSwitchService ofSwitchService;
@@ -106,6 +111,11 @@ public class ReplaceInstallFlowTest {
         context.addService(IPathVerificationService.class, pathVerificationService);
         context.addService(ISwitchManager.class, switchManager);
 
+        IThreadPoolService threadPoolService = createMock(IThreadPoolService.class);
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(scheduledExecutor);
+        replay(threadPoolService);
+        context.addService(IThreadPoolService.class, threadPoolService);
+
         switchManager.init(context);
 
         collector = new KafkaMessageCollector();
@@ -126,6 +136,11 @@ public class ReplaceInstallFlowTest {
         initScheme();
     }
 
+    @After
+    public void tearDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
     protected void initScheme() {
         scheme = new ReplaceSchemeOutputCommands();
         switchDescription = new SwitchDescription("", "", "", "", "");
@@ -309,8 +324,10 @@ public class ReplaceInstallFlowTest {
 
         if (meterAddCapture != null) {
             expect(iofSwitch.write(capture(meterAddCapture))).andReturn(true);
+            // one barrier confirms the meter and one more confirms the flow
             expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class)))
-                    .andReturn(Futures.immediateFuture(createMock(OFBarrierReply.class)));
+                    .andReturn(Futures.immediateFuture(createMock(OFBarrierReply.class)))
+                    .times(flowAddCapture != null ? 2 : 1);
             if (flowAddCapture != null) {
                 expect(iofSwitch.write(capture(flowAddCapture))).andReturn(true);
             }
@@ -322,6 +339,9 @@ public class ReplaceInstallFlowTest {
             }
         } else if (flowAddCapture != null) {
             expect(iofSwitch.write(capture(flowAddCapture))).andReturn(true).times(needCheckReverseFlow ? 2 : 1);
+            expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class)))
+                    .andReturn(Futures.immediateFuture(createMock(OFBarrierReply.class)))
+                    .times(needCheckReverseFlow ? 2 : 1);
         }
 
         replay(ofSwitchService);
@@ -0,0 +1,135 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SwitchAffinityExecutorTest {
+    private static final String SWITCH_A = "00:00:00:00:00:00:00:01";
+    private static final String SWITCH_B = "00:00:00:00:00:00:00:02";
+
+    private SwitchAffinityExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new SwitchAffinityExecutor("test", 4, 16);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteTasksOfSwitchInOrder() throws InterruptedException {
+        int count = 200;
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            executor.execute(SWITCH_A, () -> {
+                executed.add(index);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) executed.get(i));
+        }
+    }
+
+    @Test
+    public void shouldNotBlockSwitchesOfOtherLanes() throws InterruptedException {
+        assertTrue(executor.getLane(SWITCH_A) != executor.getLane(SWITCH_B));
+
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(SWITCH_A, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(SWITCH_A, () -> { });
+
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(SWITCH_B, done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertEquals(1, executor.getQueueDepth(executor.getLane(SWITCH_A)));
+        release.countDown();
+    }
+
+    @Test
+    public void shouldRejectTaskWhenLaneIsFull() throws InterruptedException {
+        executor.shutdown();
+        executor = new SwitchAffinityExecutor("test", 1, 1);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        assertTrue(executor.tryExecute(SWITCH_A, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(executor.tryExecute(SWITCH_A, () -> { }));
+
+        assertFalse(executor.tryExecute(SWITCH_B, () -> { }));
+        assertEquals(1, executor.getBlockedSubmits(0));
+
+        release.countDown();
+    }
+
+    @Test
+    public void shouldExtractSwitchIdFromRecord() {
+        String value = "{\"clazz\":\"org.openkilda.messaging.command.CommandMessage\",\"timestamp\":0,"
+                + "\"correlation_id\":\"corr\",\"payload\":{\"clazz\":\"some.Command\",\"transaction_id\":0,"
+                + "\"switch_id\":\"" + SWITCH_A + "\",\"input_port\":1}}";
+
+        assertEquals(SWITCH_A, Consumer.getSwitchAffinityKey(record("key", value)));
+    }
+
+    @Test
+    public void shouldFallbackToRecordKey() {
+        assertEquals("key", Consumer.getSwitchAffinityKey(record("key", "{\"payload\":{\"flow_id\":\"f\"}}")));
+        assertEquals("key", Consumer.getSwitchAffinityKey(record("key", "not a json")));
+        assertNull(Consumer.getSwitchAffinityKey(record(null, "{}")));
+    }
+
+    private ConsumerRecord<String, String> record(String key, String value) {
+        return new ConsumerRecord<>("topic", 0, 0, key, value);
+    }
+}
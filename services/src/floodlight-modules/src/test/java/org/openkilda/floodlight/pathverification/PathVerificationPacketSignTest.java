@@ -22,6 +22,7 @@ import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
 import org.openkilda.floodlight.model.OfInput;
+import org.openkilda.floodlight.utils.SignatureFormat;
 
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
@@ -116,4 +117,35 @@ public class PathVerificationPacketSignTest extends PathVerificationPacketInTest
 
         verify(producerService);
     }
+
+    @Test
+    public void testSignPacketBinaryFormat() throws Exception {
+        producerService.sendMessageAndTrack(anyObject(), anyObject());
+        expectLastCall().once();
+        replay(producerService);
+
+        pvs.setSignatureFormat(SignatureFormat.BINARY);
+        useVerificationPacket(pvs.generateVerificationPacket(sw1, OFPort.of(1)));
+
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+        verify(producerService);
+    }
+
+    @Test
+    public void testSignPacketBinaryFormatInvalidSign() throws PacketParsingException, FloodlightModuleException {
+        replay(producerService);
+
+        pvs.setSignatureFormat(SignatureFormat.BINARY);
+        useVerificationPacket(pvs.generateVerificationPacket(sw1, OFPort.of(1)));
+
+        pvs.initAlgorithm("secret2");
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+
+        verify(producerService);
+    }
+
+    private void useVerificationPacket(OFPacketOut packet) throws PacketParsingException {
+        IPacket data = new Ethernet().deserialize(packet.getData(), 0, packet.getData().length);
+        context.getStorage().put(IFloodlightProviderService.CONTEXT_PI_PAYLOAD, data);
+    }
 }
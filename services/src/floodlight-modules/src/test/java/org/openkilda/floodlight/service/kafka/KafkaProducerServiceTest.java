@@ -22,6 +22,7 @@ import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
 import org.openkilda.floodlight.service.HeartBeatService;
+import org.openkilda.messaging.codec.TopicFormatSelector;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
@@ -45,6 +46,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -63,7 +65,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     private KafkaProducerService subject;
 
     @SuppressWarnings("unchecked")
-    private Producer<String, String> kafkaProducer = (Producer<String, String>) strictMock(Producer.class);
+    private Producer<String, byte[]> kafkaProducer = (Producer<String, byte[]>) strictMock(Producer.class);
 
     @Before
     public void setUp() {
@@ -74,6 +76,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         KafkaUtilityService kafkaUtility = createMock(KafkaUtilityService.class);
         expect(kafkaUtility.makeProducer()).andReturn(kafkaProducer);
+        expect(kafkaUtility.getTopicFormatSelector()).andReturn(new TopicFormatSelector(null));
         moduleContext.addService(KafkaUtilityService.class, kafkaUtility);
 
         replay(kafkaUtility);
@@ -106,7 +109,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
                 null, null, null, 0, null, null, null, 1, null};
         Assert.assertEquals(sendResults.length, expectedPartitions.length);
 
-        Capture<ProducerRecord<String, String>> sendArguments = Capture.newInstance(CaptureType.ALL);
+        Capture<ProducerRecord<String, byte[]>> sendArguments = Capture.newInstance(CaptureType.ALL);
         setupSendCapture(sendArguments, sendResults);
 
         replay(kafkaProducer);
@@ -135,12 +138,13 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         verify(kafkaProducer);
 
-        List<ProducerRecord<String, String>> values = sendArguments.getValues();
+        List<ProducerRecord<String, byte[]>> values = sendArguments.getValues();
         for (int i = 0; i < values.size(); i++) {
-            ProducerRecord<String, String> record = values.get(i);
+            ProducerRecord<String, byte[]> record = values.get(i);
             Integer partition = expectedPartitions[i];
             Assert.assertEquals(String.format(
-                    "%d: Invalid partition argument for message \"%s\" - %s", i, record.value(), record.partition()),
+                    "%d: Invalid partition argument for message \"%s\" - %s",
+                    i, new String(record.value(), StandardCharsets.UTF_8), record.partition()),
                     partition, record.partition());
         }
     }
@@ -201,7 +205,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     }
 
     @SuppressWarnings("unchecked")
-    private void setupSendCapture(Capture<ProducerRecord<String, String>> trap, RecordMetadata[] sendResults)
+    private void setupSendCapture(Capture<ProducerRecord<String, byte[]>> trap, RecordMetadata[] sendResults)
             throws Exception {
         for (RecordMetadata metadata : sendResults) {
             Future promise = mock(Future.class);
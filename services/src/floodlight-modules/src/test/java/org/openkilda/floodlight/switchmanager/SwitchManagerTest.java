@@ -15,6 +15,7 @@
 
 package org.openkilda.floodlight.switchmanager;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static org.easymock.EasyMock.anyLong;
@@ -24,9 +25,12 @@ import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.mock;
+import static org.easymock.EasyMock.newCapture;
 import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -35,6 +39,8 @@ import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
 import static org.hamcrest.core.Every.everyItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.openkilda.floodlight.Constants.inputPort;
 import static org.openkilda.floodlight.Constants.inputVlanId;
 import static org.openkilda.floodlight.Constants.meterId;
@@ -52,6 +58,7 @@ import static org.openkilda.floodlight.test.standard.PushSchemeOutputCommands.of
 
 import org.openkilda.floodlight.error.InvalidMeterIdException;
 import org.openkilda.floodlight.error.SwitchOperationException;
+import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.test.standard.OutputCommands;
 import org.openkilda.floodlight.test.standard.ReplaceSchemeOutputCommands;
 import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
@@ -62,25 +69,32 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import net.floodlightcontroller.core.IListener.Command;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.SwitchDescription;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.commons.lang3.StringUtils;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
 import org.easymock.EasyMock;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.projectfloodlight.openflow.protocol.OFBarrierReply;
 import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
+import org.projectfloodlight.openflow.protocol.OFErrorMsg;
 import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowModCommand;
+import org.projectfloodlight.openflow.protocol.OFFlowModFailedCode;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFMeterConfig;
 import org.projectfloodlight.openflow.protocol.OFMeterConfigStatsReply;
 import org.projectfloodlight.openflow.protocol.OFMeterConfigStatsRequest;
@@ -97,7 +111,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
@@ -114,15 +133,18 @@ public class SwitchManagerTest {
     private SwitchManager switchManager;
     private IOFSwitchService ofSwitchService;
     private IRestApiService restApiService;
+    private IKafkaProducerService producerService;
     private IOFSwitch iofSwitch;
     private SwitchDescription switchDescription;
     private DatapathId dpid;
     private SwitchManagerConfig config = new Config();
+    private ScheduledExecutorService scheduledExecutor;
 
     @Before
     public void setUp() throws FloodlightModuleException {
         ofSwitchService = createMock(IOFSwitchService.class);
         restApiService = createMock(IRestApiService.class);
+        producerService = createMock(IKafkaProducerService.class);
         iofSwitch = createMock(IOFSwitch.class);
 
         switchDescription = createMock(SwitchDescription.class);
@@ -130,12 +152,21 @@ public class SwitchManagerTest {
 
         context.addService(IRestApiService.class, restApiService);
         context.addService(IOFSwitchService.class, ofSwitchService);
+        context.addService(IKafkaProducerService.class, producerService);
+
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        addThreadPoolService(scheduledExecutor);
 
         switchManager = new SwitchManager();
         switchManager.init(context);
         switchManager.setConfig(config);
     }
 
+    @After
+    public void tearDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
     @Test
     public void installDefaultRules() {
         // TODO
@@ -367,6 +398,97 @@ public class SwitchManagerTest {
         switchManager.installMeter(dpid, bandwidth, meterId);
     }
 
+    @Test
+    public void installBatchWithSingleWriteAndBarrier() throws Exception {
+        OFMeterMod meterMod = scheme.installMeter(bandwidth, bandwidth / 10, meterId).createBuilder()
+                .setXid(1L).build();
+        OFFlowMod acceptedFlowMod = scheme.ingressReplaceFlowMod(inputPort, outputPort, inputVlanId, transitVlanId,
+                meterId, cookie).createBuilder().setXid(2L).build();
+        OFFlowMod rejectedFlowMod = scheme.egressNoneFlowMod(inputPort, outputPort, transitVlanId, cookie)
+                .createBuilder().setXid(3L).build();
+
+        Capture<Iterable<OFMessage>> capture = EasyMock.newCapture();
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.write(capture(capture))).andReturn(singletonList(rejectedFlowMod));
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class)))
+                .andReturn(Futures.immediateFuture(createMock(OFBarrierReply.class)));
+        replay(ofSwitchService);
+        replay(iofSwitch);
+
+        Set<Long> rejectedXids = switchManager.installBatchAsync(dpid, singletonList(meterMod),
+                Arrays.asList(acceptedFlowMod, rejectedFlowMod)).get();
+
+        List<OFMessage> written = Lists.newArrayList(capture.getValue());
+        assertEquals(4, written.size());
+        assertEquals(meterMod, written.get(0));
+        assertThat(written.get(1), instanceOf(OFBarrierRequest.class));
+        assertEquals(acceptedFlowMod, written.get(2));
+        assertEquals(rejectedFlowMod, written.get(3));
+        assertThat(rejectedXids, contains(rejectedFlowMod.getXid()));
+    }
+
+    @Test
+    public void batchRejectionIsNotReportedAsGenericError() throws Exception {
+        OFFlowMod flowMod = scheme.egressNoneFlowMod(inputPort, outputPort, transitVlanId, cookie)
+                .createBuilder().setXid(3L).build();
+        OFErrorMsg error = ofFactory.errorMsgs().buildFlowModFailedErrorMsg()
+                .setXid(flowMod.getXid())
+                .setCode(OFFlowModFailedCode.UNKNOWN)
+                .build();
+
+        SettableFuture<OFBarrierReply> barrierReply = SettableFuture.create();
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.getId()).andStubReturn(dpid);
+        expect(iofSwitch.write(EasyMock.<Iterable<OFMessage>>anyObject())).andReturn(Collections.emptyList());
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andReturn(barrierReply);
+        replay(ofSwitchService);
+        replay(iofSwitch);
+        // no generic error must be sent for a message tracked by the batch
+        replay(producerService);
+
+        CompletableFuture<Set<Long>> installation = switchManager.installBatchAsync(dpid, emptyList(),
+                singletonList(flowMod));
+        assertEquals(Command.CONTINUE, switchManager.receive(iofSwitch, error, null));
+        barrierReply.set(createMock(OFBarrierReply.class));
+
+        assertThat(installation.get(), contains(flowMod.getXid()));
+        verify(producerService);
+    }
+
+    @Test
+    public void batchFailsWhenBarrierIsNotReplied() throws Exception {
+        OFFlowMod flowMod = scheme.egressNoneFlowMod(inputPort, outputPort, transitVlanId, cookie)
+                .createBuilder().setXid(3L).build();
+
+        ScheduledExecutorService executor = createMock(ScheduledExecutorService.class);
+        Capture<Runnable> timeout = newCapture();
+        expect(executor.schedule(capture(timeout), anyLong(), anyObject(TimeUnit.class)))
+                .andReturn(createMock(ScheduledFuture.class));
+        replay(executor);
+        addThreadPoolService(executor);
+        switchManager.init(context);
+
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.write(EasyMock.<Iterable<OFMessage>>anyObject())).andReturn(Collections.emptyList());
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andReturn(SettableFuture.create());
+        replay(ofSwitchService);
+        replay(iofSwitch);
+
+        CompletableFuture<Set<Long>> installation = switchManager.installBatchAsync(dpid, emptyList(),
+                singletonList(flowMod));
+        timeout.getValue().run();
+
+        try {
+            installation.get();
+            fail("The installation must fail when the switch does not reply to the barrier");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
     @Test
     public void deleteMeter() throws Exception {
         mockBarrierRequest();
@@ -1076,4 +1198,11 @@ public class SwitchManagerTest {
             return 4096;
         }
     }
+
+    private void addThreadPoolService(ScheduledExecutorService executor) {
+        IThreadPoolService threadPoolService = createMock(IThreadPoolService.class);
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(executor);
+        replay(threadPoolService);
+        context.addService(IThreadPoolService.class, threadPoolService);
+    }
 }
@@ -355,4 +355,61 @@ public class SwitchTrackingServiceTest extends EasyMockSupport {
 
         assertEquals(expectedMessages, producedMessages);
     }
+
+    @Test
+    public void networkDumpFilteredTest() throws Exception {
+        OFSwitch iofSwitch1 = mock(OFSwitch.class);
+        OFSwitch iofSwitch2 = mock(OFSwitch.class);
+
+        final DatapathId swAid = DatapathId.of(1);
+        final DatapathId swBid = DatapathId.of(2);
+        Map<DatapathId, IOFSwitch> switches = ImmutableMap.of(
+                swAid, iofSwitch1,
+                swBid, iofSwitch2
+        );
+
+        for (DatapathId swId : switches.keySet()) {
+            IOFSwitch sw = switches.get(swId);
+            expect(sw.isActive()).andReturn(true).anyTimes();
+            expect(sw.getId()).andReturn(swId).anyTimes();
+        }
+
+        expect(switchManager.getAllSwitchMap()).andReturn(switches);
+
+        OFPortDesc ofPortDesc = mock(OFPortDesc.class);
+        expect(ofPortDesc.getPortNo()).andReturn(OFPort.ofInt(3));
+        // ports of the filtered out switch must not be requested
+        expect(switchManager.getEnabledPhysicalPorts(eq(swBid))).andReturn(ImmutableList.of(ofPortDesc));
+
+        ArrayList<Message> producedMessages = new ArrayList<>();
+        producerService.sendMessageAndTrack(eq(KAFKA_ISL_DISCOVERY_TOPIC), anyObject(InfoMessage.class));
+        expectLastCall().andAnswer(new IAnswer<Object>() {
+            @Override
+            public Object answer() {
+                Message sentMessage = (Message) getCurrentArguments()[1];
+                sentMessage.setTimestamp(0);
+                producedMessages.add(sentMessage);
+                return null;
+            }
+        }).anyTimes();
+
+        producerService.enableGuaranteedOrder(eq(KAFKA_ISL_DISCOVERY_TOPIC));
+        producerService.disableGuaranteedOrder(eq(KAFKA_ISL_DISCOVERY_TOPIC));
+
+        replayAll();
+
+        String correlationId = "unit-test-correlation-id";
+        SwitchId requestedSwitch = new SwitchId(swBid.getLong());
+        service.dumpSwitches(correlationId, requestedSwitch::equals);
+
+        verify(producerService, switchManager);
+
+        ArrayList<Message> expectedMessages = new ArrayList<>();
+        expectedMessages.add(new InfoMessage(new NetworkDumpBeginMarker(), 0, correlationId));
+        expectedMessages.add(new InfoMessage(new NetworkDumpSwitchData(requestedSwitch), 0, correlationId));
+        expectedMessages.add(new InfoMessage(new NetworkDumpPortData(requestedSwitch, 3), 0, correlationId));
+        expectedMessages.add(new InfoMessage(new NetworkDumpEndMarker(), 0, correlationId));
+
+        assertEquals(expectedMessages, producedMessages);
+    }
 }
@@ -0,0 +1,83 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+public class BinarySignatureTest {
+    private static final byte[] PAYLOAD = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+    @Test
+    public void shouldVerifyOwnSignature() throws Exception {
+        BinarySignature signature = new BinarySignature("secret");
+        byte[] signed = signature.sign(PAYLOAD);
+
+        assertEquals(BinarySignature.HEADER_SIZE + PAYLOAD.length + BinarySignature.TAG_SIZE, signed.length);
+        assertTrue(BinarySignature.isBinary(signed));
+
+        ByteBuffer payload = signature.verify(signed);
+        byte[] actual = new byte[payload.remaining()];
+        payload.get(actual);
+        assertArrayEquals(PAYLOAD, actual);
+    }
+
+    @Test
+    public void shouldVerifyEmptyPayload() throws Exception {
+        BinarySignature signature = new BinarySignature("secret");
+        assertEquals(0, signature.verify(signature.sign(new byte[0])).remaining());
+    }
+
+    @Test(expected = CorruptedNetworkDataException.class)
+    public void shouldRejectOtherSecret() throws Exception {
+        byte[] signed = new BinarySignature("secret").sign(PAYLOAD);
+        new BinarySignature("secret2").verify(signed);
+    }
+
+    @Test
+    public void shouldRejectModifiedData() throws Exception {
+        BinarySignature signature = new BinarySignature("secret");
+        byte[] signed = signature.sign(PAYLOAD);
+
+        for (int i = 0; i < signed.length; i++) {
+            byte[] corrupted = signed.clone();
+            corrupted[i] ^= 0x10;
+            try {
+                signature.verify(corrupted);
+                throw new AssertionError(String.format("Corruption of byte %d is not detected", i));
+            } catch (CorruptedNetworkDataException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotDetectJwtToken() {
+        byte[] token = ("eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzI1NiJ9.eyJkcGlkIjoxLCJ0cyI6Mn0."
+                + "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA").getBytes(Charset.forName("UTF-8"));
+        assertFalse(BinarySignature.isBinary(token));
+    }
+}
@@ -0,0 +1,94 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.utils;
+
+import org.openkilda.floodlight.error.CorruptedNetworkDataException;
+import org.openkilda.floodlight.error.InvalidSignatureConfigurationException;
+import org.openkilda.floodlight.model.PingData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.projectfloodlight.openflow.types.DatapathId;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verification of ping packet payload in JWT and in the binary format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DataSignatureBenchmark {
+    private DataSignature jwtSignature;
+    private DataSignature binarySignature;
+
+    private PingData data;
+    private byte[] jwtSigned;
+    private byte[] binarySigned;
+
+    /**
+     * Prepares signers and signed payloads.
+     */
+    @Setup
+    public void setUp() throws InvalidSignatureConfigurationException {
+        jwtSignature = new DataSignature("secret", SignatureFormat.JWT);
+        binarySignature = new DataSignature("secret", SignatureFormat.BINARY);
+
+        data = new PingData((short) 100, DatapathId.of(1), DatapathId.of(2), UUID.randomUUID());
+        jwtSigned = jwtSignature.sign(data);
+        binarySigned = binarySignature.sign(data);
+    }
+
+    @Benchmark
+    public byte[] signJwt() {
+        return jwtSignature.sign(data);
+    }
+
+    @Benchmark
+    public PingData verifyJwt() throws CorruptedNetworkDataException {
+        return PingData.of(jwtSignature.verify(jwtSigned));
+    }
+
+    @Benchmark
+    public byte[] signBinary() {
+        return binarySignature.sign(data);
+    }
+
+    @Benchmark
+    public PingData verifyBinary() throws CorruptedNetworkDataException {
+        return PingData.of(binarySignature.verifyBinary(binarySigned));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DataSignatureBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,40 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Resources occupied by a flow (one direction of a flow pair).
+ */
+@Value
+@Builder
+public class FlowResources implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String flowId;
+
+    private final long cookie;
+
+    private final int transitVlan;
+
+    private final Integer meterId;
+
+    private final SwitchId srcSwitchId;
+}
@@ -17,10 +17,12 @@ package org.openkilda.persistence.repositories;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPair;
+import org.openkilda.model.FlowResources;
 import org.openkilda.model.SwitchId;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface FlowRepository extends Repository<Flow> {
     boolean exists(String flowId);
@@ -31,8 +33,26 @@ public interface FlowRepository extends Repository<Flow> {
 
     Collection<FlowPair> findAllFlowPairs();
 
+    /**
+     * Returns flow pairs which first endpoint switch in the switch name order is one of {@code switchIds}. Every flow
+     * pair has exactly one such switch, so reading the switches page by page returns each flow pair once.
+     *
+     * @param switchIds a page of switches, see {@link SwitchRepository#findSwitchIds(SwitchId, int)}.
+     */
+    Collection<FlowPair> findFlowPairsBySwitches(Collection<SwitchId> switchIds);
+
     Collection<FlowPair> findFlowPairsWithPeriodicPingsEnabled();
 
+    /**
+     * Passes resources of all flows (each direction separately) to the consumer. Only the resource related properties
+     * are read, page by page, so the flows are never loaded as entities. A page consists of the flows which start at
+     * a range of switches.
+     *
+     * @param switchPageSize the number of switches which flows are read by a single query.
+     * @param consumer the consumer of flow resources.
+     */
+    void forEachFlowResources(int switchPageSize, Consumer<FlowResources> consumer);
+
     Collection<Flow> findFlowIdsByEndpoint(SwitchId switchId, int port);
 
     Collection<String> findActiveFlowIdsWithPortInPath(SwitchId switchId, int port);
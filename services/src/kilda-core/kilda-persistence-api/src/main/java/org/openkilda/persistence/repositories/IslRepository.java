@@ -19,6 +19,8 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.SwitchId;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface IslRepository extends Repository<Isl> {
@@ -40,6 +42,15 @@ public interface IslRepository extends Repository<Isl> {
      */
     Collection<Isl> findActiveAndOccupiedByFlowWithAvailableBandwidth(String flowId, long requiredBandwidth);
 
+    /**
+     * Finds ISLs occupied by the flows with a single query. It's a light query which doesn't load the entities, the
+     * returned ISLs are detached and have only the endpoints set.
+     *
+     * @param flowIds the flow IDs.
+     * @return ISLs by the flow ID, flows which don't occupy any ISL are absent.
+     */
+    Map<String, List<Isl>> findOccupiedByFlows(Collection<String> flowIds);
+
     /**
      * Finds all active ISLs.
      */
@@ -58,4 +69,20 @@ public interface IslRepository extends Repository<Isl> {
      * @return list of ISLs.
      */
     Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth);
+
+    /**
+     * Reads the available bandwidth of all ISLs. It's a light query which doesn't load the entities, the returned ISLs
+     * are detached and have only the endpoints and the available bandwidth set.
+     */
+    Collection<Isl> findAllAvailableBandwidth();
+
+    /**
+     * Gets the revision of active ISLs. The revision is a counter which is incremented by every committed transaction
+     * that changes the topology: creates or deletes ISLs or switches, changes the status or cost of an ISL or the
+     * status of a switch. So it never goes back and changes on ISL activation / deactivation. Available bandwidth
+     * updates don't change the revision, see {@link #findAllAvailableBandwidth()}.
+     *
+     * @return the revision, 0 if nothing has been written yet.
+     */
+    long getActiveIslsRevision();
 }
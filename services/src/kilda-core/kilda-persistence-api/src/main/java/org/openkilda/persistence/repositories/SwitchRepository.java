@@ -18,6 +18,7 @@ package org.openkilda.persistence.repositories;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SwitchRepository extends Repository<Switch> {
@@ -25,6 +26,17 @@ public interface SwitchRepository extends Repository<Switch> {
 
     Optional<Switch> findById(SwitchId switchId);
 
+    /**
+     * Returns up to {@code limit} switch ids which follow {@code afterSwitchId} in the switch name order. Switch names
+     * are indexed, so reading the next page doesn't depend on the number of switches before it.
+     *
+     * @param afterSwitchId the last switch id of the previous page, or null to read the first page.
+     * @param limit the max number of switch ids in the page.
+     */
+    List<SwitchId> findSwitchIds(SwitchId afterSwitchId, int limit);
+
+    long countSwitches();
+
     Switch reload(Switch entity);
 
     void lockSwitches(Switch... switches);
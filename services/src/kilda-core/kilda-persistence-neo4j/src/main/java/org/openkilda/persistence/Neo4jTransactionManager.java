@@ -24,6 +24,8 @@ import org.neo4j.ogm.session.SessionFactory;
 import org.neo4j.ogm.transaction.Transaction;
 import org.neo4j.ogm.transaction.Transaction.Status;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -32,6 +34,9 @@ import java.util.Optional;
 @Slf4j
 final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionFactory {
     private static final ThreadLocal<Session> SESSION_HOLDER = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> TX_DEPTH_HOLDER = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Map<String, Runnable>> PRE_COMMIT_ACTIONS_HOLDER =
+            ThreadLocal.withInitial(LinkedHashMap::new);
 
     private final SessionFactory sessionFactory;
 
@@ -49,6 +54,15 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         return Optional.ofNullable(SESSION_HOLDER.get()).orElseGet(sessionFactory::openSession);
     }
 
+    @Override
+    public void runBeforeCommit(String key, Runnable action) {
+        if (SESSION_HOLDER.get() == null) {
+            action.run();
+        } else {
+            PRE_COMMIT_ACTIONS_HOLDER.get().putIfAbsent(key, action);
+        }
+    }
+
     @Override
     public <T> T doInTransaction(TransactionCallback<T> action) {
         begin();
@@ -95,6 +109,7 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         }
 
         SESSION_HOLDER.set(session);
+        TX_DEPTH_HOLDER.set(TX_DEPTH_HOLDER.get() + 1);
     }
 
     /**
@@ -107,10 +122,17 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         Transaction transaction = currentTx.orElseThrow(
                 () -> new PersistenceException("Unable to commit transaction: there's no active Neo4j transaction."));
 
+        int depth = TX_DEPTH_HOLDER.get();
         try {
+            if (depth == 1) {
+                // The root transaction: the pre-commit actions are executed last, so the locks they take
+                // are held for the shortest time.
+                runPreCommitActions();
+            }
             transaction.commit();
             // Complete the transaction.
             transaction.close();
+            TX_DEPTH_HOLDER.set(depth - 1);
         } catch (Exception ex) {
             // We don't close the transaction on any failure
             // as it's up to a consumer to decide what to do with the failed transaction:
@@ -119,7 +141,7 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         } finally {
             if (transaction.status() == Status.COMMITTED || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
-                SESSION_HOLDER.remove();
+                releaseSession();
             }
         }
     }
@@ -139,6 +161,8 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         } catch (Exception ex) {
             throw new PersistenceException("Unable to rollback transaction.", ex);
         } finally {
+            TX_DEPTH_HOLDER.set(Math.max(TX_DEPTH_HOLDER.get() - 1, 0));
+
             // Enfoce closing of the transaction as a consumer already decided to abandon it.
             try {
                 transaction.close();
@@ -148,8 +172,22 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
 
             if (transaction.status() == Status.ROLLEDBACK || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
-                SESSION_HOLDER.remove();
+                releaseSession();
             }
         }
     }
+
+    private void runPreCommitActions() {
+        Map<String, Runnable> actions = PRE_COMMIT_ACTIONS_HOLDER.get();
+        while (!actions.isEmpty()) {
+            String key = actions.keySet().iterator().next();
+            actions.remove(key).run();
+        }
+    }
+
+    private void releaseSession() {
+        SESSION_HOLDER.remove();
+        TX_DEPTH_HOLDER.remove();
+        PRE_COMMIT_ACTIONS_HOLDER.remove();
+    }
 }
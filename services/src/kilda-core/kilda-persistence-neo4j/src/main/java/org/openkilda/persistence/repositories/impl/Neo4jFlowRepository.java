@@ -21,6 +21,7 @@ import static java.util.Collections.singleton;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPair;
 import org.openkilda.model.FlowPair.FlowPairBuilder;
+import org.openkilda.model.FlowResources;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceException;
@@ -29,15 +30,18 @@ import org.openkilda.persistence.converters.FlowStatusConverter;
 import org.openkilda.persistence.repositories.FlowRepository;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -81,6 +85,24 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
         return buildFlowPairs(findAll());
     }
 
+    @Override
+    public Collection<FlowPair> findFlowPairsBySwitches(Collection<SwitchId> switchIds) {
+        List<String> switches = switchIds.stream()
+                .map(SwitchId::toString)
+                .collect(Collectors.toList());
+        Map<String, Object> parameters = ImmutableMap.of("switches", switches);
+
+        // Both directions of a flow are expanded from its first endpoint switch by the indexed name, a one-switch
+        // flow is matched twice by the undirected pattern.
+        Iterable<Flow> flows = getSession().query(Flow.class, "MATCH (sw:switch)-[fp:flow]-(peer:switch) "
+                + "WHERE sw.name IN $switches AND sw.name <= peer.name "
+                + "WITH DISTINCT fp "
+                + "MATCH (src:switch)-[fp]->(dst:switch) "
+                + "RETURN src, fp, dst", parameters);
+
+        return buildFlowPairs(flows);
+    }
+
     @Override
     public Collection<FlowPair> findFlowPairsWithPeriodicPingsEnabled() {
         Filter periodicPingsFilter = new Filter(PERIODIC_PINGS_PROPERTY_NAME, ComparisonOperator.EQUALS, true);
@@ -89,6 +111,49 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
         return buildFlowPairs(flows);
     }
 
+    @Override
+    public void forEachFlowResources(int switchPageSize, Consumer<FlowResources> consumer) {
+        // Neo4j doesn't index relationship properties, so any keyset over flows is a scan of all of them. Pages are
+        // taken over switches by the indexed name instead, and the flows are expanded from the switches of the page.
+        // Each flow direction starts at exactly one switch, so it's read once.
+        String switchesQuery = "MATCH (sw:switch) "
+                + "WHERE sw.name > $last_switch "
+                + "RETURN sw.name "
+                + "ORDER BY sw.name "
+                + "LIMIT $page_size";
+        String flowsQuery = "MATCH (src:switch)-[f:flow]->() "
+                + "WHERE src.name IN $switches "
+                + "RETURN f.flowid AS flowid, f.cookie AS cookie, f.transit_vlan AS transit_vlan, "
+                + " f.meter_id AS meter_id, src.name AS src_switch";
+
+        String lastSwitch = "";
+        List<String> switches;
+        do {
+            Map<String, Object> switchesParameters = ImmutableMap.of(
+                    "last_switch", lastSwitch,
+                    "page_size", switchPageSize);
+            switches = Lists.newArrayList(getSession().query(String.class, switchesQuery, switchesParameters));
+            if (switches.isEmpty()) {
+                break;
+            }
+            lastSwitch = switches.get(switches.size() - 1);
+
+            Map<String, Object> flowsParameters = ImmutableMap.of("switches", switches);
+            for (Map<String, Object> row : getSession().query(flowsQuery, flowsParameters).queryResults()) {
+                consumer.accept(FlowResources.builder()
+                        .flowId((String) row.get("flowid"))
+                        .cookie(toLong(row.get("cookie")))
+                        .transitVlan((int) toLong(row.get("transit_vlan")))
+                        .meterId(row.get("meter_id") != null ? (int) toLong(row.get("meter_id")) : null)
+                        .srcSwitchId(new SwitchId((String) row.get("src_switch")))
+                        .build());
+            }
+        } while (switches.size() == switchPageSize);
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
 
     private Collection<FlowPair> buildFlowPairs(Iterable<Flow> flows) {
         Map<String, FlowPair.FlowPairBuilder> flowPairsMap = new HashMap<>();
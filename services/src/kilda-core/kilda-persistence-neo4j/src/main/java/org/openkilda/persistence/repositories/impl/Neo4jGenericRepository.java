@@ -22,6 +22,7 @@ import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.Repository;
 
 import com.google.common.collect.ImmutableMap;
@@ -42,6 +43,8 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
     static final int DEPTH_CREATE_UPDATE_ENTITY = 0;
     private static final String SRC_SWITCH_FIELD = "srcSwitch";
     private static final String DEST_SWITCH_FIELD = "destSwitch";
+    static final String NETWORK_REVISION_LABEL = "network_revision";
+    private static final String NETWORK_REVISION_NAME = "active_isls";
 
     private final Neo4jSessionFactory sessionFactory;
     protected final TransactionManager transactionManager;
@@ -86,6 +89,19 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
         return entity;
     }
 
+    /**
+     * Increments the network revision (see {@link IslRepository#getActiveIslsRevision}) once per transaction, right
+     * before the transaction is committed. It's done last, so the revision node is not locked while the transaction
+     * takes other locks. The node is merged by the name which has a unique constraint, so concurrent writers can't
+     * create duplicates.
+     */
+    void incrementNetworkRevision() {
+        sessionFactory.runBeforeCommit(NETWORK_REVISION_LABEL, () -> getSession().query(
+                "MERGE (r:" + NETWORK_REVISION_LABEL + " {name: $name}) "
+                        + "ON CREATE SET r.value = 1 "
+                        + "ON MATCH SET r.value = r.value + 1", ImmutableMap.of("name", NETWORK_REVISION_NAME)));
+    }
+
     protected void lockSwitch(Switch sw) {
         Map<String, Object> parameters = ImmutableMap.of("name", sw.getSwitchId().toString());
         Long updatedEntityId = getSession().queryForObject(Long.class,
@@ -19,6 +19,7 @@ import static java.lang.String.format;
 
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.PersistenceException;
@@ -32,7 +33,12 @@ import com.google.common.collect.Lists;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -100,6 +106,27 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
         return Lists.newArrayList(getSession().query(getEntityType(), query, parameters));
     }
 
+    @Override
+    public Map<String, List<Isl>> findOccupiedByFlows(Collection<String> flowIds) {
+        Map<String, Object> parameters = ImmutableMap.of("flow_ids", flowIds);
+
+        String query = "MATCH (src:switch)-[fs:flow_segment]->(dst:switch) "
+                + "WHERE fs.flowid IN $flow_ids "
+                + "RETURN fs.flowid AS flow_id, src.name AS src_switch, fs.src_port AS src_port, "
+                + " dst.name AS dst_switch, fs.dst_port AS dst_port";
+
+        Map<String, List<Isl>> result = new HashMap<>();
+        for (Map<String, Object> row : getSession().query(query, parameters).queryResults()) {
+            result.computeIfAbsent((String) row.get("flow_id"), key -> new ArrayList<>()).add(Isl.builder()
+                    .srcSwitch(Switch.builder().switchId(new SwitchId((String) row.get("src_switch"))).build())
+                    .srcPort((int) toLong(row.get("src_port")))
+                    .destSwitch(Switch.builder().switchId(new SwitchId((String) row.get("dst_switch"))).build())
+                    .destPort((int) toLong(row.get("dst_port")))
+                    .build());
+        }
+        return result;
+    }
+
     @Override
     public Collection<Isl> findAllActive() {
         // 0 bandwidth means ignore it.
@@ -138,12 +165,80 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
         return Lists.newArrayList(getSession().query(getEntityType(), query, parameters));
     }
 
+    @Override
+    public Collection<Isl> findAllAvailableBandwidth() {
+        String query = "MATCH (src:switch)-[link:isl]->(dst:switch) "
+                + "RETURN src.name AS src_switch, link.src_port AS src_port, "
+                + " dst.name AS dst_switch, link.dst_port AS dst_port, link.available_bandwidth AS available_bandwidth";
+
+        List<Isl> result = new ArrayList<>();
+        for (Map<String, Object> row : getSession().query(query, Collections.emptyMap()).queryResults()) {
+            result.add(Isl.builder()
+                    .srcSwitch(Switch.builder().switchId(new SwitchId((String) row.get("src_switch"))).build())
+                    .srcPort((int) toLong(row.get("src_port")))
+                    .destSwitch(Switch.builder().switchId(new SwitchId((String) row.get("dst_switch"))).build())
+                    .destPort((int) toLong(row.get("dst_port")))
+                    .availableBandwidth(toLong(row.get("available_bandwidth")))
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public long getActiveIslsRevision() {
+        Long revision = getSession().queryForObject(Long.class,
+                "OPTIONAL MATCH (r:" + NETWORK_REVISION_LABEL + ") RETURN coalesce(max(r.value), 0)",
+                Collections.emptyMap());
+        return revision != null ? revision : 0L;
+    }
+
     @Override
     public void createOrUpdate(Isl link) {
         transactionManager.doInTransaction(() -> {
             lockSwitches(requireManagedEntity(link.getSrcSwitch()), requireManagedEntity(link.getDestSwitch()));
 
+            boolean topologyChanged = isTopologyChanged(link);
             super.createOrUpdate(link);
+            if (topologyChanged) {
+                incrementNetworkRevision();
+            }
+        });
+    }
+
+    /**
+     * Checks whether the write changes the topology as path computation sees it: the ISL is new, or its status or cost
+     * is changed. Other updates (the available bandwidth first of all, it's updated by every flow operation) don't
+     * increment the network revision, so they don't contend for the revision node.
+     */
+    private boolean isTopologyChanged(Isl link) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "src_switch", link.getSrcSwitch().getSwitchId().toString(),
+                "src_port", link.getSrcPort(),
+                "dst_switch", link.getDestSwitch().getSwitchId().toString(),
+                "dst_port", link.getDestPort());
+
+        Iterator<Map<String, Object>> rows = getSession().query(
+                "MATCH (src:switch {name: $src_switch})-[link:isl]->(dst:switch {name: $dst_switch}) "
+                        + "WHERE link.src_port = $src_port AND link.dst_port = $dst_port "
+                        + "RETURN link.status AS status, link.cost AS cost", parameters).queryResults().iterator();
+        if (!rows.hasNext()) {
+            return true;
+        }
+
+        Map<String, Object> stored = rows.next();
+        return islStatusConverter.toEntityAttribute((String) stored.get("status")) != link.getStatus()
+                || toLong(stored.get("cost")) != link.getCost();
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    @Override
+    public void delete(Isl link) {
+        transactionManager.doInTransaction(() -> {
+            super.delete(link);
+            incrementNetworkRevision();
         });
     }
 
@@ -22,4 +22,14 @@ import org.neo4j.ogm.session.Session;
  */
 public interface Neo4jSessionFactory {
     Session getSession();
+
+    /**
+     * Registers an action to be executed within the current transaction right before the root transaction is
+     * committed. Only the first action registered by the key is kept. If there's no active transaction, the action is
+     * executed immediately.
+     *
+     * @param key the key to deduplicate actions by.
+     * @param action the action.
+     */
+    void runBeforeCommit(String key, Runnable action);
 }
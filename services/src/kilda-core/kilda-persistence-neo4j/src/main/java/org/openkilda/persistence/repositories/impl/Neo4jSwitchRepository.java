@@ -22,15 +22,22 @@ import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.converters.SwitchStatusConverter;
 import org.openkilda.persistence.repositories.SwitchRepository;
 
+import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.Session;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 /**
  * Neo4J OGM implementation of {@link SwitchRepository}.
@@ -38,6 +45,8 @@ import java.util.Optional;
 public class Neo4jSwitchRepository extends Neo4jGenericRepository<Switch> implements SwitchRepository {
     static final String SWITCH_NAME_PROPERTY_NAME = "name";
 
+    private final SwitchStatusConverter switchStatusConverter = new SwitchStatusConverter();
+
     public Neo4jSwitchRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
     }
@@ -64,6 +73,28 @@ public class Neo4jSwitchRepository extends Neo4jGenericRepository<Switch> implem
         return switches.isEmpty() ? Optional.empty() : Optional.of(switches.iterator().next());
     }
 
+    @Override
+    public List<SwitchId> findSwitchIds(SwitchId afterSwitchId, int limit) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "after_switch", afterSwitchId != null ? afterSwitchId.toString() : "",
+                "limit", limit);
+
+        Iterable<String> names = getSession().query(String.class, "MATCH (sw:switch) "
+                + "WHERE sw.name > $after_switch "
+                + "RETURN sw.name "
+                + "ORDER BY sw.name "
+                + "LIMIT $limit", parameters);
+
+        return StreamSupport.stream(names.spliterator(), false)
+                .map(SwitchId::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countSwitches() {
+        return getSession().countEntitiesOfType(getEntityType());
+    }
+
     @Override
     public Switch reload(Switch entity) {
         Session session = getSession();
@@ -81,6 +112,35 @@ public class Neo4jSwitchRepository extends Neo4jGenericRepository<Switch> implem
                 .orElseThrow(() -> new PersistenceException(format("Switch not found: %s", entity.getSwitchId())));
     }
 
+    @Override
+    public void createOrUpdate(Switch entity) {
+        transactionManager.doInTransaction(() -> {
+            // The switch status affects which ISLs are active, other properties don't change the topology.
+            boolean statusChanged = isStatusChanged(entity);
+            super.createOrUpdate(entity);
+            if (statusChanged) {
+                incrementNetworkRevision();
+            }
+        });
+    }
+
+    private boolean isStatusChanged(Switch entity) {
+        Map<String, Object> parameters = ImmutableMap.of("name", entity.getSwitchId().toString());
+
+        Iterator<Map<String, Object>> rows = getSession().query(
+                "MATCH (sw:switch {name: $name}) RETURN sw.state AS state", parameters).queryResults().iterator();
+        return !rows.hasNext()
+                || switchStatusConverter.toEntityAttribute((String) rows.next().get("state")) != entity.getStatus();
+    }
+
+    @Override
+    public void delete(Switch entity) {
+        transactionManager.doInTransaction(() -> {
+            super.delete(entity);
+            incrementNetworkRevision();
+        });
+    }
+
     @Override
     Class<Switch> getEntityType() {
         return Switch.class;
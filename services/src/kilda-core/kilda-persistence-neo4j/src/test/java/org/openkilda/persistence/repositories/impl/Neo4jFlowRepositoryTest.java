@@ -16,11 +16,13 @@
 package org.openkilda.persistence.repositories.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPair;
+import org.openkilda.model.FlowResources;
 import org.openkilda.model.FlowSegment;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.Switch;
@@ -36,7 +38,9 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -246,6 +250,60 @@ public class Neo4jFlowRepositoryTest extends Neo4jBasedTest {
         assertThat(foundFlowPairs, Matchers.hasSize(1));
     }
 
+    @Test
+    public void shouldFindFlowPairsByFirstEndpointSwitch() {
+        for (int i = 1; i <= 3; i++) {
+            // The forward direction of the last flow starts at the second switch.
+            Switch srcSwitch = i < 3 ? switchA : switchB;
+            Switch dstSwitch = i < 3 ? switchB : switchA;
+
+            Flow forwardFlow = Flow.builder()
+                    .flowId(TEST_FLOW_ID + i)
+                    .srcSwitch(srcSwitch)
+                    .destSwitch(dstSwitch)
+                    .cookie(Flow.FORWARD_FLOW_COOKIE_MASK | i)
+                    .build();
+
+            Flow reverseFlow = Flow.builder()
+                    .flowId(TEST_FLOW_ID + i)
+                    .srcSwitch(dstSwitch)
+                    .destSwitch(srcSwitch)
+                    .cookie(Flow.REVERSE_FLOW_COOKIE_MASK | i)
+                    .build();
+
+            flowRepository.createOrUpdate(FlowPair.builder().forward(forwardFlow).reverse(reverseFlow).build());
+        }
+
+        Flow forwardFlow = Flow.builder()
+                .flowId(TEST_FLOW_ID + 4)
+                .srcSwitch(switchB)
+                .destSwitch(switchB)
+                .cookie(Flow.FORWARD_FLOW_COOKIE_MASK | 4)
+                .build();
+
+        Flow reverseFlow = Flow.builder()
+                .flowId(TEST_FLOW_ID + 4)
+                .srcSwitch(switchB)
+                .destSwitch(switchB)
+                .cookie(Flow.REVERSE_FLOW_COOKIE_MASK | 4)
+                .build();
+
+        flowRepository.createOrUpdate(FlowPair.builder().forward(forwardFlow).reverse(reverseFlow).build());
+
+        Collection<FlowPair> firstPage = flowRepository.findFlowPairsBySwitches(
+                Collections.singletonList(TEST_SWITCH_A_ID));
+        assertThat(firstPage.stream().map(flowPair -> flowPair.getForward().getFlowId()).collect(Collectors.toSet()),
+                Matchers.containsInAnyOrder(TEST_FLOW_ID + 1, TEST_FLOW_ID + 2, TEST_FLOW_ID + 3));
+        firstPage.forEach(flowPair -> assertNotNull(flowPair.getReverse()));
+
+        Collection<FlowPair> secondPage = flowRepository.findFlowPairsBySwitches(
+                Collections.singletonList(TEST_SWITCH_B_ID));
+        assertThat(secondPage, Matchers.hasSize(1));
+        FlowPair oneSwitchFlowPair = secondPage.iterator().next();
+        assertEquals(TEST_FLOW_ID + 4, oneSwitchFlowPair.getForward().getFlowId());
+        assertNotNull(oneSwitchFlowPair.getReverse());
+    }
+
     @Test
     public void shouldFindFlowPairById() {
         Flow forwardFlow = Flow.builder()
@@ -461,4 +519,47 @@ public class Neo4jFlowRepositoryTest extends Neo4jBasedTest {
         assertThat(foundFlowPair.iterator().next().getForward(), Matchers.equalTo(forwardFlow));
         assertThat(foundFlowPair.iterator().next().getReverse(), Matchers.equalTo(reverseFlow));
     }
+
+    @Test
+    public void shouldReadFlowResourcesByPages() {
+        for (int i = 1; i <= 3; i++) {
+            Flow forwardFlow = Flow.builder()
+                    .flowId(TEST_FLOW_ID + i)
+                    .srcSwitch(switchA)
+                    .destSwitch(switchB)
+                    .cookie(Flow.FORWARD_FLOW_COOKIE_MASK | i)
+                    .transitVlan(100 + i)
+                    .meterId(10 + i)
+                    .build();
+
+            Flow reverseFlow = Flow.builder()
+                    .flowId(TEST_FLOW_ID + i)
+                    .srcSwitch(switchB)
+                    .destSwitch(switchA)
+                    .cookie(Flow.REVERSE_FLOW_COOKIE_MASK | i)
+                    .transitVlan(200 + i)
+                    .build();
+
+            flowRepository.createOrUpdate(FlowPair.builder().forward(forwardFlow).reverse(reverseFlow).build());
+        }
+
+        List<FlowResources> resources = new ArrayList<>();
+        // A page per switch.
+        flowRepository.forEachFlowResources(1, resources::add);
+
+        assertThat(resources, Matchers.hasSize(6));
+        assertThat(resources, Matchers.hasItem(FlowResources.builder()
+                .flowId(TEST_FLOW_ID + 2)
+                .cookie(Flow.FORWARD_FLOW_COOKIE_MASK | 2)
+                .transitVlan(102)
+                .meterId(12)
+                .srcSwitchId(TEST_SWITCH_A_ID)
+                .build()));
+        assertThat(resources, Matchers.hasItem(FlowResources.builder()
+                .flowId(TEST_FLOW_ID + 2)
+                .cookie(Flow.REVERSE_FLOW_COOKIE_MASK | 2)
+                .transitVlan(202)
+                .srcSwitchId(TEST_SWITCH_B_ID)
+                .build()));
+    }
 }
@@ -35,7 +35,11 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
     static final SwitchId TEST_SWITCH_A_ID = new SwitchId(1);
@@ -236,6 +240,43 @@ public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
         assertThat(foundIsls, Matchers.hasSize(0));
     }
 
+    @Test
+    public void shouldFindIslsOccupiedByFlows() {
+        flowSegmentRepository.createOrUpdate(FlowSegment.builder()
+                .srcSwitch(switchA)
+                .srcPort(1)
+                .destSwitch(switchB)
+                .destPort(2)
+                .flowId(TEST_FLOW_ID)
+                .build());
+        flowSegmentRepository.createOrUpdate(FlowSegment.builder()
+                .srcSwitch(switchB)
+                .srcPort(2)
+                .destSwitch(switchA)
+                .destPort(1)
+                .flowId(TEST_FLOW_ID)
+                .build());
+        flowSegmentRepository.createOrUpdate(FlowSegment.builder()
+                .srcSwitch(switchA)
+                .srcPort(3)
+                .destSwitch(switchB)
+                .destPort(4)
+                .flowId("other_flow")
+                .build());
+
+        Map<String, List<Isl>> foundIsls = islRepository.findOccupiedByFlows(
+                Arrays.asList(TEST_FLOW_ID, "absent_flow"));
+        assertEquals(Collections.singleton(TEST_FLOW_ID), foundIsls.keySet());
+        assertThat(foundIsls.get(TEST_FLOW_ID), Matchers.hasSize(2));
+
+        Isl forwardIsl = foundIsls.get(TEST_FLOW_ID).stream()
+                .filter(isl -> TEST_SWITCH_A_ID.equals(isl.getSrcSwitch().getSwitchId()))
+                .findAny().get();
+        assertEquals(1, forwardIsl.getSrcPort());
+        assertEquals(TEST_SWITCH_B_ID, forwardIsl.getDestSwitch().getSwitchId());
+        assertEquals(2, forwardIsl.getDestPort());
+    }
+
     @Test
     public void shouldGetUsedBandwidth() {
         FlowSegment forwardSegment = FlowSegment.builder()
@@ -389,4 +430,112 @@ public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
 
         assertEquals(0, islRepository.findSymmetricActiveWithAvailableBandwidth(availableBandwidth).size());
     }
+
+    @Test
+    public void shouldIncrementActiveIslsRevisionOnWrites() {
+        final long initialRevision = islRepository.getActiveIslsRevision();
+
+        Isl isl = new Isl();
+        isl.setSrcSwitch(switchA);
+        isl.setSrcPort(1);
+        isl.setDestSwitch(switchB);
+        isl.setDestPort(2);
+        isl.setStatus(IslStatus.ACTIVE);
+        isl.setAvailableBandwidth(100);
+        islRepository.createOrUpdate(isl);
+
+        long createdRevision = islRepository.getActiveIslsRevision();
+        assertThat(createdRevision, Matchers.greaterThan(initialRevision));
+
+        isl.setAvailableBandwidth(50);
+        islRepository.createOrUpdate(isl);
+
+        // The available bandwidth is not a topology change.
+        assertEquals(createdRevision, islRepository.getActiveIslsRevision());
+
+        isl.setCost(20);
+        islRepository.createOrUpdate(isl);
+
+        long updatedRevision = islRepository.getActiveIslsRevision();
+        assertThat(updatedRevision, Matchers.greaterThan(createdRevision));
+
+        isl.setStatus(IslStatus.INACTIVE);
+        islRepository.createOrUpdate(isl);
+
+        long deactivatedRevision = islRepository.getActiveIslsRevision();
+        assertThat(deactivatedRevision, Matchers.greaterThan(updatedRevision));
+
+        islRepository.delete(isl);
+
+        assertThat(islRepository.getActiveIslsRevision(), Matchers.greaterThan(deactivatedRevision));
+    }
+
+    @Test
+    public void shouldFindAllAvailableBandwidth() {
+        Isl isl = new Isl();
+        isl.setSrcSwitch(switchA);
+        isl.setSrcPort(1);
+        isl.setDestSwitch(switchB);
+        isl.setDestPort(2);
+        isl.setStatus(IslStatus.ACTIVE);
+        isl.setAvailableBandwidth(100);
+        islRepository.createOrUpdate(isl);
+
+        Collection<Isl> foundIsls = islRepository.findAllAvailableBandwidth();
+        assertThat(foundIsls, Matchers.hasSize(1));
+        Isl foundIsl = foundIsls.iterator().next();
+        assertEquals(TEST_SWITCH_A_ID, foundIsl.getSrcSwitch().getSwitchId());
+        assertEquals(1, foundIsl.getSrcPort());
+        assertEquals(TEST_SWITCH_B_ID, foundIsl.getDestSwitch().getSwitchId());
+        assertEquals(2, foundIsl.getDestPort());
+        assertEquals(100, foundIsl.getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldIncrementActiveIslsRevisionOncePerTransaction() {
+        final long initialRevision = islRepository.getActiveIslsRevision();
+
+        persistenceManager.getTransactionManager().doInTransaction(() -> {
+            Isl forwardIsl = new Isl();
+            forwardIsl.setSrcSwitch(switchA);
+            forwardIsl.setSrcPort(1);
+            forwardIsl.setDestSwitch(switchB);
+            forwardIsl.setDestPort(2);
+            islRepository.createOrUpdate(forwardIsl);
+
+            Isl reverseIsl = new Isl();
+            reverseIsl.setSrcSwitch(switchB);
+            reverseIsl.setSrcPort(2);
+            reverseIsl.setDestSwitch(switchA);
+            reverseIsl.setDestPort(1);
+            islRepository.createOrUpdate(reverseIsl);
+
+            // Not visible until the transaction is committed.
+            assertEquals(initialRevision, islRepository.getActiveIslsRevision());
+        });
+
+        assertEquals(initialRevision + 1, islRepository.getActiveIslsRevision());
+    }
+
+    @Test
+    public void shouldNotIncrementActiveIslsRevisionOnRollback() {
+        final long initialRevision = islRepository.getActiveIslsRevision();
+
+        try {
+            persistenceManager.getTransactionManager().doInTransaction(() -> {
+                Isl isl = new Isl();
+                isl.setSrcSwitch(switchA);
+                isl.setSrcPort(1);
+                isl.setDestSwitch(switchB);
+                isl.setDestPort(2);
+                islRepository.createOrUpdate(isl);
+
+                throw new IllegalStateException("rollback");
+            });
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertEquals(initialRevision, islRepository.getActiveIslsRevision());
+    }
 }
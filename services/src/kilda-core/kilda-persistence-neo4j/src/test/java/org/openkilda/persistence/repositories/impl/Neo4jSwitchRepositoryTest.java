@@ -16,12 +16,16 @@
 package org.openkilda.persistence.repositories.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 
+import org.hamcrest.Matchers;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -29,10 +33,12 @@ public class Neo4jSwitchRepositoryTest extends Neo4jBasedTest {
     static final SwitchId TEST_SWITCH_ID = new SwitchId(1);
 
     static SwitchRepository repository;
+    static IslRepository islRepository;
 
     @BeforeClass
     public static void setUp() {
         repository = new Neo4jSwitchRepository(neo4jSessionFactory, txManager);
+        islRepository = new Neo4jIslRepository(neo4jSessionFactory, txManager);
     }
 
     @Test
@@ -69,4 +75,38 @@ public class Neo4jSwitchRepositoryTest extends Neo4jBasedTest {
 
         assertEquals(0, repository.findAll().size());
     }
+
+    @Test
+    public void shouldFindSwitchIdsByPages() {
+        for (int i = 1; i <= 5; i++) {
+            repository.createOrUpdate(Switch.builder().switchId(new SwitchId(i)).build());
+        }
+
+        assertEquals(5, repository.countSwitches());
+
+        assertThat(repository.findSwitchIds(null, 3),
+                Matchers.contains(new SwitchId(1), new SwitchId(2), new SwitchId(3)));
+        assertThat(repository.findSwitchIds(new SwitchId(3), 3),
+                Matchers.contains(new SwitchId(4), new SwitchId(5)));
+        assertThat(repository.findSwitchIds(new SwitchId(5), 3), Matchers.empty());
+    }
+
+    @Test
+    public void shouldIncrementActiveIslsRevisionOnStatusChangeOnly() {
+        final long initialRevision = islRepository.getActiveIslsRevision();
+
+        Switch origSwitch = Switch.builder().switchId(TEST_SWITCH_ID).status(SwitchStatus.ACTIVE).build();
+        repository.createOrUpdate(origSwitch);
+
+        long createdRevision = islRepository.getActiveIslsRevision();
+        assertThat(createdRevision, Matchers.greaterThan(initialRevision));
+
+        origSwitch.setDescription("Some description");
+        repository.createOrUpdate(origSwitch);
+        assertEquals(createdRevision, islRepository.getActiveIslsRevision());
+
+        origSwitch.setStatus(SwitchStatus.INACTIVE);
+        repository.createOrUpdate(origSwitch);
+        assertThat(islRepository.getActiveIslsRevision(), Matchers.greaterThan(createdRevision));
+    }
 }
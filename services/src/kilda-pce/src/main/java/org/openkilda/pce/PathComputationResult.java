@@ -0,0 +1,45 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import org.openkilda.pce.exception.UnroutableFlowException;
+
+import lombok.Value;
+
+/**
+ * The result of path computation for a single flow of a batch: either a {@link PathPair} or the reason why the flow
+ * can't be routed.
+ */
+@Value
+public class PathComputationResult {
+    private final String flowId;
+
+    private final PathPair pathPair;
+
+    private final UnroutableFlowException error;
+
+    public static PathComputationResult of(String flowId, PathPair pathPair) {
+        return new PathComputationResult(flowId, pathPair, null);
+    }
+
+    public static PathComputationResult failed(String flowId, UnroutableFlowException error) {
+        return new PathComputationResult(flowId, null, error);
+    }
+
+    public boolean isSuccessful() {
+        return pathPair != null;
+    }
+}
@@ -19,6 +19,9 @@ import org.openkilda.model.Flow;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Represents computation operations on flow path.
  */
@@ -45,4 +48,16 @@ public interface PathComputer {
      */
     PathPair getPath(Flow flow, boolean reuseAllocatedFlowBandwidth)
             throws UnroutableFlowException, RecoverableException;
+
+    /**
+     * Gets paths for a batch of flows. The flows are routed one after another (the ones which require more bandwidth go
+     * first) over the same network, and the bandwidth taken by already routed flows is not available for the
+     * following ones.
+     *
+     * @param flows the flows to be routed.
+     * @param reuseAllocatedFlowBandwidth whether to reuse allocated bandwidth and existing paths of the flows.
+     * @return results of path computation in the same order as the flows are provided.
+     */
+    List<PathComputationResult> getPaths(Collection<Flow> flows, boolean reuseAllocatedFlowBandwidth)
+            throws RecoverableException;
 }
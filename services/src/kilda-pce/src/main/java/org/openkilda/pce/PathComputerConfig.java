@@ -35,4 +35,27 @@ public interface PathComputerConfig extends Serializable {
     @Key("strategy")
     @Default("COST")
     String getStrategy();
+
+    @Key("finder")
+    @Default("BEST_COST")
+    String getFinder();
+
+    @Key("network.snapshot.enabled")
+    @Default("false")
+    boolean getNetworkSnapshotEnabled();
+
+    /**
+     * Interval (in seconds) of full reloading of the network snapshot.
+     */
+    @Key("network.snapshot.resync.interval")
+    @Default("600")
+    int getNetworkSnapshotResyncInterval();
+
+    /**
+     * Minimal interval (in seconds) between checks of the network snapshot revision against the DB. 0 means the
+     * revision is checked on each request.
+     */
+    @Key("network.snapshot.revision.check.interval")
+    @Default("10")
+    int getNetworkSnapshotRevisionCheckInterval();
 }
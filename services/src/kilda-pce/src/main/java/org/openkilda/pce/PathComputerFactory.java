@@ -16,10 +16,16 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
+import org.openkilda.pce.finder.CompactBestCostPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
+import org.openkilda.pce.impl.NetworkSnapshot;
 import org.openkilda.pce.impl.SymmetricPathComputer;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
+import java.time.Duration;
+import java.util.Optional;
+
 /**
  * A factory for {@link PathComputer} instances. It provides a specific {@link PathComputer} depending on configuration
  * ({@link PathComputerConfig}) and requested strategy ({@link Strategy}).
@@ -28,10 +34,17 @@ public class PathComputerFactory {
 
     private PathComputerConfig config;
     private RepositoryFactory repositoryFactory;
+    private NetworkSnapshot networkSnapshot;
 
     public PathComputerFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
         this.config = config;
         this.repositoryFactory = repositoryFactory;
+
+        if (config.getNetworkSnapshotEnabled()) {
+            networkSnapshot = new NetworkSnapshot(repositoryFactory.createIslRepository(),
+                    Duration.ofSeconds(config.getNetworkSnapshotResyncInterval()),
+                    Duration.ofSeconds(config.getNetworkSnapshotRevisionCheckInterval()));
+        }
     }
 
     /**
@@ -43,10 +56,10 @@ public class PathComputerFactory {
     public PathComputer getPathComputer(Strategy strategy) {
         if (strategy == Strategy.COST) {
             return new InMemoryPathComputer(repositoryFactory.createIslRepository(),
-                    new BestCostAndShortestPathFinder(config.getMaxAllowedDepth(), config.getDefaultIslCost()));
+                    getPathFinder(config.getMaxAllowedDepth()), networkSnapshot);
         } else if (strategy == Strategy.SYMMETRIC_COST) {
             return new SymmetricPathComputer(repositoryFactory.createIslRepository(),
-                    new BestCostAndShortestPathFinder(config.getDefaultIslCost(), config.getDefaultIslCost()));
+                    getPathFinder(config.getDefaultIslCost()), networkSnapshot);
         } else {
             throw new UnsupportedOperationException(String.format("Unsupported strategy type %s", strategy));
         }
@@ -61,6 +74,21 @@ public class PathComputerFactory {
         return getPathComputer(Strategy.from(config.getStrategy()));
     }
 
+    /**
+     * Gets the network snapshot shared by all {@link PathComputer} instances of the factory. The snapshot is present
+     * only if it's enabled in the configuration, and must be notified about ISL changes made by the caller.
+     */
+    public Optional<NetworkSnapshot> getNetworkSnapshot() {
+        return Optional.ofNullable(networkSnapshot);
+    }
+
+    private PathFinder getPathFinder(int allowedDepth) {
+        if (FinderType.from(config.getFinder()) == FinderType.COMPACT_BEST_COST) {
+            return new CompactBestCostPathFinder(allowedDepth, config.getDefaultIslCost());
+        }
+        return new BestCostAndShortestPathFinder(allowedDepth, config.getDefaultIslCost());
+    }
+
     /**
      * Strategy is used for getting a PathComputer instance  - ie what filters to apply. In reality, to provide
      * flexibility, this should most likely be one or more strings.
@@ -86,4 +114,27 @@ public class PathComputerFactory {
             }
         }
     }
+
+    /**
+     * The path finding algorithm to be used by a {@link PathComputer}.
+     */
+    public enum FinderType {
+        /**
+         * {@link BestCostAndShortestPathFinder} which operates on the entity graph.
+         */
+        BEST_COST,
+
+        /**
+         * {@link CompactBestCostPathFinder} which operates on the index based copy of the network.
+         */
+        COMPACT_BEST_COST;
+
+        private static FinderType from(String finderType) {
+            try {
+                return valueOf(finderType.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Finder type %s is not supported", finderType));
+            }
+        }
+    }
 }
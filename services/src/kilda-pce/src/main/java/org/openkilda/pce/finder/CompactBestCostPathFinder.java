@@ -0,0 +1,243 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The same bounded-depth best cost search as {@link BestCostAndShortestPathFinder}, but performed over
+ * {@link CompactNetwork}: switches are int indexes, search nodes are kept in primitive arrays and refer to their
+ * parent node instead of holding a copy of the path. Produces the same paths as {@link BestCostAndShortestPathFinder}.
+ */
+@Slf4j
+public class CompactBestCostPathFinder implements PathFinder {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int allowedDepth;
+    private final int defaultLinkCost;
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth    the allowed depth for a potential path.
+     * @param defaultLinkCost the default cost for links if not defined.
+     */
+    public CompactBestCostPathFinder(int allowedDepth, int defaultLinkCost) {
+        this.allowedDepth = allowedDepth;
+        this.defaultLinkCost = defaultLinkCost;
+    }
+
+    @Override
+    public Pair<List<Isl>, List<Isl>> findPathInNetwork(AvailableNetwork network,
+                                                        SwitchId startSwitchId, SwitchId endSwitchId)
+            throws UnroutableFlowException {
+        return findPathInNetwork(CompactNetwork.from(network, defaultLinkCost), startSwitchId, endSwitchId);
+    }
+
+    /**
+     * Find a path from the start to the end switch in the compact network.
+     */
+    public Pair<List<Isl>, List<Isl>> findPathInNetwork(CompactNetwork network,
+                                                        SwitchId startSwitchId, SwitchId endSwitchId)
+            throws UnroutableFlowException {
+        int start = network.getSwitchIndex(startSwitchId);
+        int end = network.getSwitchIndex(endSwitchId);
+        if (start < 0 || end < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start < 0 ? startSwitchId : endSwitchId));
+        }
+
+        int[] forwardPath = getPath(network, start, end);
+        if (forwardPath.length == 0) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s", startSwitchId, endSwitchId));
+        }
+
+        List<Isl> forwardIsls = toIsls(network, forwardPath);
+        List<Isl> reverseIsls = getReversePath(network, end, start, forwardPath, forwardIsls);
+        if (reverseIsls.isEmpty()) {
+            throw new UnroutableFlowException(format("Can't find a reverse path from %s to %s. Forward path : %s",
+                    endSwitchId, startSwitchId, StringUtils.join(forwardIsls, ", ")));
+        }
+
+        return Pair.of(forwardIsls, reverseIsls);
+    }
+
+    /**
+     * Breadth first traversal with pruning by depth, by the best cost found so far and by the cheapest cost the
+     * switch has been reached with.
+     *
+     * @return link indexes of the path from start to end, or an empty array.
+     */
+    private int[] getPath(CompactNetwork network, int start, int end) {
+        SearchQueue queue = new SearchQueue();
+        long[] visitedCost = new long[network.getSwitchCount()];
+        Arrays.fill(visitedCost, Long.MAX_VALUE);
+
+        long bestCost = Integer.MAX_VALUE; // Need to be long because it stores sum of ints.
+        int bestNode = -1;
+
+        queue.add(start, allowedDepth, 0, -1, -1);
+
+        while (queue.hasNext()) {
+            int current = queue.next();
+            int sw = queue.switches[current];
+            long cost = queue.costs[current];
+
+            if (sw == end) {
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestNode = current;
+                }
+                continue;
+            }
+
+            if (cost >= visitedCost[sw]) {
+                continue;
+            }
+
+            if (queue.depths[current] <= 0 || cost > bestCost) {
+                continue;
+            }
+
+            visitedCost[sw] = cost;
+
+            int depth = queue.depths[current] - 1;
+            for (int link = network.getFirstLink(sw); link < network.getLinksEnd(sw); link++) {
+                queue.add(network.getDestination(link), depth, cost + network.getCost(link), current, link);
+            }
+        }
+
+        return bestNode >= 0 ? queue.pathTo(bestNode) : new int[0];
+    }
+
+    /**
+     * Tries the forward path swapped in the reverse direction first, and falls back to the regular search if any of
+     * the reverse links is missing.
+     */
+    private List<Isl> getReversePath(CompactNetwork network, int src, int dst, int[] forwardPath,
+                                     List<Isl> forwardIsls) {
+        boolean validPath = true;
+        for (int i = forwardPath.length - 1; i >= 0 && validPath; i--) {
+            int link = forwardPath[i];
+            int linkSrc = i == 0 ? dst : network.getDestination(forwardPath[i - 1]);
+            validPath = network.findLink(network.getDestination(link), linkSrc,
+                    network.getDestPort(link), network.getSrcPort(link)) >= 0;
+        }
+
+        if (validPath) {
+            log.debug("Reverse path is available from {} to {}", network.getSwitchId(src), network.getSwitchId(dst));
+            List<Isl> reversePath = new ArrayList<>(forwardIsls.size());
+            for (int i = forwardIsls.size() - 1; i >= 0; i--) {
+                reversePath.add(swapSrcDst(forwardIsls.get(i)));
+            }
+            return reversePath;
+        }
+
+        log.warn(format("Failed to find symmetric reverse path from %s to %s. Forward path: %s",
+                network.getSwitchId(src), network.getSwitchId(dst), StringUtils.join(forwardIsls, ", ")));
+        return toIsls(network, getPath(network, src, dst));
+    }
+
+    private Isl swapSrcDst(Isl original) {
+        Isl swapped = new Isl();
+        swapped.setSrcSwitch(original.getDestSwitch());
+        swapped.setDestSwitch(original.getSrcSwitch());
+        swapped.setSrcPort(original.getDestPort());
+        swapped.setDestPort(original.getSrcPort());
+        swapped.setCost(original.getCost());
+        swapped.setLatency(original.getLatency());
+        return swapped;
+    }
+
+    private List<Isl> toIsls(CompactNetwork network, int[] path) {
+        if (path.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<Isl> result = new ArrayList<>(path.length);
+        for (int link : path) {
+            result.add(network.getLink(link));
+        }
+        return result;
+    }
+
+    /**
+     * FIFO queue of search nodes stored in parallel primitive arrays. Nodes are never removed, so a node index stays
+     * valid as a parent reference for the whole search.
+     */
+    private static final class SearchQueue {
+        int[] switches = new int[INITIAL_CAPACITY];
+        int[] depths = new int[INITIAL_CAPACITY];
+        long[] costs = new long[INITIAL_CAPACITY];
+        int[] parents = new int[INITIAL_CAPACITY];
+        int[] links = new int[INITIAL_CAPACITY];
+        int[] pathLengths = new int[INITIAL_CAPACITY];
+
+        int head;
+        int size;
+
+        void add(int sw, int depth, long cost, int parent, int link) {
+            if (size == switches.length) {
+                int capacity = size * 2;
+                switches = Arrays.copyOf(switches, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                links = Arrays.copyOf(links, capacity);
+                pathLengths = Arrays.copyOf(pathLengths, capacity);
+            }
+
+            switches[size] = sw;
+            depths[size] = depth;
+            costs[size] = cost;
+            parents[size] = parent;
+            links[size] = link;
+            pathLengths[size] = parent < 0 ? 0 : pathLengths[parent] + 1;
+            size++;
+        }
+
+        boolean hasNext() {
+            return head < size;
+        }
+
+        int next() {
+            return head++;
+        }
+
+        int[] pathTo(int node) {
+            int[] path = new int[pathLengths[node]];
+            for (int current = node, i = path.length - 1; i >= 0; current = parents[current], i--) {
+                path[i] = links[current];
+            }
+            return path;
+        }
+    }
+}
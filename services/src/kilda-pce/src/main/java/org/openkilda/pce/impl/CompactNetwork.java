@@ -0,0 +1,191 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, index based representation of {@link AvailableNetwork}.
+ * <p/>
+ * Switches are interned to int indexes (ordered by {@link SwitchId}), outgoing links are stored in compressed sparse
+ * row arrays: links of the switch with index {@code i} occupy positions {@code [offsets[i], offsets[i + 1])} and are
+ * ordered by the destination switch. Path finders operate on primitive arrays only and map the result back to
+ * {@link Isl} entities via {@link #getLink(int)}.
+ */
+@Slf4j
+public final class CompactNetwork {
+    private final SwitchId[] switchIds;
+    private final Map<SwitchId, Integer> switchIndexes;
+
+    private final int[] offsets;
+    private final int[] destinations;
+    private final int[] srcPorts;
+    private final int[] destPorts;
+    private final int[] costs;
+    private final int[] latencies;
+    private final Isl[] links;
+
+    private CompactNetwork(SwitchId[] switchIds, Map<SwitchId, Integer> switchIndexes, int[] offsets,
+                           int[] destinations, int[] srcPorts, int[] destPorts, int[] costs, int[] latencies,
+                           Isl[] links) {
+        this.switchIds = switchIds;
+        this.switchIndexes = switchIndexes;
+        this.offsets = offsets;
+        this.destinations = destinations;
+        this.srcPorts = srcPorts;
+        this.destPorts = destPorts;
+        this.costs = costs;
+        this.latencies = latencies;
+        this.links = links;
+    }
+
+    /**
+     * Builds the compact representation of the network.
+     *
+     * @param network the network to convert.
+     * @param defaultLinkCost the cost to be used for links with zero cost.
+     * @return the compact network.
+     */
+    public static CompactNetwork from(AvailableNetwork network, int defaultLinkCost) {
+        SwitchId[] switchIds = network.switches.keySet().toArray(new SwitchId[0]);
+        Arrays.sort(switchIds);
+
+        Map<SwitchId, Integer> switchIndexes = new HashMap<>(switchIds.length * 2);
+        for (int i = 0; i < switchIds.length; i++) {
+            switchIndexes.put(switchIds[i], i);
+        }
+
+        List<Isl> orderedLinks = new ArrayList<>();
+        int[] offsets = new int[switchIds.length + 1];
+        for (int i = 0; i < switchIds.length; i++) {
+            offsets[i] = orderedLinks.size();
+
+            Switch sw = network.switches.get(switchIds[i]);
+            List<Isl> outgoing = new ArrayList<>(sw.getOutgoingLinks());
+            // Stable sort, so links to the same switch keep the order they have in AvailableNetwork.
+            outgoing.sort(Comparator.comparing(isl -> isl.getDestSwitch().getSwitchId()));
+            orderedLinks.addAll(outgoing);
+        }
+        offsets[switchIds.length] = orderedLinks.size();
+
+        int size = orderedLinks.size();
+        int[] destinations = new int[size];
+        int[] srcPorts = new int[size];
+        int[] destPorts = new int[size];
+        int[] costs = new int[size];
+        int[] latencies = new int[size];
+        Isl[] links = orderedLinks.toArray(new Isl[0]);
+        for (int i = 0; i < size; i++) {
+            Isl isl = links[i];
+            destinations[i] = switchIndexes.get(isl.getDestSwitch().getSwitchId());
+            srcPorts[i] = isl.getSrcPort();
+            destPorts[i] = isl.getDestPort();
+            latencies[i] = isl.getLatency();
+            if (isl.getCost() == 0) {
+                log.warn("Found ZERO COST ISL: {}", isl);
+                costs[i] = defaultLinkCost;
+            } else {
+                costs[i] = isl.getCost();
+            }
+        }
+
+        return new CompactNetwork(switchIds, switchIndexes, offsets, destinations, srcPorts, destPorts, costs,
+                latencies, links);
+    }
+
+    /**
+     * Returns the index of the switch, or -1 if the switch is not in the network.
+     */
+    public int getSwitchIndex(SwitchId switchId) {
+        Integer index = switchIndexes.get(switchId);
+        return index != null ? index : -1;
+    }
+
+    public SwitchId getSwitchId(int switchIndex) {
+        return switchIds[switchIndex];
+    }
+
+    public int getSwitchCount() {
+        return switchIds.length;
+    }
+
+    public int getLinkCount() {
+        return links.length;
+    }
+
+    /**
+     * Returns the index of the first outgoing link of the switch.
+     */
+    public int getFirstLink(int switchIndex) {
+        return offsets[switchIndex];
+    }
+
+    /**
+     * Returns the index following the last outgoing link of the switch.
+     */
+    public int getLinksEnd(int switchIndex) {
+        return offsets[switchIndex + 1];
+    }
+
+    public int getDestination(int linkIndex) {
+        return destinations[linkIndex];
+    }
+
+    public int getSrcPort(int linkIndex) {
+        return srcPorts[linkIndex];
+    }
+
+    public int getDestPort(int linkIndex) {
+        return destPorts[linkIndex];
+    }
+
+    public int getCost(int linkIndex) {
+        return costs[linkIndex];
+    }
+
+    public int getLatency(int linkIndex) {
+        return latencies[linkIndex];
+    }
+
+    public Isl getLink(int linkIndex) {
+        return links[linkIndex];
+    }
+
+    /**
+     * Looks for a link between the switches with the specified ports.
+     *
+     * @return the index of the link or -1 if there's no such link.
+     */
+    public int findLink(int srcSwitchIndex, int destSwitchIndex, int srcPort, int destPort) {
+        for (int i = offsets[srcSwitchIndex]; i < offsets[srcSwitchIndex + 1]; i++) {
+            if (destinations[i] == destSwitchIndex && srcPorts[i] == srcPort && destPorts[i] == destPort) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
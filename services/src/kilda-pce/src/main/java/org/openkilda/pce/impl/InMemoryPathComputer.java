@@ -20,6 +20,7 @@ import static java.lang.String.format;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.Isl;
+import org.openkilda.pce.PathComputationResult;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
@@ -31,10 +32,14 @@ import org.openkilda.persistence.repositories.IslRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of {@link PathComputer} that builds and operates over in-memory {@link AvailableNetwork}.
@@ -43,46 +48,160 @@ import java.util.List;
  */
 @Slf4j
 public class InMemoryPathComputer implements PathComputer {
+    /**
+     * Flows which require more bandwidth are harder to place, so they are routed first.
+     */
+    private static final Comparator<Flow> BATCH_ORDER = Comparator
+            .comparingLong((Flow flow) -> flow.isIgnoreBandwidth() ? 0L : flow.getBandwidth()).reversed()
+            .thenComparing(Flow::getFlowId, Comparator.nullsLast(Comparator.naturalOrder()));
+
     protected final IslRepository islRepository;
+    protected final NetworkSnapshot networkSnapshot;
     private final PathFinder pathFinder;
 
     public InMemoryPathComputer(IslRepository islRepository, PathFinder pathFinder) {
+        this(islRepository, pathFinder, null);
+    }
+
+    /**
+     * Constructs the path computer which reads available ISLs from the network snapshot (if provided) instead of
+     * querying the DB on each request.
+     */
+    public InMemoryPathComputer(IslRepository islRepository, PathFinder pathFinder, NetworkSnapshot networkSnapshot) {
         this.islRepository = islRepository;
         this.pathFinder = pathFinder;
+        this.networkSnapshot = networkSnapshot;
     }
 
     @Override
     public PathPair getPath(Flow flow, boolean reuseAllocatedFlowBandwidth)
             throws UnroutableFlowException, RecoverableException {
 
-        if (flow.getSrcSwitch().getSwitchId().equals(flow.getDestSwitch().getSwitchId())) {
+        if (isOneSwitchFlow(flow)) {
             log.info("No path computation for one-switch flow");
-            return PathPair.builder()
-                    .forward(new FlowPath(0, Collections.emptyList(), null))
-                    .reverse(new FlowPath(0, Collections.emptyList(), null))
-                    .build();
+            return buildOneSwitchPathPair();
         }
 
         AvailableNetwork network = buildNetwork(flow, reuseAllocatedFlowBandwidth);
 
-        Pair<List<Isl>, List<Isl>> biPath;
+        return convertToPathPair(findPath(network, flow));
+    }
+
+    @Override
+    public List<PathComputationResult> getPaths(Collection<Flow> flows, boolean reuseAllocatedFlowBandwidth)
+            throws RecoverableException {
+        WorkingNetwork workingNetwork;
+        Map<String, List<Isl>> occupiedIsls;
+        try {
+            workingNetwork = new WorkingNetwork(getAllActiveIsls());
+            occupiedIsls = reuseAllocatedFlowBandwidth ? getOccupiedIsls(flows) : Collections.emptyMap();
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+
+        List<Flow> orderedFlows = new ArrayList<>(flows);
+        orderedFlows.sort(BATCH_ORDER);
+
+        Map<Flow, PathComputationResult> results = new IdentityHashMap<>();
+        for (Flow flow : orderedFlows) {
+            Collection<Isl> flowIsls = occupiedIsls.getOrDefault(flow.getFlowId(), Collections.emptyList());
+            results.put(flow, computePath(workingNetwork, flow, flowIsls));
+        }
+
+        List<PathComputationResult> orderedResults = new ArrayList<>(flows.size());
+        for (Flow flow : flows) {
+            orderedResults.add(results.get(flow));
+        }
+        return orderedResults;
+    }
+
+    /**
+     * Reads ISLs occupied by the flows whose bandwidth can be reused, all of them with a single query.
+     */
+    private Map<String, List<Isl>> getOccupiedIsls(Collection<Flow> flows) {
+        List<String> flowIds = new ArrayList<>(flows.size());
+        for (Flow flow : flows) {
+            if (!flow.isIgnoreBandwidth() && !isOneSwitchFlow(flow)) {
+                flowIds.add(flow.getFlowId());
+            }
+        }
+        return flowIds.isEmpty() ? Collections.emptyMap() : islRepository.findOccupiedByFlows(flowIds);
+    }
+
+    /**
+     * Computes the path of the flow over the working network.
+     *
+     * @param occupiedIsls ISLs of the current path of the flow (if its bandwidth is reused), their bandwidth becomes
+     *                     available for the flow.
+     */
+    private PathComputationResult computePath(WorkingNetwork workingNetwork, Flow flow,
+                                              Collection<Isl> occupiedIsls) {
+        if (isOneSwitchFlow(flow)) {
+            return PathComputationResult.of(flow.getFlowId(), buildOneSwitchPathPair());
+        }
+
+        workingNetwork.release(occupiedIsls, flow.getBandwidth());
+
+        AvailableNetwork network = new AvailableNetwork();
+        getAvailableIsls(workingNetwork, flow).forEach(network::addLink);
+        network.reduceByCost();
+
+        try {
+            Pair<List<Isl>, List<Isl>> biPath = findPath(network, flow);
+            if (!flow.isIgnoreBandwidth()) {
+                workingNetwork.allocate(biPath.getLeft(), flow.getBandwidth());
+                workingNetwork.allocate(biPath.getRight(), flow.getBandwidth());
+            }
+            return PathComputationResult.of(flow.getFlowId(), convertToPathPair(biPath));
+        } catch (UnroutableFlowException e) {
+            // The flow stays on its current path.
+            workingNetwork.allocate(occupiedIsls, flow.getBandwidth());
+            return PathComputationResult.failed(flow.getFlowId(), e);
+        }
+    }
+
+    private Pair<List<Isl>, List<Isl>> findPath(AvailableNetwork network, Flow flow) throws UnroutableFlowException {
         try {
-            biPath = pathFinder.findPathInNetwork(network, flow.getSrcSwitch().getSwitchId(),
+            return pathFinder.findPathInNetwork(network, flow.getSrcSwitch().getSwitchId(),
                     flow.getDestSwitch().getSwitchId());
         } catch (UnroutableFlowException e) {
             String message = format("Failed to find path with requested bandwidth=%s: %s",
                     flow.isIgnoreBandwidth() ? " ignored" : flow.getBandwidth(), e.getMessage());
             throw new UnroutableFlowException(message, flow.getFlowId());
         }
+    }
+
+    private boolean isOneSwitchFlow(Flow flow) {
+        return flow.getSrcSwitch().getSwitchId().equals(flow.getDestSwitch().getSwitchId());
+    }
 
-        return convertToPathPair(biPath);
+    private PathPair buildOneSwitchPathPair() {
+        return PathPair.builder()
+                .forward(new FlowPath(0, Collections.emptyList(), null))
+                .reverse(new FlowPath(0, Collections.emptyList(), null))
+                .build();
     }
 
     protected Collection<Isl> getAvailableIsls(Flow flow) {
+        if (networkSnapshot != null) {
+            return networkSnapshot.getActiveIsls(flow.isIgnoreBandwidth() ? 0L : flow.getBandwidth(), false);
+        }
+
         return flow.isIgnoreBandwidth()
                 ? islRepository.findAllActive() : islRepository.findActiveWithAvailableBandwidth(flow.getBandwidth());
     }
 
+    /**
+     * Returns ISLs of the batch working network which are available for the flow.
+     */
+    protected Collection<Isl> getAvailableIsls(WorkingNetwork workingNetwork, Flow flow) {
+        return workingNetwork.getIsls(flow.isIgnoreBandwidth() ? 0L : flow.getBandwidth(), false);
+    }
+
+    private Collection<Isl> getAllActiveIsls() {
+        return networkSnapshot != null ? networkSnapshot.getActiveIsls(0L, false) : islRepository.findAllActive();
+    }
+
     private AvailableNetwork buildNetwork(Flow flow, boolean reuseAllocatedFlowBandwidth) throws RecoverableException {
         AvailableNetwork network = new AvailableNetwork();
         try {
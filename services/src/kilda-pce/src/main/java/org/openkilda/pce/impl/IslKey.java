@@ -0,0 +1,41 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+
+import lombok.Value;
+
+/**
+ * Identifies a directed ISL by its endpoints.
+ */
+@Value
+class IslKey {
+    SwitchId srcSwitchId;
+    int srcPort;
+    SwitchId dstSwitchId;
+    int dstPort;
+
+    static IslKey of(Isl isl) {
+        return new IslKey(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+    }
+
+    IslKey reverse() {
+        return new IslKey(dstSwitchId, dstPort, srcSwitchId, srcPort);
+    }
+}
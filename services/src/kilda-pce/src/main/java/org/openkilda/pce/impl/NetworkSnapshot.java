@@ -0,0 +1,226 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.repositories.IslRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long-lived in-memory copy of active ISLs.
+ * <p/>
+ * The snapshot is loaded from the DB once and then kept up to date by ISL change events. Before serving a request it
+ * compares the revision it was loaded at with {@link IslRepository#getActiveIslsRevision()} (not more often than the
+ * revision check interval), so topology changes which are not delivered as events lead to reloading. In addition, the
+ * snapshot is fully reloaded once per resync interval, that also covers writers which don't maintain the revision (the
+ * legacy topology engine).
+ * <p/>
+ * The available bandwidth is changed by every flow operation (of any executor) and doesn't affect the revision, so
+ * it's re-read with a light projection query on each request instead of trusting the cached values.
+ */
+@Slf4j
+public class NetworkSnapshot {
+    private final IslRepository islRepository;
+    private final Duration resyncInterval;
+    private final Duration revisionCheckInterval;
+    private final Clock clock;
+
+    private final Map<IslKey, Isl> isls = new LinkedHashMap<>();
+    private final Map<SwitchId, Switch> switches = new HashMap<>();
+
+    private boolean loaded = false;
+    private long revision;
+    private Instant loadedAt;
+    private Instant revisionCheckedAt;
+
+    public NetworkSnapshot(IslRepository islRepository, Duration resyncInterval, Duration revisionCheckInterval) {
+        this(islRepository, resyncInterval, revisionCheckInterval, Clock.systemUTC());
+    }
+
+    NetworkSnapshot(IslRepository islRepository, Duration resyncInterval, Duration revisionCheckInterval,
+                    Clock clock) {
+        this.islRepository = islRepository;
+        this.resyncInterval = resyncInterval;
+        this.revisionCheckInterval = revisionCheckInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns active ISLs which have enough available bandwidth.
+     *
+     * @param requiredBandwidth required bandwidth amount that should be available on ISLs.
+     * @param symmetric whether the reverse ISL must have enough available bandwidth as well.
+     */
+    public synchronized Collection<Isl> getActiveIsls(long requiredBandwidth, boolean symmetric) {
+        ensureUpToDate();
+        refreshAvailableBandwidth();
+
+        List<Isl> result = new ArrayList<>(isls.size());
+        for (Map.Entry<IslKey, Isl> entry : isls.entrySet()) {
+            Isl isl = entry.getValue();
+            if (isl.getAvailableBandwidth() < requiredBandwidth || !areSwitchesActive(isl)) {
+                continue;
+            }
+            if (symmetric) {
+                Isl reverse = isls.get(entry.getKey().reverse());
+                if (reverse == null || reverse.getAvailableBandwidth() < requiredBandwidth) {
+                    continue;
+                }
+            }
+            result.add(isl);
+        }
+        return result;
+    }
+
+    /**
+     * Applies a created or updated ISL. Inactive ISLs (or ISLs between inactive switches) are removed from the
+     * snapshot. The statuses of the ISL switches are applied to the other ISLs of the switches as well.
+     */
+    public synchronized void handleIslChanged(Isl isl) {
+        if (!loaded) {
+            return;
+        }
+
+        IslKey key = IslKey.of(isl);
+        Isl islCopy = copy(isl);
+        if (isActive(islCopy)) {
+            isls.put(key, islCopy);
+        } else {
+            isls.remove(key);
+        }
+    }
+
+    /**
+     * Removes the ISL from the snapshot.
+     */
+    public synchronized void handleIslRemoved(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        isls.remove(new IslKey(srcSwitchId, srcPort, dstSwitchId, dstPort));
+    }
+
+    /**
+     * Applies the new value of available bandwidth of the ISL.
+     */
+    public synchronized void handleAvailableBandwidthChanged(SwitchId srcSwitchId, int srcPort,
+                                                             SwitchId dstSwitchId, int dstPort,
+                                                             long availableBandwidth) {
+        IslKey key = new IslKey(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        Isl isl = isls.get(key);
+        if (isl == null) {
+            // The ISL is not active or the snapshot is outdated, the revision check will sort it out.
+            return;
+        }
+
+        isl.setAvailableBandwidth(availableBandwidth);
+    }
+
+    /**
+     * Forces reloading of the snapshot on the next request.
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+    }
+
+    private void ensureUpToDate() {
+        Instant now = clock.instant();
+        if (!loaded || !now.isBefore(loadedAt.plus(resyncInterval))) {
+            reload(now);
+            return;
+        }
+
+        if (!now.isBefore(revisionCheckedAt.plus(revisionCheckInterval))) {
+            revisionCheckedAt = now;
+            long actualRevision = islRepository.getActiveIslsRevision();
+            if (actualRevision != revision) {
+                log.info("Network snapshot revision {} doesn't match the actual one {}, reloading",
+                        revision, actualRevision);
+                reload(now);
+            }
+        }
+    }
+
+    private void refreshAvailableBandwidth() {
+        for (Isl actual : islRepository.findAllAvailableBandwidth()) {
+            Isl isl = isls.get(IslKey.of(actual));
+            if (isl != null) {
+                isl.setAvailableBandwidth(actual.getAvailableBandwidth());
+            }
+        }
+    }
+
+    private void reload(Instant now) {
+        // The revision is read before the ISLs, so changes committed in between lead to another reload but never get
+        // lost.
+        final long actualRevision = islRepository.getActiveIslsRevision();
+        Collection<Isl> activeIsls = islRepository.findAllActive();
+
+        isls.clear();
+        switches.clear();
+        for (Isl isl : activeIsls) {
+            isls.put(IslKey.of(isl), copy(isl));
+        }
+
+        loaded = true;
+        revision = actualRevision;
+        loadedAt = now;
+        revisionCheckedAt = now;
+
+        log.debug("Network snapshot has been loaded: {} active ISLs, revision {}", isls.size(), revision);
+    }
+
+    private boolean isActive(Isl isl) {
+        return isl.getStatus() == IslStatus.ACTIVE && areSwitchesActive(isl);
+    }
+
+    private boolean areSwitchesActive(Isl isl) {
+        return isl.getSrcSwitch().getStatus() == SwitchStatus.ACTIVE
+                && isl.getDestSwitch().getStatus() == SwitchStatus.ACTIVE;
+    }
+
+    /**
+     * Makes a detached copy of the ISL, so the snapshot doesn't hold references to the entity graph.
+     */
+    private Isl copy(Isl isl) {
+        return isl.toBuilder()
+                .srcSwitch(getOrInitSwitch(isl.getSrcSwitch()))
+                .destSwitch(getOrInitSwitch(isl.getDestSwitch()))
+                .build();
+    }
+
+    /**
+     * Returns the snapshot copy of the switch, which is shared by all ISLs of the switch. The status of the copy is
+     * updated from the given switch, so it follows the switch going inactive and coming back.
+     */
+    private Switch getOrInitSwitch(Switch sw) {
+        Switch copy = switches.computeIfAbsent(sw.getSwitchId(), swId -> Switch.builder().switchId(swId).build());
+        copy.setStatus(sw.getStatus());
+        return copy;
+    }
+}
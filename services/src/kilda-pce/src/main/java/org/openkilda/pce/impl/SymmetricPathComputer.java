@@ -28,9 +28,25 @@ public class SymmetricPathComputer extends InMemoryPathComputer {
         super(islRepository, pathFinder);
     }
 
+    public SymmetricPathComputer(IslRepository islRepository, PathFinder pathFinder,
+                                 NetworkSnapshot networkSnapshot) {
+        super(islRepository, pathFinder, networkSnapshot);
+    }
+
     @Override
     protected Collection<Isl> getAvailableIsls(Flow flow) {
+        if (networkSnapshot != null) {
+            return flow.isIgnoreBandwidth() ? networkSnapshot.getActiveIsls(0L, false) :
+                    networkSnapshot.getActiveIsls(flow.getBandwidth(), true);
+        }
+
         return flow.isIgnoreBandwidth() ? islRepository.findAllActive() :
                 islRepository.findSymmetricActiveWithAvailableBandwidth(flow.getBandwidth());
     }
+
+    @Override
+    protected Collection<Isl> getAvailableIsls(WorkingNetwork workingNetwork, Flow flow) {
+        return flow.isIgnoreBandwidth() ? workingNetwork.getIsls(0L, false) :
+                workingNetwork.getIsls(flow.getBandwidth(), true);
+    }
 }
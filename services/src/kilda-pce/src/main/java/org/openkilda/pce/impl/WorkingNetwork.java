@@ -0,0 +1,86 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable copy of active ISLs which is used to compute paths for a batch of flows. Bandwidth taken by each routed
+ * flow is subtracted from the copy, so the following flows are routed over the network as it will be after the
+ * previous ones are installed.
+ */
+class WorkingNetwork {
+    private final Map<IslKey, Isl> isls = new LinkedHashMap<>();
+
+    WorkingNetwork(Collection<Isl> activeIsls) {
+        for (Isl isl : activeIsls) {
+            isls.put(IslKey.of(isl), isl.toBuilder().build());
+        }
+    }
+
+    /**
+     * Returns ISLs which have enough available bandwidth.
+     *
+     * @param requiredBandwidth required bandwidth amount that should be available on ISLs.
+     * @param symmetric whether the reverse ISL must have enough available bandwidth as well.
+     */
+    Collection<Isl> getIsls(long requiredBandwidth, boolean symmetric) {
+        List<Isl> result = new ArrayList<>(isls.size());
+        for (Map.Entry<IslKey, Isl> entry : isls.entrySet()) {
+            Isl isl = entry.getValue();
+            if (isl.getAvailableBandwidth() < requiredBandwidth) {
+                continue;
+            }
+            if (symmetric) {
+                Isl reverse = isls.get(entry.getKey().reverse());
+                if (reverse == null || reverse.getAvailableBandwidth() < requiredBandwidth) {
+                    continue;
+                }
+            }
+            result.add(isl);
+        }
+        return result;
+    }
+
+    /**
+     * Takes the bandwidth from the ISLs of the path.
+     */
+    void allocate(Collection<Isl> path, long bandwidth) {
+        changeAvailableBandwidth(path, -bandwidth);
+    }
+
+    /**
+     * Returns the bandwidth to the ISLs of the path.
+     */
+    void release(Collection<Isl> path, long bandwidth) {
+        changeAvailableBandwidth(path, bandwidth);
+    }
+
+    private void changeAvailableBandwidth(Collection<Isl> path, long delta) {
+        for (Isl pathIsl : path) {
+            Isl isl = isls.get(IslKey.of(pathIsl));
+            if (isl != null) {
+                isl.setAvailableBandwidth(isl.getAvailableBandwidth() + delta);
+            }
+        }
+    }
+}
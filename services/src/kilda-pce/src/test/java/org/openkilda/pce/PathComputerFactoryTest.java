@@ -17,6 +17,7 @@ package org.openkilda.pce;
 
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import org.openkilda.pce.PathComputerFactory.Strategy;
 import org.openkilda.pce.impl.InMemoryPathComputer;
@@ -28,15 +29,36 @@ public class PathComputerFactoryTest {
     @Test
     public void shouldCreateAnInstance() {
         PathComputerFactory factory = new PathComputerFactory(
-                mock(PathComputerConfig.class), mock(RepositoryFactory.class));
+                mockConfig("BEST_COST"), mock(RepositoryFactory.class));
         PathComputer pathComputer = factory.getPathComputer(Strategy.COST);
         assertTrue(pathComputer instanceof InMemoryPathComputer);
     }
 
+    @Test
+    public void shouldCreateAnInstanceWithCompactFinder() {
+        PathComputerFactory factory = new PathComputerFactory(
+                mockConfig("compact_best_cost"), mock(RepositoryFactory.class));
+        PathComputer pathComputer = factory.getPathComputer(Strategy.SYMMETRIC_COST);
+        assertTrue(pathComputer instanceof InMemoryPathComputer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateWithUnknownFinder() {
+        PathComputerFactory factory = new PathComputerFactory(
+                mockConfig("DIJKSTRA"), mock(RepositoryFactory.class));
+        factory.getPathComputer(Strategy.COST);
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void shouldNotCreateNonCostPathComputer() {
         PathComputerFactory factory = new PathComputerFactory(
                 mock(PathComputerConfig.class), mock(RepositoryFactory.class));
         factory.getPathComputer(Strategy.LATENCY);
     }
+
+    private PathComputerConfig mockConfig(String finder) {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getFinder()).thenReturn(finder);
+        return config;
+    }
 }
@@ -0,0 +1,226 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.tuple.Pair;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class CompactBestCostPathFinderTest {
+
+    private static final int ALLOWED_DEPTH = 35;
+    private static final int DEFAULT_COST = 700;
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+
+    @Test
+    public void shouldChooseExpensiveOverTooDeep() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+        network.reduceByCost();
+
+        CompactBestCostPathFinder finder = new CompactBestCostPathFinder(2, DEFAULT_COST);
+        Pair<List<Isl>, List<Isl>> pairPath = finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4);
+        List<Isl> fpath = pairPath.getLeft();
+        assertThat(fpath, Matchers.hasSize(2));
+        assertEquals(SWITCH_ID_2, fpath.get(1).getSrcSwitch().getSwitchId());
+
+        List<Isl> rpath = pairPath.getRight();
+        assertThat(rpath, Matchers.hasSize(2));
+        assertEquals(SWITCH_ID_2, rpath.get(0).getDestSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldChooseDeeperOverExpensive() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+        network.reduceByCost();
+
+        CompactBestCostPathFinder finder = new CompactBestCostPathFinder(4, DEFAULT_COST);
+        Pair<List<Isl>, List<Isl>> pairPath = finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4);
+        List<Isl> fpath = pairPath.getLeft();
+        assertThat(fpath, Matchers.hasSize(4));
+        assertEquals(SWITCH_ID_5, fpath.get(3).getSrcSwitch().getSwitchId());
+
+        List<Isl> rpath = pairPath.getRight();
+        assertThat(rpath, Matchers.hasSize(4));
+        assertEquals(SWITCH_ID_5, rpath.get(0).getDestSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldHandleVeryExpensiveLinks() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 2000000000);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 3, 4, 2000000000);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 5, 6, 1);
+        network.reduceByCost();
+
+        CompactBestCostPathFinder finder = new CompactBestCostPathFinder(ALLOWED_DEPTH, DEFAULT_COST);
+        Pair<List<Isl>, List<Isl>> paths = finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3);
+
+        List<SwitchId> forwardSwitchPath = getSwitchIdsFlowPath(paths.getLeft());
+        List<SwitchId> reverseSwitchPath = Lists.reverse(getSwitchIdsFlowPath(paths.getRight()));
+        assertEquals(forwardSwitchPath, reverseSwitchPath);
+        assertEquals(forwardSwitchPath, Lists.newArrayList(SWITCH_ID_1, SWITCH_ID_3));
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void failToFindASwitch() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+        network.reduceByCost();
+
+        CompactBestCostPathFinder finder = new CompactBestCostPathFinder(ALLOWED_DEPTH, DEFAULT_COST);
+        finder.findPathInNetwork(network, new SwitchId("00:00:00:00:00:00:00:ff"), SWITCH_ID_1);
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void failToFindReversePath() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100, 100);
+        addLink(network, SWITCH_ID_2, SWITCH_ID_3, 5, 6, 100, 100);
+
+        CompactBestCostPathFinder finder = new CompactBestCostPathFinder(ALLOWED_DEPTH, DEFAULT_COST);
+        finder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3);
+    }
+
+    @Test
+    public void shouldFindSamePathsAsBestCostFinder() throws UnroutableFlowException {
+        Random random = new Random(42);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            AvailableNetwork network = buildRandomNetwork(random, 20, 60);
+            network.reduceByCost();
+
+            int depth = 1 + random.nextInt(ALLOWED_DEPTH);
+            BestCostAndShortestPathFinder expectedFinder = new BestCostAndShortestPathFinder(depth, DEFAULT_COST);
+            CompactBestCostPathFinder actualFinder = new CompactBestCostPathFinder(depth, DEFAULT_COST);
+
+            for (int i = 0; i < 10; i++) {
+                SwitchId src = switchId(1 + random.nextInt(20));
+                SwitchId dst = switchId(1 + random.nextInt(20));
+                if (src.equals(dst) || network.getSwitch(src) == null || network.getSwitch(dst) == null) {
+                    continue;
+                }
+
+                Pair<List<Isl>, List<Isl>> expected;
+                try {
+                    expected = expectedFinder.findPathInNetwork(network, src, dst);
+                } catch (UnroutableFlowException e) {
+                    expected = null;
+                }
+
+                Pair<List<Isl>, List<Isl>> actual;
+                try {
+                    actual = actualFinder.findPathInNetwork(network, src, dst);
+                } catch (UnroutableFlowException e) {
+                    actual = null;
+                }
+
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private AvailableNetwork buildLongAndExpensivePathsNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2~~~SW4
+         *          |     |
+         *         SW3---SW5
+         *
+         *   SW2 - SW4 is expensive by cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 10000);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 5, 6, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 7, 8, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 9, 10, 100);
+        return network;
+    }
+
+    private AvailableNetwork buildRandomNetwork(Random random, int switches, int links) {
+        AvailableNetwork network = new AvailableNetwork();
+        for (int i = 0; i < links; i++) {
+            int src = 1 + random.nextInt(switches);
+            int dst = 1 + random.nextInt(switches);
+            if (src == dst) {
+                continue;
+            }
+
+            int cost = random.nextInt(5) * 100;
+            if (random.nextInt(10) == 0) {
+                addLink(network, switchId(src), switchId(dst), i, i, cost, random.nextInt(100));
+            } else {
+                addBidirectionalLink(network, switchId(src), switchId(dst), i, i, cost);
+            }
+        }
+        return network;
+    }
+
+    private SwitchId switchId(int id) {
+        return new SwitchId(id);
+    }
+
+    private List<SwitchId> getSwitchIdsFlowPath(List<Isl> path) {
+        List<SwitchId> switchIds = new ArrayList<>();
+        if (!path.isEmpty()) {
+            switchIds.add(path.get(0).getSrcSwitch().getSwitchId());
+            for (Isl isl : path) {
+                switchIds.add(isl.getDestSwitch().getSwitchId());
+            }
+        }
+        return switchIds;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost, 1);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost, 1);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost, int latency) {
+        Switch srcSwitch = Switch.builder().switchId(srcDpid).build();
+        Switch dstSwitch = Switch.builder().switchId(dstDpid).build();
+
+        Isl isl = Isl.builder()
+                .srcSwitch(srcSwitch)
+                .destSwitch(dstSwitch)
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .latency(latency)
+                .build();
+        network.addLink(isl);
+    }
+}
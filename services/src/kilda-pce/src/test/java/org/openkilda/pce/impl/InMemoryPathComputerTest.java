@@ -16,8 +16,10 @@
 package org.openkilda.pce.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.config.provider.ConfigurationProvider;
 import org.openkilda.model.Flow;
@@ -28,6 +30,7 @@ import org.openkilda.model.IslStatus;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.PathComputationResult;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
@@ -53,6 +56,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.neo4j.ogm.testutil.TestServer;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 
 public class InMemoryPathComputerTest {
@@ -473,6 +478,36 @@ public class InMemoryPathComputerTest {
         pathComputer.getPath(flow, true);
     }
 
+    @Test
+    public void shouldFindPathOverDiamondUsingNetworkSnapshot()
+            throws RecoverableException, UnroutableFlowException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "06:", 1);
+
+        Switch srcSwitch = switchRepository.findById(new SwitchId("06:01")).get();
+        Switch destSwitch = switchRepository.findById(new SwitchId("06:04")).get();
+
+        Flow f = new Flow();
+        f.setSrcSwitch(srcSwitch);
+        f.setDestSwitch(destSwitch);
+        f.setBandwidth(100);
+
+        NetworkSnapshot networkSnapshot = new NetworkSnapshot(islRepository, Duration.ofSeconds(600), Duration.ZERO);
+        PathComputer pathComputer = new InMemoryPathComputer(islRepository,
+                new BestCostAndShortestPathFinder(ALLOWED_DEPTH, DEFAULT_COST), networkSnapshot);
+        PathPair path = pathComputer.getPath(f);
+        assertNotNull(path);
+        assertEquals(new SwitchId("06:02"), path.getForward().getNodes().get(1).getSwitchId());
+
+        // the cheaper route loses its bandwidth outside of the snapshot, so the revision check must reload it
+        Isl isl = islRepository.findByEndpoints(new SwitchId("06:01"), 5, new SwitchId("06:02"), 5).get();
+        isl.setAvailableBandwidth(0);
+        islRepository.createOrUpdate(isl);
+
+        path = pathComputer.getPath(f);
+        assertNotNull(path);
+        assertEquals(new SwitchId("06:03"), path.getForward().getNodes().get(1).getSwitchId());
+    }
+
     private void createLinearTopoWithFlowSegments(int cost, String switchStart, int startIndex, long linkBw,
                                                   String flowId, long flowBandwidth) {
         // A - B - C
@@ -493,6 +528,70 @@ public class InMemoryPathComputerTest {
         createFlowSegment(flowId, flowBandwidth, nodeC, nodeB, 6, 6);
     }
 
+    @Test
+    public void shouldTakeBandwidthOfAlreadyRoutedFlowsInBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "07:", 1);
+
+        Flow first = buildFlow("first", "07:01", "07:04", 600);
+        Flow second = buildFlow("second", "07:01", "07:04", 600);
+        Flow third = buildFlow("third", "07:01", "07:04", 600);
+
+        PathComputer pathComputer = new InMemoryPathComputer(islRepository,
+                new BestCostAndShortestPathFinder(ALLOWED_DEPTH, DEFAULT_COST));
+        List<PathComputationResult> results = pathComputer.getPaths(Arrays.asList(first, second, third), false);
+
+        assertThat(results, Matchers.hasSize(3));
+        assertTrue(results.get(0).isSuccessful());
+        assertEquals(new SwitchId("07:02"), results.get(0).getPathPair().getForward().getNodes().get(1).getSwitchId());
+        assertTrue(results.get(1).isSuccessful());
+        assertEquals(new SwitchId("07:03"), results.get(1).getPathPair().getForward().getNodes().get(1).getSwitchId());
+        assertFalse(results.get(2).isSuccessful());
+        assertEquals("third", results.get(2).getError().getFlowId());
+    }
+
+    @Test
+    public void shouldRouteFlowsWithHigherBandwidthFirstInBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "08:", 1);
+
+        Flow small = buildFlow("small", "08:01", "08:04", 300);
+        Flow large = buildFlow("large", "08:01", "08:04", 800);
+
+        PathComputer pathComputer = new InMemoryPathComputer(islRepository,
+                new BestCostAndShortestPathFinder(ALLOWED_DEPTH, DEFAULT_COST));
+        List<PathComputationResult> results = pathComputer.getPaths(Arrays.asList(small, large), false);
+
+        assertEquals("small", results.get(0).getFlowId());
+        assertEquals(new SwitchId("08:03"), results.get(0).getPathPair().getForward().getNodes().get(1).getSwitchId());
+        assertEquals("large", results.get(1).getFlowId());
+        assertEquals(new SwitchId("08:02"), results.get(1).getPathPair().getForward().getNodes().get(1).getSwitchId());
+    }
+
+    @Test
+    public void shouldReuseBandwidthOfExistedFlowsInBatch() throws RecoverableException {
+        createLinearTopoWithFlowSegments(10, "09:", 1, 0L, "existed", 1000L);
+
+        Flow existed = buildFlow("existed", "09:01", "09:03", 1000);
+        Flow other = buildFlow("other", "09:01", "09:03", 1000);
+
+        PathComputer pathComputer = new InMemoryPathComputer(islRepository,
+                new BestCostAndShortestPathFinder(ALLOWED_DEPTH, DEFAULT_COST));
+
+        List<PathComputationResult> results = pathComputer.getPaths(Arrays.asList(existed, other), true);
+        assertTrue(results.get(0).isSuccessful());
+        assertThat(results.get(0).getPathPair().getForward().getNodes(), Matchers.hasSize(4));
+        assertThat(results.get(0).getPathPair().getReverse().getNodes(), Matchers.hasSize(4));
+        assertFalse(results.get(1).isSuccessful());
+    }
+
+    private Flow buildFlow(String flowId, String srcSwitchId, String destSwitchId, long bandwidth) {
+        Flow flow = new Flow();
+        flow.setFlowId(flowId);
+        flow.setSrcSwitch(switchRepository.findById(new SwitchId(srcSwitchId)).get());
+        flow.setDestSwitch(switchRepository.findById(new SwitchId(destSwitchId)).get());
+        flow.setBandwidth(bandwidth);
+        return flow;
+    }
+
     private void createDiamond(IslStatus pathBstatus, IslStatus pathCstatus, int pathBcost, int pathCcost) {
         createDiamond(pathBstatus, pathCstatus, pathBcost, pathCcost, "00:", 1);
     }
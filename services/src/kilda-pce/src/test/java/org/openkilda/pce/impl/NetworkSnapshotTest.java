@@ -0,0 +1,246 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.persistence.repositories.IslRepository;
+
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+
+public class NetworkSnapshotTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final Duration RESYNC_INTERVAL = Duration.ofSeconds(600);
+    private static final Duration REVISION_CHECK_INTERVAL = Duration.ofSeconds(10);
+    private static final Instant START = Instant.parse("2018-10-01T00:00:00Z");
+
+    private IslRepository islRepository;
+
+    @Before
+    public void setUp() {
+        islRepository = mock(IslRepository.class);
+        when(islRepository.getActiveIslsRevision()).thenReturn(1L);
+        when(islRepository.findAllActive()).thenReturn(Arrays.asList(
+                buildIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 2, 100),
+                buildIsl(SWITCH_ID_2, 2, SWITCH_ID_1, 1, 50)));
+    }
+
+    @Test
+    public void shouldFilterIslsByBandwidth() {
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clockAt(START));
+
+        assertThat(snapshot.getActiveIsls(0, false), Matchers.hasSize(2));
+        assertThat(snapshot.getActiveIsls(100, false), Matchers.hasSize(1));
+        assertThat(snapshot.getActiveIsls(100, true), Matchers.empty());
+        assertThat(snapshot.getActiveIsls(50, true), Matchers.hasSize(2));
+
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldApplyBandwidthChangesWithoutReloading() {
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clockAt(START));
+        snapshot.getActiveIsls(0, false);
+
+        snapshot.handleAvailableBandwidthChanged(SWITCH_ID_2, 2, SWITCH_ID_1, 1, 150);
+
+        Collection<Isl> isls = snapshot.getActiveIsls(100, true);
+        assertThat(isls, Matchers.hasSize(2));
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldReadActualAvailableBandwidth() {
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clockAt(START));
+        assertThat(snapshot.getActiveIsls(100, true), Matchers.empty());
+
+        // Changed by another executor, the revision stays the same.
+        when(islRepository.findAllAvailableBandwidth()).thenReturn(Arrays.asList(
+                buildIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 2, 100),
+                buildIsl(SWITCH_ID_2, 2, SWITCH_ID_1, 1, 150)));
+
+        assertThat(snapshot.getActiveIsls(100, true), Matchers.hasSize(2));
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldApplySwitchStatusChanges() {
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clockAt(START));
+        snapshot.getActiveIsls(0, false);
+
+        Isl islOfInactiveSwitch = buildIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 2, 100);
+        islOfInactiveSwitch.getSrcSwitch().setStatus(SwitchStatus.INACTIVE);
+        snapshot.handleIslChanged(islOfInactiveSwitch);
+        // The reverse ISL is of the inactive switch as well.
+        assertThat(snapshot.getActiveIsls(0, false), Matchers.empty());
+
+        snapshot.handleIslChanged(buildIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 2, 100));
+        assertThat(snapshot.getActiveIsls(0, false), Matchers.hasSize(2));
+
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldApplyIslChanges() {
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clockAt(START));
+        snapshot.getActiveIsls(0, false);
+
+        Isl inactive = buildIsl(SWITCH_ID_1, 1, SWITCH_ID_2, 2, 100);
+        inactive.setStatus(IslStatus.INACTIVE);
+        snapshot.handleIslChanged(inactive);
+        assertThat(snapshot.getActiveIsls(0, false), Matchers.hasSize(1));
+
+        snapshot.handleIslChanged(buildIsl(SWITCH_ID_1, 3, SWITCH_ID_2, 4, 100));
+        assertThat(snapshot.getActiveIsls(0, false), Matchers.hasSize(2));
+
+        snapshot.handleIslRemoved(SWITCH_ID_1, 3, SWITCH_ID_2, 4);
+        assertThat(snapshot.getActiveIsls(0, false), Matchers.hasSize(1));
+
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldReloadOnRevisionMismatch() {
+        MutableClock clock = new MutableClock(START);
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clock);
+        snapshot.getActiveIsls(0, false);
+
+        clock.instant = START.plus(REVISION_CHECK_INTERVAL);
+        snapshot.getActiveIsls(0, false);
+        verify(islRepository, times(1)).findAllActive();
+
+        when(islRepository.getActiveIslsRevision()).thenReturn(2L);
+        clock.instant = START.plus(REVISION_CHECK_INTERVAL.multipliedBy(2));
+        snapshot.getActiveIsls(0, false);
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    public void shouldNotCheckRevisionWithinInterval() {
+        MutableClock clock = new MutableClock(START);
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clock);
+        snapshot.getActiveIsls(0, false);
+
+        clock.instant = START.plus(REVISION_CHECK_INTERVAL.minusSeconds(1));
+        snapshot.getActiveIsls(0, false);
+
+        // Only the read on loading.
+        verify(islRepository, times(1)).getActiveIslsRevision();
+    }
+
+    @Test
+    public void shouldReloadAfterResyncInterval() {
+        MutableClock clock = new MutableClock(START);
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clock);
+        snapshot.getActiveIsls(0, false);
+
+        clock.instant = START.plus(RESYNC_INTERVAL);
+        snapshot.getActiveIsls(0, false);
+
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    public void shouldReloadAfterInvalidation() {
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, REVISION_CHECK_INTERVAL,
+                clockAt(START));
+        snapshot.getActiveIsls(0, false);
+
+        snapshot.invalidate();
+        snapshot.getActiveIsls(0, false);
+
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    public void shouldNotReloadOnSameRevision() {
+        MutableClock clock = new MutableClock(START);
+        NetworkSnapshot snapshot = new NetworkSnapshot(islRepository, RESYNC_INTERVAL, Duration.ZERO, clock);
+
+        snapshot.getActiveIsls(0, false);
+        snapshot.getActiveIsls(0, false);
+
+        verify(islRepository, times(2)).getActiveIslsRevision();
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    private Isl buildIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long bandwidth) {
+        return Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcSwitchId).status(SwitchStatus.ACTIVE).build())
+                .srcPort(srcPort)
+                .destSwitch(Switch.builder().switchId(dstSwitchId).status(SwitchStatus.ACTIVE).build())
+                .destPort(dstPort)
+                .status(IslStatus.ACTIVE)
+                .cost(10)
+                .availableBandwidth(bandwidth)
+                .build();
+    }
+
+    private Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
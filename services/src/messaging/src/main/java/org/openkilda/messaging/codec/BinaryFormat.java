@@ -0,0 +1,60 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+/**
+ * Constants of the binary format.
+ * <p/>
+ * The format is a sequence of JSON tokens: every token is a single type byte followed by the value (if any). Integral
+ * numbers are written as zig-zag varints, floating point numbers as IEEE 754 bytes, strings as varint length and
+ * UTF-8 bytes. Field names are written once and are referred by index afterwards, so repeated objects (stats entries,
+ * path nodes, etc.) don't repeat their field names.
+ * <p/>
+ * The data starts with {@link #MAGIC} and {@link #VERSION} bytes. {@link #MAGIC} is never the first byte of UTF-8
+ * text, so the binary data can be told apart from JSON without any out of band information.
+ */
+final class BinaryFormat {
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 2;
+
+    static final byte START_OBJECT = 1;
+    static final byte END_OBJECT = 2;
+    static final byte START_ARRAY = 3;
+    static final byte END_ARRAY = 4;
+    static final byte NULL = 5;
+    static final byte TRUE = 6;
+    static final byte FALSE = 7;
+    static final byte INT = 8;
+    static final byte DOUBLE = 9;
+    static final byte FLOAT = 10;
+    static final byte BIG_INTEGER = 11;
+    static final byte BIG_DECIMAL = 12;
+    static final byte STRING = 13;
+    static final byte BINARY = 14;
+    static final byte FIELD_NAME = 15;
+    static final byte FIELD_NAME_REF = 16;
+
+    /**
+     * Max number of field names a reader and a writer keep for references.
+     */
+    static final int MAX_SHARED_NAMES = 1024;
+
+    private BinaryFormat() {
+        throw new UnsupportedOperationException();
+    }
+}
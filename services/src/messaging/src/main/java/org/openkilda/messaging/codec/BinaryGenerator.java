@@ -0,0 +1,297 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.json.JsonWriteContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes JSON tokens in {@link BinaryFormat} into an in-memory buffer.
+ */
+class BinaryGenerator extends GeneratorBase {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<String, Integer> sharedNames = new HashMap<>();
+
+    BinaryGenerator(ObjectCodec codec) {
+        super(0, codec);
+
+        buffer[size++] = BinaryFormat.MAGIC;
+        buffer[size++] = BinaryFormat.VERSION;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+        _verifyValueWrite("start an array");
+        _writeContext = _writeContext.createChildArrayContext();
+        writeType(BinaryFormat.START_ARRAY);
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+        if (!_writeContext.inArray()) {
+            _reportError("Current context not Array but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        writeType(BinaryFormat.END_ARRAY);
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        _verifyValueWrite("start an object");
+        _writeContext = _writeContext.createChildObjectContext();
+        writeType(BinaryFormat.START_OBJECT);
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+        if (!_writeContext.inObject()) {
+            _reportError("Current context not Object but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        writeType(BinaryFormat.END_OBJECT);
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+        if (_writeContext.writeFieldName(name) == JsonWriteContext.STATUS_EXPECT_VALUE) {
+            _reportError("Can not write a field name, expecting a value");
+        }
+
+        Integer index = sharedNames.get(name);
+        if (index != null) {
+            writeType(BinaryFormat.FIELD_NAME_REF);
+            writeVarInt(index);
+            return;
+        }
+
+        if (sharedNames.size() < BinaryFormat.MAX_SHARED_NAMES) {
+            sharedNames.put(name, sharedNames.size());
+        }
+        writeType(BinaryFormat.FIELD_NAME);
+        writeUtf8(name);
+    }
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (text == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a string");
+        writeType(BinaryFormat.STRING);
+        writeUtf8(text);
+    }
+
+    @Override
+    public void writeString(char[] text, int offset, int len) throws IOException {
+        writeString(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+        writeUTF8String(text, offset, length);
+    }
+
+    @Override
+    public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+        _verifyValueWrite("write a string");
+        writeType(BinaryFormat.STRING);
+        writeBytes(text, offset, length);
+    }
+
+    /**
+     * There is no raw text in the binary format. Raw values (e.g. {@code @JsonRawValue} properties) are rejected
+     * instead of being silently written as strings, so a message that uses them must stay on the JSON format.
+     */
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _reportError("Raw values are not supported by the binary format, use JSON for such messages");
+    }
+
+    @Override
+    public void writeRaw(String text, int offset, int len) throws IOException {
+        writeRaw(text.substring(offset, offset + len));
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        writeRaw(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        writeRaw(String.valueOf(c));
+    }
+
+    @Override
+    public void writeBinary(Base64Variant variant, byte[] data, int offset, int len) throws IOException {
+        if (data == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a binary value");
+        writeType(BinaryFormat.BINARY);
+        writeBytes(data, offset, len);
+    }
+
+    @Override
+    public void writeNumber(int value) throws IOException {
+        writeNumber((long) value);
+    }
+
+    @Override
+    public void writeNumber(long value) throws IOException {
+        _verifyValueWrite("write a number");
+        writeType(BinaryFormat.INT);
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    @Override
+    public void writeNumber(BigInteger value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a number");
+        writeType(BinaryFormat.BIG_INTEGER);
+        writeUtf8(value.toString());
+    }
+
+    @Override
+    public void writeNumber(double value) throws IOException {
+        _verifyValueWrite("write a number");
+        writeType(BinaryFormat.DOUBLE);
+        writeFixedLong(Double.doubleToRawLongBits(value), 8);
+    }
+
+    @Override
+    public void writeNumber(float value) throws IOException {
+        _verifyValueWrite("write a number");
+        writeType(BinaryFormat.FLOAT);
+        writeFixedLong(Float.floatToRawIntBits(value), 4);
+    }
+
+    @Override
+    public void writeNumber(BigDecimal value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeNumber(value.toString());
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        if (encodedValue == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite("write a number");
+        writeType(BinaryFormat.BIG_DECIMAL);
+        writeUtf8(encodedValue);
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        _verifyValueWrite("write a boolean value");
+        writeType(state ? BinaryFormat.TRUE : BinaryFormat.FALSE);
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _verifyValueWrite("write a null");
+        writeType(BinaryFormat.NULL);
+    }
+
+    @Override
+    public void flush() {
+        // Everything is kept in the buffer until toByteArray() is called.
+    }
+
+    @Override
+    protected void _releaseBuffers() {
+        // Nothing to release.
+    }
+
+    @Override
+    protected void _verifyValueWrite(String typeMsg) throws IOException {
+        if (_writeContext.writeValue() == JsonWriteContext.STATUS_EXPECT_NAME) {
+            _reportError("Can not " + typeMsg + ", expecting field name");
+        }
+    }
+
+    private void writeType(byte type) {
+        ensureCapacity(1);
+        buffer[size++] = type;
+    }
+
+    private void writeUtf8(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    private void writeBytes(byte[] data, int offset, int len) {
+        writeVarInt(len);
+        ensureCapacity(len);
+        System.arraycopy(data, offset, buffer, size, len);
+        size += len;
+    }
+
+    private void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeFixedLong(long value, int bytes) {
+        ensureCapacity(bytes);
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (size + required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + required));
+        }
+    }
+}
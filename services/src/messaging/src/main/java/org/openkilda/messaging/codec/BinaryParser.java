@@ -0,0 +1,410 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads JSON tokens written by {@link BinaryGenerator}.
+ */
+class BinaryParser extends ParserMinimalBase {
+    private ObjectCodec codec;
+
+    private final byte[] data;
+    private final int end;
+    private int position;
+    private boolean closed;
+
+    private JsonReadContext parsingContext = JsonReadContext.createRootContext(null);
+    private final List<String> sharedNames = new ArrayList<>();
+
+    private String text;
+    private byte[] binaryValue;
+    private long longValue;
+    private double doubleValue;
+    private NumberType numberType;
+
+    BinaryParser(ObjectCodec codec, byte[] data, int offset, int length) throws JsonParseException {
+        super(0);
+        this.codec = codec;
+        this.data = data;
+        this.end = offset + length;
+
+        if (length < BinaryFormat.HEADER_SIZE || data[offset] != BinaryFormat.MAGIC) {
+            throw new JsonParseException(this, "Not a binary encoded message");
+        }
+        if (data[offset + 1] != BinaryFormat.VERSION) {
+            throw new JsonParseException(this, "Unsupported binary format version " + data[offset + 1]);
+        }
+        position = offset + BinaryFormat.HEADER_SIZE;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (position >= end) {
+            close();
+            _currToken = null;
+            return null;
+        }
+
+        byte type = data[position++];
+        switch (type) {
+            case BinaryFormat.START_OBJECT:
+                parsingContext = parsingContext.createChildObjectContext(-1, -1);
+                return _currToken = JsonToken.START_OBJECT;
+            case BinaryFormat.END_OBJECT:
+                parsingContext = parsingContext.clearAndGetParent();
+                return _currToken = JsonToken.END_OBJECT;
+            case BinaryFormat.START_ARRAY:
+                parsingContext = parsingContext.createChildArrayContext(-1, -1);
+                return _currToken = JsonToken.START_ARRAY;
+            case BinaryFormat.END_ARRAY:
+                parsingContext = parsingContext.clearAndGetParent();
+                return _currToken = JsonToken.END_ARRAY;
+            case BinaryFormat.NULL:
+                return _currToken = JsonToken.VALUE_NULL;
+            case BinaryFormat.TRUE:
+                return _currToken = JsonToken.VALUE_TRUE;
+            case BinaryFormat.FALSE:
+                return _currToken = JsonToken.VALUE_FALSE;
+            case BinaryFormat.INT:
+                long raw = readVarLong();
+                longValue = (raw >>> 1) ^ -(raw & 1);
+                numberType = longValue == (int) longValue ? NumberType.INT : NumberType.LONG;
+                text = null;
+                return _currToken = JsonToken.VALUE_NUMBER_INT;
+            case BinaryFormat.DOUBLE:
+                doubleValue = Double.longBitsToDouble(readFixedLong(8));
+                numberType = NumberType.DOUBLE;
+                text = null;
+                return _currToken = JsonToken.VALUE_NUMBER_FLOAT;
+            case BinaryFormat.FLOAT:
+                doubleValue = Float.intBitsToFloat((int) readFixedLong(4));
+                numberType = NumberType.FLOAT;
+                text = null;
+                return _currToken = JsonToken.VALUE_NUMBER_FLOAT;
+            case BinaryFormat.BIG_INTEGER:
+                text = readUtf8();
+                numberType = NumberType.BIG_INTEGER;
+                return _currToken = JsonToken.VALUE_NUMBER_INT;
+            case BinaryFormat.BIG_DECIMAL:
+                text = readUtf8();
+                numberType = NumberType.BIG_DECIMAL;
+                return _currToken = JsonToken.VALUE_NUMBER_FLOAT;
+            case BinaryFormat.STRING:
+                text = readUtf8();
+                return _currToken = JsonToken.VALUE_STRING;
+            case BinaryFormat.BINARY:
+                binaryValue = readBytes();
+                return _currToken = JsonToken.VALUE_EMBEDDED_OBJECT;
+            case BinaryFormat.FIELD_NAME:
+                String name = readUtf8();
+                if (sharedNames.size() < BinaryFormat.MAX_SHARED_NAMES) {
+                    sharedNames.add(name);
+                }
+                parsingContext.setCurrentName(name);
+                return _currToken = JsonToken.FIELD_NAME;
+            case BinaryFormat.FIELD_NAME_REF:
+                int index = readVarInt();
+                if (index >= sharedNames.size()) {
+                    _reportError("Invalid field name reference " + index);
+                }
+                parsingContext.setCurrentName(sharedNames.get(index));
+                return _currToken = JsonToken.FIELD_NAME;
+            default:
+                _reportError("Invalid token type " + type + " at " + (position - 1));
+                return null;
+        }
+    }
+
+    @Override
+    protected void _handleEOF() throws JsonParseException {
+        if (!parsingContext.inRoot()) {
+            _reportInvalidEOF();
+        }
+    }
+
+    @Override
+    public String getCurrentName() {
+        if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+            JsonReadContext parent = parsingContext.getParent();
+            return parent != null ? parent.getCurrentName() : null;
+        }
+        return parsingContext.getCurrentName();
+    }
+
+    @Override
+    public void overrideCurrentName(String name) {
+        JsonReadContext context = parsingContext;
+        if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+            context = context.getParent();
+        }
+        try {
+            context.setCurrentName(name);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public JsonStreamContext getParsingContext() {
+        return parsingContext;
+    }
+
+    @Override
+    public String getText() {
+        if (_currToken == null) {
+            return null;
+        }
+        switch (_currToken) {
+            case VALUE_STRING:
+                return text;
+            case FIELD_NAME:
+                return parsingContext.getCurrentName();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return getNumberValue().toString();
+            default:
+                return _currToken.asString();
+        }
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        String value = getText();
+        return value != null ? value.toCharArray() : null;
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+    @Override
+    public int getTextLength() {
+        String value = getText();
+        return value != null ? value.length() : 0;
+    }
+
+    @Override
+    public int getTextOffset() {
+        return 0;
+    }
+
+    @Override
+    public byte[] getBinaryValue(Base64Variant variant) throws IOException {
+        if (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return binaryValue;
+        }
+        if (_currToken == JsonToken.VALUE_STRING) {
+            return variant.decode(text);
+        }
+        _reportError("Current token (" + _currToken + ") is not binary");
+        return null;
+    }
+
+    @Override
+    public Object getEmbeddedObject() {
+        return _currToken == JsonToken.VALUE_EMBEDDED_OBJECT ? binaryValue : null;
+    }
+
+    @Override
+    public Number getNumberValue() {
+        switch (numberType) {
+            case INT:
+                return (int) longValue;
+            case LONG:
+                return longValue;
+            case FLOAT:
+                return (float) doubleValue;
+            case DOUBLE:
+                return doubleValue;
+            case BIG_INTEGER:
+                return new BigInteger(text);
+            default:
+                return new BigDecimal(text);
+        }
+    }
+
+    @Override
+    public NumberType getNumberType() {
+        return numberType;
+    }
+
+    @Override
+    public int getIntValue() {
+        return getNumberValue().intValue();
+    }
+
+    @Override
+    public long getLongValue() {
+        return numberType == NumberType.INT || numberType == NumberType.LONG
+                ? longValue : getNumberValue().longValue();
+    }
+
+    @Override
+    public BigInteger getBigIntegerValue() {
+        switch (numberType) {
+            case INT:
+            case LONG:
+                return BigInteger.valueOf(longValue);
+            case BIG_INTEGER:
+                return new BigInteger(text);
+            default:
+                return getDecimalValue().toBigInteger();
+        }
+    }
+
+    @Override
+    public float getFloatValue() {
+        return (float) getDoubleValue();
+    }
+
+    @Override
+    public double getDoubleValue() {
+        switch (numberType) {
+            case FLOAT:
+            case DOUBLE:
+                return doubleValue;
+            case INT:
+            case LONG:
+                return longValue;
+            default:
+                return getNumberValue().doubleValue();
+        }
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() {
+        switch (numberType) {
+            case INT:
+            case LONG:
+                return BigDecimal.valueOf(longValue);
+            case FLOAT:
+            case DOUBLE:
+                return BigDecimal.valueOf(doubleValue);
+            case BIG_INTEGER:
+                return new BigDecimal(new BigInteger(text));
+            default:
+                return new BigDecimal(text);
+        }
+    }
+
+    @Override
+    public ObjectCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void setCodec(ObjectCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public JsonLocation getCurrentLocation() {
+        return new JsonLocation(null, position, -1, -1);
+    }
+
+    @Override
+    public JsonLocation getTokenLocation() {
+        return getCurrentLocation();
+    }
+
+    private String readUtf8() throws JsonParseException {
+        int length = readVarInt();
+        checkAvailable(length);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private byte[] readBytes() throws JsonParseException {
+        int length = readVarInt();
+        checkAvailable(length);
+        byte[] value = new byte[length];
+        System.arraycopy(data, position, value, 0, length);
+        position += length;
+        return value;
+    }
+
+    private int readVarInt() throws JsonParseException {
+        long value = readVarLong();
+        if (value > Integer.MAX_VALUE) {
+            _reportError("Invalid length " + value);
+        }
+        return (int) value;
+    }
+
+    private long readVarLong() throws JsonParseException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            checkAvailable(1);
+            byte current = data[position++];
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        _reportError("Malformed varint at " + position);
+        return 0;
+    }
+
+    private long readFixedLong(int bytes) throws JsonParseException {
+        checkAvailable(bytes);
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void checkAvailable(int bytes) throws JsonParseException {
+        if (bytes < 0 || position + bytes > end) {
+            _reportError("Unexpected end of binary data");
+        }
+    }
+}
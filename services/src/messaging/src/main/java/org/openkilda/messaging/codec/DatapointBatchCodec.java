@@ -0,0 +1,194 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a batch of {@link Datapoint}s into one record of {@link MessageFormat#BINARY} format.
+ * <p/>
+ * All strings of the batch (metric names, tag names and values) are written once into a dictionary, datapoints refer
+ * to them by index: {@code {"strings": [...], "points": [metric, time, tagsCount, tag, value, ..., value, ...]}}.
+ * Datapoints of one batch usually share most of the strings, so a datapoint takes a few bytes.
+ */
+public final class DatapointBatchCodec {
+    private static final String STRINGS_FIELD = "strings";
+    private static final String POINTS_FIELD = "points";
+
+    private DatapointBatchCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Encodes the datapoints.
+     */
+    public static byte[] encode(Collection<Datapoint> datapoints) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Datapoint datapoint : datapoints) {
+            intern(strings, datapoint.getMetric());
+            if (datapoint.getTags() != null) {
+                for (Map.Entry<String, String> tag : datapoint.getTags().entrySet()) {
+                    intern(strings, tag.getKey());
+                    intern(strings, tag.getValue());
+                }
+            }
+        }
+
+        BinaryGenerator generator = new BinaryGenerator(MAPPER);
+        generator.writeStartObject();
+
+        generator.writeFieldName(STRINGS_FIELD);
+        generator.writeStartArray();
+        for (String value : strings.keySet()) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName(POINTS_FIELD);
+        generator.writeStartArray();
+        for (Datapoint datapoint : datapoints) {
+            generator.writeNumber(strings.get(datapoint.getMetric()));
+            writeNumber(generator, datapoint.getTime());
+
+            Map<String, String> tags = datapoint.getTags();
+            if (tags == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(tags.size());
+                for (Map.Entry<String, String> tag : tags.entrySet()) {
+                    generator.writeNumber(strings.get(tag.getKey()));
+                    generator.writeNumber(strings.get(tag.getValue()));
+                }
+            }
+
+            writeNumber(generator, datapoint.getValue());
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        return generator.toByteArray();
+    }
+
+    /**
+     * Decodes the datapoints.
+     */
+    public static List<Datapoint> decode(byte[] data, int offset, int length) throws IOException {
+        try (JsonParser parser = new BinaryParser(MAPPER, data, offset, length)) {
+            expect(parser, JsonToken.START_OBJECT);
+            expectField(parser, STRINGS_FIELD);
+            expect(parser, JsonToken.START_ARRAY);
+            List<String> strings = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                strings.add(parser.getText());
+            }
+            expectCurrent(parser, JsonToken.END_ARRAY);
+
+            expectField(parser, POINTS_FIELD);
+            expect(parser, JsonToken.START_ARRAY);
+            List<Datapoint> datapoints = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                String metric = string(parser, strings);
+                Long time = parser.nextToken() == JsonToken.VALUE_NULL ? null : parser.getLongValue();
+
+                Map<String, String> tags = null;
+                if (parser.nextToken() != JsonToken.VALUE_NULL) {
+                    int count = parser.getIntValue();
+                    tags = new HashMap<>(count * 2);
+                    for (int i = 0; i < count; i++) {
+                        parser.nextToken();
+                        String key = string(parser, strings);
+                        parser.nextToken();
+                        tags.put(key, string(parser, strings));
+                    }
+                }
+
+                Number value = parser.nextToken() == JsonToken.VALUE_NULL ? null : parser.getNumberValue();
+                datapoints.add(new Datapoint(metric, time, tags, value));
+            }
+            expect(parser, JsonToken.END_OBJECT);
+            return datapoints;
+        }
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value != null) {
+            strings.putIfAbsent(value, strings.size());
+        }
+    }
+
+    private static void writeNumber(BinaryGenerator generator, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.writeNumber(value.doubleValue());
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    private static String string(JsonParser parser, List<String> strings) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.getCurrentToken() != JsonToken.VALUE_NUMBER_INT) {
+            throw new JsonParseException(parser, "Expected string index, got " + parser.getCurrentToken());
+        }
+        int index = parser.getIntValue();
+        if (index < 0 || index >= strings.size()) {
+            throw new JsonParseException(parser, "Invalid string index " + index);
+        }
+        return strings.get(index);
+    }
+
+    private static void expectField(JsonParser parser, String name) throws IOException {
+        expect(parser, JsonToken.FIELD_NAME);
+        if (!name.equals(parser.getCurrentName())) {
+            throw new JsonParseException(parser, "Expected field " + name + ", got " + parser.getCurrentName());
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        parser.nextToken();
+        expectCurrent(parser, token);
+    }
+
+    private static void expectCurrent(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.getCurrentToken() != token) {
+            throw new JsonParseException(parser, "Expected " + token + ", got " + parser.getCurrentToken());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes messages in one of {@link MessageFormat}s.
+ * <p/>
+ * Both formats use {@link org.openkilda.messaging.Utils#MAPPER} and the same annotations of the message classes, so
+ * any message can be transferred in any format. The format of the data is detected by the first byte on decoding, so
+ * the readers accept both formats and writers can be switched to the binary format topic by topic once all readers of
+ * the topic are updated.
+ */
+public final class MessageCodec {
+    private MessageCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Encodes the value in the specified format.
+     */
+    public static byte[] encode(Object value, MessageFormat format) throws IOException {
+        if (format == MessageFormat.BINARY) {
+            BinaryGenerator generator = new BinaryGenerator(MAPPER);
+            MAPPER.writeValue(generator, value);
+            return generator.toByteArray();
+        }
+        return MAPPER.writeValueAsBytes(value);
+    }
+
+    /**
+     * Decodes the value encoded in any of the formats.
+     */
+    public static <T> T decode(byte[] data, Class<T> valueType) throws IOException {
+        return decode(data, 0, data.length, valueType);
+    }
+
+    /**
+     * Decodes the value encoded in any of the formats.
+     */
+    public static <T> T decode(byte[] data, int offset, int length, Class<T> valueType) throws IOException {
+        if (detectFormat(data, offset, length) == MessageFormat.BINARY) {
+            try (JsonParser parser = new BinaryParser(MAPPER, data, offset, length)) {
+                return MAPPER.readValue(parser, valueType);
+            }
+        }
+        return MAPPER.readValue(data, offset, length, valueType);
+    }
+
+    /**
+     * Detects the format of the encoded data.
+     */
+    public static MessageFormat detectFormat(byte[] data, int offset, int length) {
+        return length > 0 && data[offset] == BinaryFormat.MAGIC ? MessageFormat.BINARY : MessageFormat.JSON;
+    }
+}
@@ -0,0 +1,32 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+/**
+ * Wire formats of Kafka messages.
+ */
+public enum MessageFormat {
+    /**
+     * Plain JSON produced by {@link org.openkilda.messaging.Utils#MAPPER}.
+     */
+    JSON,
+
+    /**
+     * Compact binary representation of the same JSON token stream, see {@link BinaryFormat}.
+     */
+    BINARY
+}
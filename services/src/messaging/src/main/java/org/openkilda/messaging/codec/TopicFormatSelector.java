@@ -0,0 +1,54 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Selects the format messages are written to a topic in. Topics are written in {@link MessageFormat#JSON} unless they
+ * are listed as binary ones. A topic must be listed only when all readers of the topic decode messages with
+ * {@link MessageCodec}.
+ */
+public class TopicFormatSelector implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Set<String> binaryTopics;
+
+    /**
+     * Creates the selector.
+     *
+     * @param binaryTopics comma separated list of topics to be written in the binary format, may be null or empty.
+     */
+    public TopicFormatSelector(String binaryTopics) {
+        Set<String> topics = new HashSet<>();
+        if (binaryTopics != null) {
+            for (String topic : binaryTopics.split(",")) {
+                if (!topic.trim().isEmpty()) {
+                    topics.add(topic.trim());
+                }
+            }
+        }
+        this.binaryTopics = Collections.unmodifiableSet(topics);
+    }
+
+    public MessageFormat getFormat(String topic) {
+        return binaryTopics.contains(topic) ? MessageFormat.BINARY : MessageFormat.JSON;
+    }
+}
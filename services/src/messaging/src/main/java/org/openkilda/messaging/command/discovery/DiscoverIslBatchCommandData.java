@@ -0,0 +1,62 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.command.discovery;
+
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Defines the payload payload of a Message representing an command for ISL discovery on several ports of one switch.
+ */
+@Value
+public class DiscoverIslBatchCommandData extends CommandData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Switch id.
+     */
+    @JsonProperty("switch_id")
+    private SwitchId switchId;
+
+    /**
+     * Port numbers.
+     */
+    @JsonProperty("port_numbers")
+    private List<Integer> portNumbers;
+
+    /**
+     * Instance constructor.
+     *
+     * @param switchId switch id
+     * @param portNumbers port numbers
+     */
+    @JsonCreator
+    public DiscoverIslBatchCommandData(@JsonProperty("switch_id") final SwitchId switchId,
+                                       @JsonProperty("port_numbers") final List<Integer> portNumbers) {
+        this.switchId = switchId;
+        this.portNumbers = portNumbers;
+    }
+}
@@ -18,6 +18,7 @@ package org.openkilda.messaging.command.discovery;
 import static com.google.common.base.MoreObjects.toStringHelper;
 
 import org.openkilda.messaging.command.CommandData;
+import org.openkilda.model.SwitchId;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -29,12 +30,17 @@ import java.util.Objects;
 
 /**
  * Defines the payload payload of a Message representing an command for network dump.
+ *
+ * <p>The dump may be limited to one shard of switches: in this case only switches for which
+ * {@link #getShard(SwitchId, int)} is equal to the shard index are dumped.
  */
 @JsonSerialize
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonPropertyOrder({
         "command",
-        "requester"})
+        "requester",
+        "shard_index",
+        "shard_count"})
 public class NetworkCommandData extends CommandData {
     /**
      * Serialization version number constant.
@@ -47,6 +53,18 @@ public class NetworkCommandData extends CommandData {
     @JsonProperty("requester")
     private String requester;
 
+    /**
+     * Index of the requested shard, null to dump all switches.
+     */
+    @JsonProperty("shard_index")
+    private Integer shardIndex;
+
+    /**
+     * Total amount of shards, null to dump all switches.
+     */
+    @JsonProperty("shard_count")
+    private Integer shardCount;
+
     /**
      * Default constructor.
      */
@@ -58,9 +76,48 @@ public class NetworkCommandData extends CommandData {
      *
      * @param requester requester
      */
+    public NetworkCommandData(String requester) {
+        this.requester = requester;
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param requester requester
+     * @param shardIndex index of the requested shard
+     * @param shardCount total amount of shards
+     */
     @JsonCreator
-    public NetworkCommandData(@JsonProperty("requester") String requester) {
+    public NetworkCommandData(@JsonProperty("requester") String requester,
+                              @JsonProperty("shard_index") Integer shardIndex,
+                              @JsonProperty("shard_count") Integer shardCount) {
         this.requester = requester;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Returns the shard the switch belongs to.
+     *
+     * @param switchId switch id
+     * @param shardCount total amount of shards
+     * @return shard index in the range [0, shardCount)
+     */
+    public static int getShard(SwitchId switchId, int shardCount) {
+        return Math.floorMod(Long.hashCode(switchId.toLong()), shardCount);
+    }
+
+    /**
+     * Checks whether the switch is requested to be dumped.
+     *
+     * @param switchId switch id
+     * @return true if the dump is not sharded or the switch belongs to the requested shard
+     */
+    public boolean isRequested(SwitchId switchId) {
+        if (shardIndex == null || shardCount == null || shardCount <= 1) {
+            return true;
+        }
+        return getShard(switchId, shardCount) == shardIndex;
     }
 
     /**
@@ -81,6 +138,42 @@ public class NetworkCommandData extends CommandData {
         this.requester = requester;
     }
 
+    /**
+     * Returns index of the requested shard.
+     *
+     * @return shard index
+     */
+    public Integer getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * Sets index of the requested shard.
+     *
+     * @param shardIndex shard index
+     */
+    public void setShardIndex(Integer shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    /**
+     * Returns total amount of shards.
+     *
+     * @return shard count
+     */
+    public Integer getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets total amount of shards.
+     *
+     * @param shardCount shard count
+     */
+    public void setShardCount(Integer shardCount) {
+        this.shardCount = shardCount;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -88,6 +181,8 @@ public class NetworkCommandData extends CommandData {
     public String toString() {
         return toStringHelper(this)
                 .add("requester", requester)
+                .add("shard_index", shardIndex)
+                .add("shard_count", shardCount)
                 .toString();
     }
 
@@ -104,7 +199,9 @@ public class NetworkCommandData extends CommandData {
         }
 
         NetworkCommandData that = (NetworkCommandData) object;
-        return Objects.equals(getRequester(), that.getRequester());
+        return Objects.equals(getRequester(), that.getRequester())
+                && Objects.equals(getShardIndex(), that.getShardIndex())
+                && Objects.equals(getShardCount(), that.getShardCount());
     }
 
     /**
@@ -112,6 +209,6 @@ public class NetworkCommandData extends CommandData {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(requester);
+        return Objects.hash(requester, shardIndex, shardCount);
     }
 }
@@ -0,0 +1,53 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.command.flow;
+
+import org.openkilda.messaging.command.CommandData;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Represents delete flows in a batch northbound request. The result of each flow is sent back as a separate chunk
+ * ({@link org.openkilda.messaging.info.flow.FlowBatchItemResponse}) as soon as the flow is removed.
+ */
+@Value
+public class FlowsBatchDeleteRequest extends CommandData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Ids of flows to be deleted.
+     */
+    @JsonProperty("flow_ids")
+    protected List<String> flowIds;
+
+    /**
+     * Instance constructor.
+     *
+     * @param flowIds ids of flows to be deleted
+     */
+    @JsonCreator
+    public FlowsBatchDeleteRequest(@JsonProperty("flow_ids") List<String> flowIds) {
+        this.flowIds = flowIds;
+    }
+}
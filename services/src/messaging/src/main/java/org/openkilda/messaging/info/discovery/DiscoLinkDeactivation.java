@@ -0,0 +1,39 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.discovery;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.model.NetworkEndpoint;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Asks the discovery shard owning the switch of the endpoint to deactivate the link discovered from the endpoint,
+ * e.g. the reverse link of a moved ISL.
+ */
+@Value
+public class DiscoLinkDeactivation extends InfoData {
+
+    @JsonProperty("endpoint")
+    private NetworkEndpoint endpoint;
+
+    @JsonCreator
+    public DiscoLinkDeactivation(@JsonProperty("endpoint") NetworkEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+}
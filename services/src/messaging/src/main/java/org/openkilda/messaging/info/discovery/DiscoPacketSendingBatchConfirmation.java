@@ -0,0 +1,47 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.info.discovery;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Confirms that discovery packets are sent from the ports of the switch, it is the response on
+ * {@link org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData}.
+ */
+@Value
+public class DiscoPacketSendingBatchConfirmation extends InfoData {
+
+    @JsonProperty("switch_id")
+    private SwitchId switchId;
+
+    @JsonProperty("port_numbers")
+    private List<Integer> portNumbers;
+
+    @JsonCreator
+    public DiscoPacketSendingBatchConfirmation(@JsonProperty("switch_id") SwitchId switchId,
+                                               @JsonProperty("port_numbers") List<Integer> portNumbers) {
+        this.switchId = switchId;
+        this.portNumbers = portNumbers;
+    }
+}
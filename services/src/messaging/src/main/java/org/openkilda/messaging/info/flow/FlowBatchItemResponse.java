@@ -0,0 +1,76 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.info.flow;
+
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.model.FlowDto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Represents the result of a single flow of a batch request. Either the payload or the error is set.
+ */
+@Value
+public class FlowBatchItemResponse extends InfoData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("flowid")
+    protected String flowId;
+
+    /**
+     * The created or deleted flow.
+     */
+    @JsonProperty("payload")
+    protected FlowDto payload;
+
+    @JsonProperty("error_type")
+    protected ErrorType errorType;
+
+    @JsonProperty("error_message")
+    protected String errorMessage;
+
+    @JsonCreator
+    public FlowBatchItemResponse(@JsonProperty("flowid") String flowId,
+                                 @JsonProperty("payload") FlowDto payload,
+                                 @JsonProperty("error_type") ErrorType errorType,
+                                 @JsonProperty("error_message") String errorMessage) {
+        this.flowId = flowId;
+        this.payload = payload;
+        this.errorType = errorType;
+        this.errorMessage = errorMessage;
+    }
+
+    public static FlowBatchItemResponse succeeded(FlowDto payload) {
+        return new FlowBatchItemResponse(payload.getFlowId(), payload, null, null);
+    }
+
+    public static FlowBatchItemResponse failed(String flowId, ErrorType errorType, String errorMessage) {
+        return new FlowBatchItemResponse(flowId, null, errorType, errorMessage);
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return errorType == null;
+    }
+}
@@ -0,0 +1,53 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.info.flow;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.model.BidirectionalFlowDto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Represents a chunk of the flows dump northbound response.
+ */
+@Value
+public class FlowsDumpResponse extends InfoData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Flows of the chunk.
+     */
+    @JsonProperty("flows")
+    protected List<BidirectionalFlowDto> flows;
+
+    /**
+     * Instance constructor.
+     *
+     * @param flows flows of the chunk
+     */
+    @JsonCreator
+    public FlowsDumpResponse(@JsonProperty("flows") List<BidirectionalFlowDto> flows) {
+        this.flows = flows;
+    }
+}
@@ -0,0 +1,38 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging;
+
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageFormat;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.Queue;
+
+public interface BinarySerializer extends AbstractSerializer {
+    Queue<byte[]> binaries = new LinkedList<>();
+
+    @Override
+    default Object deserialize() throws IOException {
+        return MessageCodec.decode(binaries.poll(), Message.class);
+    }
+
+    @Override
+    default void serialize(Object object) throws IOException {
+        binaries.add(MessageCodec.encode(object, MessageFormat.BINARY));
+    }
+}
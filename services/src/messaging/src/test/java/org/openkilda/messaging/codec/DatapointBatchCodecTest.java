@@ -0,0 +1,93 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class DatapointBatchCodecTest {
+
+    @Test
+    public void shouldEncodeAndDecodeBatch() throws IOException {
+        List<Datapoint> datapoints = new ArrayList<>();
+        int size = 0;
+        for (int i = 0; i < 100; i++) {
+            Map<String, String> tags = ImmutableMap.of(
+                    "switchid", "00000000000000" + (i % 4),
+                    "flowid", "flow-" + (i % 10),
+                    "direction", i % 2 == 0 ? "forward" : "reverse");
+            Datapoint datapoint = new Datapoint("pen.flow.bytes", 1530000000000L + i, tags, (long) i * 1000);
+            datapoints.add(datapoint);
+            size += MAPPER.writeValueAsBytes(datapoint).length;
+        }
+
+        byte[] binary = DatapointBatchCodec.encode(datapoints);
+
+        assertEquals(MessageFormat.BINARY, MessageCodec.detectFormat(binary, 0, binary.length));
+        assertTrue(binary.length * 4 < size);
+        assertSameDatapoints(datapoints, DatapointBatchCodec.decode(binary, 0, binary.length));
+    }
+
+    @Test
+    public void shouldKeepValueTypes() throws IOException {
+        List<Datapoint> datapoints = Arrays.asList(
+                new Datapoint("metric", 1L, Collections.singletonMap("tag", "value"), 1),
+                new Datapoint("metric", 2L, Collections.emptyMap(), Long.MAX_VALUE),
+                new Datapoint("metric", 3L, null, 0.5f),
+                new Datapoint("metric", 4L, null, -0.25d),
+                new Datapoint("metric", null, null, null));
+
+        byte[] binary = DatapointBatchCodec.encode(datapoints);
+
+        assertSameDatapoints(datapoints, DatapointBatchCodec.decode(binary, 0, binary.length));
+    }
+
+    @Test
+    public void shouldDecodeEmptyBatch() throws IOException {
+        byte[] binary = DatapointBatchCodec.encode(Collections.emptyList());
+
+        assertEquals(Collections.emptyList(), DatapointBatchCodec.decode(binary, 0, binary.length));
+    }
+
+    /**
+     * Batch must be decoded into the same datapoints as the JSON encoded ones (i.e. small values become integers).
+     */
+    private void assertSameDatapoints(List<Datapoint> expected, List<Datapoint> actual) throws IOException {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Datapoint json = MAPPER.readValue(MAPPER.writeValueAsBytes(expected.get(i)), Datapoint.class);
+            assertEquals(json, actual.get(i));
+            assertEquals(json.getTime(), actual.get(i).getTime());
+            if (json.getValue() != null) {
+                assertEquals(json.getValue().getClass(), actual.get(i).getValue().getClass());
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.messaging.info.stats.FlowStatsReply;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsReply;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class MessageCodecTest {
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+
+    @Test
+    public void shouldEncodeFlowStatsInBinaryFormat() throws IOException {
+        List<FlowStatsEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(new FlowStatsEntry(0, 0x8000000000000000L + i, Long.MAX_VALUE - i, -i));
+        }
+        Message message = new InfoMessage(new FlowStatsData(SWITCH_ID,
+                Collections.singletonList(new FlowStatsReply(1, entries))), 1, "corr");
+
+        byte[] binary = MessageCodec.encode(message, MessageFormat.BINARY);
+        byte[] json = MessageCodec.encode(message, MessageFormat.JSON);
+
+        assertEquals(MessageFormat.BINARY, MessageCodec.detectFormat(binary, 0, binary.length));
+        assertTrue(binary.length < json.length);
+        assertSameJson(message, MessageCodec.decode(binary, Message.class));
+    }
+
+    @Test
+    public void shouldEncodePortStatsInBinaryFormat() throws IOException {
+        List<PortStatsEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            entries.add(new PortStatsEntry(i, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12));
+        }
+        Message message = new InfoMessage(new PortStatsData(SWITCH_ID,
+                Collections.singletonList(new PortStatsReply(1, entries))), 1, "corr");
+
+        byte[] binary = MessageCodec.encode(message, MessageFormat.BINARY);
+
+        assertSameJson(message, MessageCodec.decode(binary, Message.class));
+    }
+
+    @Test
+    public void shouldDecodeJson() throws IOException {
+        Message message = new InfoMessage(new FlowStatsData(SWITCH_ID, Collections.emptyList()), 1, "corr");
+        byte[] json = MAPPER.writeValueAsBytes(message);
+
+        assertEquals(MessageFormat.JSON, MessageCodec.detectFormat(json, 0, json.length));
+        assertSameJson(message, MessageCodec.decode(json, Message.class));
+    }
+
+    @Test
+    public void shouldRoundTripScalars() throws IOException {
+        Object[] values = {Integer.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, 0.1d, -1.5e300d, "",
+                "unicode ж中😀", true, false, null};
+        for (Object value : values) {
+            byte[] binary = MessageCodec.encode(value, MessageFormat.BINARY);
+            Class<?> type = value != null ? value.getClass() : Object.class;
+            assertEquals(value, MessageCodec.decode(binary, type));
+        }
+    }
+
+    @Test
+    public void shouldKeepRawValueInJsonFormat() throws IOException {
+        byte[] json = MessageCodec.encode(new RawValueHolder("{\"key\":1}"), MessageFormat.JSON);
+        JsonNode decoded = MessageCodec.decode(json, JsonNode.class);
+        assertEquals(1, decoded.get("value").get("key").asInt());
+    }
+
+    @Test(expected = JsonGenerationException.class)
+    public void failOnRawValueInBinaryFormat() throws IOException {
+        MessageCodec.encode(new RawValueHolder("{\"key\":1}"), MessageFormat.BINARY);
+    }
+
+    @Test(expected = IOException.class)
+    public void failOnTruncatedData() throws IOException {
+        byte[] binary = MessageCodec.encode("some string", MessageFormat.BINARY);
+        MessageCodec.decode(binary, 0, binary.length - 1, String.class);
+    }
+
+    @Test
+    public void shouldSelectFormatByTopic() {
+        TopicFormatSelector selector = new TopicFormatSelector(" kilda.stats , kilda.topo.disco,");
+
+        assertEquals(MessageFormat.BINARY, selector.getFormat("kilda.stats"));
+        assertEquals(MessageFormat.BINARY, selector.getFormat("kilda.topo.disco"));
+        assertEquals(MessageFormat.JSON, selector.getFormat("kilda.speaker"));
+        assertEquals(MessageFormat.JSON, new TopicFormatSelector(null).getFormat("kilda.stats"));
+    }
+
+    private void assertSameJson(Object expected, Object actual) throws IOException {
+        assertEquals(MAPPER.writeValueAsString(expected), MAPPER.writeValueAsString(actual));
+    }
+
+    private static class RawValueHolder {
+        @JsonRawValue
+        @JsonProperty("value")
+        public final String value;
+
+        RawValueHolder(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.command.discovery;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class DiscoverIslBatchCommandDataTest {
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+
+    @Test
+    public void serializeLoop() throws Exception {
+        CommandMessage origin = new CommandMessage(
+                new DiscoverIslBatchCommandData(SWITCH_ID, Arrays.asList(1, 2, 3)), 0, "corr-id",
+                Destination.CONTROLLER);
+        String json = Utils.MAPPER.writeValueAsString(origin);
+
+        assertEquals(origin, Utils.MAPPER.readValue(json, Message.class));
+    }
+
+    @Test
+    public void serializeConfirmationLoop() throws Exception {
+        InfoMessage origin = new InfoMessage(
+                new DiscoPacketSendingBatchConfirmation(SWITCH_ID, Arrays.asList(1, 2, 3)), 0, "corr-id");
+        String json = Utils.MAPPER.writeValueAsString(origin);
+
+        assertEquals(origin, Utils.MAPPER.readValue(json, Message.class));
+    }
+}
@@ -0,0 +1,64 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.command.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class NetworkCommandDataTest {
+    @Test
+    public void serializeLoop() throws Exception {
+        NetworkCommandData origin = new NetworkCommandData("wfm", 1, 4);
+        String json = Utils.MAPPER.writeValueAsString(origin);
+        CommandData decoded = Utils.MAPPER.readValue(json, CommandData.class);
+
+        assertEquals(origin, decoded);
+    }
+
+    @Test
+    public void shouldRequestAllSwitchesIfNotSharded() {
+        NetworkCommandData data = new NetworkCommandData();
+        for (long i = 0; i < 16; i++) {
+            assertTrue(data.isRequested(new SwitchId(i)));
+        }
+    }
+
+    @Test
+    public void shouldRequestEachSwitchByExactlyOneShard() {
+        int shardCount = 3;
+        for (long i = 0; i < 64; i++) {
+            SwitchId switchId = new SwitchId(i);
+            Set<Integer> owners = new HashSet<>();
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (new NetworkCommandData(null, shard, shardCount).isRequested(switchId)) {
+                    owners.add(shard);
+                }
+            }
+            assertEquals(1, owners.size());
+            assertEquals(NetworkCommandData.getShard(switchId, shardCount), (int) owners.iterator().next());
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.openkilda.messaging.command.flow;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.openkilda.messaging.command.Constants.flowName;
 
@@ -28,6 +29,7 @@ import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.NetworkInfoData;
 import org.openkilda.messaging.info.event.IslChangeType;
@@ -38,10 +40,12 @@ import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchChangeType;
 import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.flow.FlowBatchItemResponse;
 import org.openkilda.messaging.info.flow.FlowReadResponse;
 import org.openkilda.messaging.info.flow.FlowRerouteResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
+import org.openkilda.messaging.info.flow.FlowsDumpResponse;
 import org.openkilda.messaging.info.flow.FlowsResponse;
 import org.openkilda.messaging.model.BidirectionalFlowDto;
 import org.openkilda.messaging.model.FlowDto;
@@ -215,6 +219,46 @@ public abstract class AbstractSerializerTest implements AbstractSerializer {
         assertEquals(flowModel.hashCode(), resultData.getPayload().hashCode());
     }
 
+    @Test
+    public void flowsBatchCreateRequestTest() throws IOException, ClassNotFoundException {
+        FlowsBatchCreateRequest data = new FlowsBatchCreateRequest(Collections.singletonList(flowModel));
+        System.out.println(data);
+
+        CommandMessage command = new CommandMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
+        serialize(command);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof CommandMessage);
+
+        CommandMessage resultCommand = (CommandMessage) message;
+        assertTrue(resultCommand.getData() instanceof FlowsBatchCreateRequest);
+
+        FlowsBatchCreateRequest resultData = (FlowsBatchCreateRequest) resultCommand.getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertEquals(data.hashCode(), resultData.hashCode());
+    }
+
+    @Test
+    public void flowsBatchDeleteRequestTest() throws IOException, ClassNotFoundException {
+        FlowsBatchDeleteRequest data = new FlowsBatchDeleteRequest(Arrays.asList(FLOW_NAME, flowName));
+        System.out.println(data);
+
+        CommandMessage command = new CommandMessage(data, System.currentTimeMillis(), CORRELATION_ID, DESTINATION);
+        serialize(command);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof CommandMessage);
+
+        CommandMessage resultCommand = (CommandMessage) message;
+        assertTrue(resultCommand.getData() instanceof FlowsBatchDeleteRequest);
+
+        FlowsBatchDeleteRequest resultData = (FlowsBatchDeleteRequest) resultCommand.getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertEquals(data.hashCode(), resultData.hashCode());
+    }
+
     @Test
     public void flowUpdateRequestTest() throws IOException, ClassNotFoundException {
         FlowUpdateRequest data = new FlowUpdateRequest(flowModel);
@@ -304,6 +348,50 @@ public abstract class AbstractSerializerTest implements AbstractSerializer {
         assertEquals(path, resultData.getPayload().getReverse().getFlowPath());
     }
 
+    @Test
+    public void flowsDumpResponseTest() throws IOException, ClassNotFoundException {
+        FlowDto flow = FlowDto.builder().flowPath(path).build();
+        BidirectionalFlowDto bidirectionalFlow = BidirectionalFlowDto.builder().forward(flow).reverse(flow).build();
+        FlowsDumpResponse data = new FlowsDumpResponse(Collections.singletonList(bidirectionalFlow));
+        System.out.println(data);
+
+        ChunkedInfoMessage info = new ChunkedInfoMessage(data, System.currentTimeMillis(), CORRELATION_ID, 0, 1);
+        serialize(info);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof ChunkedInfoMessage);
+
+        ChunkedInfoMessage resultInfo = (ChunkedInfoMessage) message;
+        assertTrue(resultInfo.getData() instanceof FlowsDumpResponse);
+
+        FlowsDumpResponse resultData = (FlowsDumpResponse) resultInfo.getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertEquals(data.hashCode(), resultData.hashCode());
+        assertEquals(path, resultData.getFlows().get(0).getForward().getFlowPath());
+    }
+
+    @Test
+    public void flowBatchItemResponseTest() throws IOException, ClassNotFoundException {
+        FlowBatchItemResponse data = FlowBatchItemResponse.failed(FLOW_NAME, ErrorType.ALREADY_EXISTS, "exists");
+        System.out.println(data);
+
+        ChunkedInfoMessage info = new ChunkedInfoMessage(data, System.currentTimeMillis(), CORRELATION_ID, 0, 1);
+        serialize(info);
+
+        Message message = (Message) deserialize();
+        assertTrue(message instanceof ChunkedInfoMessage);
+
+        ChunkedInfoMessage resultInfo = (ChunkedInfoMessage) message;
+        assertTrue(resultInfo.getData() instanceof FlowBatchItemResponse);
+
+        FlowBatchItemResponse resultData = (FlowBatchItemResponse) resultInfo.getData();
+        System.out.println(resultData);
+        assertEquals(data, resultData);
+        assertEquals(data.hashCode(), resultData.hashCode());
+        assertFalse(resultData.isSuccessful());
+    }
+
     @Test
     public void flowRerouteResponseTest() throws IOException, ClassNotFoundException {
         FlowRerouteResponse data = new FlowRerouteResponse(path, true);
@@ -16,8 +16,10 @@
 package org.openkilda.northbound.config;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.TopicFormatSelector;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.kafka.KafkaMessageProducer;
+import org.openkilda.northbound.messaging.kafka.KafkaMessageSerializer;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -28,7 +30,6 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +46,12 @@ public class MessageProducerConfig {
     @Value("${kafka.hosts}")
     private String kafkaHosts;
 
+    /**
+     * Comma separated list of topics to be written in the binary format.
+     */
+    @Value("${kafka.binary-topics:}")
+    private String binaryTopics;
+
     /**
      * Kafka producer config bean.
      * This {@link Map} is used by {@link MessageProducerConfig#producerFactory}.
@@ -56,7 +63,7 @@ public class MessageProducerConfig {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaHosts);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KafkaMessageSerializer.class);
         props.put(ProducerConfig.RETRIES_CONFIG, 0);
         props.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
@@ -75,7 +82,8 @@ public class MessageProducerConfig {
      */
     @Bean
     public ProducerFactory<String, Message> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerConfigs());
+        return new DefaultKafkaProducerFactory<>(producerConfigs(),
+                new StringSerializer(), new KafkaMessageSerializer(new TopicFormatSelector(binaryTopics)));
     }
 
     /**
@@ -22,11 +22,13 @@ import org.openkilda.messaging.payload.flow.FlowPathPayload;
 import org.openkilda.messaging.payload.flow.FlowPayload;
 import org.openkilda.messaging.payload.flow.FlowReroutePayload;
 import org.openkilda.northbound.dto.BatchResults;
+import org.openkilda.northbound.dto.flows.FlowBatchItemOutput;
 import org.openkilda.northbound.dto.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.flows.PingInput;
 import org.openkilda.northbound.dto.flows.PingOutput;
 import org.openkilda.northbound.service.FlowService;
 import org.openkilda.northbound.utils.ExtraAuthRequired;
+import org.openkilda.northbound.utils.async.JsonArrayEmitter;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -39,6 +41,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -49,6 +52,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.Optional;
@@ -137,15 +141,56 @@ public class FlowController {
     }
 
     /**
-     * Dumps all flows. Dumps all flows with specific status if specified.
+     * Dumps all flows. Flows are written to the response as soon as they are received, so the whole list is never
+     * kept in memory.
      *
      * @return list of flow
      */
     @ApiOperation(value = "Dumps all flows", response = FlowPayload.class, responseContainer = "List")
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public CompletableFuture<List<FlowPayload>> getFlows() {
-        return flowService.getAllFlows();
+    public ResponseEntity<ResponseBodyEmitter> getFlows() {
+        JsonArrayEmitter emitter = new JsonArrayEmitter();
+        emitter.completeWith(flowService.dumpFlows(emitter::sendItems));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(emitter);
+    }
+
+    /**
+     * Creates flows in batches. The result of every flow is written to the response as soon as it is received.
+     *
+     * @param flows flows to be created
+     * @return list of results of the flows
+     */
+    @ApiOperation(value = "Creates new flows in batches", response = FlowBatchItemOutput.class,
+            responseContainer = "List")
+    @PutMapping(path = "/batch")
+    public ResponseEntity<ResponseBodyEmitter> createFlowsBatch(@RequestBody List<FlowPayload> flows) {
+        JsonArrayEmitter emitter = new JsonArrayEmitter();
+        emitter.completeWith(flowService.createFlows(flows, emitter::sendItems));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(emitter);
+    }
+
+    /**
+     * Deletes flows in batches. The result of every flow is written to the response as soon as it is received.
+     *
+     * @param flowIds ids of flows to be deleted
+     * @return list of results of the flows
+     */
+    @ApiOperation(value = "Deletes flows in batches", response = FlowBatchItemOutput.class,
+            responseContainer = "List")
+    @PutMapping(path = "/batch/delete")
+    public ResponseEntity<ResponseBodyEmitter> deleteFlowsBatch(@RequestBody List<String> flowIds) {
+        JsonArrayEmitter emitter = new JsonArrayEmitter();
+        emitter.completeWith(flowService.deleteFlows(flowIds, emitter::sendItems));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(emitter);
     }
 
     /**
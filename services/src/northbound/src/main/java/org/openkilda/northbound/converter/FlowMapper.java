@@ -17,6 +17,7 @@ package org.openkilda.northbound.converter;
 
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.flow.FlowBatchItemResponse;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
 import org.openkilda.messaging.info.flow.UniFlowPingResponse;
 import org.openkilda.messaging.model.BidirectionalFlowDto;
@@ -29,6 +30,7 @@ import org.openkilda.messaging.payload.flow.FlowPayload;
 import org.openkilda.messaging.payload.flow.FlowReroutePayload;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.messaging.payload.flow.PathNodePayload;
+import org.openkilda.northbound.dto.flows.FlowBatchItemOutput;
 import org.openkilda.northbound.dto.flows.PingOutput;
 import org.openkilda.northbound.dto.flows.UniFlowPingOutput;
 
@@ -53,6 +55,9 @@ public interface FlowMapper {
 
     PingOutput toPingOutput(FlowPingResponse response);
 
+    @Mapping(source = "errorMessage", target = "error")
+    FlowBatchItemOutput toFlowBatchItemOutput(FlowBatchItemResponse response);
+
     @Mapping(source = "flowId", target = "id")
     @Mapping(source = "path", target = "path")
     @Mapping(source = "rerouted", target = "rerouted")
@@ -20,6 +20,7 @@ import org.openkilda.messaging.info.InfoData;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * The main component for sending messages to internal kilda components. All sent operations will be performed
@@ -49,6 +50,18 @@ public interface MessagingChannel {
      */
     CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message);
 
+    /**
+     * Sends the message to the specified topic and passes chunked responses for this request to the consumer as soon
+     * as they are received, instead of collecting them. Chunks are passed one at a time, but not necessarily in the
+     * order they were sent.
+     *
+     * @param topic topic where the message should be sent.
+     * @param message data to be sent.
+     * @param consumer the consumer of chunked responses.
+     * @return the future which is completed once all chunks are passed to the consumer.
+     */
+    CompletableFuture<Void> sendAndStreamChunked(String topic, Message message, Consumer<InfoData> consumer);
+
     /**
      * Sends the message to the specified topic without waiting for a response.
      *
@@ -0,0 +1,58 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging.kafka;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageFormat;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads messages written either as JSON or in the binary format, the format is detected by the data itself.
+ */
+public class KafkaMessageDeserializer implements Deserializer<Message> {
+    private final JsonDeserializer<Message> jsonDeserializer = new JsonDeserializer<>(Message.class);
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Message deserialize(String topic, byte[] data) {
+        if (data == null || MessageCodec.detectFormat(data, 0, data.length) == MessageFormat.JSON) {
+            return jsonDeserializer.deserialize(topic, data);
+        }
+
+        try {
+            return MessageCodec.decode(data, Message.class);
+        } catch (IOException e) {
+            throw new SerializationException("Can't deserialize data from topic [" + topic + "]", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
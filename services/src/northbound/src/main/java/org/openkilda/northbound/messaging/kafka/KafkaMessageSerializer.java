@@ -0,0 +1,65 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging.kafka;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.messaging.codec.TopicFormatSelector;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes messages in the binary format to the topics listed in the {@link TopicFormatSelector} and as JSON to all
+ * other topics.
+ */
+public class KafkaMessageSerializer implements Serializer<Message> {
+    private final TopicFormatSelector formatSelector;
+    private final JsonSerializer<Message> jsonSerializer = new JsonSerializer<>();
+
+    public KafkaMessageSerializer(TopicFormatSelector formatSelector) {
+        this.formatSelector = formatSelector;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Message data) {
+        if (data == null || formatSelector.getFormat(topic) == MessageFormat.JSON) {
+            return jsonSerializer.serialize(topic, data);
+        }
+
+        try {
+            return MessageCodec.encode(data, MessageFormat.BINARY);
+        } catch (IOException e) {
+            throw new SerializationException("Can't serialize data [" + data + "] for topic [" + topic + "]", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -16,7 +16,9 @@
 package org.openkilda.northbound.messaging.kafka;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
@@ -26,12 +28,15 @@ import org.openkilda.northbound.messaging.MessagingChannel;
 import org.openkilda.northbound.messaging.exception.MessageNotSentException;
 
 import com.google.common.annotations.VisibleForTesting;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
@@ -44,48 +49,90 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 /**
  * Implementation of {@link MessagingChannel} for kafka.
+ * <p/>
+ * Every request is completed either by the response, or by the error, or by the timeout, so a request never waits
+ * for a response longer than {@code northbound.messages.timeout.seconds}. For chunked requests the timeout is counted
+ * from the last chunk delivered to the request consumer, so a long dump which keeps delivering chunks is not
+ * interrupted, while a stuck consumer doesn't keep the request alive. The number of
+ * requests in flight is bounded by {@code northbound.messages.pending.limit}, requests above the limit are rejected
+ * without being sent.
+ * <p/>
+ * Chunks are passed to the request consumer on a separate pool of {@code northbound.messages.delivery.threads}, one
+ * by one in the order of arrival, so a consumer writing to a slow client doesn't hold up the Kafka listener.
  */
 @Component
+@ManagedResource(objectName = "org.openkilda.northbound:name=KafkaMessagingChannel")
 public class KafkaMessagingChannel implements MessagingChannel {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessagingChannel.class);
 
+    private static final int CHUNK_LOCK_STRIPES = 64;
+
     /**
      * Requests that are in progress of processing.
      */
     private final Map<String, CompletableFuture<InfoData>> pendingRequests = new ConcurrentHashMap<>();
-    private final Map<String, CompletableFuture<List<InfoData>>> pendingChunkedRequests = new ConcurrentHashMap<>();
+    private final Map<String, ChunkedRequest> pendingChunkedRequests = new ConcurrentHashMap<>();
 
     /**
-     * Chains of chunked messages, it is filling by messages one by one as soon as the next linked message is received.
+     * Chunks of the same request are assembled under the same lock, chunks of different requests don't block each
+     * other (unless they share a stripe).
      */
-    private Map<String, List<ChunkedInfoMessage>> messagesChains;
+    private final Striped<Lock> chunkLocks = Striped.lock(CHUNK_LOCK_STRIPES);
 
-    /**
-     * The storage for received chunked message ids. It is needed to identify whether we have already received specific
-     * chunked message or not in order to do not have duplicates, because current version of kafka do not guarantee
-     * exactly once delivery.
-     */
-    private Map<String, Set<String>> chunkedMessageIdsPerRequest = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final RequestMetrics metrics = new RequestMetrics();
+
+    private ScheduledThreadPoolExecutor timeoutScheduler;
+    private ExecutorService deliveryExecutor;
+
+    @Value("${northbound.messages.timeout.seconds}")
+    private int requestTimeout;
+
+    @Value("${northbound.messages.pending.limit}")
+    private int pendingLimit;
 
-    @Value("${northbound.messages.expiration.minutes}")
-    private int expiredTime;
+    @Value("${northbound.messages.delivery.threads}")
+    private int deliveryThreads;
 
     @Autowired
     private MessageProducer messageProducer;
 
     /**
-     * Creates storage for chains of messages.
+     * Creates the scheduler of request timeouts and the executor of chunks delivery.
      */
     @PostConstruct
     public void setUp() {
-        messagesChains = new PassiveExpiringMap<>(expiredTime, TimeUnit.MINUTES, new ConcurrentHashMap<>());
+        timeoutScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setNameFormat("messaging-channel-timeout")
+                .setDaemon(true)
+                .build());
+        // cancelled timeouts of completed requests must not pile up in the scheduler queue.
+        timeoutScheduler.setRemoveOnCancelPolicy(true);
+
+        deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, new ThreadFactoryBuilder()
+                .setNameFormat("messaging-channel-delivery-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    @PreDestroy
+    public void tearDown() {
+        timeoutScheduler.shutdownNow();
+        deliveryExecutor.shutdownNow();
     }
 
     /**
@@ -93,16 +140,18 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<InfoData> sendAndGet(String topic, Message message) {
+        String requestId = message.getCorrelationId();
         CompletableFuture<InfoData> future = new CompletableFuture<>();
-        pendingRequests.put(message.getCorrelationId(), future);
+        if (!acquire(requestId, future)) {
+            return future;
+        }
 
-        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
-        futureResult.addCallback(
-                success -> { },
-                error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
-        );
+        pendingRequests.put(requestId, future);
+        CompletableFuture<InfoData> result = track(message, future, new RequestTimeout(message, future),
+                () -> pendingRequests.remove(requestId));
 
-        return future.whenComplete((response, error) -> pendingRequests.remove(message.getCorrelationId()));
+        sendRequest(topic, message, future);
+        return result;
     }
 
     /**
@@ -110,24 +159,35 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message) {
+        List<InfoData> responses = new ArrayList<>();
         CompletableFuture<List<InfoData>> future = new CompletableFuture<>();
-        pendingChunkedRequests.put(message.getCorrelationId(), future);
 
-        messagesChains.put(message.getCorrelationId(), new ArrayList<>());
-        chunkedMessageIdsPerRequest.put(message.getCorrelationId(), new HashSet<>());
+        return sendChunkedRequest(topic, message, future, responses::add, () -> future.complete(responses));
+    }
 
-        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
-        futureResult.addCallback(
-                sentResult -> { },
-                error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
-        );
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> sendAndStreamChunked(String topic, Message message, Consumer<InfoData> consumer) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
 
-        return future.whenComplete((response, error) -> {
-            pendingChunkedRequests.remove(message.getCorrelationId());
+        return sendChunkedRequest(topic, message, future, consumer, () -> future.complete(null));
+    }
 
-            messagesChains.remove(message.getCorrelationId());
-            chunkedMessageIdsPerRequest.remove(message.getCorrelationId());
-        });
+    private <T> CompletableFuture<T> sendChunkedRequest(String topic, Message message, CompletableFuture<T> future,
+                                                        Consumer<InfoData> consumer, Runnable completion) {
+        String requestId = message.getCorrelationId();
+        if (!acquire(requestId, future)) {
+            return future;
+        }
+
+        RequestTimeout timeout = new RequestTimeout(message, future);
+        pendingChunkedRequests.put(requestId, new ChunkedRequest(future, consumer, completion, timeout));
+        CompletableFuture<T> result = track(message, future, timeout, () -> pendingChunkedRequests.remove(requestId));
+
+        sendRequest(topic, message, future);
+        return result;
     }
 
     /**
@@ -173,50 +233,69 @@ public class KafkaMessagingChannel implements MessagingChannel {
     }
 
     /**
-     * Performs searching and collecting all chunked messages into one chain if possible.
+     * Schedules delivery of the received chunked message to the consumer of the request, skipping duplicates, and
+     * completes the request as soon as all chunks are delivered.
      */
-    private synchronized void processChunkedMessage(ChunkedInfoMessage received) {
+    private void processChunkedMessage(ChunkedInfoMessage received) {
         String requestId = received.getCorrelationId();
-        Set<String> associatedMessages = chunkedMessageIdsPerRequest.get(requestId);
-        if (!associatedMessages.add(received.getMessageId())) {
-            logger.debug("Skipping chunked message, it is already received: {}", received);
-            return;
-        }
+        Lock lock = chunkLocks.get(requestId);
+        lock.lock();
+        try {
+            ChunkedRequest request = pendingChunkedRequests.get(requestId);
+            if (request == null) {
+                logger.debug("Skipping chunked message, the request is already completed: {}", received);
+                return;
+            }
 
-        List<ChunkedInfoMessage> chain = messagesChains.get(requestId);
-        if (received.getTotalMessages() != 0) {
-            chain.add(received);
-        }
+            if (!request.receivedMessageIds.add(received.getMessageId())) {
+                logger.debug("Skipping chunked message, it is already received: {}", received);
+                return;
+            }
+            if (received.getTotalMessages() != 0) {
+                request.delivery = request.delivery.thenRunAsync(() -> deliver(request, received), deliveryExecutor);
+                request.consumedCount++;
+            }
 
-        if (chain.size() == received.getTotalMessages()) {
-            completeRequest(requestId, chain);
+            if (request.consumedCount == received.getTotalMessages()) {
+                request.delivery.thenRun(() -> {
+                    if (!request.future.isDone()) {
+                        request.completion.run();
+                    }
+                });
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
-     * Completes pending request with received responses.
+     * Passes the chunk to the consumer of the request, unless the request is already completed (e.g. by an error of
+     * the previous chunk or by the timeout), and restarts the timeout of the request.
      */
-    private void completeRequest(String requestId, List<ChunkedInfoMessage> chain) {
-        List<InfoData> response = chain.stream()
-                .map(ChunkedInfoMessage::getData)
-                .collect(Collectors.toList());
-
-        pendingChunkedRequests
-                .get(requestId)
-                .complete(response);
+    private void deliver(ChunkedRequest request, ChunkedInfoMessage received) {
+        if (request.future.isDone()) {
+            return;
+        }
+        try {
+            request.consumer.accept(received.getData());
+        } catch (RuntimeException e) {
+            logger.error("Failed to process chunked message {}", received.getMessageId(), e);
+            request.future.completeExceptionally(e);
+            return;
+        }
+        request.timeout.rearm();
     }
 
     /**
      * Completes a request with an error response.
      */
-    private synchronized void completeWithError(ErrorMessage error) {
+    private void completeWithError(ErrorMessage error) {
         String correlationId = error.getCorrelationId();
 
-        CompletableFuture request = null;
-        if (pendingRequests.containsKey(correlationId)) {
-            request = pendingRequests.remove(correlationId);
-        } else if (pendingChunkedRequests.containsKey(correlationId)) {
-            request = pendingChunkedRequests.remove(correlationId);
+        CompletableFuture<?> request = pendingRequests.remove(correlationId);
+        if (request == null) {
+            ChunkedRequest chunkedRequest = pendingChunkedRequests.remove(correlationId);
+            request = chunkedRequest != null ? chunkedRequest.future : null;
         }
 
         if (request != null) {
@@ -224,6 +303,56 @@ public class KafkaMessagingChannel implements MessagingChannel {
         }
     }
 
+    /**
+     * Reserves a place for the request in flight. If the limit of pending requests is reached, the request is
+     * completed with an error right away.
+     */
+    private boolean acquire(String requestId, CompletableFuture<?> future) {
+        if (inFlight.incrementAndGet() > pendingLimit) {
+            inFlight.decrementAndGet();
+            metrics.recordRejected();
+
+            logger.warn("Rejecting request {}: the limit of {} pending requests is reached", requestId, pendingLimit);
+            future.completeExceptionally(new MessageNotSentException(
+                    String.format("Too many pending requests (limit is %d)", pendingLimit)));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Schedules the timeout of the request and sets up releasing of all associated resources on its completion.
+     */
+    private <T> CompletableFuture<T> track(Message message, CompletableFuture<T> future, RequestTimeout timeout,
+                                           Runnable cleanup) {
+        String requestType = getRequestType(message);
+        long startTime = System.nanoTime();
+
+        timeout.rearm();
+        return future.whenComplete((response, error) -> {
+            timeout.cancel();
+            cleanup.run();
+
+            inFlight.decrementAndGet();
+            metrics.recordLatency(requestType, System.nanoTime() - startTime);
+        });
+    }
+
+    private void sendRequest(String topic, Message message, CompletableFuture<?> future) {
+        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
+        futureResult.addCallback(
+                success -> { },
+                error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
+        );
+    }
+
+    private String getRequestType(Message message) {
+        if (message instanceof CommandMessage && ((CommandMessage) message).getData() != null) {
+            return ((CommandMessage) message).getData().getClass().getSimpleName();
+        }
+        return message.getClass().getSimpleName();
+    }
+
     /**
      * Checks whether a message has correlationId and has known type or not.
      */
@@ -245,13 +374,115 @@ public class KafkaMessagingChannel implements MessagingChannel {
         return message instanceof ChunkedInfoMessage && pendingChunkedRequests.containsKey(message.getCorrelationId());
     }
 
+    @ManagedAttribute(description = "Number of requests waiting for a response")
+    public int getRequestsInFlight() {
+        return inFlight.get();
+    }
+
+    @ManagedAttribute(description = "Number of requests rejected because of the pending requests limit")
+    public long getRejectedRequests() {
+        return metrics.getRejected();
+    }
+
+    @ManagedAttribute(description = "Number of requests completed by the timeout")
+    public long getTimedOutRequests() {
+        return metrics.getTimedOut();
+    }
+
+    @ManagedAttribute(description = "Response latency per request type")
+    public Map<String, String> getRequestLatencies() {
+        return metrics.getLatencies();
+    }
+
     @VisibleForTesting
     Map<String, CompletableFuture<InfoData>> getPendingRequests() {
         return new HashMap<>(pendingRequests);
     }
 
     @VisibleForTesting
-    Map<String, CompletableFuture<List<InfoData>>> getPendingChunkedRequests() {
-        return new HashMap<>(pendingChunkedRequests);
+    Map<String, CompletableFuture<?>> getPendingChunkedRequests() {
+        Map<String, CompletableFuture<?>> result = new HashMap<>();
+        pendingChunkedRequests.forEach((requestId, request) -> result.put(requestId, request.future));
+        return result;
+    }
+
+    /**
+     * Completes the request with the timeout error unless it is re-armed in time.
+     */
+    private final class RequestTimeout implements Runnable {
+        private final String requestId;
+        private final String requestType;
+        private final CompletableFuture<?> future;
+        private final int seconds = requestTimeout;
+
+        private volatile ScheduledFuture<?> scheduled;
+
+        private RequestTimeout(Message message, CompletableFuture<?> future) {
+            this.requestId = message.getCorrelationId();
+            this.requestType = getRequestType(message);
+            this.future = future;
+        }
+
+        /**
+         * Restarts the countdown. Should not be called concurrently for the same request.
+         */
+        void rearm() {
+            ScheduledFuture<?> previous = scheduled;
+            scheduled = timeoutScheduler.schedule(this, seconds, TimeUnit.SECONDS);
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            if (future.isDone()) {
+                // the request might be completed before the new countdown is visible to cancel().
+                cancel();
+            }
+        }
+
+        void cancel() {
+            ScheduledFuture<?> current = scheduled;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (future.completeExceptionally(new MessageException(requestId, System.currentTimeMillis(),
+                    ErrorType.OPERATION_TIMED_OUT, "No response received", "Timeout exceeded"))) {
+                metrics.recordTimedOut();
+                logger.warn("Request {} ({}) is timed out after {} seconds", requestId, requestType, seconds);
+            }
+        }
+    }
+
+    /**
+     * Chunked request in progress. The state is modified only under the lock of the request, the consumer is called
+     * by the delivery executor.
+     */
+    private static final class ChunkedRequest {
+        private final CompletableFuture<?> future;
+        private final Consumer<InfoData> consumer;
+        private final Runnable completion;
+        private final RequestTimeout timeout;
+
+        /**
+         * Ids of received chunked messages. It is needed to skip duplicates, because current version of kafka do not
+         * guarantee exactly once delivery.
+         */
+        private final Set<String> receivedMessageIds = new HashSet<>();
+        private int consumedCount;
+
+        /**
+         * Delivery of the last received chunk, the next chunk is delivered after it.
+         */
+        private CompletableFuture<Void> delivery = CompletableFuture.completedFuture(null);
+
+        private ChunkedRequest(CompletableFuture<?> future, Consumer<InfoData> consumer, Runnable completion,
+                               RequestTimeout timeout) {
+            this.future = future;
+            this.consumer = consumer;
+            this.completion = completion;
+            this.timeout = timeout;
+        }
     }
 }
@@ -0,0 +1,83 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging.kafka;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters of requests sent through {@link KafkaMessagingChannel}, grouped by request type.
+ */
+class RequestMetrics {
+    private final ConcurrentMap<String, Latency> latencies = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    void recordLatency(String requestType, long nanos) {
+        latencies.computeIfAbsent(requestType, key -> new Latency()).record(nanos);
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void recordTimedOut() {
+        timedOut.increment();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    /**
+     * Returns human readable latency summary (count, mean and max) per request type.
+     */
+    Map<String, String> getLatencies() {
+        Map<String, String> result = new TreeMap<>();
+        latencies.forEach((requestType, latency) -> result.put(requestType, latency.toString()));
+        return result;
+    }
+
+    private static class Latency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        @Override
+        public String toString() {
+            long requests = count.sum();
+            long mean = requests == 0 ? 0 : total.sum() / requests;
+            return String.format("count=%d, mean=%dms, max=%dms", requests,
+                    TimeUnit.NANOSECONDS.toMillis(mean), TimeUnit.NANOSECONDS.toMillis(max.get()));
+        }
+    }
+}
@@ -21,12 +21,14 @@ import org.openkilda.messaging.payload.flow.FlowPathPayload;
 import org.openkilda.messaging.payload.flow.FlowPayload;
 import org.openkilda.messaging.payload.flow.FlowReroutePayload;
 import org.openkilda.northbound.dto.BatchResults;
+import org.openkilda.northbound.dto.flows.FlowBatchItemOutput;
 import org.openkilda.northbound.dto.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.flows.PingInput;
 import org.openkilda.northbound.dto.flows.PingOutput;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * FlowService is for operations on flows, primarily against the Flow Topology.
@@ -72,13 +74,39 @@ public interface FlowService {
     CompletableFuture<List<FlowPayload>> getAllFlows();
 
     /**
-     * Deletes all flows. Primarily this is a combination of getAllFlows and deleteFlow.
+     * Dumps all the flows chunk by chunk, without collecting them.
+     *
+     * @param consumer receives flows of each chunk as soon as the chunk is received.
+     * @return the future which is completed once all the flows are passed to the consumer.
+     */
+    CompletableFuture<Void> dumpFlows(Consumer<List<FlowPayload>> consumer);
+
+    /**
+     * Deletes all flows. Primarily this is a combination of getAllFlows and a batch deletion of the flows.
      * This should be called with care ..
      *
      * @return the list of all deleted flows
      */
     CompletableFuture<List<FlowPayload>> deleteAllFlows();
 
+    /**
+     * Creates flows in batches. The flows are not created one by one, but stored by the flow topology in chunks.
+     *
+     * @param flows    the flows to be created.
+     * @param consumer receives results of the flows as soon as they are received.
+     * @return the future which is completed once results of all the flows are passed to the consumer.
+     */
+    CompletableFuture<Void> createFlows(List<FlowPayload> flows, Consumer<List<FlowBatchItemOutput>> consumer);
+
+    /**
+     * Deletes flows in batches. The flows are not deleted one by one, but removed by the flow topology in chunks.
+     *
+     * @param flowIds  ids of the flows to be deleted.
+     * @param consumer receives results of the flows as soon as they are received.
+     * @return the future which is completed once results of all the flows are passed to the consumer.
+     */
+    CompletableFuture<Void> deleteFlows(List<String> flowIds, Consumer<List<FlowBatchItemOutput>> consumer);
+
     /**
      * Gets flow status by id.
      *
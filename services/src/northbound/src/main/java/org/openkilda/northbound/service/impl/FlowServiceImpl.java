@@ -20,6 +20,7 @@ import static org.openkilda.northbound.utils.async.AsyncUtils.collectResponses;
 
 import org.openkilda.config.provider.ConfigurationProvider;
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowCacheSyncRequest;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
@@ -28,8 +29,11 @@ import org.openkilda.messaging.command.flow.FlowPingRequest;
 import org.openkilda.messaging.command.flow.FlowReadRequest;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsBatchCreateRequest;
+import org.openkilda.messaging.command.flow.FlowsBatchDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowsDumpRequest;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.flow.FlowBatchItemResponse;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
@@ -37,6 +41,7 @@ import org.openkilda.messaging.info.flow.FlowReadResponse;
 import org.openkilda.messaging.info.flow.FlowRerouteResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
+import org.openkilda.messaging.info.flow.FlowsDumpResponse;
 import org.openkilda.messaging.info.rule.FlowApplyActions;
 import org.openkilda.messaging.info.rule.FlowEntry;
 import org.openkilda.messaging.info.rule.FlowSetFieldAction;
@@ -53,6 +58,7 @@ import org.openkilda.model.FlowPath;
 import org.openkilda.model.SwitchId;
 import org.openkilda.northbound.converter.FlowMapper;
 import org.openkilda.northbound.dto.BatchResults;
+import org.openkilda.northbound.dto.flows.FlowBatchItemOutput;
 import org.openkilda.northbound.dto.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.flows.PathDiscrepancyDto;
 import org.openkilda.northbound.dto.flows.PingInput;
@@ -77,6 +83,7 @@ import org.springframework.stereotype.Service;
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -84,6 +91,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 
@@ -116,6 +125,12 @@ public class FlowServiceImpl implements FlowService {
     @Value("#{kafkaTopicsConfig.getPingTopic()}")
     private String pingTopic;
 
+    /**
+     * The max number of flows sent to the flow topology in a single batch request.
+     */
+    @Value("${northbound.flows.batch.size:500}")
+    private int batchSize;
+
     @Value("${neo4j.uri}")
     private String neoUri;
 
@@ -238,35 +253,102 @@ public class FlowServiceImpl implements FlowService {
 
         return messagingChannel.sendAndGetChunked(topic, request)
                 .thenApply(result -> result.stream()
-                        .map(FlowReadResponse.class::cast)
-                        .map(FlowReadResponse::getPayload)
+                        .map(FlowsDumpResponse.class::cast)
+                        .flatMap(chunk -> chunk.getFlows().stream())
                         .map(BidirectionalFlowDto::getForward)
                         .map(flowMapper::toFlowOutput)
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> dumpFlows(Consumer<List<FlowPayload>> consumer) {
+        final String correlationId = RequestCorrelationId.getId();
+        logger.debug("Dump flows request processing");
+        FlowsDumpRequest data = new FlowsDumpRequest();
+        CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
+
+        return messagingChannel.sendAndStreamChunked(topic, request, chunk ->
+                consumer.accept(((FlowsDumpResponse) chunk).getFlows().stream()
+                        .map(BidirectionalFlowDto::getForward)
+                        .map(flowMapper::toFlowOutput)
+                        .collect(Collectors.toList())));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public CompletableFuture<List<FlowPayload>> deleteAllFlows() {
-        CompletableFuture<List<FlowPayload>> result = new CompletableFuture<>();
         logger.warn("Delete all flows request");
         // TODO: Need a getFlowIDs .. since that is all we need
-        CompletableFuture<List<FlowPayload>> getFlowsStage = this.getAllFlows();
-
-        getFlowsStage.thenApply(flows -> {
-            List<CompletableFuture<?>> deletionRequests = new ArrayList<>();
-            for (int i = 0; i < flows.size(); i++) {
-                String requestId = idFactory.produceChained(String.valueOf(i));
-                FlowPayload flow = flows.get(i);
-                deletionRequests.add(sendDeleteFlow(flow.getId(), requestId));
-            }
-            return deletionRequests;
-        }).thenApply(requests -> collectResponses(requests, FlowPayload.class)
-                .thenApply(result::complete));
+        return getAllFlows()
+                .thenCompose(flows -> {
+                    List<String> flowIds = flows.stream()
+                            .map(FlowPayload::getId)
+                            .collect(Collectors.toList());
+                    List<FlowPayload> deleted = new ArrayList<>(flowIds.size());
+                    return sendFlowsBatches(flowIds, FlowsBatchDeleteRequest::new, response -> {
+                        if (response.isSuccessful()) {
+                            deleted.add(flowMapper.toFlowOutput(response.getPayload()));
+                        } else {
+                            logger.warn("Unable to delete flow {}: {}", response.getFlowId(),
+                                    response.getErrorMessage());
+                        }
+                    }).thenApply(ignore -> deleted);
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> createFlows(List<FlowPayload> flows,
+                                               Consumer<List<FlowBatchItemOutput>> consumer) {
+        logger.info("Create flows batch request: {} flows", flows.size());
+
+        List<FlowDto> payload = flows.stream()
+                .map(FlowDto::new)
+                .collect(Collectors.toList());
+        return sendFlowsBatches(payload, FlowsBatchCreateRequest::new, response ->
+                consumer.accept(Collections.singletonList(flowMapper.toFlowBatchItemOutput(response))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> deleteFlows(List<String> flowIds, Consumer<List<FlowBatchItemOutput>> consumer) {
+        logger.info("Delete flows batch request: {} flows", flowIds.size());
+
+        return sendFlowsBatches(flowIds, FlowsBatchDeleteRequest::new, response ->
+                consumer.accept(Collections.singletonList(flowMapper.toFlowBatchItemOutput(response))));
+    }
 
-        return result;
+    /**
+     * Splits the items into requests of {@code batchSize} items, so a single kafka message stays reasonably small.
+     * Results of the flows are passed to the consumer in the order they are received, which may differ from the
+     * order of the items.
+     */
+    private <T> CompletableFuture<Void> sendFlowsBatches(List<T> items, Function<List<T>, CommandData> requestFactory,
+                                                         Consumer<FlowBatchItemResponse> consumer) {
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (int from = 0, index = 0; from < items.size(); from += batchSize, index++) {
+            List<T> batch = new ArrayList<>(items.subList(from, Math.min(from + batchSize, items.size())));
+            String requestId = idFactory.produceChained(String.valueOf(index));
+            CommandMessage request = new CommandMessage(requestFactory.apply(batch), System.currentTimeMillis(),
+                    requestId, Destination.WFM);
+
+            requests.add(messagingChannel.sendAndStreamChunked(topic, request, response -> {
+                // responses of different batches are received by different listener threads.
+                synchronized (consumer) {
+                    consumer.accept((FlowBatchItemResponse) response);
+                }
+            }));
+        }
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture[0]));
     }
 
     /**
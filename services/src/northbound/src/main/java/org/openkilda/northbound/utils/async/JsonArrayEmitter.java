@@ -0,0 +1,78 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.utils.async;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ResponseBodyEmitter} that writes items as elements of one JSON array, so the response is written to the
+ * client part by part but is still read as a regular JSON list.
+ * <p/>
+ * Note: the response is committed once the emitter is returned from the controller, so an error which happens
+ * afterwards can't change the response status. Such a response is terminated without the closing bracket.
+ */
+public class JsonArrayEmitter extends ResponseBodyEmitter {
+    private boolean empty = true;
+
+    /**
+     * Writes the items as the next elements of the array.
+     *
+     * @throws UncheckedIOException if the items can't be written.
+     */
+    public synchronized void sendItems(Collection<?> items) {
+        try {
+            for (Object item : items) {
+                send(empty ? "[" : ",", MediaType.APPLICATION_JSON);
+                send(item, MediaType.APPLICATION_JSON);
+                empty = false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Completes the emitter along with the future: closes the array if the future is completed normally, or completes
+     * the emitter with the error otherwise.
+     */
+    public void completeWith(CompletableFuture<?> future) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                completeWithError(error);
+            } else {
+                complete();
+            }
+        });
+    }
+
+    @Override
+    public synchronized void complete() {
+        try {
+            send(empty ? "[]" : "]", MediaType.APPLICATION_JSON);
+        } catch (IOException e) {
+            completeWithError(e);
+            return;
+        }
+        super.complete();
+    }
+}
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Message producer/consumer implementation for testing purposes. Processes all send/poll operations and
@@ -63,6 +64,17 @@ public class MessageExchanger implements MessagingChannel {
         return CompletableFuture.completedFuture(pendingChunkedResponses.remove(message.getCorrelationId()));
     }
 
+    @Override
+    public CompletableFuture<Void> sendAndStreamChunked(String topic, Message message, Consumer<InfoData> consumer) {
+        send(topic, message);
+
+        List<InfoData> responses = pendingChunkedResponses.remove(message.getCorrelationId());
+        if (responses != null) {
+            responses.forEach(consumer);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
     public void mockResponse(String requestId, InfoData data) {
         pendingResponses.put(requestId, data);
     }
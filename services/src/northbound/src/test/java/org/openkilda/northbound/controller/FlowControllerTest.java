@@ -29,6 +29,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.openkilda.messaging.error.ErrorType;
@@ -36,6 +37,7 @@ import org.openkilda.messaging.error.MessageError;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
 import org.openkilda.messaging.payload.flow.FlowPayload;
+import org.openkilda.northbound.dto.flows.FlowBatchItemOutput;
 import org.openkilda.northbound.utils.RequestCorrelationId;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -183,18 +185,61 @@ public class FlowControllerTest extends NorthboundBaseTest {
         MvcResult mvcResult = mockMvc.perform(get("/flows", TestMessageMock.FLOW_ID)
                 .header(CORRELATION_ID, testCorrelationId())
                 .contentType(APPLICATION_JSON_VALUE))
-                .andReturn();
-
-        MvcResult result = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(request().asyncStarted())
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(APPLICATION_JSON_UTF8_VALUE))
                 .andReturn();
+
+        // flows are streamed, so the content is written to the response of the initial request.
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
         List<FlowPayload> response = MAPPER.readValue(
-                result.getResponse().getContentAsString(),
+                mvcResult.getResponse().getContentAsString(),
                 new TypeReference<List<FlowPayload>>() {});
         assertEquals(Collections.singletonList(TestMessageMock.flow), response);
     }
 
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void createFlowsBatch() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(put("/flows/batch")
+                .header(CORRELATION_ID, testCorrelationId())
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(MAPPER.writeValueAsString(Collections.singletonList(TestMessageMock.flow))))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON_UTF8_VALUE))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+        List<FlowBatchItemOutput> response = MAPPER.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<FlowBatchItemOutput>>() {});
+        assertEquals(Collections.singletonList(new FlowBatchItemOutput(TestMessageMock.FLOW_ID, true, null)),
+                response);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void deleteFlowsBatch() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(put("/flows/batch/delete")
+                .header(CORRELATION_ID, testCorrelationId())
+                .contentType(APPLICATION_JSON_VALUE)
+                .content(MAPPER.writeValueAsString(Collections.singletonList(TestMessageMock.FLOW_ID))))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+        List<FlowBatchItemOutput> response = MAPPER.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<FlowBatchItemOutput>>() {});
+        assertEquals(Collections.singletonList(new FlowBatchItemOutput(TestMessageMock.FLOW_ID, true, null)),
+                response);
+    }
+
     @Test
     @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
     public void statusFlow() throws Exception {
@@ -26,6 +26,8 @@ import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowReadRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsBatchCreateRequest;
+import org.openkilda.messaging.command.flow.FlowsBatchDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowsDumpRequest;
 import org.openkilda.messaging.command.switches.SwitchRulesDeleteRequest;
 import org.openkilda.messaging.error.ErrorData;
@@ -36,8 +38,10 @@ import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.info.event.SwitchChangeType;
 import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.flow.FlowBatchItemResponse;
 import org.openkilda.messaging.info.flow.FlowReadResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
+import org.openkilda.messaging.info.flow.FlowsDumpResponse;
 import org.openkilda.messaging.info.switches.SwitchRulesResponse;
 import org.openkilda.messaging.model.BidirectionalFlowDto;
 import org.openkilda.messaging.model.FlowDto;
@@ -57,6 +61,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Spring component which mocks WorkFlow Manager. This instance listens kafka ingoing requests and sends back
@@ -84,6 +89,8 @@ public class TestMessageMock implements MessagingChannel {
     private static final FlowResponse flowResponse = new FlowResponse(flowModel);
     static final FlowReadResponse FLOW_RESPONSE =
             new FlowReadResponse(new BidirectionalFlowDto(flowModel, flowModel));
+    static final FlowsDumpResponse FLOWS_DUMP_RESPONSE =
+            new FlowsDumpResponse(singletonList(new BidirectionalFlowDto(flowModel, flowModel)));
     private static final SwitchRulesResponse switchRulesResponse =
             new SwitchRulesResponse(singletonList(TEST_SWITCH_RULE_COOKIE));
     private static final Map<String, CommandData> messages = new ConcurrentHashMap<>();
@@ -128,7 +135,26 @@ public class TestMessageMock implements MessagingChannel {
     @Override
     public CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message) {
         if (((CommandMessage) message).getData() instanceof FlowsDumpRequest) {
-            return CompletableFuture.completedFuture(Collections.singletonList(FLOW_RESPONSE));
+            return CompletableFuture.completedFuture(Collections.singletonList(FLOWS_DUMP_RESPONSE));
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAndStreamChunked(String topic, Message message, Consumer<InfoData> consumer) {
+        CommandData data = ((CommandMessage) message).getData();
+        if (data instanceof FlowsDumpRequest) {
+            consumer.accept(FLOWS_DUMP_RESPONSE);
+            return CompletableFuture.completedFuture(null);
+        } else if (data instanceof FlowsBatchCreateRequest) {
+            ((FlowsBatchCreateRequest) data).getFlows()
+                    .forEach(flow -> consumer.accept(FlowBatchItemResponse.succeeded(flowModel)));
+            return CompletableFuture.completedFuture(null);
+        } else if (data instanceof FlowsBatchDeleteRequest) {
+            ((FlowsBatchDeleteRequest) data).getFlowIds()
+                    .forEach(flowId -> consumer.accept(FlowBatchItemResponse.succeeded(flowModel)));
+            return CompletableFuture.completedFuture(null);
         } else {
             return null;
         }
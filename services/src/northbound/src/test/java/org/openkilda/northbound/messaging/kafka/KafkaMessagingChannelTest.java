@@ -15,14 +15,18 @@
 
 package org.openkilda.northbound.messaging.kafka;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
@@ -32,6 +36,7 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.northbound.config.KafkaConfig;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.messaging.MessagingChannel;
+import org.openkilda.northbound.messaging.exception.MessageNotSentException;
 
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.Before;
@@ -48,14 +53,19 @@ import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.SettableListenableFuture;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -134,6 +144,24 @@ public class KafkaMessagingChannelTest {
         assertTrue(messagingChannel.getPendingRequests().isEmpty());
     }
 
+    @Test
+    public void shouldStreamChunkedResponses() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int messagesAmount = 10000;
+
+        prepareChunkedResponses(requestId, timestamp, messagesAmount);
+        Message request = new Message(timestamp, requestId);
+
+        Set<InfoData> received = ConcurrentHashMap.newKeySet();
+        CompletableFuture<Void> future = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, request, received::add);
+        prepareResponses(CHUNKED_TOPIC);
+
+        future.get(10, TimeUnit.SECONDS);
+        assertEquals(messagesAmount, received.size());
+        assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
+    }
+
     @Test
     public void shouldReturnCompletedChunkedSingleItem() throws Exception {
         String requestId = UUID.randomUUID().toString();
@@ -241,6 +269,180 @@ public class KafkaMessagingChannelTest {
         assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
     }
 
+    @Test
+    public void shouldCompleteResponseExceptionallyOnTimeout() throws Exception {
+        thrown.expect(ExecutionException.class);
+        thrown.expectCause(instanceOf(MessageException.class));
+
+        String requestId = UUID.randomUUID().toString();
+        Message request = new Message(System.currentTimeMillis(), requestId);
+
+        ReflectionTestUtils.setField(messagingChannel, "requestTimeout", 1);
+        CompletableFuture<InfoData> response;
+        try {
+            response = messagingChannel.sendAndGet(MAIN_TOPIC, request);
+        } finally {
+            ReflectionTestUtils.setField(messagingChannel, "requestTimeout", 120);
+        }
+
+        try {
+            response.get(5, TimeUnit.SECONDS);
+        } finally {
+            assertTrue(messagingChannel.getPendingRequests().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldCompleteChunkedResponseExceptionallyOnTimeout() throws Exception {
+        thrown.expect(ExecutionException.class);
+        thrown.expectCause(instanceOf(MessageException.class));
+
+        String requestId = UUID.randomUUID().toString();
+        Message request = new Message(System.currentTimeMillis(), requestId);
+
+        ReflectionTestUtils.setField(messagingChannel, "requestTimeout", 1);
+        CompletableFuture<List<InfoData>> response;
+        try {
+            response = messagingChannel.sendAndGetChunked(MAIN_TOPIC, request);
+        } finally {
+            ReflectionTestUtils.setField(messagingChannel, "requestTimeout", 120);
+        }
+
+        try {
+            response.get(5, TimeUnit.SECONDS);
+        } finally {
+            assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldRearmTimeoutOnEachChunk() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int messagesAmount = 3;
+        Message request = new Message(timestamp, requestId);
+
+        ReflectionTestUtils.setField(messagingChannel, "requestTimeout", 2);
+        CompletableFuture<List<InfoData>> response;
+        try {
+            response = messagingChannel.sendAndGetChunked(MAIN_TOPIC, request);
+        } finally {
+            ReflectionTestUtils.setField(messagingChannel, "requestTimeout", 120);
+        }
+
+        // the whole response takes longer than the timeout, but each chunk comes in time.
+        for (int i = 0; i < messagesAmount; i++) {
+            TimeUnit.MILLISECONDS.sleep(1200);
+            InfoData data = new SwitchInfoData(new SwitchId(i), SwitchChangeType.ACTIVATED, null, null, null, null);
+            messagingChannel.onResponse(
+                    new ChunkedInfoMessage(data, timestamp, requestId, requestId + i, messagesAmount));
+        }
+
+        assertEquals(messagesAmount, response.get(1, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    public void shouldTimeOutChunkedRequestIfConsumerIsStuck() throws Exception {
+        thrown.expect(ExecutionException.class);
+        thrown.expectCause(instanceOf(MessageException.class));
+
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int messagesAmount = 11;
+
+        CountDownLatch release = new CountDownLatch(1);
+        ReflectionTestUtils.setField(messagingChannel, "requestTimeout", 1);
+        CompletableFuture<Void> response;
+        try {
+            response = messagingChannel.sendAndStreamChunked(MAIN_TOPIC, new Message(timestamp, requestId),
+                    data -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+        } finally {
+            ReflectionTestUtils.setField(messagingChannel, "requestTimeout", 120);
+        }
+
+        try {
+            // chunks keep coming more often than the timeout, but none of them is delivered to the consumer.
+            for (int i = 0; i < messagesAmount - 1 && !response.isDone(); i++) {
+                InfoData data = new SwitchInfoData(new SwitchId(i), SwitchChangeType.ACTIVATED,
+                        null, null, null, null);
+                messagingChannel.onResponse(
+                        new ChunkedInfoMessage(data, timestamp, requestId, requestId + i, messagesAmount));
+                TimeUnit.MILLISECONDS.sleep(300);
+            }
+            assertTrue(response.isDone());
+            response.get();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldNotBlockListenerOnSlowConsumer() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int messagesAmount = 2;
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<InfoData> received = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> response = messagingChannel.sendAndStreamChunked(MAIN_TOPIC,
+                new Message(timestamp, requestId), data -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.add(data);
+                });
+
+        // the consumer is blocked, but the listener thread passes all chunks anyway.
+        for (int i = 0; i < messagesAmount; i++) {
+            InfoData data = new SwitchInfoData(new SwitchId(i), SwitchChangeType.ACTIVATED, null, null, null, null);
+            messagingChannel.onResponse(
+                    new ChunkedInfoMessage(data, timestamp, requestId, requestId + i, messagesAmount));
+        }
+        assertFalse(response.isDone());
+
+        release.countDown();
+        response.get(1, TimeUnit.SECONDS);
+        assertEquals(messagesAmount, received.size());
+        assertEquals(new SwitchId(0), ((SwitchInfoData) received.get(0)).getSwitchId());
+    }
+
+    @Test
+    public void shouldRejectRequestsAbovePendingLimit() throws Exception {
+        String pendingId = UUID.randomUUID().toString();
+        long time = System.currentTimeMillis();
+        RESPONSES.add(new InfoMessage(null, time, pendingId));
+
+        ReflectionTestUtils.setField(messagingChannel, "pendingLimit", 1);
+        try {
+            final CompletableFuture<InfoData> pending =
+                    messagingChannel.sendAndGet(MAIN_TOPIC, new Message(time, pendingId));
+            CompletableFuture<InfoData> rejected = messagingChannel.sendAndGet(MAIN_TOPIC,
+                    new Message(time, UUID.randomUUID().toString()));
+
+            assertTrue(rejected.isCompletedExceptionally());
+            try {
+                rejected.get();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(MessageNotSentException.class));
+            }
+            assertEquals(1, messagingChannel.getPendingRequests().size());
+
+            prepareResponses(MAIN_TOPIC);
+            assertNull(pending.get(1, TimeUnit.SECONDS));
+            assertEquals(0, messagingChannel.getRequestsInFlight());
+        } finally {
+            ReflectionTestUtils.setField(messagingChannel, "pendingLimit", 10000);
+        }
+    }
+
     /**
      * Creates chunk of responses started from requestId, with predefined size.
      */
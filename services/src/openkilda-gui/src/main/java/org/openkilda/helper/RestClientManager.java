@@ -26,14 +26,19 @@ import org.openkilda.integration.exception.InvalidResponseException;
 import org.openkilda.model.response.ErrorMessage;
 import org.openkilda.service.AuthPropertyService;
 import org.openkilda.store.common.model.ApiRequestDto;
+import org.openkilda.utility.ApplicationProperties;
 import org.openkilda.utility.IoUtil;
 import org.openkilda.utility.StringUtil;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpGet;
@@ -41,35 +46,58 @@ import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.net.ssl.SSLContext;
 
 /**
  * The Class RestClientManager.
+ * <p/>
+ * All calls share pooled http clients, so connections to northbound, OpenTSDB and the configured stores are kept alive
+ * and reused between requests instead of paying a TCP and TLS handshake on each call.
  */
 @Component
 public class RestClientManager {
@@ -85,6 +113,57 @@ public class RestClientManager {
     @Autowired
     private ServerContext serverContext;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private final RestClientMetrics metrics = new RestClientMetrics();
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    private CloseableHttpClient client;
+
+    private PoolingHttpClientConnectionManager trustAllConnectionManager;
+
+    private CloseableHttpClient trustAllClient;
+
+    private ExecutorService asyncExecutor;
+
+    /**
+     * Creates the pooled http clients.
+     *
+     * @throws GeneralSecurityException if the ssl context can't be created
+     */
+    @PostConstruct
+    public void init() throws GeneralSecurityException {
+        connectionManager = createConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                .build());
+        client = createClient(connectionManager);
+
+        // The store and the oauth endpoints are configured by users and often use self-signed certificates.
+        SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, (x509CertChain, authType) -> true)
+                .build();
+        trustAllConnectionManager = createConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE))
+                .build());
+        trustAllClient = createClient(trustAllConnectionManager);
+
+        asyncExecutor = Executors.newFixedThreadPool(applicationProperties.getRestClientAsyncThreads(),
+                new CustomizableThreadFactory("rest-client-async-"));
+    }
+
+    /**
+     * Closes the pooled http clients.
+     */
+    @PreDestroy
+    public void destroy() {
+        asyncExecutor.shutdown();
+        IoUtil.close(client);
+        IoUtil.close(trustAllClient);
+    }
+
     /**
      * Invoke.
      *
@@ -98,13 +177,116 @@ public class RestClientManager {
     public HttpResponse invoke(final String apiUrl, final HttpMethod httpMethod, final String payload,
             final String contentType, final String basicAuth) {
         LOGGER.info("[invoke] - Start");
+        HttpResponse httpResponse = execute(client,
+                buildRequest(apiUrl, httpMethod, payload, contentType, basicAuth));
+        LOGGER.info("[invoke] - End");
+        return httpResponse;
+    }
+
+    /**
+     * Invoke.
+     *
+     * @param apiRequestDto the api request dto
+     * @return the http response
+     */
+    public HttpResponse invoke(final ApiRequestDto apiRequestDto) {
+        LOGGER.info("[invoke] - Start");
+        HttpResponse httpResponse = execute(trustAllClient, buildRequest(apiRequestDto));
+        LOGGER.info("[invoke] - End");
+        return httpResponse;
+    }
+
+    /**
+     * Invoke asynchronously. The request is built in the calling thread, so it carries the correlation id of the
+     * current request context.
+     *
+     * @param apiUrl the api url
+     * @param httpMethod the http method
+     * @param payload the payload
+     * @param contentType the content type
+     * @param basicAuth the basic auth
+     * @return the future of the http response
+     */
+    public CompletableFuture<HttpResponse> invokeAsync(final String apiUrl, final HttpMethod httpMethod,
+            final String payload, final String contentType, final String basicAuth) {
+        HttpUriRequest request = buildRequest(apiUrl, httpMethod, payload, contentType, basicAuth);
+        return CompletableFuture.supplyAsync(() -> execute(client, request), asyncExecutor);
+    }
+
+    /**
+     * Invoke asynchronously.
+     *
+     * @param apiRequestDto the api request dto
+     * @return the future of the http response
+     */
+    public CompletableFuture<HttpResponse> invokeAsync(final ApiRequestDto apiRequestDto) {
+        HttpUriRequest request = buildRequest(apiRequestDto);
+        return CompletableFuture.supplyAsync(() -> execute(trustAllClient, request), asyncExecutor);
+    }
+
+    /**
+     * Gets the metrics of the rest client.
+     *
+     * @return the metrics
+     */
+    public RestClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Logs the metrics of the rest client and the state of the connection pools.
+     */
+    @Scheduled(fixedDelayString = "${rest.client.metrics.log.interval:300000}")
+    public void logMetrics() {
+        LOGGER.info("[logMetrics] Connection pool: " + connectionManager.getTotalStats()
+                + ", trust-all connection pool: " + trustAllConnectionManager.getTotalStats());
+        for (Entry<String, RestClientMetrics.UpstreamMetrics> entry : metrics.getUpstreams().entrySet()) {
+            LOGGER.info("[logMetrics] Upstream " + entry.getKey() + ": " + entry.getValue());
+        }
+    }
+
+    private PoolingHttpClientConnectionManager createConnectionManager(
+            final Registry<ConnectionSocketFactory> socketFactoryRegistry) {
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        manager.setMaxTotal(applicationProperties.getRestClientMaxConnections());
+        manager.setDefaultMaxPerRoute(applicationProperties.getRestClientMaxConnectionsPerRoute());
+        return manager;
+    }
 
-        HttpResponse httpResponse = null;
+    private CloseableHttpClient createClient(final PoolingHttpClientConnectionManager manager) {
+        long keepAlive = applicationProperties.getRestClientKeepAlive();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(applicationProperties.getRestClientConnectTimeout())
+                .setConnectionRequestTimeout(applicationProperties.getRestClientConnectionRequestTimeout())
+                .setSocketTimeout(applicationProperties.getRestClientSocketTimeout())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(new MeteredConnectionManager(manager, metrics))
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? Math.min(duration, keepAlive) : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+                .build();
+    }
 
+    /**
+     * Builds the request.
+     *
+     * @param apiUrl the api url
+     * @param httpMethod the http method
+     * @param payload the payload
+     * @param contentType the content type
+     * @param basicAuth the basic auth
+     * @return the http request
+     */
+    private HttpUriRequest buildRequest(final String apiUrl, final HttpMethod httpMethod, final String payload,
+            final String contentType, final String basicAuth) {
         try {
             RequestContext requestContext = serverContext.getRequestContext();
 
-            HttpClient client = HttpClients.createDefault();
             HttpUriRequest httpUriRequest = null;
             HttpEntityEnclosingRequestBase httpEntityEnclosingRequest = null;
 
@@ -140,48 +322,29 @@ public class RestClientManager {
                         requestContext.getCorrelationId());
                 // Setting request payload
                 httpEntityEnclosingRequest.setEntity(new StringEntity(payload));
-                httpResponse = client.execute(httpEntityEnclosingRequest);
-                LOGGER.debug("[invoke] Call executed successfully");
-            } else {
-                LOGGER.info("[invoke] Executing : httpUriRequest : " + httpUriRequest);
-                httpResponse = client.execute(httpUriRequest);
-                LOGGER.info("[invoke] Call executed successfully");
+                return httpEntityEnclosingRequest;
             }
-
+            LOGGER.info("[invoke] Executing : httpUriRequest : " + httpUriRequest);
+            return httpUriRequest;
         } catch (Exception e) {
             LOGGER.error("[invoke] Exception: ", e);
             throw new RestCallFailedException(e);
         }
-        LOGGER.info("[invoke] - End");
-        return httpResponse;
     }
-    
+
     /**
-     * Invoke.
+     * Builds the request.
      *
      * @param apiRequestDto the api request dto
-     * @return the http response
+     * @return the http request
      */
-    public HttpResponse invoke(final ApiRequestDto apiRequestDto) {
-        LOGGER.info("[invoke] - Start");
-        HttpResponse httpResponse = null;
-
+    private HttpUriRequest buildRequest(final ApiRequestDto apiRequestDto) {
         String url = apiRequestDto.getUrl();
         String headers = apiRequestDto.getHeader();
         HttpMethod httpMethod = apiRequestDto.getHttpMethod();
         String payload = apiRequestDto.getPayload();
 
         try {
-
-            SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, (x509CertChain, authType) -> true)
-                    .build();
-            CloseableHttpClient client = HttpClientBuilder.create().setSSLContext(sslContext)
-                    .setConnectionManager(new PoolingHttpClientConnectionManager(RegistryBuilder
-                            .<ConnectionSocketFactory>create().register("http", PlainConnectionSocketFactory.INSTANCE)
-                            .register("https",
-                                    new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE))
-                            .build()))
-                    .build();
             HttpUriRequest httpUriRequest = null;
             HttpEntityEnclosingRequestBase httpEntityEnclosingRequest = null;
 
@@ -222,20 +385,57 @@ public class RestClientManager {
                 }
                 // Setting request payload
                 httpEntityEnclosingRequest.setEntity(new StringEntity(payload));
-                httpResponse = client.execute(httpEntityEnclosingRequest);
-                LOGGER.debug("[invoke] Call executed successfully");
-            } else {
-                LOGGER.info("[invoke] Executing : httpUriRequest : " + httpUriRequest);
-                httpResponse = client.execute(httpUriRequest);
-                LOGGER.info("[invoke] Call executed successfully");
+                return httpEntityEnclosingRequest;
             }
+            LOGGER.info("[invoke] Executing : httpUriRequest : " + httpUriRequest);
+            return httpUriRequest;
+        } catch (UnsupportedEncodingException e) {
+            LOGGER.error("[invoke] Exception: ", e);
+            throw new RestCallFailedException(e);
+        }
+    }
 
+    /**
+     * Executes the request on the pooled client. The response body is read into memory, so the connection goes back
+     * to the pool right away and is not leaked by callers which don't consume the response.
+     *
+     * @param httpClient the http client
+     * @param request the request
+     * @return the http response
+     */
+    private HttpResponse execute(final CloseableHttpClient httpClient, final HttpUriRequest request) {
+        HttpHost host = URIUtils.extractHost(request.getURI());
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try {
+            CloseableHttpResponse httpResponse = httpClient.execute(request);
+            try {
+                bufferEntity(httpResponse);
+            } catch (IOException e) {
+                IoUtil.close(httpResponse);
+                throw e;
+            }
+            failed = httpResponse.getStatusLine().getStatusCode() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+            LOGGER.debug("[invoke] Call executed successfully");
+            return httpResponse;
         } catch (Exception e) {
             LOGGER.error("[invoke] Exception: ", e);
             throw new RestCallFailedException(e);
+        } finally {
+            if (host != null) {
+                metrics.requestExecuted(host, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), failed);
+            }
+        }
+    }
+
+    private void bufferEntity(final HttpResponse httpResponse) throws IOException {
+        HttpEntity entity = httpResponse.getEntity();
+        if (entity != null) {
+            ByteArrayEntity buffered = new ByteArrayEntity(EntityUtils.toByteArray(entity));
+            buffered.setContentType(entity.getContentType());
+            buffered.setContentEncoding(entity.getContentEncoding());
+            httpResponse.setEntity(buffered);
         }
-        LOGGER.info("[invoke] - End");
-        return httpResponse;
     }
 
     /**
@@ -376,4 +576,83 @@ public class RestClientManager {
             }
         }
     }
+
+    /**
+     * The connection manager which records the time spent on leasing of pooled connections, all the other calls are
+     * delegated to the pool as is.
+     */
+    private static class MeteredConnectionManager implements HttpClientConnectionManager {
+        private final PoolingHttpClientConnectionManager pool;
+        private final RestClientMetrics metrics;
+
+        MeteredConnectionManager(final PoolingHttpClientConnectionManager pool, final RestClientMetrics metrics) {
+            this.pool = pool;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+            ConnectionRequest request = pool.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(final long timeout, final TimeUnit tunit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long startTime = System.nanoTime();
+                    boolean timedOut = true;
+                    try {
+                        HttpClientConnection connection = request.get(timeout, tunit);
+                        timedOut = false;
+                        return connection;
+                    } finally {
+                        metrics.connectionLeased(route.getTargetHost(),
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), timedOut);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(final HttpClientConnection conn, final Object newState, final long validDuration,
+                final TimeUnit timeUnit) {
+            pool.releaseConnection(conn, newState, validDuration, timeUnit);
+        }
+
+        @Override
+        public void connect(final HttpClientConnection conn, final HttpRoute route, final int connectTimeout,
+                final HttpContext context) throws IOException {
+            pool.connect(conn, route, connectTimeout, context);
+        }
+
+        @Override
+        public void upgrade(final HttpClientConnection conn, final HttpRoute route, final HttpContext context)
+                throws IOException {
+            pool.upgrade(conn, route, context);
+        }
+
+        @Override
+        public void routeComplete(final HttpClientConnection conn, final HttpRoute route, final HttpContext context)
+                throws IOException {
+            pool.routeComplete(conn, route, context);
+        }
+
+        @Override
+        public void closeIdleConnections(final long idletime, final TimeUnit tunit) {
+            pool.closeIdleConnections(idletime, tunit);
+        }
+
+        @Override
+        public void closeExpiredConnections() {
+            pool.closeExpiredConnections();
+        }
+
+        @Override
+        public void shutdown() {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,128 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.helper;
+
+import lombok.Getter;
+
+import org.apache.http.HttpHost;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per upstream (scheme, host and port) counters of the pooled rest client: executed requests, their latency and
+ * leases of pooled connections.
+ */
+public class RestClientMetrics {
+
+    private final ConcurrentMap<String, UpstreamMetrics> upstreams = new ConcurrentHashMap<>();
+
+    /**
+     * Records an executed request.
+     *
+     * @param host the upstream host
+     * @param latencyMillis the time spent on the request including reading of the response body
+     * @param failed whether the request failed or the upstream responded with a server error
+     */
+    public void requestExecuted(final HttpHost host, final long latencyMillis, final boolean failed) {
+        UpstreamMetrics metrics = getUpstream(host);
+        metrics.requests.increment();
+        metrics.requestLatency.add(latencyMillis);
+        metrics.maxRequestLatency.accumulate(latencyMillis);
+        if (failed) {
+            metrics.failures.increment();
+        }
+    }
+
+    /**
+     * Records a lease of a pooled connection.
+     *
+     * @param host the upstream host
+     * @param waitMillis the time spent waiting for a connection
+     * @param timedOut whether no connection was leased in time
+     */
+    public void connectionLeased(final HttpHost host, final long waitMillis, final boolean timedOut) {
+        UpstreamMetrics metrics = getUpstream(host);
+        metrics.leaseWait.add(waitMillis);
+        metrics.maxLeaseWait.accumulate(waitMillis);
+        if (timedOut) {
+            metrics.leaseTimeouts.increment();
+        } else {
+            metrics.leases.increment();
+        }
+    }
+
+    /**
+     * Gets the snapshot of the collected metrics.
+     *
+     * @return the metrics by upstream
+     */
+    public Map<String, UpstreamMetrics> getUpstreams() {
+        return new TreeMap<>(upstreams);
+    }
+
+    private UpstreamMetrics getUpstream(final HttpHost host) {
+        return upstreams.computeIfAbsent(toUpstream(host), key -> new UpstreamMetrics());
+    }
+
+    /**
+     * Builds the upstream name, the default port of the scheme is used when the port is not set explicitly.
+     *
+     * @param host the host
+     * @return the upstream name
+     */
+    static String toUpstream(final HttpHost host) {
+        int port = host.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(host.getSchemeName()) ? 443 : 80;
+        }
+        return host.getSchemeName() + "://" + host.getHostName() + ":" + port;
+    }
+
+    /**
+     * Counters of a single upstream.
+     */
+    @Getter
+    public static class UpstreamMetrics {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder requestLatency = new LongAdder();
+        private final LongAccumulator maxRequestLatency = new LongAccumulator(Math::max, 0);
+        private final LongAdder leases = new LongAdder();
+        private final LongAdder leaseTimeouts = new LongAdder();
+        private final LongAdder leaseWait = new LongAdder();
+        private final LongAccumulator maxLeaseWait = new LongAccumulator(Math::max, 0);
+
+        @Override
+        public String toString() {
+            long requestCount = requests.sum();
+            long leaseCount = leases.sum() + leaseTimeouts.sum();
+            return "requests=" + requestCount
+                    + ", failures=" + failures.sum()
+                    + ", avgLatencyMs=" + (requestCount == 0 ? 0 : requestLatency.sum() / requestCount)
+                    + ", maxLatencyMs=" + maxRequestLatency.get()
+                    + ", leases=" + leases.sum()
+                    + ", leaseTimeouts=" + leaseTimeouts.sum()
+                    + ", avgLeaseWaitMs=" + (leaseCount == 0 ? 0 : leaseWait.sum() / leaseCount)
+                    + ", maxLeaseWaitMs=" + maxLeaseWait.get();
+        }
+    }
+}
@@ -26,13 +26,16 @@ import org.openkilda.integration.model.Flow;
 import org.openkilda.integration.model.PortConfiguration;
 import org.openkilda.integration.model.response.ConfiguredPort;
 import org.openkilda.integration.model.response.IslLink;
+import org.openkilda.integration.model.response.IslPath;
 import org.openkilda.model.FlowInfo;
 import org.openkilda.model.IslLinkInfo;
 import org.openkilda.model.LinkProps;
 import org.openkilda.model.SwitchInfo;
 import org.openkilda.service.ApplicationService;
 import org.openkilda.utility.ApplicationProperties;
+import org.openkilda.utility.CachedValue;
 import org.openkilda.utility.CollectionUtil;
+import org.openkilda.utility.FileWatcher;
 import org.openkilda.utility.IoUtil;
 import org.openkilda.utility.JsonUtil;
 
@@ -55,11 +58,17 @@ import java.io.UnsupportedEncodingException;
 
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 /**
  * The Class SwitchIntegrationService.
  *
@@ -88,18 +97,84 @@ public class SwitchIntegrationService {
     @Autowired
     private FlowConverter flowConverter;
 
+    private CachedValue<List<SwitchInfo>> switchesCache;
+
+    private CachedValue<List<IslLink>> islLinksCache;
+
+    private CachedValue<List<LinkProps>> linkPropsCache;
+
+    private CachedValue<Map<String, String>> customSwitchNamesCache;
+
+    private FileWatcher switchDataFileWatcher;
+
+    /**
+     * Creates the caches of the northbound data and the custom switch names. Open dashboards poll the same lists, so
+     * they are served from the caches instead of going to northbound on each call.
+     */
+    @PostConstruct
+    public void init() {
+        Duration nbCacheTtl = Duration.ofMillis(applicationProperties.getNbCacheTtl());
+        switchesCache = new CachedValue<>(this::loadSwitches, nbCacheTtl);
+        islLinksCache = new CachedValue<>(this::loadIslLinkPortsInfo, nbCacheTtl);
+        linkPropsCache = new CachedValue<>(() -> loadIslLinkProps(null), nbCacheTtl);
+        customSwitchNamesCache = new CachedValue<>(this::loadCustomSwitchNames,
+                Duration.ofMillis(applicationProperties.getSwitchDataCacheTtl()));
+
+        try {
+            URL switchDataUrl = new URL(applicationProperties.getSwitchDataFilePath());
+            if ("file".equals(switchDataUrl.getProtocol())) {
+                switchDataFileWatcher = new FileWatcher(Paths.get(switchDataUrl.toURI()),
+                        customSwitchNamesCache::invalidate);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Unable to watch switch data file " + applicationProperties.getSwitchDataFilePath()
+                    + ", custom switch names are reloaded once the cache expires: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops watching of the switch data file.
+     */
+    @PreDestroy
+    public void destroy() {
+        IoUtil.close(switchDataFileWatcher);
+    }
+
     /**
      * Gets the switches.
      *
      * @return the switches
      */
     public List<SwitchInfo> getSwitches() {
+        List<SwitchInfo> switches = switchesCache.get();
+        if (switches == null) {
+            return null;
+        }
+        // The cached switches are shared between the callers, the names are set on copies.
+        List<SwitchInfo> copies = new ArrayList<>(switches.size());
+        for (SwitchInfo switchInfo : switches) {
+            copies.add(copySwitchInfo(switchInfo));
+        }
+        return getSwitchInfoSetName(copies);
+    }
+
+    private SwitchInfo copySwitchInfo(SwitchInfo switchInfo) {
+        SwitchInfo copy = new SwitchInfo();
+        copy.setSwitchId(switchInfo.getSwitchId());
+        copy.setAddress(switchInfo.getAddress());
+        copy.setHostname(switchInfo.getHostname());
+        copy.setDescription(switchInfo.getDescription());
+        copy.setName(switchInfo.getName());
+        copy.setState(switchInfo.getState());
+        return copy;
+    }
+
+    private List<SwitchInfo> loadSwitches() {
         HttpResponse response = restClientManager.invoke(
                 applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_SWITCHES, HttpMethod.GET, "", "",
                 applicationService.getAuthHeader());
         if (RestClientManager.isValidResponse(response)) {
-            List<SwitchInfo> switchesResponse = restClientManager.getResponseList(response, SwitchInfo.class);
-            return getSwitchInfoSetName(switchesResponse);
+            return restClientManager.getResponseList(response, SwitchInfo.class);
         }
         return null;
     }
@@ -167,6 +242,39 @@ public class SwitchIntegrationService {
      * @return the isl links port info
      */
     public List<IslLink> getIslLinkPortsInfo() {
+        List<IslLink> links = islLinksCache.get();
+        if (links == null) {
+            return null;
+        }
+        // The cached links are shared between the callers, each caller gets its own copies.
+        List<IslLink> copies = new ArrayList<>(links.size());
+        for (IslLink link : links) {
+            copies.add(copyIslLink(link));
+        }
+        return copies;
+    }
+
+    private IslLink copyIslLink(IslLink link) {
+        IslLink copy = new IslLink();
+        copy.setSpeed(link.getSpeed());
+        copy.setAvailableBandwidth(link.getAvailableBandwidth());
+        copy.setState(link.getState());
+        if (link.getPath() != null) {
+            List<IslPath> path = new ArrayList<>(link.getPath().size());
+            for (IslPath islPath : link.getPath()) {
+                IslPath pathCopy = new IslPath();
+                pathCopy.setSwitchId(islPath.getSwitchId());
+                pathCopy.setPortNo(islPath.getPortNo());
+                pathCopy.setSeqId(islPath.getSeqId());
+                pathCopy.setSegmentLatency(islPath.getSegmentLatency());
+                path.add(pathCopy);
+            }
+            copy.setPath(path);
+        }
+        return copy;
+    }
+
+    private List<IslLink> loadIslLinkPortsInfo() {
         HttpResponse response = restClientManager.invoke(
                 applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_LINKS, HttpMethod.GET, "", "",
                 applicationService.getAuthHeader());
@@ -201,6 +309,14 @@ public class SwitchIntegrationService {
      * @return the isl link cost
      */
     public List<LinkProps> getIslLinkProps(LinkProps keys) {
+        List<LinkProps> linkProps = keys == null ? linkPropsCache.get() : loadIslLinkProps(keys);
+        if (!CollectionUtil.isEmpty(linkProps)) {
+            return linkProps;
+        }
+        return null;
+    }
+
+    private List<LinkProps> loadIslLinkProps(LinkProps keys) {
         UriComponentsBuilder builder = UriComponentsBuilder
                 .fromHttpUrl(applicationProperties.getNbBaseUrl() + IConstants.NorthBoundUrl.GET_LINK_PROPS);
         builder = setLinkProps(keys, builder);
@@ -210,9 +326,7 @@ public class SwitchIntegrationService {
         try {
             if (RestClientManager.isValidResponse(response)) {
                 List<LinkProps> linkPropsResponses = restClientManager.getResponseList(response, LinkProps.class);
-                if (!CollectionUtil.isEmpty(linkPropsResponses)) {
-                    return linkPropsResponses;
-                }
+                return linkPropsResponses != null ? linkPropsResponses : new ArrayList<>();
             }
         } catch (InvalidResponseException exception) {
             LOGGER.error("Exception in getIslLinkProps " + exception.getMessage(), exception);
@@ -225,10 +339,14 @@ public class SwitchIntegrationService {
     /**
      * Get custom switch name from file.
      * 
-     * @return
+     * @return the custom switch names
      */
-    @SuppressWarnings("unchecked")
     public Map<String, String> getCustomSwitchNameFromFile() {
+        return customSwitchNamesCache.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> loadCustomSwitchNames() {
         Map<String, String> csNames = new HashMap<String, String>();
 
         InputStream inputStream = null;
@@ -246,8 +364,10 @@ public class SwitchIntegrationService {
             LOGGER.error(
                     "Inside getCustomSwitchNameFromFile unable to find switch file path Exception :",
                     ex);
+        } finally {
+            IoUtil.close(inputStream);
         }
-        return csNames;
+        return csNames != null ? Collections.unmodifiableMap(csNames) : Collections.emptyMap();
 
     }
 
@@ -266,6 +386,9 @@ public class SwitchIntegrationService {
         } catch (Exception e) {
             LOGGER.error("Inside updateIslLinkProps  Exception :", e);
             throw new IntegrationException(e);
+        } finally {
+            linkPropsCache.invalidate();
+            islLinksCache.invalidate();
         }
     }
 
@@ -46,5 +46,31 @@ public class ApplicationProperties {
 
     @Value("${switch.data.file.path}")
     private String switchDataFilePath;
-    
+
+    @Value("${switch.data.cache.ttl:60000}")
+    private long switchDataCacheTtl;
+
+    @Value("${nb.cache.ttl:5000}")
+    private long nbCacheTtl;
+
+    @Value("${rest.client.max.connections:200}")
+    private int restClientMaxConnections;
+
+    @Value("${rest.client.max.connections.per.route:50}")
+    private int restClientMaxConnectionsPerRoute;
+
+    @Value("${rest.client.connect.timeout:5000}")
+    private int restClientConnectTimeout;
+
+    @Value("${rest.client.connection.request.timeout:10000}")
+    private int restClientConnectionRequestTimeout;
+
+    @Value("${rest.client.socket.timeout:120000}")
+    private int restClientSocketTimeout;
+
+    @Value("${rest.client.keep.alive:30000}")
+    private long restClientKeepAlive;
+
+    @Value("${rest.client.async.threads:16}")
+    private int restClientAsyncThreads;
 }
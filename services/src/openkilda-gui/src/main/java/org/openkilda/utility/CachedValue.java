@@ -0,0 +1,83 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.utility;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * The value which is loaded on demand and kept until it expires or is invalidated. Concurrent readers of an expired
+ * value wait for a single reload instead of each of them going to the source.
+ *
+ * @param <T> the value type
+ */
+public class CachedValue<T> {
+
+    private final Supplier<T> loader;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    private T value;
+
+    private Instant expiresAt;
+
+    /**
+     * Instantiates a new cached value.
+     *
+     * @param loader the loader, null values it returns are not cached
+     * @param ttl the time to live of the loaded value
+     */
+    public CachedValue(final Supplier<T> loader, final Duration ttl) {
+        this(loader, ttl, Clock.systemUTC());
+    }
+
+    CachedValue(final Supplier<T> loader, final Duration ttl, final Clock clock) {
+        this.loader = loader;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the value, loads it if it is not loaded yet or is expired.
+     *
+     * @return the value
+     */
+    public synchronized T get() {
+        Instant now = clock.instant();
+        if (expiresAt == null || !now.isBefore(expiresAt)) {
+            T loaded = loader.get();
+            if (loaded == null) {
+                return null;
+            }
+            value = loaded;
+            expiresAt = now.plus(ttl);
+        }
+        return value;
+    }
+
+    /**
+     * Drops the value, so the next read loads it again.
+     */
+    public synchronized void invalidate() {
+        value = null;
+        expiresAt = null;
+    }
+}
@@ -0,0 +1,101 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.utility;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Watches a single file and notifies about its creation, modification and removal. The parent directory is watched,
+ * so replacing of the file (as editors and config management tools do) is noticed as well.
+ */
+public class FileWatcher implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileWatcher.class);
+
+    private final Path file;
+
+    private final Runnable listener;
+
+    private final WatchService watchService;
+
+    private volatile boolean closed;
+
+    /**
+     * Starts watching of the file.
+     *
+     * @param file the file
+     * @param listener the listener called on each change of the file
+     * @throws IOException if the parent directory can't be watched
+     */
+    public FileWatcher(final Path file, final Runnable listener) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.listener = listener;
+
+        Path directory = this.file.getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+        Thread thread = new Thread(this::watch, "file-watcher-" + this.file.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    LOGGER.info("[watch] File " + file + " has been changed");
+                    listener.run();
+                }
+                if (!key.reset()) {
+                    if (closed) {
+                        return;
+                    }
+                    LOGGER.warn("[watch] Directory of " + file + " is no longer accessible, stop watching");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watching is stopped.
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+    }
+}
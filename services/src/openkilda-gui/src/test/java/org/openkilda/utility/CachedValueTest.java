@@ -0,0 +1,95 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.utility;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachedValueTest {
+
+    private static final Duration TTL = Duration.ofSeconds(5);
+    private static final Instant START = Instant.parse("2018-10-01T00:00:00Z");
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    public void shouldLoadOnceWithinTtl() {
+        CachedValue<Integer> cachedValue = new CachedValue<>(loads::incrementAndGet, TTL, clock);
+
+        assertEquals(Integer.valueOf(1), cachedValue.get());
+        clock.instant = START.plus(TTL).minusMillis(1);
+        assertEquals(Integer.valueOf(1), cachedValue.get());
+    }
+
+    @Test
+    public void shouldReloadExpiredValue() {
+        CachedValue<Integer> cachedValue = new CachedValue<>(loads::incrementAndGet, TTL, clock);
+        cachedValue.get();
+
+        clock.instant = START.plus(TTL);
+        assertEquals(Integer.valueOf(2), cachedValue.get());
+    }
+
+    @Test
+    public void shouldReloadInvalidatedValue() {
+        CachedValue<Integer> cachedValue = new CachedValue<>(loads::incrementAndGet, TTL, clock);
+        cachedValue.get();
+
+        cachedValue.invalidate();
+        assertEquals(Integer.valueOf(2), cachedValue.get());
+    }
+
+    @Test
+    public void shouldNotCacheNull() {
+        CachedValue<Integer> cachedValue = new CachedValue<>(() -> loads.incrementAndGet() == 1 ? null : 42,
+                TTL, clock);
+
+        assertNull(cachedValue.get());
+        assertEquals(Integer.valueOf(42), cachedValue.get());
+        assertEquals(2, loads.get());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = START;
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
@@ -73,7 +74,16 @@ public class CommandBolt extends BaseRichBolt {
             CommandData data = command.getData();
             Commands switchCommand;
             SwitchId sw;
-            if (data instanceof DiscoverIslCommandData) {
+            if (data instanceof DiscoverIslBatchCommandData) {
+                // the switch simulator handles ports one by one
+                DiscoverIslBatchCommandData batch = (DiscoverIslBatchCommandData) data;
+                for (Integer port : batch.getPortNumbers()) {
+                    collector.emit(SimulatorTopology.COMMAND_BOLT_STREAM, tuple,
+                            new Values(batch.getSwitchId(), Commands.DO_DISCOVER_ISL_COMMAND.name(),
+                                    new DiscoverIslCommandData(batch.getSwitchId(), port)));
+                }
+                return;
+            } else if (data instanceof DiscoverIslCommandData) {
                 switchCommand = Commands.DO_DISCOVER_ISL_COMMAND;
                 sw = ((DiscoverIslCommandData) data).getSwitchId();
             } else if (data instanceof DiscoverPathCommandData) {
@@ -109,60 +109,58 @@ public class DiscoveryManager {
         Plan result = new Plan();
         int unsentDiscoPackets = 0;
 
-        List<DiscoveryLink> links = linksBySwitch.values()
-                .stream()
-                .flatMap(Set::stream)
-                .collect(Collectors.toList());
-
-        for (DiscoveryLink link : links) {
-            if (!link.isNewAttemptAllowed()) {
-                logger.trace("Disco packet from {} is not sent due to exceeded limit of consecutive failures: {}",
-                        link.getSource(), link.getConsecutiveFailure());
-                continue;
-            }
+        // NB: iterate over the storage directly, this is called on every tick for every link
+        for (Set<DiscoveryLink> links : linksBySwitch.values()) {
+            for (DiscoveryLink link : links) {
+                if (!link.isNewAttemptAllowed()) {
+                    logger.trace("Disco packet from {} is not sent due to exceeded limit of consecutive failures: {}",
+                            link.getSource(), link.getConsecutiveFailure());
+                    continue;
+                }
 
-            /*
-             * If we get a response from FL, we clear the attempts. Otherwise, no response, and
-             * number of attempts grows.
-             *
-             * Further, consecutivefailures = attempts - failure limit (we wait until attempt limit before increasing)
-             */
-            NetworkEndpoint node = link.getSource();
-            if (link.isAckAttemptsLimitExceeded(islConsecutiveFailureLimit)) {
-                // We've attempted to get the health multiple times, with no response.
-                // Time to mark it as a failure and send a failure notice ** if ** it was an ISL.
-                if (!link.getState().isInactive() && link.getConsecutiveFailure() == 0) {
-                    // It is a discovery failure if it was previously a success.
-                    result.discoveryFailure.add(node);
-                    logger.info("ISL IS DOWN (NO RESPONSE): {}", link);
+                /*
+                 * If we get a response from FL, we clear the attempts. Otherwise, no response, and
+                 * number of attempts grows.
+                 *
+                 * Further, consecutivefailures = attempts - failure limit (we wait until attempt limit
+                 * before increasing)
+                 */
+                NetworkEndpoint node = link.getSource();
+                if (link.isAckAttemptsLimitExceeded(islConsecutiveFailureLimit)) {
+                    // We've attempted to get the health multiple times, with no response.
+                    // Time to mark it as a failure and send a failure notice ** if ** it was an ISL.
+                    if (!link.getState().isInactive() && link.getConsecutiveFailure() == 0) {
+                        // It is a discovery failure if it was previously a success.
+                        result.discoveryFailure.add(node);
+                        logger.info("ISL IS DOWN (NO RESPONSE): {}", link);
+                    }
+                    // Increment Failure = 1 after isAttemptsLimitExceeded failure, then increases every attempt.
+                    logger.trace("No response to the disco packet from {}", link.getSource());
+                    link.fail();
+                    // NB: this node can be in both discoveryFailure and needDiscovery
                 }
-                // Increment Failure = 1 after isAttemptsLimitExceeded failure, then increases every attempt.
-                logger.trace("No response to the disco packet from {}", link.getSource());
-                link.fail();
-                // NB: this node can be in both discoveryFailure and needDiscovery
-            }
 
-            if (link.isAttemptsLimitExceeded(islConsecutiveFailureLimit) && link.getState().isActive()) {
-                logger.info("Speaker doesn't send disco packet for {}", link);
-                unsentDiscoPackets++;
-            }
+                if (link.isAttemptsLimitExceeded(islConsecutiveFailureLimit) && link.getState().isActive()) {
+                    logger.info("Speaker doesn't send disco packet for {}", link);
+                    unsentDiscoPackets++;
+                }
 
-            link.tick();
-            /*
-             * If you get here, the following are true:
-             *  - it isn't in some filter
-             *  - it hasn't reached failure limit (forlorn)
-             *  - it is either time to send discovery or not
-             *  - NB: we'll keep trying to send discovery, even if we don't get a response.
-             */
-            if (link.timeToCheck()) {
-                link.incAttempts();
-                link.resetTickCounter();
-                result.needDiscovery.add(node);
-
-                logger.trace("Added to discovery plan: {}", link);
+                link.tick();
+                /*
+                 * If you get here, the following are true:
+                 *  - it isn't in some filter
+                 *  - it hasn't reached failure limit (forlorn)
+                 *  - it is either time to send discovery or not
+                 *  - NB: we'll keep trying to send discovery, even if we don't get a response.
+                 */
+                if (link.timeToCheck()) {
+                    link.incAttempts();
+                    link.resetTickCounter();
+                    result.needDiscovery.add(node);
+
+                    logger.trace("Added to discovery plan: {}", link);
+                }
             }
-
         }
 
         if (unsentDiscoPackets > 0) {
@@ -0,0 +1,60 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.kafka;
+
+import static java.lang.String.format;
+
+import org.openkilda.messaging.codec.DatapointBatchCodec;
+import org.openkilda.messaging.info.Datapoint;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a batch of datapoints as a single record, see {@link DatapointBatchCodec}.
+ */
+@Slf4j
+public class DatapointBatchSerializer implements Serializer<List<Datapoint>> {
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        // No-op
+    }
+
+    @Override
+    public byte[] serialize(String topic, List<Datapoint> data) {
+        try {
+            byte[] result = null;
+            if (data != null) {
+                result = DatapointBatchCodec.encode(data);
+            }
+            return result;
+        } catch (IOException e) {
+            log.error(format("Failed to serialize %d datapoints for topic: %s", data.size(), topic), e);
+            throw new SerializationException(e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        // No-op
+    }
+}
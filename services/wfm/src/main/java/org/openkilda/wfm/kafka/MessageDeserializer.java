@@ -18,7 +18,7 @@ package org.openkilda.wfm.kafka;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodec;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -40,7 +40,7 @@ public class MessageDeserializer implements SerializableDeserializer<Message> {
     @Override
     public Message deserialize(String topic, byte[] data) {
         try {
-            return Utils.MAPPER.readValue(data, Message.class);
+            return MessageCodec.decode(data, Message.class);
         } catch (IOException e) {
             log.error(format("Failed to deserialize message: %s from topic %s",
                     StringUtils.toEncodedString(data, Charset.defaultCharset()), topic), e);
@@ -16,9 +16,10 @@
 package org.openkilda.wfm.kafka;
 
 import static java.lang.String.format;
-import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.TopicFormatSelector;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.SerializationException;
@@ -29,10 +30,17 @@ import java.util.Map;
 
 @Slf4j
 public class MessageSerializer implements Serializer<Message> {
+    /**
+     * Producer property with comma separated list of topics to be written in the binary format.
+     */
+    public static final String BINARY_TOPICS_CONFIG = "kilda.binary.topics";
+
+    private TopicFormatSelector formatSelector = new TopicFormatSelector(null);
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // No-op
+        Object binaryTopics = configs.get(BINARY_TOPICS_CONFIG);
+        formatSelector = new TopicFormatSelector(binaryTopics != null ? binaryTopics.toString() : null);
     }
 
     @Override
@@ -40,7 +48,7 @@ public class MessageSerializer implements Serializer<Message> {
         try {
             byte[] result = null;
             if (data != null) {
-                result = MAPPER.writeValueAsBytes(data);
+                result = MessageCodec.encode(data, formatSelector.getFormat(topic));
             }
             return result;
         } catch (IOException e) {
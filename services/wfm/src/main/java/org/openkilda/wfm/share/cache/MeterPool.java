@@ -15,27 +15,39 @@
 
 package org.openkilda.wfm.share.cache;
 
-import static com.google.common.collect.Sets.union;
-
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableSet;
 
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.Set;
 
 /**
  * Class represents meter resource allocator/deallocator.
+ * <p/>
+ * Meter ids are handed out in ascending order first, after that deallocated meter ids are reused in the order they
+ * were deallocated. Allocated meter ids within the range are kept in a bitset, so a pool doesn't hold a boxed value
+ * per meter id.
  */
 public class MeterPool {
     /**
-     * Meter values pool.
+     * Allocated meter ids, the bit index is the offset of the id from the min value.
+     */
+    private final BitSet allocated;
+    /**
+     * Deallocated meter ids below {@link #nextFreshId} in the order they were deallocated.
+     */
+    private final Deque<Integer> released = new ArrayDeque<>();
+    private final Set<Integer> outOfRangeMeterIds = new HashSet<>();
+    private final int minValue;
+    private final int maxValue;
+    /**
+     * Meter ids starting from this one have never been handed out by {@link #allocate()}.
      */
-    private Queue<Integer> meterIds = new LinkedList<>();
-    private Set<Integer> outOfRangeMeterIds = new HashSet<>();
-    private int minValue;
-    private int maxValue;
+    private int nextFreshId;
 
     /**
      * Instance constructor.
@@ -46,10 +58,8 @@ public class MeterPool {
     public MeterPool(int minValue, int maxValue) {
         this.minValue = minValue;
         this.maxValue = maxValue;
-
-        for (int value = minValue; value <= maxValue; value++) {
-            meterIds.add(value);
-        }
+        this.nextFreshId = minValue;
+        this.allocated = new BitSet(maxValue - minValue + 1);
     }
 
     /**
@@ -58,8 +68,18 @@ public class MeterPool {
      * @return allocated meter id.
      */
     public Integer allocate() {
-        if (!meterIds.isEmpty()) {
-            return meterIds.poll();
+        int index = allocated.nextClearBit(nextFreshId - minValue);
+        if (minValue + index <= maxValue) {
+            allocated.set(index);
+            nextFreshId = minValue + index + 1;
+            return minValue + index;
+        }
+
+        nextFreshId = maxValue + 1;
+        Integer meterId = released.poll();
+        if (meterId != null) {
+            allocated.set(meterId - minValue);
+            return meterId;
         }
         throw new MeterPoolIsFullException("Could not allocate resource: pool is full");
     }
@@ -75,14 +95,27 @@ public class MeterPool {
             return outOfRangeMeterIds.add(meterId) ? meterId : null;
         }
 
-        if (!meterIds.contains(meterId)) {
+        int index = meterId - minValue;
+        if (allocated.get(index)) {
             return null;
         }
 
-        meterIds.remove(meterId);
+        allocated.set(index);
+        if (meterId < nextFreshId) {
+            released.remove(meterId);
+        }
         return meterId;
     }
 
+    /**
+     * Allocates all the specified meter ids, which are already in use.
+     *
+     * @param meterIds meter ids.
+     */
+    public void registerAll(Collection<Integer> meterIds) {
+        meterIds.forEach(this::allocate);
+    }
+
     /**
      * Deallocates previously allocated meter id.
      *
@@ -94,28 +127,39 @@ public class MeterPool {
             return outOfRangeMeterIds.remove(meterId) ? meterId : null;
         }
 
-        if (meterIds.contains(meterId)) {
+        int index = meterId - minValue;
+        if (!allocated.get(index)) {
             return null;
         }
 
-        meterIds.add(meterId);
+        allocated.clear(index);
+        if (meterId < nextFreshId) {
+            released.add(meterId);
+        }
         return meterId;
     }
 
+    /**
+     * Deallocates all meter ids.
+     */
+    public void clear() {
+        allocated.clear();
+        released.clear();
+        outOfRangeMeterIds.clear();
+        nextFreshId = minValue;
+    }
+
     /**
      * Returns copy of meter pool.
      *
      * @return {@link ImmutableSet} of allocated meter id.
      */
     public Set<Integer> dumpPool() {
-        Set<Integer> meterIdsSet = new HashSet<>(meterIds);
-        Set<Integer> dumpPool = new HashSet<>();
-        for (int value = minValue; value <= maxValue; value++) {
-            if (!meterIdsSet.contains(value)) {
-                dumpPool.add(value);
-            }
+        ImmutableSet.Builder<Integer> dump = ImmutableSet.builder();
+        for (int index = allocated.nextSetBit(0); index >= 0; index = allocated.nextSetBit(index + 1)) {
+            dump.add(minValue + index);
         }
-        return ImmutableSet.copyOf(union(dumpPool, outOfRangeMeterIds));
+        return dump.addAll(outOfRangeMeterIds).build();
     }
 
     /**
@@ -29,6 +29,10 @@ import java.util.stream.Collectors;
 
 /**
  * ResourceManager class contains basic operations on resources.
+ * <p/>
+ * The cache may own only a partition of each resource range. In this case it allocates ids from its own partition
+ * only and ignores registration of ids which belong to other partitions, so several caches (one per executor) never
+ * hand out the same id.
  */
 public class ResourceCache {
     /**
@@ -80,19 +84,42 @@ public class ResourceCache {
     /**
      * Cookie pool.
      */
-    private final ResourcePool cookiePool = new ResourcePool(MIN_COOKIE, MAX_COOKIE);
+    private final ResourcePool cookiePool;
 
     /**
      * Transit vlan id pool.
      */
-    private final ResourcePool vlanPool = new ResourcePool(MIN_VLAN_ID, MAX_VLAN_ID);
+    private final ResourcePool vlanPool;
+
+    private final ResourceRange cookieRange;
+    private final ResourceRange vlanRange;
+    private final ResourceRange meterRange;
+
+    public ResourceCache() {
+        this(0, 1);
+    }
+
+    /**
+     * Creates the cache which owns the specified partition of resource ranges.
+     *
+     * @param partition      index of the partition.
+     * @param partitionCount number of partitions the resource ranges are split into.
+     */
+    public ResourceCache(int partition, int partitionCount) {
+        cookieRange = ResourceRange.partition(MIN_COOKIE, MAX_COOKIE, partition, partitionCount);
+        vlanRange = ResourceRange.partition(MIN_VLAN_ID, MAX_VLAN_ID, partition, partitionCount);
+        meterRange = ResourceRange.partition(MIN_METER_ID, MAX_METER_ID, partition, partitionCount);
+
+        cookiePool = new ResourcePool(cookieRange.getMin(), cookieRange.getMax());
+        vlanPool = new ResourcePool(vlanRange.getMin(), vlanRange.getMax());
+    }
 
     /**
      * Clears allocated resources.
      */
     public void clear() {
-        cookiePool.dumpPool().forEach(cookiePool::deallocate);
-        vlanPool.dumpPool().forEach(vlanPool::deallocate);
+        cookiePool.clear();
+        vlanPool.clear();
         meterPool.clear();
     }
 
@@ -115,7 +142,9 @@ public class ResourceCache {
         if (cookie == 0) {
             return cookiePool.allocate();
         } else {
-            cookiePool.allocate(cookie);
+            if (isOwned(cookie, MIN_COOKIE, MAX_COOKIE, cookieRange)) {
+                cookiePool.allocate(cookie);
+            }
             return cookie;
         }
     }
@@ -149,7 +178,9 @@ public class ResourceCache {
         if (vlanId == 0) {
             return vlanPool.allocate();
         } else {
-            vlanPool.allocate(vlanId);
+            if (isOwned(vlanId, MIN_VLAN_ID, MAX_VLAN_ID, vlanRange)) {
+                vlanPool.allocate(vlanId);
+            }
             return vlanId;
         }
     }
@@ -171,7 +202,7 @@ public class ResourceCache {
      * @return allocated meter id value
      */
     public synchronized Integer allocateMeterId(SwitchId switchId) {
-        return meterPool.computeIfAbsent(switchId, k -> new MeterPool(MIN_METER_ID, MAX_METER_ID)).allocate();
+        return getOrCreateMeterPool(switchId).allocate();
     }
 
     /**
@@ -183,8 +214,9 @@ public class ResourceCache {
      */
     public synchronized Integer allocateMeterId(SwitchId switchId, Integer meterId) {
         if (meterId != null && meterId != 0) {
-            meterPool.computeIfAbsent(switchId, k -> new MeterPool(MIN_METER_ID, MAX_METER_ID))
-                    .allocate(meterId);
+            if (isOwned(meterId, MIN_METER_ID, MAX_METER_ID, meterRange)) {
+                getOrCreateMeterPool(switchId).allocate(meterId);
+            }
             return meterId;
         }
         return null;
@@ -254,6 +286,17 @@ public class ResourceCache {
                 );
     }
 
+    private MeterPool getOrCreateMeterPool(SwitchId switchId) {
+        return meterPool.computeIfAbsent(switchId, k -> new MeterPool(meterRange.getMin(), meterRange.getMax()));
+    }
+
+    /**
+     * Ids out of the whole resource range are not partitioned, so they are tracked by any cache.
+     */
+    private boolean isOwned(int id, int min, int max, ResourceRange partition) {
+        return id < min || id > max || partition.contains(id);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,4 +1,4 @@
-/* Copyright 2017 Telstra Open Source
+/* Copyright 2018 Telstra Open Source
  *
  *   Licensed under the Apache License, Version 2.0 (the "License");
  *   you may not use this file except in compliance with the License.
@@ -18,17 +18,26 @@ package org.openkilda.wfm.share.cache;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableSet;
 
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Class represents resource allocator/deallocator.
+ * <p/>
+ * Allocated resource ids within the range are kept in a bitset, so allocation is a next-clear-bit search which starts
+ * from the position of the last allocated id and wraps around the range.
  */
 public class ResourcePool {
     /**
-     * Resource values pool.
+     * Allocated resource ids, the bit index is the offset of the id from the lower bound.
      */
-    private Set<Integer> resources = new HashSet<>();
+    private final BitSet resources;
+    /**
+     * Allocated resource ids which are out of the pool range.
+     */
+    private final Set<Integer> outOfRangeResources = new HashSet<>();
     private int nextId;
     private int lower;
     private int upper;
@@ -43,6 +52,7 @@ public class ResourcePool {
         this.nextId = minValue;
         this.lower = minValue;
         this.upper = maxValue;
+        this.resources = new BitSet(maxValue - minValue + 1);
     }
 
     /**
@@ -51,25 +61,22 @@ public class ResourcePool {
      * @return allocated resource id.
      */
     public Integer allocate() {
-        int range = upper - lower;
-        if (resources.size() <= range) {
-            // We are just going to loop through everything until we find a free one. Generally
-            // speaking this could be inefficient .. but we use "nextId" as a start, and that should
-            // have the greatest chance of being available.
-            for (int i = 0; i < range; i++) {
-                if (nextId > upper) {
-                    nextId = lower;
-                }
-                int next;
-
-                next = nextId++;
-
-                if (resources.add(next)) {
-                    return next;
-                }
-            }
+        int size = upper - lower + 1;
+        int start = nextId > upper ? 0 : nextId - lower;
+
+        // Search from "nextId" first, as it has the greatest chance of being available, then wrap around.
+        int index = resources.nextClearBit(start);
+        if (index >= size) {
+            index = resources.nextClearBit(0);
         }
-        throw new ResourcePoolIsFullException("Could not allocate resource: pool is full");
+        if (index >= size) {
+            throw new ResourcePoolIsFullException("Could not allocate resource: pool is full");
+        }
+
+        resources.set(index);
+        int id = lower + index;
+        nextId = id + 1;
+        return id;
     }
 
     /**
@@ -85,7 +92,26 @@ public class ResourcePool {
         if (id > nextId) {
             nextId = id + 1;
         }
-        return resources.add(id) ? id : null;
+
+        if (isOutOfRange(id)) {
+            return outOfRangeResources.add(id) ? id : null;
+        }
+
+        int index = id - lower;
+        if (resources.get(index)) {
+            return null;
+        }
+        resources.set(index);
+        return id;
+    }
+
+    /**
+     * Allocates all the specified resource ids, which are already in use.
+     *
+     * @param ids resource ids.
+     */
+    public void registerAll(Collection<Integer> ids) {
+        ids.forEach(this::allocate);
     }
 
     /**
@@ -95,7 +121,25 @@ public class ResourcePool {
      * @return deallocated resource id.
      */
     public Integer deallocate(int resourceId) {
-        return resources.remove(resourceId) ? resourceId : null;
+        if (isOutOfRange(resourceId)) {
+            return outOfRangeResources.remove(resourceId) ? resourceId : null;
+        }
+
+        int index = resourceId - lower;
+        if (!resources.get(index)) {
+            return null;
+        }
+        resources.clear(index);
+        return resourceId;
+    }
+
+    /**
+     * Deallocates all resource ids.
+     */
+    public void clear() {
+        resources.clear();
+        outOfRangeResources.clear();
+        nextId = lower;
     }
 
     /**
@@ -104,7 +148,15 @@ public class ResourcePool {
      * @return {@link ImmutableSet} of allocated resources id.
      */
     public Set<Integer> dumpPool() {
-        return ImmutableSet.copyOf(resources);
+        ImmutableSet.Builder<Integer> dump = ImmutableSet.builder();
+        for (int index = resources.nextSetBit(0); index >= 0; index = resources.nextSetBit(index + 1)) {
+            dump.add(lower + index);
+        }
+        return dump.addAll(outOfRangeResources).build();
+    }
+
+    private boolean isOutOfRange(int id) {
+        return id < lower || id > upper;
     }
 
     /**
@@ -113,7 +165,7 @@ public class ResourcePool {
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-                .add("resources", resources)
+                .add("resources", dumpPool())
                 .add("nextId", nextId)
                 .add("lower", lower)
                 .add("upper", upper)
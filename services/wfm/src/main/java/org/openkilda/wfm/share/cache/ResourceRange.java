@@ -0,0 +1,58 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.cache;
+
+import lombok.Value;
+
+/**
+ * Inclusive range of resource ids.
+ */
+@Value
+class ResourceRange {
+    private final int min;
+    private final int max;
+
+    /**
+     * Splits the range into the specified number of disjoint partitions of (almost) equal size and returns one of them.
+     *
+     * @param min            minimum resource id value.
+     * @param max            maximum resource id value.
+     * @param partition      index of the partition to return.
+     * @param partitionCount number of partitions.
+     */
+    static ResourceRange partition(int min, int max, int partition, int partitionCount) {
+        if (partitionCount < 1 || partition < 0 || partition >= partitionCount) {
+            throw new IllegalArgumentException(String.format("Invalid partition %d of %d", partition, partitionCount));
+        }
+
+        int size = max - min + 1;
+        int partitionSize = size / partitionCount;
+        int remainder = size % partitionCount;
+        if (partitionSize == 0) {
+            throw new IllegalArgumentException(String.format("Range [%d, %d] is too small for %d partitions",
+                    min, max, partitionCount));
+        }
+
+        // The first "remainder" partitions get one extra id.
+        int lower = min + partition * partitionSize + Math.min(partition, remainder);
+        int upper = lower + partitionSize - 1 + (partition < remainder ? 1 : 0);
+        return new ResourceRange(lower, upper);
+    }
+
+    boolean contains(int id) {
+        return id >= min && id <= max;
+    }
+}
@@ -20,6 +20,7 @@ import static java.lang.String.format;
 import org.openkilda.config.KafkaConfig;
 import org.openkilda.config.naming.KafkaNamingStrategy;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.CtrlBoltRef;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.config.naming.TopologyNamingStrategy;
@@ -29,6 +30,7 @@ import org.openkilda.wfm.error.ConfigurationException;
 import org.openkilda.wfm.error.NameCollisionException;
 import org.openkilda.wfm.error.StreamNameCollisionException;
 import org.openkilda.wfm.kafka.CustomNamedSubscription;
+import org.openkilda.wfm.kafka.DatapointBatchSerializer;
 import org.openkilda.wfm.kafka.MessageDeserializer;
 import org.openkilda.wfm.kafka.MessageSerializer;
 import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
@@ -36,6 +38,7 @@ import org.openkilda.wfm.topology.utils.MessageTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.storm.Config;
@@ -249,6 +252,9 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
     protected KafkaBolt<String, Message> buildKafkaBolt(final String topic) {
         Properties properties = getKafkaProducerProperties();
         properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MessageSerializer.class.getName());
+        if (kafkaConfig.getBinaryTopics() != null) {
+            properties.setProperty(MessageSerializer.BINARY_TOPICS_CONFIG, kafkaConfig.getBinaryTopics());
+        }
 
         return new KafkaBolt<String, Message>()
                 .withProducerProperties(properties)
@@ -256,6 +262,23 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
     }
 
+    /**
+     * Creates Kafka bolt, that writes each received batch of datapoints as a single record with
+     * {@link DatapointBatchSerializer}.
+     *
+     * @param topic Kafka topic
+     * @return {@link KafkaBolt}
+     */
+    protected KafkaBolt<String, List<Datapoint>> buildDatapointKafkaBolt(final String topic) {
+        Properties properties = getKafkaProducerProperties();
+        properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, DatapointBatchSerializer.class.getName());
+
+        return new KafkaBolt<String, List<Datapoint>>()
+                .withProducerProperties(properties)
+                .withTopicSelector(new DefaultTopicSelector(topic))
+                .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
+    }
+
     protected void createCtrlBranch(TopologyBuilder builder, List<CtrlBoltRef> targets)
             throws StreamNameCollisionException {
         String ctrlTopic = topologyConfig.getKafkaCtrlTopic();
@@ -313,6 +336,21 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         return config;
     }
 
+    /**
+     * Creates kafka spout config, that passes raw record values to the topology.
+     */
+    protected KafkaSpoutConfig.Builder<String, byte[]> getBinaryKafkaSpoutConfigBuilder(String topic,
+                                                                                        String spoutId) {
+        KafkaSpoutConfig.Builder<String, byte[]> config = new KafkaSpoutConfig.Builder<>(kafkaConfig.getHosts(),
+                StringDeserializer.class, ByteArrayDeserializer.class, new CustomNamedSubscription(topic));
+
+        config.setGroupId(makeKafkaGroupName(spoutId))
+                .setRecordTranslator(new KafkaRecordTranslator<>())
+                .setFirstPollOffsetStrategy(KafkaSpoutConfig.FirstPollOffsetStrategy.LATEST);
+
+        return config;
+    }
+
     private String makeKafkaGroupName(String spoutId) {
         return kafkaNamingStrategy.kafkaConsumerGroupName(format("%s__%s", topologyName, spoutId));
     }
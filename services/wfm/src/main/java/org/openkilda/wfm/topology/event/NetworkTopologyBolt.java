@@ -30,10 +30,13 @@ import org.openkilda.wfm.share.mappers.IslMapper;
 import org.openkilda.wfm.share.mappers.PortMapper;
 import org.openkilda.wfm.share.mappers.SwitchMapper;
 import org.openkilda.wfm.topology.event.service.IslService;
+import org.openkilda.wfm.topology.event.service.IslStateCache;
 import org.openkilda.wfm.topology.event.service.PortService;
 import org.openkilda.wfm.topology.event.service.Sender;
 import org.openkilda.wfm.topology.event.service.SwitchService;
 
+import org.apache.storm.Config;
+import org.apache.storm.Constants;
 import org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMapper;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -41,11 +44,16 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 
 public class NetworkTopologyBolt extends AbstractBolt {
 
     public static final String REROUTE_STREAM = "reroute-stream";
+    public static final String NETWORK_TOPOLOGY_CHANGE_STREAM = "network-topology-change-stream";
+
+    private static final int ISL_FLUSH_INTERVAL = 1;
 
     private transient SwitchService switchService;
     private transient IslService islService;
@@ -54,10 +62,16 @@ public class NetworkTopologyBolt extends AbstractBolt {
     private PersistenceManager persistenceManager;
 
     private int islCostWhenPortDown;
+    private int islWriteCoalescingWindow;
+    private int islStateCacheTtl;
+    private int islWriteBatchSize;
 
-    public NetworkTopologyBolt(PersistenceManager persistenceManager, int islCostWhenPortDown) {
+    public NetworkTopologyBolt(PersistenceManager persistenceManager, OFEventWfmTopologyConfig config) {
         this.persistenceManager = persistenceManager;
-        this.islCostWhenPortDown = islCostWhenPortDown;
+        this.islCostWhenPortDown = config.getIslCostWhenPortDown();
+        this.islWriteCoalescingWindow = config.getIslWriteCoalescingWindowSeconds();
+        this.islStateCacheTtl = config.getIslStateCacheTtlSeconds();
+        this.islWriteBatchSize = config.getIslWriteBatchSize();
     }
 
     /**
@@ -68,7 +82,9 @@ public class NetworkTopologyBolt extends AbstractBolt {
         TransactionManager transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         this.switchService = new SwitchService(transactionManager, repositoryFactory);
-        this.islService = new IslService(transactionManager, repositoryFactory);
+        IslStateCache islStateCache = new IslStateCache(Duration.ofSeconds(islWriteCoalescingWindow),
+                Duration.ofSeconds(islStateCacheTtl));
+        this.islService = new IslService(transactionManager, repositoryFactory, islStateCache, islWriteBatchSize);
         this.portService = new PortService(transactionManager, repositoryFactory, islCostWhenPortDown);
         super.prepare(stormConf, context, collector);
     }
@@ -78,6 +94,11 @@ public class NetworkTopologyBolt extends AbstractBolt {
      */
     @Override
     protected void handleInput(Tuple tuple) {
+        if (isTickTuple(tuple)) {
+            islService.flushPendingIslUpdates();
+            return;
+        }
+
         InfoMessage message = (InfoMessage) tuple.getValueByField(PAYLOAD);
 
         InfoData data = message.getData();
@@ -142,6 +163,7 @@ public class NetworkTopologyBolt extends AbstractBolt {
             case DOWN:
             case DELETE:
                 portService.processWhenPortIsDown(PortMapper.INSTANCE.map(data), sender);
+                islService.handlePortDown(data.getSwitchId(), data.getPortNo());
                 break;
 
             default:
@@ -155,5 +177,18 @@ public class NetworkTopologyBolt extends AbstractBolt {
         Fields fields = new Fields(FieldNameBasedTupleToKafkaMapper.BOLT_KEY,
                 FieldNameBasedTupleToKafkaMapper.BOLT_MESSAGE);
         declarer.declareStream(REROUTE_STREAM, fields);
+        declarer.declareStream(NETWORK_TOPOLOGY_CHANGE_STREAM, fields);
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, ISL_FLUSH_INTERVAL);
+        return conf;
+    }
+
+    private boolean isTickTuple(Tuple tuple) {
+        return Constants.SYSTEM_COMPONENT_ID.equals(tuple.getSourceComponent())
+                && Constants.SYSTEM_TICK_STREAM_ID.equals(tuple.getSourceStreamId());
     }
 }
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.event;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.IgnoreKey;
 import com.sabre.oss.conf4j.annotation.Key;
 
@@ -43,9 +44,25 @@ public interface OFEventWfmTopologyConfig extends AbstractTopologyConfig {
         return getKafkaTopics().getTopoRerouteTopic();
     }
 
+    default String getKafkaFlowTopic() {
+        return getKafkaTopics().getFlowTopic();
+    }
+
     @Key("isl.cost.when.port.down")
     int getIslCostWhenPortDown();
 
+    @Key("isl.write.coalescing.window.seconds")
+    @Default("10")
+    int getIslWriteCoalescingWindowSeconds();
+
+    @Key("isl.state.cache.ttl.seconds")
+    @Default("600")
+    int getIslStateCacheTtlSeconds();
+
+    @Key("isl.write.batch.size")
+    @Default("100")
+    int getIslWriteBatchSize();
+
     @Key("port.up.down.throttling.delay.seconds.min")
     int getPortUpDownThrottlingDelaySecondsMin();
 
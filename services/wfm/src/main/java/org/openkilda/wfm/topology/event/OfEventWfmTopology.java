@@ -58,7 +58,9 @@ public class OfEventWfmTopology extends AbstractTopology<OFEventWfmTopologyConfi
     private static final String SPEAKER_DISCO_BOLT_ID = "speaker.disco-bolt";
     private static final String NETWORK_TOPOLOGY_BOLT_ID = "topology-bolt";
     private static final String PORT_EVENT_THROTTLING_BOLT_ID = "port-event-throttling-bolt";
+    private static final String TOPO_DISCO_BOLT_ID = "topo-disco-bolt";
     private static final String REROUTE_BOLT_ID = "reroute-bolt";
+    private static final String FLOW_BOLT_ID = "flow-bolt";
 
     public OfEventWfmTopology(LaunchEnvironment env) {
         super(env, OFEventWfmTopologyConfig.class);
@@ -102,23 +104,37 @@ public class OfEventWfmTopology extends AbstractTopology<OFEventWfmTopologyConfi
                 topologyConfig.getParallelism()).shuffleGrouping(DISCO_BOLT_ID, OfeLinkBolt.SPEAKER_STREAM);
         builder.setBolt(SPEAKER_DISCO_BOLT_ID, createKafkaBolt(topologyConfig.getKafkaSpeakerDiscoTopic()),
                 topologyConfig.getParallelism()).shuffleGrouping(DISCO_BOLT_ID, OfeLinkBolt.SPEAKER_DISCO_STREAM);
+        // Work for other discovery shards goes back through the input topic, see OfeLinkBolt.
+        builder.setBolt(TOPO_DISCO_BOLT_ID, createKafkaBolt(kafkaTopoDiscoTopic),
+                topologyConfig.getParallelism()).shuffleGrouping(DISCO_BOLT_ID, OfeLinkBolt.TOPO_DISCO_STREAM);
 
         PersistenceManager persistenceManager =  PersistenceProvider.getInstance()
                 .createPersistenceManager(configurationProvider);
 
-        NetworkTopologyBolt networkTopologyBolt = new NetworkTopologyBolt(persistenceManager,
-                topologyConfig.getIslCostWhenPortDown());
+        // ISL state is cached by NetworkTopologyBolt, so all events of a switch must go to the same instance.
+        NetworkTopologyBolt networkTopologyBolt = new NetworkTopologyBolt(persistenceManager, topologyConfig);
         builder.setBolt(NETWORK_TOPOLOGY_BOLT_ID, networkTopologyBolt, topologyConfig.getParallelism())
-                .shuffleGrouping(DISCO_BOLT_ID, OfeLinkBolt.NETWORK_TOPOLOGY_CHANGE_STREAM);
+                .fieldsGrouping(DISCO_BOLT_ID, OfeLinkBolt.NETWORK_TOPOLOGY_CHANGE_STREAM,
+                        new Fields(OfeLinkBolt.FIELD_ID_SWITCH_ID));
 
         builder.setBolt(REROUTE_BOLT_ID,
                 createKafkaBolt(topologyConfig.getKafkaTopoRerouteTopic()), topologyConfig.getParallelism())
                 .shuffleGrouping(NETWORK_TOPOLOGY_BOLT_ID, NetworkTopologyBolt.REROUTE_STREAM);
 
+        // ISL changes are delivered to the network snapshots of the flow topology.
+        builder.setBolt(FLOW_BOLT_ID,
+                createKafkaBolt(topologyConfig.getKafkaFlowTopic()), topologyConfig.getParallelism())
+                .shuffleGrouping(NETWORK_TOPOLOGY_BOLT_ID, NetworkTopologyBolt.NETWORK_TOPOLOGY_CHANGE_STREAM);
+
+        // Each OfeLinkBolt task owns a shard of switches, see SwitchShardGrouping.
         OfeLinkBolt ofeLinkBolt = new OfeLinkBolt(topologyConfig);
         BoltDeclarer bd = builder.setBolt(DISCO_BOLT_ID, ofeLinkBolt, topologyConfig.getParallelism())
-                .shuffleGrouping(PORT_EVENT_ROUTER_BOLT_ID, PortEventRouterBolt.DEFAULT_STREAM)
-                .shuffleGrouping(PORT_EVENT_THROTTLING_BOLT_ID);
+                .customGrouping(PORT_EVENT_ROUTER_BOLT_ID, PortEventRouterBolt.DEFAULT_STREAM,
+                        new SwitchShardGrouping(PortEventRouterBolt.FIELD_ID_SWITCH_ID,
+                                PortEventRouterBolt.FIELD_ID_PEER_SWITCH_ID))
+                .allGrouping(PORT_EVENT_ROUTER_BOLT_ID, PortEventRouterBolt.BROADCAST_STREAM)
+                .customGrouping(PORT_EVENT_THROTTLING_BOLT_ID,
+                        new SwitchShardGrouping(PortEventRouterBolt.FIELD_ID_SWITCH_ID));
         List<CtrlBoltRef> ctrlTargets = new ArrayList<>();
         // TODO: verify this ctrlTarget after refactoring.
         ctrlTargets.add(new CtrlBoltRef(DISCO_BOLT_ID, ofeLinkBolt, bd));
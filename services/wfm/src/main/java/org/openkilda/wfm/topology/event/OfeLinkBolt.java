@@ -24,12 +24,14 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.HeartBeat;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandMessage;
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.ctrl.AbstractDumpState;
 import org.openkilda.messaging.ctrl.state.OFELinkBoltState;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoLinkDeactivation;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
 import org.openkilda.messaging.info.discovery.NetworkDumpBeginMarker;
 import org.openkilda.messaging.info.discovery.NetworkDumpEndMarker;
@@ -72,8 +74,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -95,6 +101,13 @@ import java.util.stream.Collectors;
  * For update code in Storm, we need to kill and load the new topology, and bolt loses all internal state. For restore
  * data in bolt we send a message to FL and wait till callback message with network data arrive. We don't process common
  * messages and mark it as fail before that. UML Diagram is here https://github.com/telstra/open-kilda/issues/213 \
+ *
+ * <p>Sharding:
+ * Each task of the bolt owns a shard of switches (see {@link SwitchShardGrouping}) with its own
+ * {@link DiscoveryManager} and state checkpoint, and requests the network dump only for own switches. ISL events are
+ * delivered to the owners of both ISL ends. Storm doesn't allow cycles with stateful bolts, so the work for another
+ * shard (the reverse link of a moved ISL) is sent into {@link #TOPO_DISCO_STREAM} and comes back through the input
+ * topic to the owner of the switch.
  */
 public class OfeLinkBolt
         extends AbstractTickStatefulBolt<KeyValueState<String, Object>>
@@ -107,9 +120,9 @@ public class OfeLinkBolt
     static final String STATE_ID_DISCOVERY = "discovery-manager";
     static final String SPEAKER_DISCO_STREAM = "speaker.disco";
     static final String SPEAKER_STREAM = "speaker";
+    static final String TOPO_DISCO_STREAM = "topo.disco";
     static final String NETWORK_TOPOLOGY_CHANGE_STREAM = "network-topology-change";
-
-    private final String islDiscoveryTopic;
+    static final String FIELD_ID_SWITCH_ID = "switch-id";
 
     private final int islHealthCheckInterval;
     private final int islHealthCheckTimeout;
@@ -119,6 +132,8 @@ public class OfeLinkBolt
     private WatchDog watchDog;
     private TopologyContext context;
     private OutputCollector collector;
+    private int shardIndex;
+    private int shardCount;
 
     private DummyIIslFilter islFilter;
     private DiscoveryManager discovery;
@@ -148,8 +163,6 @@ public class OfeLinkBolt
 
         watchDogInterval = discoveryConfig.getDiscoverySpeakerFailureTimeout();
         dumpRequestTimeout = discoveryConfig.getDiscoveryDumpRequestTimeout();
-
-        islDiscoveryTopic = config.getKafkaSpeakerDiscoTopic();
     }
 
     @Override
@@ -158,6 +171,11 @@ public class OfeLinkBolt
 
         this.context = context;
         this.collector = collector;
+
+        shardIndex = context.getThisTaskIndex();
+        List<Integer> tasks = context.getComponentTasks(context.getThisComponentId());
+        shardCount = tasks == null || tasks.isEmpty() ? 1 : tasks.size();
+        logger.info("Discovery shard {} of {}", shardIndex, shardCount);
     }
 
     @Override
@@ -166,13 +184,19 @@ public class OfeLinkBolt
         watchDog = new WatchDog(watchDogInterval);
 
         // NB: First time the worker is created this will be null
-        // TODO: what happens to state as workers go up or down
         Object payload = state.get(STATE_ID_DISCOVERY);
         if (payload == null) {
-            payload = linksBySwitch = new HashMap<>();
-            state.put(islDiscoveryTopic, payload);
+            linksBySwitch = new HashMap<>();
+            state.put(STATE_ID_DISCOVERY, linksBySwitch);
         } else {
             linksBySwitch = (Map<SwitchId, Set<DiscoveryLink>>) payload;
+            if (!linksBySwitch.keySet().stream().allMatch(this::isOwnSwitch)) {
+                // the amount of tasks has been changed, the rest of switches are restored by their new owners
+                linksBySwitch = linksBySwitch.entrySet().stream()
+                        .filter(entry -> isOwnSwitch(entry.getKey()))
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                state.put(STATE_ID_DISCOVERY, linksBySwitch);
+            }
         }
 
         // DiscoveryManager counts failures as failed attempts,
@@ -229,16 +253,16 @@ public class OfeLinkBolt
     }
 
     /**
-     * Send network dump request to FL.
+     * Send network dump request of own shard to FL.
      */
     private String sendNetworkRequest(Tuple tuple, String correlationId) {
-        CommandMessage command = new CommandMessage(new NetworkCommandData(),
+        CommandMessage command = new CommandMessage(new NetworkCommandData(null, shardIndex, shardCount),
                 System.currentTimeMillis(), correlationId,
                 Destination.CONTROLLER);
 
         logger.info(
-                "Send network dump request (correlation-id: {})",
-                correlationId);
+                "Send network dump request (correlation-id: {}, shard {} of {})",
+                correlationId, shardIndex, shardCount);
 
         try {
             String json = Utils.MAPPER.writeValueAsString(command);
@@ -253,10 +277,15 @@ public class OfeLinkBolt
     private void processDiscoveryPlan(Tuple tuple, String correlationId) {
         DiscoveryManager.Plan discoveryPlan = discovery.makeDiscoveryPlan();
         try {
+            // one discovery command per switch
+            Map<SwitchId, List<Integer>> portsBySwitch = new LinkedHashMap<>();
             for (NetworkEndpoint node : discoveryPlan.needDiscovery) {
-                String msgCorrelationId = format("%s-%s:%s", correlationId,
-                        node.getSwitchDpId(), node.getPortId());
-                sendDiscoveryMessage(tuple, node, msgCorrelationId);
+                portsBySwitch.computeIfAbsent(node.getDatapath(), key -> new ArrayList<>())
+                        .add(node.getPortNumber());
+            }
+            for (Map.Entry<SwitchId, List<Integer>> entry : portsBySwitch.entrySet()) {
+                String msgCorrelationId = format("%s-%s", correlationId, entry.getKey());
+                sendDiscoveryMessage(tuple, entry.getKey(), entry.getValue(), msgCorrelationId);
             }
 
             for (NetworkEndpoint node : discoveryPlan.discoveryFailure) {
@@ -274,10 +303,11 @@ public class OfeLinkBolt
     }
 
     /**
-     * Helper method for sending an ISL Discovery Message.
+     * Helper method for sending an ISL Discovery Message for the ports of the switch.
      */
-    private void sendDiscoveryMessage(Tuple tuple, NetworkEndpoint node, String correlationId) throws IOException {
-        DiscoverIslCommandData data = new DiscoverIslCommandData(node.getDatapath(), node.getPortNumber());
+    private void sendDiscoveryMessage(Tuple tuple, SwitchId switchId, List<Integer> ports, String correlationId)
+            throws IOException {
+        DiscoverIslBatchCommandData data = new DiscoverIslBatchCommandData(switchId, ports);
         CommandMessage message = new CommandMessage(data, System.currentTimeMillis(),
                 correlationId, Destination.CONTROLLER);
         logger.debug("LINK: Send ISL discovery command: {}", message);
@@ -329,6 +359,13 @@ public class OfeLinkBolt
     }
 
     private void dispatch(Tuple tuple, InfoMessage infoMessage) {
+        if (isForeignDumpMarker(infoMessage)) {
+            // dump markers are broadcast to all shards
+            logger.debug("Skip network dump marker of another request (correlation-id: {})",
+                    infoMessage.getCorrelationId());
+            return;
+        }
+
         switch (state) {
             case NEED_SYNC:
                 dispatchNeedSync(tuple, infoMessage);
@@ -350,6 +387,16 @@ public class OfeLinkBolt
         }
     }
 
+    private boolean isForeignDumpMarker(InfoMessage infoMessage) {
+        InfoData data = infoMessage.getData();
+        return (data instanceof NetworkDumpBeginMarker || data instanceof NetworkDumpEndMarker)
+                && !Objects.equals(dumpRequestCorrelationId, infoMessage.getCorrelationId());
+    }
+
+    private boolean isOwnSwitch(SwitchId switchId) {
+        return shardCount <= 1 || NetworkCommandData.getShard(switchId, shardCount) == shardIndex;
+    }
+
     private void dispatchNeedSync(Tuple tuple, InfoMessage infoMessage) {
         logger.warn("Bolt internal state is out of sync with FL, skip tuple");
     }
@@ -409,6 +456,10 @@ public class OfeLinkBolt
             handleIslEvent(tuple, infoMessage);
         } else if (data instanceof DiscoPacketSendingConfirmation) {
             handleSentDiscoPacket((DiscoPacketSendingConfirmation) data);
+        } else if (data instanceof DiscoPacketSendingBatchConfirmation) {
+            handleSentDiscoPackets((DiscoPacketSendingBatchConfirmation) data);
+        } else if (data instanceof DiscoLinkDeactivation) {
+            handleLinkDeactivation((DiscoLinkDeactivation) data);
         } else {
             reportInvalidEvent(data);
         }
@@ -451,7 +502,23 @@ public class OfeLinkBolt
     }
 
     private void passToNetworkTopologyBolt(Tuple tuple, InfoMessage message) {
-        collector.emit(NETWORK_TOPOLOGY_CHANGE_STREAM, tuple, new Values(message));
+        collector.emit(NETWORK_TOPOLOGY_CHANGE_STREAM, tuple, new Values(message, getEventSwitchId(message)));
+    }
+
+    /**
+     * Returns the switch the event belongs to, for ISL events it is the source switch.
+     */
+    private String getEventSwitchId(InfoMessage message) {
+        InfoData data = message.getData();
+        SwitchId switchId = null;
+        if (data instanceof SwitchInfoData) {
+            switchId = ((SwitchInfoData) data).getSwitchId();
+        } else if (data instanceof PortInfoData) {
+            switchId = ((PortInfoData) data).getSwitchId();
+        } else if (data instanceof IslInfoData) {
+            switchId = ((IslInfoData) data).getSource().getSwitchId();
+        }
+        return switchId != null ? switchId.toString() : null;
     }
 
     private void handlePortEvent(Tuple tuple, PortInfoData portData) {
@@ -485,6 +552,14 @@ public class OfeLinkBolt
         IslChangeType islState = discoveredIsl.getState();
         boolean stateChanged = false;
 
+        if (!isOwnSwitch(srcSwitch)) {
+            // We own the destination switch only, the ISL itself is handled by the owner of the source switch.
+            if (IslChangeType.DISCOVERED.equals(islState) && !discovery.isInDiscoveryPlan(dstSwitch, dstPort)) {
+                discovery.handlePortUp(dstSwitch, dstPort);
+            }
+            return;
+        }
+
         /*
          * TODO: would be good to merge more of this behavior / business logic within DiscoveryManager
          *  The reason is so that we consolidate behavior related to Network Topology Discovery into
@@ -503,7 +578,7 @@ public class OfeLinkBolt
             stateChanged = discovery.handleDiscovered(srcSwitch, srcPort, dstSwitch, dstPort);
             // If the state has changed, and since we've discovered one end of an ISL, let's make
             // sure we can test the other side as well.
-            if (stateChanged && !discovery.isInDiscoveryPlan(dstSwitch, dstPort)) {
+            if (stateChanged && isOwnSwitch(dstSwitch) && !discovery.isInDiscoveryPlan(dstSwitch, dstPort)) {
                 discovery.handlePortUp(dstSwitch, dstPort);
             }
         } else {
@@ -553,7 +628,11 @@ public class OfeLinkBolt
         logger.info("Link is moved from {}_{} - {}_{} to endpoint {}_{}", srcSwitch, srcPort,
                 dstEndpoint.getSwitchDpId(), dstEndpoint.getPortId(), dstSwitch, dstPort);
         // deactivate reverse link
-        discovery.deactivateLinkFromEndpoint(dstEndpoint);
+        if (isOwnSwitch(dstEndpoint.getDatapath())) {
+            discovery.deactivateLinkFromEndpoint(dstEndpoint);
+        } else {
+            sendLinkDeactivation(tuple, dstEndpoint, correlationId);
+        }
 
         PathNode srcNode = new PathNode(srcSwitch, srcPort, 0);
         PathNode dstNode = new PathNode(dstEndpoint.getSwitchDpId(), dstEndpoint.getPortId(), 1);
@@ -569,18 +648,49 @@ public class OfeLinkBolt
         passToNetworkTopologyBolt(tuple, message);
     }
 
+    /**
+     * Passes the link deactivation to the shard owning the switch of the endpoint, see {@link #TOPO_DISCO_STREAM}.
+     */
+    private void sendLinkDeactivation(Tuple tuple, NetworkEndpoint endpoint, String correlationId) {
+        InfoMessage message = new InfoMessage(new DiscoLinkDeactivation(endpoint), System.currentTimeMillis(),
+                correlationId);
+        logger.info("Reverse link from {} belongs to another shard, pass its deactivation", endpoint);
+        try {
+            collector.emit(TOPO_DISCO_STREAM, tuple, new Values(PAYLOAD, Utils.MAPPER.writeValueAsString(message)));
+        } catch (JsonProcessingException e) {
+            logger.error("Unable to encode message: {}", message, e);
+        }
+    }
+
+    private void handleLinkDeactivation(DiscoLinkDeactivation deactivation) {
+        NetworkEndpoint endpoint = deactivation.getEndpoint();
+        if (!isOwnSwitch(endpoint.getDatapath())) {
+            logger.warn("Skip deactivation of the link from {} owned by another shard", endpoint);
+            return;
+        }
+        discovery.deactivateLinkFromEndpoint(endpoint);
+    }
+
     private void handleSentDiscoPacket(DiscoPacketSendingConfirmation confirmation) {
         logger.debug("Discovery packet is sent from {}", confirmation);
         discovery.handleSentDiscoPacket(confirmation.getEndpoint());
     }
 
+    private void handleSentDiscoPackets(DiscoPacketSendingBatchConfirmation confirmation) {
+        logger.debug("Discovery packets are sent from {}", confirmation);
+        for (Integer port : confirmation.getPortNumbers()) {
+            discovery.handleSentDiscoPacket(new NetworkEndpoint(confirmation.getSwitchId(), port));
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         Fields fields = new Fields(FieldNameBasedTupleToKafkaMapper.BOLT_KEY,
                 FieldNameBasedTupleToKafkaMapper.BOLT_MESSAGE);
         declarer.declareStream(SPEAKER_STREAM, fields);
         declarer.declareStream(SPEAKER_DISCO_STREAM, fields);
-        declarer.declareStream(NETWORK_TOPOLOGY_CHANGE_STREAM, new Fields(PAYLOAD));
+        declarer.declareStream(TOPO_DISCO_STREAM, fields);
+        declarer.declareStream(NETWORK_TOPOLOGY_CHANGE_STREAM, new Fields(PAYLOAD, FIELD_ID_SWITCH_ID));
         // FIXME(dbogun): use proper tuple format
         declarer.declareStream(STREAM_ID_CTRL, AbstractTopology.fieldMessage);
     }
@@ -20,9 +20,20 @@ import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.messaging.Utils.PAYLOAD;
 
 import org.openkilda.messaging.BaseMessage;
+import org.openkilda.messaging.HeartBeat;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingBatchConfirmation;
+import org.openkilda.messaging.info.discovery.DiscoLinkDeactivation;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
+import org.openkilda.messaging.info.discovery.NetworkDumpBeginMarker;
+import org.openkilda.messaging.info.discovery.NetworkDumpEndMarker;
+import org.openkilda.messaging.info.discovery.NetworkDumpPortData;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.AbstractBolt;
 
 import org.apache.storm.topology.OutputFieldsDeclarer;
@@ -32,27 +43,86 @@ import org.apache.storm.tuple.Values;
 
 import java.io.IOException;
 
+/**
+ * Routes speaker events to the switch shards of {@link OfeLinkBolt}.
+ *
+ * <p>Events of a switch are emitted into {@link #DEFAULT_STREAM} with the switch id (for ISL events also with the
+ * destination switch id), heart beats and network dump markers are emitted into {@link #BROADCAST_STREAM} as all
+ * shards need them. Port up/down events are throttled by {@link PortEventThrottlingBolt} first.
+ */
 public class PortEventRouterBolt extends AbstractBolt {
 
     public static final String PORT_EVENT_STREAM = "port-event-stream";
     public static final String DEFAULT_STREAM = "default-stream";
+    public static final String BROADCAST_STREAM = "broadcast-stream";
+
+    public static final String FIELD_ID_SWITCH_ID = "switch-id";
+    public static final String FIELD_ID_PEER_SWITCH_ID = "peer-switch-id";
 
     @Override
     protected void handleInput(Tuple tuple) {
-        if (!handlePortEvent(tuple)) {
-            getOutput().emit(DEFAULT_STREAM, tuple, new Values(tuple.getString(0)));
-        }
-    }
-
-    private boolean handlePortEvent(Tuple tuple) {
         String json = tuple.getString(0);
         BaseMessage message;
         try {
             message = MAPPER.readValue(json, BaseMessage.class);
         } catch (IOException e) {
             log.error("Unknown Message type={}", json);
-            return false;
+            getOutput().emit(DEFAULT_STREAM, tuple, new Values(json, null, null));
+            return;
+        }
+
+        if (handlePortEvent(tuple, message)) {
+            return;
+        }
+
+        if (isBroadcast(message)) {
+            getOutput().emit(BROADCAST_STREAM, tuple, new Values(json));
+        } else {
+            InfoData data = message instanceof InfoMessage ? ((InfoMessage) message).getData() : null;
+            getOutput().emit(DEFAULT_STREAM, tuple, new Values(json, getSwitchId(data), getPeerSwitchId(data)));
+        }
+    }
+
+    private boolean isBroadcast(BaseMessage message) {
+        if (message instanceof HeartBeat) {
+            return true;
+        }
+        if (message instanceof InfoMessage) {
+            InfoData data = ((InfoMessage) message).getData();
+            return data instanceof NetworkDumpBeginMarker || data instanceof NetworkDumpEndMarker;
+        }
+        return false;
+    }
+
+    private SwitchId getSwitchId(InfoData data) {
+        if (data instanceof SwitchInfoData) {
+            return ((SwitchInfoData) data).getSwitchId();
+        } else if (data instanceof PortInfoData) {
+            return ((PortInfoData) data).getSwitchId();
+        } else if (data instanceof IslInfoData && ((IslInfoData) data).getSource() != null) {
+            return ((IslInfoData) data).getSource().getSwitchId();
+        } else if (data instanceof DiscoPacketSendingConfirmation) {
+            return ((DiscoPacketSendingConfirmation) data).getEndpoint().getDatapath();
+        } else if (data instanceof DiscoLinkDeactivation) {
+            return ((DiscoLinkDeactivation) data).getEndpoint().getDatapath();
+        } else if (data instanceof DiscoPacketSendingBatchConfirmation) {
+            return ((DiscoPacketSendingBatchConfirmation) data).getSwitchId();
+        } else if (data instanceof NetworkDumpSwitchData) {
+            return ((NetworkDumpSwitchData) data).getSwitchId();
+        } else if (data instanceof NetworkDumpPortData) {
+            return ((NetworkDumpPortData) data).getSwitchId();
+        }
+        return null;
+    }
+
+    private SwitchId getPeerSwitchId(InfoData data) {
+        if (data instanceof IslInfoData && ((IslInfoData) data).getDestination() != null) {
+            return ((IslInfoData) data).getDestination().getSwitchId();
         }
+        return null;
+    }
+
+    private boolean handlePortEvent(Tuple tuple, BaseMessage message) {
         if (message instanceof InfoMessage) {
             InfoMessage infoMessage = (InfoMessage) message;
             InfoData data = infoMessage.getData();
@@ -75,7 +145,8 @@ public class PortEventRouterBolt extends AbstractBolt {
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declareStream(DEFAULT_STREAM, new Fields(PAYLOAD));
+        declarer.declareStream(DEFAULT_STREAM, new Fields(PAYLOAD, FIELD_ID_SWITCH_ID, FIELD_ID_PEER_SWITCH_ID));
+        declarer.declareStream(BROADCAST_STREAM, new Fields(PAYLOAD));
         declarer.declareStream(PORT_EVENT_STREAM,
                 new Fields(PAYLOAD, CORRELATION_ID, PortEventThrottlingBolt.GROUPING_FIELD_NAME));
     }
@@ -91,7 +91,7 @@ public class PortEventThrottlingBolt extends AbstractTickRichBolt {
         InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), correlationId);
         try {
             String json = MAPPER.writeValueAsString(infoMessage);
-            outputCollector.emit(tuple, new Values(json));
+            outputCollector.emit(tuple, new Values(json, data.getSwitchId()));
         } catch (JsonProcessingException e) {
             logger.error("Can't serialize info message", e);
         }
@@ -99,6 +99,6 @@ public class PortEventThrottlingBolt extends AbstractTickRichBolt {
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declare(new Fields(PAYLOAD));
+        declarer.declare(new Fields(PAYLOAD, PortEventRouterBolt.FIELD_ID_SWITCH_ID));
     }
 }
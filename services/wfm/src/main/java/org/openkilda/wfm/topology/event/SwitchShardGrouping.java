@@ -0,0 +1,86 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.event;
+
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.model.SwitchId;
+
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.grouping.CustomStreamGrouping;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.Fields;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Routes tuples to the tasks owning the shards of switches from the specified fields.
+ *
+ * <p>The shard index is the index of the target task in the sorted list of tasks, i.e. it is the same as
+ * {@code TopologyContext.getThisTaskIndex()} of the receiving bolt, and the shard of a switch is defined by
+ * {@link NetworkCommandData#getShard(SwitchId, int)}. Fields missing in the stream or holding null are skipped, a
+ * tuple without any switch goes to the first task.
+ */
+public class SwitchShardGrouping implements CustomStreamGrouping {
+    private final String[] switchFields;
+
+    private transient List<Integer> targetTasks;
+    private transient List<Integer> fieldIndexes;
+
+    public SwitchShardGrouping(String... switchFields) {
+        this.switchFields = switchFields;
+    }
+
+    @Override
+    public void prepare(WorkerTopologyContext context, GlobalStreamId stream, List<Integer> targetTasks) {
+        this.targetTasks = new ArrayList<>(targetTasks);
+        Collections.sort(this.targetTasks);
+
+        Fields outputFields = context.getComponentOutputFields(stream);
+        fieldIndexes = new ArrayList<>(switchFields.length);
+        for (String field : switchFields) {
+            if (outputFields.contains(field)) {
+                fieldIndexes.add(outputFields.fieldIndex(field));
+            }
+        }
+    }
+
+    @Override
+    public List<Integer> chooseTasks(int taskId, List<Object> values) {
+        int shardCount = targetTasks.size();
+        TreeSet<Integer> shards = new TreeSet<>();
+        for (int index : fieldIndexes) {
+            SwitchId switchId = (SwitchId) values.get(index);
+            if (switchId != null) {
+                shards.add(NetworkCommandData.getShard(switchId, shardCount));
+            }
+        }
+
+        if (shards.size() <= 1) {
+            int shard = shards.isEmpty() ? 0 : shards.first();
+            return Collections.singletonList(targetTasks.get(shard));
+        }
+
+        List<Integer> result = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            result.add(targetTasks.get(shard));
+        }
+        return result;
+    }
+}
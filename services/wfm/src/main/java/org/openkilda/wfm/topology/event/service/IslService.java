@@ -15,9 +15,11 @@
 
 package org.openkilda.wfm.topology.event.service;
 
+import org.openkilda.messaging.info.event.NetworkTopologyChangeType;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslStatus;
 import org.openkilda.model.LinkProps;
+import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowSegmentRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -25,8 +27,10 @@ import org.openkilda.persistence.repositories.LinkPropsRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
 
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -41,23 +45,45 @@ public class IslService {
     private LinkPropsRepository linkPropsRepository;
     private SwitchRepository switchRepository;
     private FlowSegmentRepository flowSegmentRepository;
+    private IslStateCache islStateCache;
+    private int writeBatchSize;
 
     public IslService(TransactionManager transactionManager, RepositoryFactory repositoryFactory) {
+        this(transactionManager, repositoryFactory, new IslStateCache(Duration.ZERO, Duration.ZERO), 1);
+    }
+
+    public IslService(TransactionManager transactionManager, RepositoryFactory repositoryFactory,
+                      IslStateCache islStateCache, int writeBatchSize) {
         this.transactionManager = transactionManager;
         islRepository = repositoryFactory.createIslRepository();
         linkPropsRepository = repositoryFactory.createLinkPropsRepository();
         switchRepository = repositoryFactory.createSwitchRepository();
         flowSegmentRepository = repositoryFactory.createFlowSegmentRepository();
+        this.islStateCache = islStateCache;
+        this.writeBatchSize = writeBatchSize;
     }
 
     /**
-     * Create or update isl and send reroute message.
+     * Create or update isl and send reroute message. Rediscovery of an ISL which is already active is not written
+     * immediately, changes of its attributes are coalesced (see {@link IslStateCache}) and no reroute is requested.
      *
      * @param isl    isl.
      * @param sender sender.
      */
     public void createOrUpdateIsl(Isl isl, Sender sender) {
+        if (islStateCache.isActive(isl)) {
+            boolean changed = islStateCache.handleRediscovered(isl);
+            log.debug("ISL {}_{}-{}_{} is already active, {}",
+                    isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort(),
+                    changed ? "the update is postponed" : "nothing to update");
+            return;
+        }
+
         createOrUpdateIsl(isl);
+        // Both ISL directions are found by the source endpoint.
+        sender.sendNetworkTopologyChange(NetworkTopologyChangeType.ENDPOINT_ADD,
+                isl.getSrcSwitch().getSwitchId(), isl.getSrcPort());
 
         String reason = String.format("Create or update ISL: %s_%d-%s_%d. ISL status: %s",
                 isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
@@ -75,6 +101,50 @@ public class IslService {
                 isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
                 isl.getDestSwitch().getSwitchId(), isl.getDestPort());
         transactionManager.doInTransaction(() -> processCreateOrUpdateIsl(isl));
+        islStateCache.handlePersisted(isl);
+    }
+
+    /**
+     * Writes coalesced ISL updates whose window is over. The updates are written in transactions of
+     * {@code writeBatchSize} ISLs.
+     */
+    public void flushPendingIslUpdates() {
+        List<Isl> updates = islStateCache.pollPendingUpdates();
+        for (List<Isl> batch : Lists.partition(updates, writeBatchSize)) {
+            try {
+                transactionManager.doInTransaction(() -> batch.forEach(this::processIslUpdate));
+                log.debug("Updated {} ISLs", batch.size());
+            } catch (Exception e) {
+                log.error(String.format("Failed to update %d ISLs", batch.size()), e);
+                // the next rediscovery of these ISLs goes through the full processing.
+                batch.forEach(islStateCache::invalidate);
+            }
+        }
+    }
+
+    private void processIslUpdate(Isl isl) {
+        Optional<Isl> foundIsl = islRepository.findByEndpoints(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        if (!foundIsl.isPresent()) {
+            log.warn("Skip update of ISL {}_{}-{}_{} as it has been removed",
+                    isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+            islStateCache.invalidate(isl);
+            return;
+        }
+
+        Isl daoIsl = foundIsl.get();
+        updateWith(daoIsl, isl);
+        daoIsl.setTimeModify(Instant.now());
+
+        setLinkPropsData(daoIsl);
+
+        long usedBandwidth = flowSegmentRepository.getUsedBandwidthBetweenEndpoints(
+                isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        daoIsl.setAvailableBandwidth(daoIsl.getMaxBandwidth() - usedBandwidth);
+
+        islRepository.createOrUpdate(daoIsl);
     }
 
     private void processCreateOrUpdateIsl(Isl isl) {
@@ -189,6 +259,16 @@ public class IslService {
         }
     }
 
+    /**
+     * Drops the cached state of ISLs which start or end at the port, so their next discovery is fully processed.
+     *
+     * @param switchId switch id.
+     * @param port     port number.
+     */
+    public void handlePortDown(SwitchId switchId, int port) {
+        islStateCache.invalidate(switchId, port);
+    }
+
     //TODO: move this into ISL pair entity in the future data model.
     static IslStatus getStatus(Isl forwardIsl, Isl reverseIsl) {
         if (forwardIsl.getActualStatus() == reverseIsl.getActualStatus()) {
@@ -209,6 +289,9 @@ public class IslService {
      */
     public void islDiscoveryFailed(Isl isl, Sender sender) {
         if (islDiscoveryFailed(isl)) {
+            sender.sendNetworkTopologyChange(NetworkTopologyChangeType.ENDPOINT_DROP,
+                    isl.getSrcSwitch().getSwitchId(), isl.getSrcPort());
+
             String reason = String.format("ISL discovery failed. Endpoint: %s_%d. ISL status: %s",
                     isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(), isl.getStatus());
             sender.sendRerouteAffectedFlowsMessage(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(), reason);
@@ -224,6 +307,7 @@ public class IslService {
     public boolean islDiscoveryFailed(Isl isl) {
         log.debug("ISL by source endpoint {}_{} discovery failed",
                 isl.getSrcSwitch().getSwitchId(), isl.getSrcPort());
+        islStateCache.invalidate(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort());
         return transactionManager.doInTransaction(() -> processDiscoveryFailedIsl(isl));
     }
 
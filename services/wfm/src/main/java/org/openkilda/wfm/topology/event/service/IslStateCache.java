@@ -0,0 +1,207 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.event.service;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory state of active ISLs as they were written to the DB by this bolt instance.
+ * <p/>
+ * A rediscovery of an ISL which is known to be active doesn't require the full create-or-update processing: if
+ * latency, speed and bandwidth are the same, nothing is written at all; otherwise the new values are kept as a pending
+ * update and written together with other pending updates once the coalescing window is over.
+ * <p/>
+ * Entries are dropped on discovery failure or port down of any ISL endpoint, and expire after TTL, so changes
+ * made outside of the event topology are eventually overwritten by the full processing. All events of a switch must be
+ * handled by the same cache instance. A zero TTL disables the cache.
+ */
+@Slf4j
+public class IslStateCache {
+    private final Duration coalescingWindow;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final Map<IslKey, CachedIsl> isls = new HashMap<>();
+    private final Map<IslKey, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+
+    public IslStateCache(Duration coalescingWindow, Duration ttl) {
+        this(coalescingWindow, ttl, Clock.systemUTC());
+    }
+
+    IslStateCache(Duration coalescingWindow, Duration ttl, Clock clock) {
+        this.coalescingWindow = coalescingWindow;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether the ISL has been written as active and the cache entry is not expired yet.
+     */
+    public boolean isActive(Isl isl) {
+        CachedIsl cached = isls.get(IslKey.of(isl));
+        return cached != null && clock.instant().isBefore(cached.getPersistedAt().plus(ttl));
+    }
+
+    /**
+     * Handles rediscovery of an active ISL. Changed latency, speed or bandwidth is kept as a pending update.
+     *
+     * @return true if the ISL has been changed and the update is pending.
+     */
+    public boolean handleRediscovered(Isl isl) {
+        IslKey key = IslKey.of(isl);
+        CachedIsl cached = isls.get(key);
+        if (cached == null) {
+            throw new IllegalStateException(String.format("ISL %s is not in the cache", key));
+        }
+
+        if (cached.hasSameAttributes(isl)) {
+            // the ISL can be changed back to the persisted state within the window.
+            pendingUpdates.remove(key);
+            return false;
+        }
+
+        PendingUpdate pending = pendingUpdates.get(key);
+        Instant since = pending != null ? pending.getSince() : clock.instant();
+        pendingUpdates.put(key, new PendingUpdate(isl, since));
+        return true;
+    }
+
+    /**
+     * Stores the ISL which has been written by the full create-or-update processing.
+     */
+    public void handlePersisted(Isl isl) {
+        IslKey key = IslKey.of(isl);
+        pendingUpdates.remove(key);
+        if (!ttl.isZero()) {
+            isls.put(key, CachedIsl.of(isl, clock.instant()));
+        }
+    }
+
+    /**
+     * Drops the cache entries and pending updates of the ISLs which start or end at the endpoint.
+     */
+    public void invalidate(SwitchId switchId, int port) {
+        isls.keySet().removeIf(key -> key.hasEndpoint(switchId, port));
+        pendingUpdates.keySet().removeIf(key -> key.hasEndpoint(switchId, port));
+    }
+
+    /**
+     * Drops the cache entry and the pending update of the ISL.
+     */
+    public void invalidate(Isl isl) {
+        IslKey key = IslKey.of(isl);
+        isls.remove(key);
+        pendingUpdates.remove(key);
+    }
+
+    /**
+     * Takes the pending updates whose coalescing window is over. The cache entries are updated right away, the caller
+     * is expected to invalidate the ISLs it fails to write.
+     */
+    public List<Isl> pollPendingUpdates() {
+        Instant now = clock.instant();
+        isls.values().removeIf(cached -> !now.isBefore(cached.getPersistedAt().plus(ttl)));
+
+        List<Isl> result = new ArrayList<>();
+        Iterator<Map.Entry<IslKey, PendingUpdate>> iterator = pendingUpdates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<IslKey, PendingUpdate> entry = iterator.next();
+            PendingUpdate pending = entry.getValue();
+            if (now.isBefore(pending.getSince().plus(coalescingWindow))) {
+                continue;
+            }
+
+            iterator.remove();
+            CachedIsl cached = isls.get(entry.getKey());
+            if (cached == null) {
+                // expired, the next rediscovery goes through the full processing.
+                continue;
+            }
+            isls.put(entry.getKey(), CachedIsl.of(pending.getIsl(), cached.getPersistedAt()));
+            result.add(pending.getIsl());
+        }
+
+        if (!result.isEmpty()) {
+            log.debug("{} coalesced ISL updates are ready to be written", result.size());
+        }
+        return result;
+    }
+
+    int size() {
+        return isls.size();
+    }
+
+    @Value
+    private static class IslKey {
+        private SwitchId srcSwitch;
+        private int srcPort;
+        private SwitchId destSwitch;
+        private int destPort;
+
+        static IslKey of(Isl isl) {
+            return new IslKey(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        }
+
+        boolean hasEndpoint(SwitchId switchId, int port) {
+            return (srcSwitch.equals(switchId) && srcPort == port)
+                    || (destSwitch.equals(switchId) && destPort == port);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s_%d-%s_%d", srcSwitch, srcPort, destSwitch, destPort);
+        }
+    }
+
+    @Value
+    private static class CachedIsl {
+        private long latency;
+        private long speed;
+        private long availableBandwidth;
+        private Instant persistedAt;
+
+        static CachedIsl of(Isl isl, Instant persistedAt) {
+            return new CachedIsl(isl.getLatency(), isl.getSpeed(), isl.getAvailableBandwidth(), persistedAt);
+        }
+
+        boolean hasSameAttributes(Isl isl) {
+            return latency == isl.getLatency() && speed == isl.getSpeed()
+                    && availableBandwidth == isl.getAvailableBandwidth();
+        }
+    }
+
+    @Value
+    private static class PendingUpdate {
+        private Isl isl;
+        private Instant since;
+    }
+}
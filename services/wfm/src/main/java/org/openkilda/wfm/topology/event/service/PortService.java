@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.event.service;
 
+import org.openkilda.messaging.info.event.NetworkTopologyChangeType;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslStatus;
 import org.openkilda.model.LinkProps;
@@ -54,6 +55,8 @@ public class PortService {
      */
     public void processWhenPortIsDown(Port port, Sender sender) {
         processWhenPortIsDown(port);
+        sender.sendNetworkTopologyChange(NetworkTopologyChangeType.ENDPOINT_DROP,
+                port.getSwitchId(), port.getPortNo());
 
         String reason = String.format("Port %s_%s is %s",
                 port.getSwitchId(), port.getPortNo(), port.getStatus());
@@ -21,6 +21,9 @@ import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.reroute.RerouteAffectedFlows;
 import org.openkilda.messaging.command.reroute.RerouteInactiveFlows;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
+import org.openkilda.messaging.info.event.NetworkTopologyChangeType;
 import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.event.NetworkTopologyBolt;
@@ -56,6 +59,22 @@ public class Sender {
         sendRerouteMessage(request);
     }
 
+    /**
+     * Notifies the flow topology that ISLs which start or end at the endpoint have been changed, so it can update
+     * own network snapshot.
+     */
+    public void sendNetworkTopologyChange(NetworkTopologyChangeType type, SwitchId switchId, int port) {
+        try {
+            String json = Utils.MAPPER.writeValueAsString(new InfoMessage(
+                    new NetworkTopologyChange(type, switchId, port), System.currentTimeMillis(), correlationId,
+                    Destination.WFM));
+            Values values = new Values(Utils.PAYLOAD, json);
+            outputCollector.emit(NetworkTopologyBolt.NETWORK_TOPOLOGY_CHANGE_STREAM, tuple, values);
+        } catch (JsonProcessingException exception) {
+            logger.error("Could not format network topology change notification", exception);
+        }
+    }
+
     private void sendRerouteMessage(CommandData request) {
         try {
             String json = Utils.MAPPER.writeValueAsString(new CommandMessage(
@@ -74,6 +74,11 @@ public enum ComponentType {
      */
     CRUD_BOLT,
 
+    /**
+     * Flow dump bolt. Dumps flows chunk by chunk.
+     */
+    FLOW_DUMP_BOLT,
+
     /**
      * Topology Engine bolt. Processes Topology Engine responses and splits it on streams with flow-id fields.
      */
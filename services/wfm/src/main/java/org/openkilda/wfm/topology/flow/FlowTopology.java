@@ -27,6 +27,7 @@ import org.openkilda.wfm.error.NameCollisionException;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.bolts.CrudBolt;
 import org.openkilda.wfm.topology.flow.bolts.ErrorBolt;
+import org.openkilda.wfm.topology.flow.bolts.FlowDumpBolt;
 import org.openkilda.wfm.topology.flow.bolts.NorthboundReplyBolt;
 import org.openkilda.wfm.topology.flow.bolts.SpeakerBolt;
 import org.openkilda.wfm.topology.flow.bolts.SplitterBolt;
@@ -50,11 +51,15 @@ import java.util.List;
 public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
     public static final String FLOW_STATUS_FIELD = "status";
     public static final String ERROR_TYPE_FIELD = "error-type";
+    public static final String BATCH_INDEX_FIELD = "batch-index";
+    public static final String BATCH_SIZE_FIELD = "batch-size";
     public static final Fields fieldFlowId = new Fields(Utils.FLOW_ID);
     public static final Fields fieldsFlowIdStatusContext =
             new Fields(Utils.FLOW_ID, FLOW_STATUS_FIELD, FIELD_ID_CONTEXT);
     public static final Fields fieldsMessageFlowId = new Fields(MESSAGE_FIELD, Utils.FLOW_ID);
     public static final Fields fieldsMessageErrorType = new Fields(MESSAGE_FIELD, ERROR_TYPE_FIELD);
+    public static final Fields fieldsMessageFlowIdBatch =
+            new Fields(MESSAGE_FIELD, Utils.FLOW_ID, BATCH_INDEX_FIELD, BATCH_SIZE_FIELD);
 
     public FlowTopology(LaunchEnvironment env) {
         super(env, FlowTopologyConfig.class);
@@ -92,22 +97,34 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
         PathComputerConfig pathComputerConfig = configurationProvider.getConfiguration(PathComputerConfig.class);
-        CrudBolt crudBolt = new CrudBolt(persistenceManager, pathComputerConfig);
+        CrudBolt crudBolt = new CrudBolt(persistenceManager, pathComputerConfig,
+                topologyConfig.getBatchTransactionSize());
         BoltDeclarer boltSetup = builder.setBolt(ComponentType.CRUD_BOLT.toString(), crudBolt, parallelism)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.CREATE.toString(), fieldFlowId)
                 // TODO: this READ is used for single and for all flows. But all flows shouldn't be fieldsGrouping.
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.READ.toString(), fieldFlowId)
-                .shuffleGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DUMP.toString())
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.UPDATE.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DELETE.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.PUSH.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.UNPUSH.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.REROUTE.toString(), fieldFlowId)
+                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.BATCH_CREATE.toString(), fieldFlowId)
+                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.BATCH_DELETE.toString(), fieldFlowId)
                 // TODO: this CACHE_SYNC shouldn't be fields-grouping - there is no field - it should be all - but
                 // tackle during multi instance testing
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.CACHE_SYNC.toString(), fieldFlowId);
+                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.CACHE_SYNC.toString(), fieldFlowId)
+                // Each executor keeps own network snapshot.
+                .allGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.NETWORK_TOPOLOGY_CHANGE.toString());
         ctrlTargets.add(new CtrlBoltRef(ComponentType.CRUD_BOLT.toString(), crudBolt, boltSetup));
 
+        /*
+         * Bolt dumps flows chunk by chunk.
+         */
+        FlowDumpBolt flowDumpBolt = new FlowDumpBolt(persistenceManager, topologyConfig.getDumpSwitchesPerChunk());
+        builder.setBolt(ComponentType.FLOW_DUMP_BOLT.toString(), flowDumpBolt, parallelism)
+                .shuffleGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DUMP.toString())
+                .shuffleGrouping(ComponentType.FLOW_DUMP_BOLT.toString(), StreamType.DUMP_CHUNK.toString());
+
         StatusBolt statusBolt = new StatusBolt(persistenceManager);
         builder.setBolt(ComponentType.STATUS_BOLT.toString(), statusBolt, parallelism)
                 .shuffleGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.STATUS.toString());
@@ -133,6 +150,7 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         TransactionBolt transactionBolt = new TransactionBolt(topologyConfig.getCommandTransactionExpirationTime());
         boltSetup = builder.setBolt(ComponentType.TRANSACTION_BOLT.toString(), transactionBolt, parallelism)
                 .fieldsGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.CREATE.toString(), fieldFlowId)
+                .fieldsGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.BATCH_CREATE.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.UPDATE.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.DELETE.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPEAKER_BOLT.toString(), fieldFlowId);
@@ -160,6 +178,7 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         NorthboundReplyBolt northboundReplyBolt = new NorthboundReplyBolt();
         builder.setBolt(ComponentType.NORTHBOUND_REPLY_BOLT.toString(), northboundReplyBolt, parallelism)
                 .shuffleGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.RESPONSE.toString())
+                .shuffleGrouping(ComponentType.FLOW_DUMP_BOLT.toString(), StreamType.RESPONSE.toString())
                 .shuffleGrouping(ComponentType.ERROR_BOLT.toString(), StreamType.RESPONSE.toString());
 
         /*
@@ -32,6 +32,14 @@ public interface FlowTopologyConfig extends AbstractTopologyConfig {
     @Converter(DurationConverter.class)
     Duration getCommandTransactionExpirationTime();
 
+    @Key("dump.switches-per-chunk")
+    @Default("10")
+    int getDumpSwitchesPerChunk();
+
+    @Key("batch.transaction-size")
+    @Default("100")
+    int getBatchTransactionSize();
+
     default String getKafkaFlowTopic() {
         return getKafkaTopics().getFlowTopic();
     }
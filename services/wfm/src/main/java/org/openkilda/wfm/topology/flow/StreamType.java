@@ -34,6 +34,21 @@ public enum StreamType {
      */
     DUMP,
 
+    /**
+     * Next chunk of the flows dump.
+     */
+    DUMP_CHUNK,
+
+    /**
+     * Flow of a batch create request.
+     */
+    BATCH_CREATE,
+
+    /**
+     * Flow of a batch delete request.
+     */
+    BATCH_DELETE,
+
     /**
      * Update flow topology stream.
      */
@@ -59,6 +74,11 @@ public enum StreamType {
      */
     REROUTE,
 
+    /**
+     * ISL changes to be applied to the network snapshot.
+     */
+    NETWORK_TOPOLOGY_CHANGE,
+
     /**
      * Get flow status topology stream.
      */
@@ -39,7 +39,9 @@ import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.flow.FlowBatchItemResponse;
 import org.openkilda.messaging.info.flow.FlowCacheSyncResponse;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
@@ -70,7 +72,9 @@ import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.ComponentType;
 import org.openkilda.wfm.topology.flow.FlowTopology;
 import org.openkilda.wfm.topology.flow.StreamType;
+import org.openkilda.wfm.topology.flow.model.FlowBatchResult;
 import org.openkilda.wfm.topology.flow.model.FlowPairWithSegments;
+import org.openkilda.wfm.topology.flow.model.FlowRerouteResult;
 import org.openkilda.wfm.topology.flow.model.UpdatedFlowPairWithSegments;
 import org.openkilda.wfm.topology.flow.service.FlowAlreadyExistException;
 import org.openkilda.wfm.topology.flow.service.FlowCommandFactory;
@@ -84,6 +88,9 @@ import org.openkilda.wfm.topology.flow.validation.FlowValidator;
 import org.openkilda.wfm.topology.flow.validation.SwitchValidationException;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.storm.Config;
+import org.apache.storm.Constants;
+import org.apache.storm.metric.api.AssignableMetric;
 import org.apache.storm.state.InMemoryKeyValueState;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -96,10 +103,12 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 public class CrudBolt
         extends BaseStatefulBolt<InMemoryKeyValueState<String, ResourceCache>>
@@ -114,10 +123,24 @@ public class CrudBolt
      */
     private static final String FLOW_CACHE = "flow";
 
+    /**
+     * The number of switches which flows are read by a single query on resources bootstrap.
+     */
+    private static final int RESOURCES_BOOTSTRAP_PAGE_SIZE = 50;
+
+    private static final int RESOURCES_BOOTSTRAP_METRIC_BUCKET_SIZE = 60;
+
+    /**
+     * How often (in seconds) incomplete chunks of batch requests are processed.
+     */
+    private static final int BATCH_FLUSH_INTERVAL = 1;
+
     private final PersistenceManager persistenceManager;
 
     private final PathComputerConfig pathComputerConfig;
 
+    private final int batchTransactionSize;
+
     private transient RepositoryFactory repositoryFactory;
 
     private transient FlowService flowService;
@@ -133,9 +156,24 @@ public class CrudBolt
     private transient TopologyContext context;
     private transient OutputCollector outputCollector;
 
-    public CrudBolt(PersistenceManager persistenceManager, PathComputerConfig pathComputerConfig) {
+    private transient AssignableMetric resourcesBootstrapTimeMetric;
+
+    /**
+     * Flows of batch requests waiting to be processed, by the correlation id of the request.
+     */
+    private transient Map<String, PendingBatch> pendingBatches;
+
+    /**
+     * Reroute requests waiting to be processed. Paths of the flows are computed together, so a burst of reroutes (e.g.
+     * on an ISL failure) reads the network once and doesn't route the flows over the bandwidth taken by each other.
+     */
+    private transient List<Tuple> pendingReroutes;
+
+    public CrudBolt(PersistenceManager persistenceManager, PathComputerConfig pathComputerConfig,
+                    int batchTransactionSize) {
         this.persistenceManager = persistenceManager;
         this.pathComputerConfig = pathComputerConfig;
+        this.batchTransactionSize = batchTransactionSize;
     }
 
     /**
@@ -145,7 +183,13 @@ public class CrudBolt
     public void initState(InMemoryKeyValueState<String, ResourceCache> state) {
         ResourceCache resourceCache = state.get(FLOW_CACHE);
         if (resourceCache == null) {
-            resourceCache = new ResourceCache();
+            // Flows are grouped by flow id, so each executor manages resources of own flows. Resource ranges are split
+            // between executors to avoid allocation of the same resource by different executors.
+            int partition = context.getThisTaskIndex();
+            int partitionCount = context.getComponentTasks(context.getThisComponentId()).size();
+            logger.info("Resource cache partition {} of {}", partition, partitionCount);
+
+            resourceCache = new ResourceCache(partition, partitionCount);
             state.put(FLOW_CACHE, resourceCache);
         }
 
@@ -161,6 +205,7 @@ public class CrudBolt
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
         outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.BATCH_CREATE.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.UPDATE.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.RESPONSE.toString(), AbstractTopology.fieldMessage);
@@ -181,6 +226,11 @@ public class CrudBolt
         flowValidator = new FlowValidator(repositoryFactory);
         pathComputerFactory = new PathComputerFactory(pathComputerConfig, repositoryFactory);
         commandFactory = new FlowCommandFactory();
+        pendingBatches = new LinkedHashMap<>();
+        pendingReroutes = new ArrayList<>();
+
+        resourcesBootstrapTimeMetric = topologyContext.registerMetric("flow.resources.bootstrap.time",
+                new AssignableMetric(null), RESOURCES_BOOTSTRAP_METRIC_BUCKET_SIZE);
     }
 
     /**
@@ -188,6 +238,12 @@ public class CrudBolt
      */
     @Override
     public void execute(Tuple tuple) {
+        if (isTickTuple(tuple)) {
+            processPendingBatches();
+            processPendingReroutes();
+            return;
+        }
+
         if (CtrlAction.boltHandlerEntrance(this, tuple)) {
             return;
         }
@@ -200,6 +256,18 @@ public class CrudBolt
         StreamType streamId = StreamType.valueOf(tuple.getSourceStreamId());
         String flowId = tuple.getStringByField(Utils.FLOW_ID);
 
+        if (streamId == StreamType.BATCH_CREATE || streamId == StreamType.BATCH_DELETE) {
+            // The tuple is acked once the chunk it belongs to is processed.
+            addToPendingBatch(streamId, tuple);
+            return;
+        }
+
+        if (streamId == StreamType.REROUTE) {
+            // The tuple is acked once the pending reroutes are processed.
+            addToPendingReroute(tuple);
+            return;
+        }
+
         boolean isRecoverable = false;
         try {
             switch (componentId) {
@@ -229,17 +297,14 @@ public class CrudBolt
                         case UNPUSH:
                             handleUnpushRequest(flowId, imsg, tuple);
                             break;
-                        case REROUTE:
-                            handleRerouteRequest(cmsg, tuple);
-                            break;
                         case CACHE_SYNC:
                             handleCacheSyncRequest(cmsg, tuple);
                             break;
                         case READ:
                             handleReadRequest(flowId, cmsg, tuple);
                             break;
-                        case DUMP:
-                            handleDumpRequest(cmsg, tuple);
+                        case NETWORK_TOPOLOGY_CHANGE:
+                            handleNetworkTopologyChange(imsg);
                             break;
 
                         default:
@@ -258,16 +323,7 @@ public class CrudBolt
             // "Recoverable error (do not try to recoverable it until retry limit will be implemented): {}", e);
             // isRecoverable = true;
         } catch (CacheException exception) {
-            String logMessage = format("%s: %s", exception.getErrorMessage(), exception.getErrorDescription());
-            logger.error("{}, {}={}, {}={}, component={}, stream={}", logMessage, Utils.CORRELATION_ID,
-                    correlationId, Utils.FLOW_ID, flowId, componentId, streamId, exception);
-
-            ErrorMessage errorMessage = buildErrorMessage(correlationId, exception.getErrorType(),
-                    logMessage, componentId.toString().toLowerCase());
-
-            Values error = new Values(errorMessage, exception.getErrorType());
-            outputCollector.emit(StreamType.ERROR.toString(), tuple, error);
-
+            emitError(tuple, correlationId, exception);
         } catch (Exception e) {
             logger.error("Unhandled exception", e);
         } finally {
@@ -281,6 +337,212 @@ public class CrudBolt
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        Config conf = new Config();
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, BATCH_FLUSH_INTERVAL);
+        return conf;
+    }
+
+    private boolean isTickTuple(Tuple tuple) {
+        return Constants.SYSTEM_COMPONENT_ID.equals(tuple.getSourceComponent())
+                && Constants.SYSTEM_TICK_STREAM_ID.equals(tuple.getSourceStreamId());
+    }
+
+    private void addToPendingBatch(StreamType streamId, Tuple tuple) {
+        Message message = (Message) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
+        String correlationId = message.getCorrelationId();
+
+        PendingBatch batch = pendingBatches.computeIfAbsent(correlationId, key -> new PendingBatch(streamId));
+        batch.tuples.add(tuple);
+        if (batch.tuples.size() >= batchTransactionSize) {
+            pendingBatches.remove(correlationId);
+            processBatch(correlationId, batch);
+        }
+    }
+
+    private void processPendingBatches() {
+        if (pendingBatches.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, PendingBatch>> batches = new ArrayList<>(pendingBatches.entrySet());
+        pendingBatches.clear();
+        for (Map.Entry<String, PendingBatch> entry : batches) {
+            processBatch(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Processes a chunk of a batch request in a single DB transaction and replies with the result of each flow as a
+     * separate chunk of the response, so the requester sees the progress of the whole batch.
+     */
+    private void processBatch(String correlationId, PendingBatch batch) {
+        Map<String, Tuple> tuplesByFlowId = new HashMap<>();
+        for (Tuple tuple : batch.tuples) {
+            tuplesByFlowId.putIfAbsent(tuple.getStringByField(Utils.FLOW_ID), tuple);
+        }
+
+        logger.info("Flows batch chunk: {}={}, stream={}, size={}",
+                Utils.CORRELATION_ID, correlationId, batch.operation, batch.tuples.size());
+
+        List<FlowBatchResult> results;
+        try {
+            if (batch.operation == StreamType.BATCH_CREATE) {
+                List<Flow> flows = new ArrayList<>(batch.tuples.size());
+                for (Tuple tuple : batch.tuples) {
+                    CommandMessage message = (CommandMessage) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
+                    flows.add(FlowMapper.INSTANCE.map(((FlowCreateRequest) message.getData()).getPayload()));
+                }
+                // Rules of the batch flows are grouped per switch by TransactionBolt.
+                results = flowService.createFlows(flows,
+                        new CrudFlowCommandSender(correlationId, tuplesByFlowId::get, StreamType.BATCH_CREATE));
+            } else {
+                List<String> flowIds = new ArrayList<>(batch.tuples.size());
+                for (Tuple tuple : batch.tuples) {
+                    flowIds.add(tuple.getStringByField(Utils.FLOW_ID));
+                }
+                results = flowService.deleteFlows(flowIds,
+                        new CrudFlowCommandSender(correlationId, tuplesByFlowId::get, StreamType.DELETE));
+            }
+        } catch (Exception e) {
+            logger.error("Failed to process flows batch chunk: {}={}", Utils.CORRELATION_ID, correlationId, e);
+
+            results = new ArrayList<>(batch.tuples.size());
+            for (Tuple tuple : batch.tuples) {
+                results.add(FlowBatchResult.failed(tuple.getStringByField(Utils.FLOW_ID), e));
+            }
+        }
+
+        for (int i = 0; i < batch.tuples.size(); i++) {
+            Tuple tuple = batch.tuples.get(i);
+            FlowBatchItemResponse response = buildBatchItemResponse(results.get(i), batch.operation);
+
+            Values values = new Values(new ChunkedInfoMessage(response, System.currentTimeMillis(), correlationId,
+                    tuple.getIntegerByField(FlowTopology.BATCH_INDEX_FIELD),
+                    tuple.getIntegerByField(FlowTopology.BATCH_SIZE_FIELD)));
+            outputCollector.emit(StreamType.RESPONSE.toString(), tuple, values);
+            outputCollector.ack(tuple);
+        }
+    }
+
+    private void addToPendingReroute(Tuple tuple) {
+        pendingReroutes.add(tuple);
+        if (pendingReroutes.size() >= batchTransactionSize) {
+            processPendingReroutes();
+        }
+    }
+
+    private void processPendingReroutes() {
+        if (pendingReroutes.isEmpty()) {
+            return;
+        }
+
+        Map<Boolean, List<Tuple>> tuplesByForce = new LinkedHashMap<>();
+        for (Tuple tuple : pendingReroutes) {
+            FlowRerouteRequest request = (FlowRerouteRequest) getCommandMessage(tuple).getData();
+            tuplesByForce.computeIfAbsent(request.isForce(), key -> new ArrayList<>()).add(tuple);
+        }
+        pendingReroutes.clear();
+
+        for (Map.Entry<Boolean, List<Tuple>> entry : tuplesByForce.entrySet()) {
+            processReroutes(entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Reroutes the flows of the requests with a single path computation and replies to each request separately.
+     */
+    private void processReroutes(List<Tuple> tuples, boolean forceToReroute) {
+        List<String> flowIds = new ArrayList<>(tuples.size());
+        Map<String, Tuple> tuplesByFlowId = new HashMap<>();
+        for (Tuple tuple : tuples) {
+            String flowId = tuple.getStringByField(Utils.FLOW_ID);
+            flowIds.add(flowId);
+            tuplesByFlowId.putIfAbsent(flowId, tuple);
+        }
+
+        logger.info("Flows reroute: size={}, force={}", tuples.size(), forceToReroute);
+
+        List<FlowRerouteResult> results;
+        try {
+            results = flowService.rerouteFlows(flowIds, forceToReroute, flowId -> {
+                Tuple tuple = tuplesByFlowId.get(flowId);
+                return new CrudFlowCommandSender(getCommandMessage(tuple).getCorrelationId(), tuple,
+                        StreamType.UPDATE);
+            });
+        } catch (Exception e) {
+            logger.error("Failed to reroute {} flows", tuples.size(), e);
+
+            results = new ArrayList<>(flowIds.size());
+            for (String flowId : flowIds) {
+                results.add(FlowRerouteResult.failed(flowId, e));
+            }
+        }
+
+        for (int i = 0; i < tuples.size(); i++) {
+            Tuple tuple = tuples.get(i);
+            CommandMessage message = getCommandMessage(tuple);
+            try {
+                handleRerouteResult(message, tuple, results.get(i));
+            } catch (CacheException exception) {
+                emitError(tuple, message.getCorrelationId(), exception);
+            } finally {
+                outputCollector.ack(tuple);
+            }
+        }
+    }
+
+    private CommandMessage getCommandMessage(Tuple tuple) {
+        return (CommandMessage) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
+    }
+
+    private void emitError(Tuple tuple, String correlationId, CacheException exception) {
+        String logMessage = format("%s: %s", exception.getErrorMessage(), exception.getErrorDescription());
+        logger.error("{}, {}={}, {}={}, component={}, stream={}", logMessage, Utils.CORRELATION_ID,
+                correlationId, Utils.FLOW_ID, tuple.getStringByField(Utils.FLOW_ID), tuple.getSourceComponent(),
+                tuple.getSourceStreamId(), exception);
+
+        ErrorMessage errorMessage = buildErrorMessage(correlationId, exception.getErrorType(),
+                logMessage, tuple.getSourceComponent().toLowerCase());
+
+        Values error = new Values(errorMessage, exception.getErrorType());
+        outputCollector.emit(StreamType.ERROR.toString(), tuple, error);
+    }
+
+    private FlowBatchItemResponse buildBatchItemResponse(FlowBatchResult result, StreamType operation) {
+        if (result.isSuccessful()) {
+            return FlowBatchItemResponse.succeeded(buildFlowResponse(result.getFlowPair().getForward()).getPayload());
+        }
+
+        Exception error = result.getError();
+        ErrorType errorType;
+        String errorMessage = error.getMessage();
+        if (error instanceof FlowValidationException) {
+            errorType = ((FlowValidationException) error).getType();
+        } else if (error instanceof SwitchValidationException) {
+            errorType = ErrorType.DATA_INVALID;
+        } else if (error instanceof FlowAlreadyExistException) {
+            errorType = ErrorType.ALREADY_EXISTS;
+        } else if (error instanceof FlowNotFoundException) {
+            errorType = ErrorType.NOT_FOUND;
+        } else if (error instanceof UnroutableFlowException) {
+            errorType = ErrorType.NOT_FOUND;
+            errorMessage = "Not enough bandwidth found or path not found : " + errorMessage;
+        } else {
+            errorType = operation == StreamType.BATCH_CREATE ? ErrorType.CREATION_FAILURE : ErrorType.DELETION_FAILURE;
+        }
+        return FlowBatchItemResponse.failed(result.getFlowId(), errorType, errorMessage);
+    }
+
+    private void handleNetworkTopologyChange(InfoMessage message) {
+        NetworkTopologyChange change = (NetworkTopologyChange) message.getData();
+        flowService.refreshNetworkSnapshot(change.getSwitchId(), change.getPortNumber());
+    }
+
     private void handleCacheSyncRequest(CommandMessage message, Tuple tuple) {
         logger.info("Synchronize FlowResourcesManager.");
 
@@ -414,14 +676,15 @@ public class CrudBolt
         }
     }
 
-    private void handleRerouteRequest(CommandMessage message, Tuple tuple) {
-        FlowRerouteRequest request = (FlowRerouteRequest) message.getData();
-        final String flowId = request.getFlowId();
+    private void handleRerouteResult(CommandMessage message, Tuple tuple, FlowRerouteResult result) {
+        final String flowId = result.getFlowId();
         final String errorType = "Could not reroute flow";
 
         try {
-            ReroutedFlow reroutedFlow = flowService.rerouteFlow(flowId, request.isForce(),
-                    new CrudFlowCommandSender(message.getCorrelationId(), tuple, StreamType.UPDATE));
+            if (!result.isSuccessful()) {
+                throw result.getError();
+            }
+            ReroutedFlow reroutedFlow = result.getReroutedFlow();
 
             if (reroutedFlow.getNewFlow() != null) {
                 logger.warn("Rerouted flow: {}", reroutedFlow);
@@ -486,29 +749,6 @@ public class CrudBolt
         }
     }
 
-    private void handleDumpRequest(CommandMessage message, Tuple tuple) {
-        List<BidirectionalFlowDto> flows = flowService.getFlows().stream()
-                .map(x -> new BidirectionalFlowDto(FlowMapper.INSTANCE.map(x)))
-                .collect(Collectors.toList());
-
-        logger.debug("Dump flows: found {} items", flows.size());
-
-        String requestId = message.getCorrelationId();
-        if (flows.isEmpty()) {
-            Message response = new ChunkedInfoMessage(null, System.currentTimeMillis(), requestId, requestId,
-                    flows.size());
-            outputCollector.emit(StreamType.RESPONSE.toString(), tuple, new Values(response));
-        } else {
-            int i = 0;
-            for (BidirectionalFlowDto flow : flows) {
-                Message response = new ChunkedInfoMessage(new FlowReadResponse(flow), System.currentTimeMillis(),
-                        requestId, i++, flows.size());
-
-                outputCollector.emit(StreamType.RESPONSE.toString(), tuple, new Values(response));
-            }
-        }
-    }
-
     private void handleReadRequest(String flowId, CommandMessage message, Tuple tuple) {
         FlowPair flowPair = flowService.getFlowPair(flowId)
                 .orElseThrow(() -> new MessageException(message.getCorrelationId(), System.currentTimeMillis(),
@@ -543,8 +783,15 @@ public class CrudBolt
     private void initFlowResourcesManager() {
         flowResourcesManager.clear();
 
-        repositoryFactory.createFlowRepository().findAllFlowPairs()
-                .forEach(flowPair -> flowResourcesManager.registerUsedByFlow(flowPair));
+        long startTime = System.currentTimeMillis();
+        repositoryFactory.createFlowRepository().forEachFlowResources(RESOURCES_BOOTSTRAP_PAGE_SIZE,
+                flowResources -> flowResourcesManager.registerUsedByFlow(flowResources));
+        long duration = System.currentTimeMillis() - startTime;
+
+        logger.info("Flow resources have been loaded in {} ms", duration);
+        if (resourcesBootstrapTimeMetric != null) {
+            resourcesBootstrapTimeMetric.setValue(duration);
+        }
     }
 
     @Override
@@ -589,14 +836,34 @@ public class CrudBolt
                 flowResourcesManager.getAllocatedCookies()));
     }
 
+    /**
+     * Tuples of a batch request received by this bolt, but not processed yet.
+     */
+    private static class PendingBatch {
+        private final StreamType operation;
+        private final List<Tuple> tuples = new ArrayList<>();
+
+        PendingBatch(StreamType operation) {
+            this.operation = operation;
+        }
+    }
+
     class CrudFlowCommandSender implements FlowCommandSender {
         private final String correlationId;
-        private final Tuple tuple;
+        private final Function<String, Tuple> anchors;
         private final StreamType stream;
 
         CrudFlowCommandSender(String correlationId, Tuple tuple, StreamType stream) {
+            this(correlationId, flowId -> tuple, stream);
+        }
+
+        /**
+         * Builds the sender which anchors commands of each flow to own tuple, as flows of a batch come in different
+         * tuples.
+         */
+        CrudFlowCommandSender(String correlationId, Function<String, Tuple> anchors, StreamType stream) {
             this.correlationId = correlationId;
-            this.tuple = tuple;
+            this.anchors = anchors;
             this.stream = stream;
         }
 
@@ -683,7 +950,7 @@ public class CrudBolt
         private void sendRulesCommand(String flowId, List<FlowCommandGroup> commandGroups) {
             CommandMessage message = new CommandMessage(new BatchFlowCommandsRequest(commandGroups),
                     System.currentTimeMillis(), correlationId, Destination.CONTROLLER);
-            outputCollector.emit(stream.toString(), tuple, new Values(message, flowId));
+            outputCollector.emit(stream.toString(), anchors.apply(flowId), new Values(message, flowId));
         }
     }
 }
@@ -0,0 +1,173 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.ChunkedInfoMessage;
+import org.openkilda.messaging.info.flow.FlowsDumpResponse;
+import org.openkilda.messaging.model.BidirectionalFlowDto;
+import org.openkilda.model.FlowPair;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.share.mappers.FlowMapper;
+import org.openkilda.wfm.topology.AbstractTopology;
+import org.openkilda.wfm.topology.flow.ComponentType;
+import org.openkilda.wfm.topology.flow.StreamType;
+
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dumps all flows to northbound chunk by chunk.
+ * <p/>
+ * Each chunk holds the flows of a page of switches read by the indexed switch name keyset, a flow belongs to the page
+ * of its first endpoint switch. Neo4j doesn't index relationship properties, so paging over the flows themselves would
+ * scan all of them for every chunk. After a chunk is emitted, the request for the next one is sent back to the bolt
+ * itself, so a big dump doesn't hold the executor and only one page of flows is kept in memory. The number of chunks
+ * is fixed by the switches count at the beginning of the dump, the dump is not a consistent snapshot of flows changed
+ * in the meantime.
+ */
+public class FlowDumpBolt extends AbstractBolt {
+    public static final String FIELD_ID_REQUEST_ID = "request_id";
+    public static final String FIELD_ID_AFTER_SWITCH_ID = "after_switch_id";
+    public static final String FIELD_ID_CHUNK_INDEX = "chunk_index";
+    public static final String FIELD_ID_CHUNKS_TOTAL = "chunks_total";
+    public static final Fields STREAM_DUMP_CHUNK_FIELDS = new Fields(
+            FIELD_ID_REQUEST_ID, FIELD_ID_AFTER_SWITCH_ID, FIELD_ID_CHUNK_INDEX, FIELD_ID_CHUNKS_TOTAL);
+
+    private final PersistenceManager persistenceManager;
+    private final int switchesPerChunk;
+
+    private transient FlowRepository flowRepository;
+    private transient SwitchRepository switchRepository;
+
+    public FlowDumpBolt(PersistenceManager persistenceManager, int switchesPerChunk) {
+        this.persistenceManager = persistenceManager;
+        this.switchesPerChunk = switchesPerChunk;
+    }
+
+    @Override
+    protected void init() {
+        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
+        flowRepository = repositoryFactory.createFlowRepository();
+        switchRepository = repositoryFactory.createSwitchRepository();
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws PipelineException {
+        String source = input.getSourceComponent();
+        String stream = input.getSourceStreamId();
+
+        if (ComponentType.SPLITTER_BOLT.toString().equals(source) && StreamType.DUMP.toString().equals(stream)) {
+            handleDumpRequest(input);
+        } else if (ComponentType.FLOW_DUMP_BOLT.toString().equals(source)
+                && StreamType.DUMP_CHUNK.toString().equals(stream)) {
+            handleDumpChunk(input);
+        } else {
+            unhandledInput(input);
+        }
+    }
+
+    private void handleDumpRequest(Tuple input) throws PipelineException {
+        Message message = pullValue(input, AbstractTopology.MESSAGE_FIELD, Message.class);
+        String requestId = message.getCorrelationId();
+
+        try {
+            long switchesCount = switchRepository.countSwitches();
+            int chunksTotal = (int) ((switchesCount + switchesPerChunk - 1) / switchesPerChunk);
+            log.debug("Dump flows: found {} switches, {} chunks", switchesCount, chunksTotal);
+
+            if (chunksTotal == 0) {
+                Message response = new ChunkedInfoMessage(null, System.currentTimeMillis(), requestId, requestId, 0);
+                getOutput().emit(StreamType.RESPONSE.toString(), input, new Values(response));
+            } else {
+                emitChunk(input, requestId, null, 0, chunksTotal);
+            }
+        } catch (Exception e) {
+            emitError(input, requestId, e);
+        }
+    }
+
+    private void handleDumpChunk(Tuple input) throws PipelineException {
+        String requestId = pullValue(input, FIELD_ID_REQUEST_ID, String.class);
+        SwitchId afterSwitchId = pullValue(input, FIELD_ID_AFTER_SWITCH_ID, SwitchId.class);
+        int chunkIndex = pullValue(input, FIELD_ID_CHUNK_INDEX, Integer.class);
+        int chunksTotal = pullValue(input, FIELD_ID_CHUNKS_TOTAL, Integer.class);
+
+        try {
+            emitChunk(input, requestId, afterSwitchId, chunkIndex, chunksTotal);
+        } catch (Exception e) {
+            emitError(input, requestId, e);
+        }
+    }
+
+    private void emitChunk(Tuple input, String requestId, SwitchId afterSwitchId, int chunkIndex, int chunksTotal) {
+        List<SwitchId> switchIds = switchRepository.findSwitchIds(afterSwitchId, switchesPerChunk);
+        Collection<FlowPair> flowPairs = switchIds.isEmpty()
+                ? Collections.emptyList() : flowRepository.findFlowPairsBySwitches(switchIds);
+
+        List<BidirectionalFlowDto> flows = new ArrayList<>(flowPairs.size());
+        for (FlowPair flowPair : flowPairs) {
+            flows.add(new BidirectionalFlowDto(FlowMapper.INSTANCE.map(flowPair)));
+        }
+        SwitchId lastSwitchId = switchIds.isEmpty() ? afterSwitchId : switchIds.get(switchIds.size() - 1);
+
+        // Switches removed since the dump has been started can make the tail chunks empty, but they are still sent
+        // since northbound waits for the announced number of chunks.
+        Message response = new ChunkedInfoMessage(new FlowsDumpResponse(flows), System.currentTimeMillis(),
+                requestId, chunkIndex, chunksTotal);
+        getOutput().emit(StreamType.RESPONSE.toString(), input, new Values(response));
+
+        int nextChunk = chunkIndex + 1;
+        if (nextChunk < chunksTotal) {
+            getOutput().emit(StreamType.DUMP_CHUNK.toString(), input,
+                    new Values(requestId, lastSwitchId, nextChunk, chunksTotal));
+        }
+    }
+
+    private void emitError(Tuple input, String requestId, Exception e) {
+        log.error("Failed to dump flows, {}={}", Utils.CORRELATION_ID, requestId, e);
+
+        ErrorMessage error = new ErrorMessage(
+                new ErrorData(ErrorType.INTERNAL_ERROR, "Can not dump flows", e.getMessage()),
+                System.currentTimeMillis(), requestId, Destination.NORTHBOUND);
+        getOutput().emit(StreamType.RESPONSE.toString(), input, new Values(error));
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
+        outputFieldsDeclarer.declareStream(StreamType.RESPONSE.toString(), AbstractTopology.fieldMessage);
+        outputFieldsDeclarer.declareStream(StreamType.DUMP_CHUNK.toString(), STREAM_DUMP_CHUNK_FIELDS);
+    }
+}
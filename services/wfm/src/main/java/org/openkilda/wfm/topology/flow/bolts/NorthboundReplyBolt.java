@@ -66,6 +66,7 @@ public class NorthboundReplyBolt extends BaseRichBolt {
             switch (componentId) {
 
                 case CRUD_BOLT:
+                case FLOW_DUMP_BOLT:
                 case ERROR_BOLT:
                     logger.debug("Flow response: {}={}, component={}, stream={}, message={}",
                             Utils.CORRELATION_ID, message.getCorrelationId(), componentId, streamId, message);
@@ -27,11 +27,15 @@ import org.openkilda.messaging.command.flow.FlowDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowReadRequest;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.flow.FlowsBatchCreateRequest;
+import org.openkilda.messaging.command.flow.FlowsBatchDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowsDumpRequest;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
+import org.openkilda.messaging.model.FlowDto;
 import org.openkilda.wfm.topology.flow.FlowTopology;
 import org.openkilda.wfm.topology.flow.StreamType;
 
@@ -44,6 +48,7 @@ import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -128,6 +133,9 @@ public class SplitterBolt extends BaseRichBolt {
                         logger.warn("Skip undefined FlowInfoData Operation {}: {}={}",
                                 fid.getOperation(), Utils.CORRELATION_ID, message.getCorrelationId());
                     }
+                } else if (data instanceof NetworkTopologyChange) {
+                    values = new Values(message, null);
+                    outputCollector.emit(StreamType.NETWORK_TOPOLOGY_CHANGE.toString(), tuple, values);
                 } else {
                     logger.warn("Skip undefined InfoMessage: {}={}", Utils.CORRELATION_ID, message.getCorrelationId());
                 }
@@ -179,6 +187,33 @@ public class SplitterBolt extends BaseRichBolt {
                 values = new Values(message, flowId);
                 outputCollector.emit(StreamType.READ.toString(), tuple, values);
 
+            } else if (data instanceof FlowsBatchCreateRequest) {
+                List<FlowDto> flows = ((FlowsBatchCreateRequest) data).getFlows();
+
+                logger.info("Flows batch create message: {} flows, {}={}",
+                        flows.size(), Utils.CORRELATION_ID, message.getCorrelationId());
+
+                for (int i = 0; i < flows.size(); i++) {
+                    CommandMessage item = new CommandMessage(new FlowCreateRequest(flows.get(i)),
+                            message.getTimestamp(), message.getCorrelationId(), message.getDestination());
+                    outputCollector.emit(StreamType.BATCH_CREATE.toString(), tuple,
+                            new Values(item, flows.get(i).getFlowId(), i, flows.size()));
+                }
+
+            } else if (data instanceof FlowsBatchDeleteRequest) {
+                List<String> flowIds = ((FlowsBatchDeleteRequest) data).getFlowIds();
+
+                logger.info("Flows batch delete message: {} flows, {}={}",
+                        flowIds.size(), Utils.CORRELATION_ID, message.getCorrelationId());
+
+                for (int i = 0; i < flowIds.size(); i++) {
+                    FlowDto flow = FlowDto.builder().flowId(flowIds.get(i)).build();
+                    CommandMessage item = new CommandMessage(new FlowDeleteRequest(flow),
+                            message.getTimestamp(), message.getCorrelationId(), message.getDestination());
+                    outputCollector.emit(StreamType.BATCH_DELETE.toString(), tuple,
+                            new Values(item, flowIds.get(i), i, flowIds.size()));
+                }
+
             } else if (data instanceof FlowsDumpRequest) {
                 logger.info("Flows dump message: values={}", values);
 
@@ -218,6 +253,10 @@ public class SplitterBolt extends BaseRichBolt {
         outputFieldsDeclarer.declareStream(StreamType.UNPUSH.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.CACHE_SYNC.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.REROUTE.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.NETWORK_TOPOLOGY_CHANGE.toString(),
+                FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.BATCH_CREATE.toString(), FlowTopology.fieldsMessageFlowIdBatch);
+        outputFieldsDeclarer.declareStream(StreamType.BATCH_DELETE.toString(), FlowTopology.fieldsMessageFlowIdBatch);
         outputFieldsDeclarer.declareStream(StreamType.ERROR.toString(), FlowTopology.fieldsMessageErrorType);
     }
 
@@ -26,6 +26,7 @@ import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.BaseFlow;
 import org.openkilda.messaging.command.flow.BaseInstallFlow;
 import org.openkilda.messaging.command.flow.BatchFlowCommandsRequest;
+import org.openkilda.messaging.command.flow.BatchInstallRequest;
 import org.openkilda.messaging.command.flow.FlowCommandGroup;
 import org.openkilda.messaging.command.flow.FlowCommandGroup.FailureReaction;
 import org.openkilda.messaging.ctrl.AbstractDumpState;
@@ -57,7 +58,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -65,6 +68,11 @@ import java.util.UUID;
 
 /**
  * Transaction Bolt. Tracks OpenFlow Speaker commands transactions.
+ * <p/>
+ * Install commands of flows from a batch create request are not sent one by one, but grouped per switch into
+ * {@link BatchInstallRequest} which the speaker installs under a single barrier. A group is sent on tick or once it
+ * reaches {@link #MAX_BATCH_INSTALL_SIZE} commands. The speaker replies per command, so the transactions are tracked
+ * per flow as usual.
  */
 public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueState<String, FlowCommandRegistry>>
         implements ICtrlBolt {
@@ -72,6 +80,7 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
 
     private static final String STREAM_ID_CTRL = "ctrl";
     private static final String FLOW_COMMAND_REGISTRY_STATE_KEY = "transactions";
+    private static final int MAX_BATCH_INSTALL_SIZE = 100;
 
     private final Duration transactionExpirationTime;
 
@@ -80,6 +89,10 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
      */
     private transient FlowCommandRegistry flowCommandRegistry;
 
+    private transient Set<String> batchedFlows;
+
+    private transient Map<String, Map<SwitchId, List<BaseInstallFlow>>> pendingInstalls;
+
     private transient TopologyContext context;
 
     public TransactionBolt(Duration transactionExpirationTime) {
@@ -104,6 +117,9 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
                     if (message instanceof CommandMessage) {
                         CommandData data = ((CommandMessage) message).getData();
                         if (data instanceof BatchFlowCommandsRequest) {
+                            if (StreamType.BATCH_CREATE.toString().equals(tuple.getSourceStreamId())) {
+                                batchedFlows.add(flowId);
+                            }
                             registerCommands(flowId, (BatchFlowCommandsRequest) data);
 
                             processCommands(flowId, tuple, message.getCorrelationId());
@@ -168,13 +184,51 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
     private void processCommands(String flowId, Tuple tuple, String correlationId) throws JsonProcessingException {
         List<? extends BaseFlow> groupCommands = flowCommandRegistry.pollNextGroup(flowId);
         for (BaseFlow command : groupCommands) {
-            CommandMessage message = new CommandMessage(command,
-                    System.currentTimeMillis(), correlationId, Destination.CONTROLLER);
-            StreamType streamId = command instanceof BaseInstallFlow ? StreamType.CREATE : StreamType.DELETE;
-            outputCollector.emit(streamId.toString(), tuple, new Values(MAPPER.writeValueAsString(message)));
+            if (command instanceof BaseInstallFlow && batchedFlows.contains(flowId)) {
+                addPendingInstall((BaseInstallFlow) command, tuple, correlationId);
+            } else {
+                CommandMessage message = new CommandMessage(command,
+                        System.currentTimeMillis(), correlationId, Destination.CONTROLLER);
+                StreamType streamId = command instanceof BaseInstallFlow ? StreamType.CREATE : StreamType.DELETE;
+                outputCollector.emit(streamId.toString(), tuple, new Values(MAPPER.writeValueAsString(message)));
+            }
+        }
+    }
+
+    private void addPendingInstall(BaseInstallFlow command, Tuple tuple, String correlationId)
+            throws JsonProcessingException {
+        Map<SwitchId, List<BaseInstallFlow>> switchInstalls =
+                pendingInstalls.computeIfAbsent(correlationId, k -> new HashMap<>());
+        List<BaseInstallFlow> commands = switchInstalls.computeIfAbsent(command.getSwitchId(), k -> new ArrayList<>());
+        commands.add(command);
+
+        if (commands.size() >= MAX_BATCH_INSTALL_SIZE) {
+            switchInstalls.remove(command.getSwitchId());
+            emitBatchInstall(command.getSwitchId(), commands, tuple, correlationId);
+        }
+    }
+
+    private void flushPendingInstalls(Tuple tuple) throws JsonProcessingException {
+        Map<String, Map<SwitchId, List<BaseInstallFlow>>> flushed = pendingInstalls;
+        pendingInstalls = new HashMap<>();
+
+        for (Map.Entry<String, Map<SwitchId, List<BaseInstallFlow>>> entry : flushed.entrySet()) {
+            for (Map.Entry<SwitchId, List<BaseInstallFlow>> switchInstalls : entry.getValue().entrySet()) {
+                emitBatchInstall(switchInstalls.getKey(), switchInstalls.getValue(), tuple, entry.getKey());
+            }
         }
     }
 
+    private void emitBatchInstall(SwitchId switchId, List<BaseInstallFlow> commands, Tuple tuple,
+                                  String correlationId) throws JsonProcessingException {
+        logger.debug("Batch install of {} commands on switch {}: {}={}",
+                commands.size(), switchId, Utils.CORRELATION_ID, correlationId);
+
+        CommandMessage message = new CommandMessage(new BatchInstallRequest(switchId, commands),
+                System.currentTimeMillis(), correlationId, Destination.CONTROLLER);
+        outputCollector.emit(StreamType.CREATE.toString(), tuple, new Values(MAPPER.writeValueAsString(message)));
+    }
+
     private void onSuccessfulCommand(String flowId, BaseFlow data, Tuple tuple, String correlationId)
             throws UnknownTransactionException {
         UUID transactionId = data.getTransactionId();
@@ -217,6 +271,7 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
 
     private void onCompletedFlow(String flowId, FlowState state, Tuple tuple, String correlationId) {
         logger.info("Flow transactions completed for flow {}, set flow status to {}", flowId, state);
+        batchedFlows.remove(flowId);
         Values values = new Values(flowId, state, new CommandContext(correlationId));
         outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
     }
@@ -224,8 +279,11 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
     @Override
     protected void doTick(Tuple tuple) {
         try {
+            flushPendingInstalls(tuple);
+
             Set<String> affectedFlows = flowCommandRegistry.removeExpiredBatch(transactionExpirationTime);
             affectedFlows.forEach(flowId -> {
+                batchedFlows.remove(flowId);
                 Values values = new Values(flowId, FlowState.DOWN, new CommandContext());
                 outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
             });
@@ -264,6 +322,8 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
         this.context = topologyContext;
+        batchedFlows = new HashSet<>();
+        pendingInstalls = new HashMap<>();
         super.prepare(map, topologyContext, outputCollector);
     }
 
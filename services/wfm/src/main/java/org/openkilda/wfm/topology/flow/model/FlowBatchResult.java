@@ -0,0 +1,46 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.flow.model;
+
+import org.openkilda.model.FlowPair;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * The result of a single flow of a batch operation: either the created / deleted flow or the reason of the failure.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class FlowBatchResult {
+    String flowId;
+    FlowPair flowPair;
+    Exception error;
+
+    public static FlowBatchResult succeeded(FlowPair flowPair) {
+        return new FlowBatchResult(flowPair.getForward().getFlowId(), flowPair, null);
+    }
+
+    public static FlowBatchResult failed(String flowId, Exception error) {
+        return new FlowBatchResult(flowId, null, error);
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.flow.service;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPair;
+import org.openkilda.model.FlowResources;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.cache.ResourceCache;
 
@@ -68,6 +69,24 @@ public class FlowResourcesManager {
         resourceCache.allocateMeterId(reverse.getSrcSwitch().getSwitchId(), reverse.getMeterId());
     }
 
+    /**
+     * Register the resources of a flow (one direction of the flow pair) as used.
+     *
+     * @param flowResources the flow resources to register.
+     */
+    public void registerUsedByFlow(FlowResources flowResources) {
+        int cookie = (int) (ResourceCache.FLOW_COOKIE_VALUE_MASK & flowResources.getCookie());
+        if (cookie != 0) {
+            // Zero cookie means "allocate a new one" for the resource cache.
+            resourceCache.allocateCookie(cookie);
+        }
+        if (flowResources.getTransitVlan() != 0) {
+            // One switch flows don't have transit vlan.
+            resourceCache.allocateVlanId(flowResources.getTransitVlan());
+        }
+        resourceCache.allocateMeterId(flowResources.getSrcSwitchId(), flowResources.getMeterId());
+    }
+
     /**
      * Allocate free resources for the flow.
      *
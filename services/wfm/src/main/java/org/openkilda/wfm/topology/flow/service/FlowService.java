@@ -25,17 +25,22 @@ import org.openkilda.model.FlowSegment;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputationResult;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.NetworkSnapshot;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionCallback;
 import org.openkilda.persistence.repositories.FlowSegmentRepository;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.wfm.topology.flow.model.FlowBatchResult;
 import org.openkilda.wfm.topology.flow.model.FlowPairWithSegments;
+import org.openkilda.wfm.topology.flow.model.FlowRerouteResult;
 import org.openkilda.wfm.topology.flow.model.UpdatedFlowPairWithSegments;
 import org.openkilda.wfm.topology.flow.validation.FlowValidationException;
 import org.openkilda.wfm.topology.flow.validation.FlowValidator;
@@ -49,10 +54,14 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 @Slf4j
 public class FlowService extends BaseFlowService {
@@ -101,25 +110,100 @@ public class FlowService extends BaseFlowService {
 
         log.info("Creating the flow {} with path: {}", flow, pathPair);
 
-        FlowPairWithSegments result = transactionManager.doInTransaction(() -> {
+        FlowPairWithSegments result = doInTransaction(() -> {
             FlowPair flowPair = flowResourcesManager.allocateFlow(buildFlowPair(flow, pathPair));
+            return storeNewFlow(flowPair);
+        });
 
-            List<FlowSegment> forwardSegments = buildFlowSegments(flowPair.getForward());
-            List<FlowSegment> reverseSegments = buildFlowSegments(flowPair.getReverse());
-            List<FlowSegment> flowSegments = union(forwardSegments, reverseSegments);
+        // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
+        sender.sendInstallRulesCommand(result);
 
-            lockSwitches(flowSegments);
+        return result.getFlowPair();
+    }
 
-            flowRepository.createOrUpdate(flowPair);
-            createFlowSegments(flowSegments);
+    /**
+     * Creates a batch of flows. Paths of the flows are computed over the same network (the bandwidth taken by a flow
+     * is not available for the following ones), and all the flows are stored in a single DB transaction. Flow rules
+     * installation is invoked for each created flow after the transaction commit.
+     * <p/>
+     * A flow that fails validation or path computation is reported as failed and doesn't affect the others. If the
+     * transaction fails, the flows are created one by one, so a single broken flow can't fail the whole batch.
+     *
+     * @param flows  the flows to be created.
+     * @param sender the command sender for flow rules installation.
+     * @return results of the flows in the same order as the flows are provided.
+     */
+    public List<FlowBatchResult> createFlows(List<Flow> flows, FlowCommandSender sender) throws RecoverableException {
+        FlowBatchResult[] results = new FlowBatchResult[flows.size()];
+        Map<String, Integer> flowIndexes = new HashMap<>();
+        List<Flow> validFlows = new ArrayList<>();
+        for (int i = 0; i < flows.size(); i++) {
+            Flow flow = flows.get(i);
+            try {
+                flowValidator.validate(flow);
+
+                if (flowIndexes.containsKey(flow.getFlowId()) || doesFlowExist(flow.getFlowId())) {
+                    throw new FlowAlreadyExistException(flow.getFlowId());
+                }
+                flowIndexes.put(flow.getFlowId(), i);
+                validFlows.add(flow);
+            } catch (FlowValidationException | SwitchValidationException | FlowAlreadyExistException e) {
+                results[i] = FlowBatchResult.failed(flow.getFlowId(), e);
+            }
+        }
 
-            return new FlowPairWithSegments(flowPair, forwardSegments, reverseSegments);
-        });
+        // TODO: the strategy is defined either per flow or system-wide.
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        List<PathComputationResult> paths = pathComputer.getPaths(validFlows, false);
+
+        List<Flow> routedFlows = new ArrayList<>();
+        List<PathPair> routedPaths = new ArrayList<>();
+        for (int i = 0; i < validFlows.size(); i++) {
+            Flow flow = validFlows.get(i);
+            PathComputationResult path = paths.get(i);
+            if (path.isSuccessful()) {
+                flow.setStatus(FlowStatus.IN_PROGRESS);
+                routedFlows.add(flow);
+                routedPaths.add(path.getPathPair());
+            } else {
+                results[flowIndexes.get(flow.getFlowId())] = FlowBatchResult.failed(flow.getFlowId(), path.getError());
+            }
+        }
+
+        log.info("Creating a batch of {} flows, {} of them are routed", flows.size(), routedFlows.size());
+
+        List<FlowPair> allocatedFlows = new ArrayList<>();
+        List<FlowPairWithSegments> createdFlows;
+        try {
+            createdFlows = doInTransaction(() -> {
+                List<FlowPairWithSegments> stored = new ArrayList<>();
+                for (int i = 0; i < routedFlows.size(); i++) {
+                    FlowPair allocatedFlow = flowResourcesManager.allocateFlow(
+                            buildFlowPair(routedFlows.get(i), routedPaths.get(i)));
+                    allocatedFlows.add(allocatedFlow);
+                    stored.add(storeNewFlow(allocatedFlow));
+                }
+                return stored;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to create a batch of {} flows, falling back to one by one creation",
+                    routedFlows.size(), e);
+            allocatedFlows.forEach(flowResourcesManager::deallocateFlow);
+
+            for (Flow flow : routedFlows) {
+                results[flowIndexes.get(flow.getFlowId())] = createFlowOfBatch(flow, sender);
+            }
+            return Arrays.asList(results);
+        }
 
         // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
-        sender.sendInstallRulesCommand(result);
+        for (FlowPairWithSegments created : createdFlows) {
+            sender.sendInstallRulesCommand(created);
 
-        return result.getFlowPair();
+            FlowPair flowPair = created.getFlowPair();
+            results[flowIndexes.get(flowPair.getForward().getFlowId())] = FlowBatchResult.succeeded(flowPair);
+        }
+        return Arrays.asList(results);
     }
 
     /**
@@ -138,7 +222,7 @@ public class FlowService extends BaseFlowService {
 
         log.info("Saving (pushing) the flow: {}", flowPair);
 
-        FlowPairWithSegments result = transactionManager.doInTransaction(() -> {
+        FlowPairWithSegments result = doInTransaction(() -> {
             List<FlowSegment> forwardSegments = buildFlowSegments(forward);
             List<FlowSegment> reverseSegments = buildFlowSegments(reverse);
             List<FlowSegment> flowSegments = union(forwardSegments, reverseSegments);
@@ -172,34 +256,71 @@ public class FlowService extends BaseFlowService {
      * @return the deleted flow.
      */
     public FlowPair deleteFlow(String flowId, FlowCommandSender sender) throws FlowNotFoundException {
-        FlowPairWithSegments result = transactionManager.doInTransaction(() -> {
-            Optional<FlowPair> foundFlowPair = getFlowPair(flowId);
-            if (!foundFlowPair.isPresent()) {
-                return Optional.<FlowPairWithSegments>empty();
-            }
-
-            FlowPair flowPair = foundFlowPair.get();
-
-            List<FlowSegment> forwardSegments = getFlowSegments(flowPair.getForward());
-            List<FlowSegment> reverseSegments = getFlowSegments(flowPair.getReverse());
-            List<FlowSegment> flowSegments = union(forwardSegments, reverseSegments);
+        FlowPairWithSegments result = doInTransaction(() -> {
+            Optional<FlowPairWithSegments> removed = removeFlow(flowId);
+            removed.ifPresent(flow -> flowResourcesManager.deallocateFlow(flow.getFlowPair()));
+            return removed;
+        }).orElseThrow(() -> new FlowNotFoundException(flowId));
 
-            lockSwitches(flowSegments);
+        // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
+        sender.sendRemoveRulesCommand(result);
 
-            log.info("Deleting the flow: {}", flowPair);
+        return result.getFlowPair();
+    }
 
-            flowRepository.delete(flowPair);
-            deleteFlowSegments(flowSegments);
+    /**
+     * Deletes a batch of flows in a single DB transaction. Resources of the flows are deallocated and flow rules
+     * deletion is invoked for each deleted flow after the transaction commit.
+     * <p/>
+     * A missing flow is reported as failed. If the transaction fails, the flows are deleted one by one.
+     *
+     * @param flowIds the flows to be deleted.
+     * @param sender  the command sender for flow rules deletion.
+     * @return results of the flows in the same order as the flow ids are provided.
+     */
+    public List<FlowBatchResult> deleteFlows(List<String> flowIds, FlowCommandSender sender) {
+        List<Optional<FlowPairWithSegments>> deletedFlows;
+        try {
+            deletedFlows = doInTransaction(() -> {
+                Set<String> processed = new HashSet<>();
+                List<Optional<FlowPairWithSegments>> removed = new ArrayList<>(flowIds.size());
+                for (String flowId : flowIds) {
+                    removed.add(processed.add(flowId) ? removeFlow(flowId) : Optional.empty());
+                }
+                return removed;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete a batch of {} flows, falling back to one by one deletion", flowIds.size(), e);
+
+            List<FlowBatchResult> results = new ArrayList<>(flowIds.size());
+            for (String flowId : flowIds) {
+                try {
+                    results.add(FlowBatchResult.succeeded(deleteFlow(flowId, sender)));
+                } catch (Exception deleteException) {
+                    results.add(FlowBatchResult.failed(flowId, deleteException));
+                }
+            }
+            return results;
+        }
 
-            flowResourcesManager.deallocateFlow(flowPair);
+        log.info("Deleted a batch of {} flows", flowIds.size());
 
-            return Optional.of(new FlowPairWithSegments(flowPair, forwardSegments, reverseSegments));
-        }).orElseThrow(() -> new FlowNotFoundException(flowId));
+        List<FlowBatchResult> results = new ArrayList<>(flowIds.size());
+        for (int i = 0; i < flowIds.size(); i++) {
+            Optional<FlowPairWithSegments> deleted = deletedFlows.get(i);
+            if (deleted.isPresent()) {
+                FlowPairWithSegments result = deleted.get();
+                flowResourcesManager.deallocateFlow(result.getFlowPair());
 
-        // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
-        sender.sendRemoveRulesCommand(result);
+                // To avoid race condition in DB updates, we should send commands only after DB transaction commit.
+                sender.sendRemoveRulesCommand(result);
 
-        return result.getFlowPair();
+                results.add(FlowBatchResult.succeeded(result.getFlowPair()));
+            } else {
+                results.add(FlowBatchResult.failed(flowIds.get(i), new FlowNotFoundException(flowIds.get(i))));
+            }
+        }
+        return results;
     }
 
     /**
@@ -223,7 +344,7 @@ public class FlowService extends BaseFlowService {
 
         newFlow.setStatus(FlowStatus.IN_PROGRESS);
 
-        UpdatedFlowPairWithSegments result = transactionManager.doInTransaction(() -> {
+        UpdatedFlowPairWithSegments result = doInTransaction(() -> {
             Optional<FlowPair> foundFlowPair = getFlowPair(flowId);
             if (!foundFlowPair.isPresent()) {
                 return Optional.<UpdatedFlowPairWithSegments>empty();
@@ -285,6 +406,78 @@ public class FlowService extends BaseFlowService {
         PathComputer pathComputer = pathComputerFactory.getPathComputer();
         PathPair pathPair = pathComputer.getPath(currentFlow.getForward(), true);
 
+        return rerouteFlow(currentFlow, pathPair, forceToReroute, sender);
+    }
+
+    /**
+     * Reroutes a batch of flows. Paths of the flows are computed over the same network (the bandwidth taken by a flow
+     * is not available for the following ones, the bandwidth of the current path of a flow is available for itself).
+     * Then each flow is rerouted in own transaction as {@link #rerouteFlow(String, boolean, FlowCommandSender)} does.
+     * <p/>
+     * A flow that doesn't exist or can't be routed is reported as failed and doesn't affect the others.
+     *
+     * @param flowIds        the flows to be rerouted.
+     * @param forceToReroute if true the flows will be recreated even there's no better path found.
+     * @param senders        the command senders for flow rules installation and deletion, by the flow id.
+     * @return results of the flows in the same order as the flow ids are provided.
+     */
+    public List<FlowRerouteResult> rerouteFlows(List<String> flowIds, boolean forceToReroute,
+                                               Function<String, FlowCommandSender> senders)
+            throws RecoverableException {
+        Map<String, FlowRerouteResult> results = new HashMap<>();
+        List<FlowPair> currentFlows = new ArrayList<>();
+        for (String flowId : flowIds) {
+            if (results.containsKey(flowId)) {
+                continue;
+            }
+
+            Optional<FlowPair> currentFlow = getFlowPair(flowId);
+            if (currentFlow.isPresent()) {
+                log.warn("Origin flow {} path: {}", flowId, currentFlow.get().getForward().getFlowPath());
+                currentFlows.add(currentFlow.get());
+                results.put(flowId, null);
+            } else {
+                results.put(flowId, FlowRerouteResult.failed(flowId, new FlowNotFoundException(flowId)));
+            }
+        }
+
+        List<Flow> forwardFlows = new ArrayList<>(currentFlows.size());
+        currentFlows.forEach(flowPair -> forwardFlows.add(flowPair.getForward()));
+
+        // TODO: the strategy is defined either per flow or system-wide.
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        List<PathComputationResult> paths = pathComputer.getPaths(forwardFlows, true);
+
+        log.info("Rerouting a batch of {} flows", currentFlows.size());
+
+        for (int i = 0; i < currentFlows.size(); i++) {
+            FlowPair currentFlow = currentFlows.get(i);
+            String flowId = currentFlow.getForward().getFlowId();
+            PathComputationResult path = paths.get(i);
+            if (!path.isSuccessful()) {
+                results.put(flowId, FlowRerouteResult.failed(flowId, path.getError()));
+                continue;
+            }
+
+            try {
+                results.put(flowId, FlowRerouteResult.succeeded(
+                        rerouteFlow(currentFlow, path.getPathPair(), forceToReroute, senders.apply(flowId))));
+            } catch (Exception e) {
+                results.put(flowId, FlowRerouteResult.failed(flowId, e));
+            }
+        }
+
+        List<FlowRerouteResult> orderedResults = new ArrayList<>(flowIds.size());
+        for (String flowId : flowIds) {
+            orderedResults.add(results.get(flowId));
+        }
+        return orderedResults;
+    }
+
+    private ReroutedFlow rerouteFlow(FlowPair currentFlow, PathPair pathPair, boolean forceToReroute,
+                                     FlowCommandSender sender) {
+        String flowId = currentFlow.getForward().getFlowId();
+
         log.warn("Potential New Path for flow {} with LEFT path: {}, RIGHT path: {}",
                 flowId, pathPair.getForward(), pathPair.getReverse());
 
@@ -298,7 +491,7 @@ public class FlowService extends BaseFlowService {
             return new ReroutedFlow(currentFlow, null);
         }
 
-        UpdatedFlowPairWithSegments result = transactionManager.doInTransaction(() -> {
+        UpdatedFlowPairWithSegments result = doInTransaction(() -> {
             FlowPair newFlow = flowResourcesManager.allocateFlow(buildFlowPair(currentFlow.getForward(), pathPair));
             newFlow.setStatus(FlowStatus.IN_PROGRESS);
 
@@ -335,6 +528,49 @@ public class FlowService extends BaseFlowService {
         return new ReroutedFlow(currentFlow, result.getFlowPair());
     }
 
+    private FlowBatchResult createFlowOfBatch(Flow flow, FlowCommandSender sender) {
+        try {
+            return FlowBatchResult.succeeded(createFlow(flow, sender));
+        } catch (Exception e) {
+            return FlowBatchResult.failed(flow.getFlowId(), e);
+        }
+    }
+
+    private FlowPairWithSegments storeNewFlow(FlowPair flowPair) {
+        List<FlowSegment> forwardSegments = buildFlowSegments(flowPair.getForward());
+        List<FlowSegment> reverseSegments = buildFlowSegments(flowPair.getReverse());
+        List<FlowSegment> flowSegments = union(forwardSegments, reverseSegments);
+
+        lockSwitches(flowSegments);
+
+        flowRepository.createOrUpdate(flowPair);
+        createFlowSegments(flowSegments);
+
+        return new FlowPairWithSegments(flowPair, forwardSegments, reverseSegments);
+    }
+
+    private Optional<FlowPairWithSegments> removeFlow(String flowId) {
+        Optional<FlowPair> foundFlowPair = getFlowPair(flowId);
+        if (!foundFlowPair.isPresent()) {
+            return Optional.empty();
+        }
+
+        FlowPair flowPair = foundFlowPair.get();
+
+        List<FlowSegment> forwardSegments = getFlowSegments(flowPair.getForward());
+        List<FlowSegment> reverseSegments = getFlowSegments(flowPair.getReverse());
+        List<FlowSegment> flowSegments = union(forwardSegments, reverseSegments);
+
+        lockSwitches(flowSegments);
+
+        log.info("Deleting the flow: {}", flowPair);
+
+        flowRepository.delete(flowPair);
+        deleteFlowSegments(flowSegments);
+
+        return Optional.of(new FlowPairWithSegments(flowPair, forwardSegments, reverseSegments));
+    }
+
     private FlowPair buildFlowPair(Flow flow, PathPair pathPair) {
         Instant timestamp = Instant.now();
 
@@ -404,9 +640,40 @@ public class FlowService extends BaseFlowService {
                     isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
 
                     islRepository.createOrUpdate(isl);
+
+                    // The snapshot is invalidated if the transaction gets rolled back, see doInTransaction().
+                    pathComputerFactory.getNetworkSnapshot().ifPresent(snapshot ->
+                            snapshot.handleAvailableBandwidthChanged(srcSwitchId, srcPort, dstSwitchId, dstPort,
+                                    isl.getAvailableBandwidth()));
                 });
     }
 
+    /**
+     * Applies the current state of ISLs which start or end at the endpoint to the network snapshot (if it's enabled).
+     *
+     * @param switchId the switch of the endpoint.
+     * @param port     the port of the endpoint.
+     */
+    public void refreshNetworkSnapshot(SwitchId switchId, int port) {
+        pathComputerFactory.getNetworkSnapshot().ifPresent(snapshot -> {
+            islRepository.findBySrcEndpoint(switchId, port).forEach(snapshot::handleIslChanged);
+            islRepository.findByDestEndpoint(switchId, port).forEach(snapshot::handleIslChanged);
+        });
+    }
+
+    /**
+     * Executes the action in a transaction. ISL changes are applied to the network snapshot before the commit, so
+     * the snapshot is invalidated if the transaction fails.
+     */
+    private <T> T doInTransaction(TransactionCallback<T> action) {
+        try {
+            return transactionManager.doInTransaction(action);
+        } catch (RuntimeException e) {
+            pathComputerFactory.getNetworkSnapshot().ifPresent(NetworkSnapshot::invalidate);
+            throw e;
+        }
+    }
+
     private List<FlowSegment> getFlowSegments(Flow flow) {
         return Lists.newArrayList(flowSegmentRepository.findByFlowIdAndCookie(flow.getFlowId(), flow.getCookie()));
     }
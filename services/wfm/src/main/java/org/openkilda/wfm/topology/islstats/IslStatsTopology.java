@@ -40,7 +40,7 @@ public class IslStatsTopology extends AbstractTopology<IslStatsTopologyConfig> {
         String topoDiscoTopic = topologyConfig.getKafkaTopoDiscoTopic();
 
         logger.debug("connecting to {} topic", topoDiscoTopic);
-        builder.setSpout(ISL_STATS_SPOUT_ID, createKafkaSpout(topoDiscoTopic, ISL_STATS_SPOUT_ID));
+        builder.setSpout(ISL_STATS_SPOUT_ID, buildKafkaSpout(topoDiscoTopic, ISL_STATS_SPOUT_ID));
 
         IslStatsBolt verifyIslStatsBolt = new IslStatsBolt();
         logger.debug("starting {} bolt", ISL_STATS_BOLT_ID);
@@ -48,7 +48,7 @@ public class IslStatsTopology extends AbstractTopology<IslStatsTopologyConfig> {
                 .shuffleGrouping(ISL_STATS_SPOUT_ID);
 
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
-        KafkaBolt openTsdbBolt = createKafkaBolt(openTsdbTopic);
+        KafkaBolt openTsdbBolt = buildDatapointKafkaBolt(openTsdbTopic);
         builder.setBolt(ISL_STATS_OTSDB_BOLT_ID, openTsdbBolt, topologyConfig.getParallelism())
                 .shuffleGrouping(ISL_STATS_BOLT_ID);
 
@@ -16,59 +16,60 @@
 package org.openkilda.wfm.topology.islstats.bolts;
 
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.wfm.topology.AbstractTopology;
+import org.openkilda.wfm.topology.utils.AbstractTickRichBolt;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
-import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class IslStatsBolt extends BaseRichBolt {
+/**
+ * Collects ISL latency datapoints and sends them once a second (tick) in a single record.
+ */
+public class IslStatsBolt extends AbstractTickRichBolt {
+    /**
+     * Max number of datapoints sent in one record.
+     */
+    private static final int MAX_BATCH_SIZE = 500;
 
-    private OutputCollector collector;
     private static final Logger logger = LoggerFactory.getLogger(IslStatsBolt.class);
 
-    private static List<Object> tsdbTuple(String metric, long timestamp, Number value, Map<String, String> tag)
-            throws IOException {
-        Datapoint datapoint = new Datapoint(metric, timestamp, tag, value);
-        return Collections.singletonList(Utils.MAPPER.writeValueAsString(datapoint));
-    }
+    private transient List<Datapoint> pending;
+
+    /**
+     * Inputs of the pending datapoints, acked when the record is emitted anchored to them.
+     */
+    private transient List<Tuple> pendingTuples;
 
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector collector) {
-        this.collector = collector;
+        super.prepare(map, topologyContext, collector);
+        this.pending = new ArrayList<>();
+        this.pendingTuples = new ArrayList<>();
     }
 
-    public List<Object> buildTsdbTuple(IslInfoData data, long timestamp) throws IOException {
+    public Datapoint buildDatapoint(IslInfoData data, long timestamp) {
         Map<String, String> tags = new HashMap<>();
         tags.put("src_switch", data.getSource().getSwitchId().toOtsdFormat());
         tags.put("src_port", String.valueOf(data.getSource().getPortNo()));
         tags.put("dst_switch", data.getDestination().getSwitchId().toOtsdFormat());
         tags.put("dst_port", String.valueOf(data.getDestination().getPortNo()));
 
-        return tsdbTuple("pen.isl.latency", timestamp, data.getLatency(), tags);
-    }
-
-    public String getJson(Tuple tuple) {
-        return tuple.getString(0);
-    }
-
-    public Message getMessage(String json) throws IOException {
-        return Utils.MAPPER.readValue(json, Message.class);
+        return new Datapoint("pen.isl.latency", timestamp, tags, data.getLatency());
     }
 
     public InfoData getInfoData(Message message) throws Exception {
@@ -87,22 +88,42 @@ public class IslStatsBolt extends BaseRichBolt {
     }
 
     @Override
-    public void execute(Tuple tuple) {
+    protected void doTick(Tuple tuple) {
+        flush();
+        outputCollector.ack(tuple);
+    }
+
+    @Override
+    protected void doWork(Tuple tuple) {
         logger.debug("tuple: " + tuple);
-        String json = getJson(tuple);
+        Message message = (Message) tuple.getValueByField(KafkaRecordTranslator.FIELD_ID_PAYLOAD);
         try {
-            Message message = getMessage(json);
             IslInfoData data = getIslInfoData(getInfoData(message));
-            List<Object> results = buildTsdbTuple(data, message.getTimestamp());
-            logger.debug("emit: " + results);
-            collector.emit(results);
-        } catch (IOException e) {
-            logger.error("Could not deserialize message={}", json, e);
+            pending.add(buildDatapoint(data, message.getTimestamp()));
         } catch (Exception e) {
             // TODO: has to be a cleaner way to do this?
-        } finally {
-            collector.ack(tuple);
+            outputCollector.ack(tuple);
+            return;
+        }
+
+        pendingTuples.add(tuple);
+        if (pending.size() >= MAX_BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the collected datapoints as a single record.
+     */
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
         }
+        logger.debug("emit {} datapoints", pending.size());
+        outputCollector.emit(new ArrayList<>(pendingTuples), new Values(new ArrayList<>(pending)));
+        pendingTuples.forEach(outputCollector::ack);
+        pending.clear();
+        pendingTuples.clear();
     }
 
     @Override
@@ -87,7 +87,7 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
 
         OpenTsdbConfig openTsdbConfig = topologyConfig.getOpenTsdbConfig();
 
-        KafkaSpoutConfig<String, String> spoutConfig = makeKafkaSpoutConfigBuilder(OTSDB_SPOUT_ID, otsdbTopic)
+        KafkaSpoutConfig<String, byte[]> spoutConfig = getBinaryKafkaSpoutConfigBuilder(otsdbTopic, OTSDB_SPOUT_ID)
                 .setFirstPollOffsetStrategy(KafkaSpoutConfig.FirstPollOffsetStrategy.UNCOMMITTED_EARLIEST)
                 .build();
         KafkaSpout kafkaSpout = new KafkaSpout<>(spoutConfig);
@@ -17,6 +17,9 @@ package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import static org.openkilda.messaging.Utils.MAPPER;
 
+import org.openkilda.messaging.codec.DatapointBatchCodec;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageFormat;
 import org.openkilda.messaging.info.Datapoint;
 
 import org.apache.storm.task.OutputCollector;
@@ -25,14 +28,19 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Parses records of the OpenTSDB topic. A record is either a batch of datapoints written by
+ * {@link DatapointBatchCodec} or a single JSON encoded {@link Datapoint}. Each datapoint is emitted separately along
+ * with its hash, so batches are fanned out over filter bolts.
+ */
 public class DatapointParseBolt extends BaseRichBolt {
     private static final Logger LOGGER = LoggerFactory.getLogger(DatapointParseBolt.class);
     private OutputCollector collector;
@@ -44,20 +52,34 @@ public class DatapointParseBolt extends BaseRichBolt {
 
     @Override
     public void execute(Tuple tuple) {
-        final String data = tuple.getString(0);
-        LOGGER.debug("Processing datapoint: " + data);
+        final byte[] data = (byte[]) tuple.getValue(0);
+        if (data == null) {
+            collector.ack(tuple);
+            return;
+        }
+
         try {
-            Datapoint datapoint = MAPPER.readValue(data, Datapoint.class);
-            List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
-                    .collect(Collectors.toList());
-            collector.emit(stream);
+            if (MessageCodec.detectFormat(data, 0, data.length) == MessageFormat.BINARY) {
+                List<Datapoint> datapoints = DatapointBatchCodec.decode(data, 0, data.length);
+                LOGGER.debug("Processing batch of {} datapoints", datapoints.size());
+                for (Datapoint datapoint : datapoints) {
+                    emit(datapoint);
+                }
+            } else {
+                LOGGER.debug("Processing datapoint: {}", new String(data, StandardCharsets.UTF_8));
+                emit(MAPPER.readValue(data, Datapoint.class));
+            }
         } catch (Exception e) {
-            LOGGER.error("Failed reading data: " + data, e);
+            LOGGER.error("Failed reading data: " + new String(data, StandardCharsets.UTF_8), e);
         } finally {
             collector.ack(tuple);
         }
     }
 
+    private void emit(Datapoint datapoint) {
+        collector.emit(new Values(datapoint.simpleHashCode(), datapoint));
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(new Fields("hash", "datapoint"));
@@ -17,9 +17,11 @@ package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
 
-import lombok.Value;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.metric.api.MeanReducer;
+import org.apache.storm.metric.api.ReducedMetric;
 import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -27,22 +29,26 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 
+/**
+ * Filters out datapoints which repeat the last sent value of their series, unless the last value was sent more than
+ * {@link #MUTE_IF_NO_UPDATES_MILLIS} ago. Last sent values are kept in {@link SeriesIndex}, series which haven't been
+ * updated for the mute interval are expired incrementally on tick tuples.
+ */
 public class OpenTSDBFilterBolt extends BaseRichBolt {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenTSDBFilterBolt.class);
     private static final long MUTE_IF_NO_UPDATES_SECS = TimeUnit.MINUTES.toSeconds(10);
     private static final long MUTE_IF_NO_UPDATES_MILLIS = TimeUnit.SECONDS.toMillis(MUTE_IF_NO_UPDATES_SECS);
+    private static final int EXPIRE_STEPS = 60;
+    private static final long EXPIRE_TICK_SECS = MUTE_IF_NO_UPDATES_SECS / EXPIRE_STEPS;
+    private static final int METRICS_BUCKET_SIZE_SECS = 60;
 
     private static final Fields DECLARED_FIELDS =
             new Fields(TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getMetricField(),
@@ -50,38 +56,42 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
 
-    private Map<DatapointKey, Datapoint> storage = new HashMap<>();
+    private transient SeriesIndex storage;
+    private transient ReducedMetric dedupRatioMetric;
     private OutputCollector collector;
 
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        this.storage = new SeriesIndex(EXPIRE_STEPS);
+
+        if (context != null) {
+            context.registerMetric("opentsdb.filter.series", (IMetric) storage::size, METRICS_BUCKET_SIZE_SECS);
+            dedupRatioMetric = context.registerMetric("opentsdb.filter.dedup.ratio",
+                    new ReducedMetric(new MeanReducer()), METRICS_BUCKET_SIZE_SECS);
+        }
     }
-    
+
     @Override
     public Map<String, Object> getComponentConfiguration() {
         Config conf = new Config();
-        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, MUTE_IF_NO_UPDATES_SECS);
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, EXPIRE_TICK_SECS);
         return conf;
     }
 
-
     @Override
     public void execute(Tuple tuple) {
-        
+
         if (isTickTuple(tuple)) {
             // opentsdb using current epoch time (date +%s) in seconds
-            long now  = System.currentTimeMillis();
-            storage.entrySet().removeIf(entry ->  now - entry.getValue().getTime() > MUTE_IF_NO_UPDATES_MILLIS);
-
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("storage after clean tulpe: {}", storage.toString());
-            }
+            long now = System.currentTimeMillis();
+            int removed = storage.expire(now - MUTE_IF_NO_UPDATES_MILLIS);
+            LOGGER.debug("Expired {} series, {} series left", removed, storage.size());
 
             collector.ack(tuple);
             return;
         }
-        
+
         if (!tuple.contains("datapoint")) { //TODO: Should make sure tuple comes from correct bolt, ie not TickTuple
             collector.ack(tuple);
             return;
@@ -89,17 +99,17 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
 
         Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
 
-        if (isUpdateRequired(datapoint)) {
-            addDatapoint(datapoint);
-
-            List<Object> stream = Stream.of(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
-                    datapoint.getTags()).collect(Collectors.toList());
-
-            LOGGER.debug("emit datapoint: {}", stream);
-            collector.emit(stream);
+        boolean update = isUpdateRequired(datapoint);
+        if (update) {
+            LOGGER.debug("emit datapoint: {}", datapoint);
+            collector.emit(new Values(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
+                    datapoint.getTags()));
         } else {
             LOGGER.debug("skip datapoint: {}", datapoint);
         }
+        if (dedupRatioMetric != null) {
+            dedupRatioMetric.update(update ? 0 : 1);
+        }
         collector.ack(tuple);
     }
 
@@ -108,47 +118,35 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         declarer.declare(DECLARED_FIELDS);
     }
 
-    private void addDatapoint(Datapoint datapoint) {
-        LOGGER.debug("adding datapoint: {}", datapoint);
-        LOGGER.debug("storage.size: {}", storage.size());
-        storage.put(new DatapointKey(datapoint.getMetric(), datapoint.getTags()), datapoint);
-        if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("addDatapoint storage: {}", storage.toString());
-        }
-    }
-
+    /**
+     * Checks the datapoint against the last sent value of its series and remembers it if it must be sent.
+     */
     private boolean isUpdateRequired(Datapoint datapoint) {
-        boolean update = true;
-        Datapoint prevDatapoint = storage.get(new DatapointKey(datapoint.getMetric(), datapoint.getTags()));
+        long key = SeriesIndex.hash(datapoint.getMetric(), datapoint.getTags());
+        int slot = storage.find(key);
 
-        if (prevDatapoint != null) {
+        boolean update = true;
+        if (slot >= 0) {
             if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("prev: {} cur: {} equals: {} time_delta: {}",
-                        prevDatapoint,
-                        datapoint,
-                        prevDatapoint.getValue().equals(datapoint.getValue()),
-                        datapoint.getTime() - prevDatapoint.getTime()
-                );
+                LOGGER.trace("cur: {} same value: {} time_delta: {}",
+                        datapoint, storage.isSameValue(slot, datapoint.getValue()),
+                        datapoint.getTime() - storage.getTime(slot));
             }
-            update = !prevDatapoint.getValue().equals(datapoint.getValue())
-                    || datapoint.getTime() - prevDatapoint.getTime() >= MUTE_IF_NO_UPDATES_MILLIS;
+            update = !storage.isSameValue(slot, datapoint.getValue())
+                    || datapoint.getTime() - storage.getTime(slot) >= MUTE_IF_NO_UPDATES_MILLIS;
+        }
+
+        if (update) {
+            storage.put(key, datapoint.getTime(), datapoint.getValue());
         }
         return update;
     }
-    
+
     private boolean isTickTuple(Tuple tuple) {
         String sourceComponent = tuple.getSourceComponent();
         String sourceStreamId = tuple.getSourceStreamId();
-        
+
         return Constants.SYSTEM_COMPONENT_ID.equals(sourceComponent)
                 && Constants.SYSTEM_TICK_STREAM_ID.equals(sourceStreamId);
     }
-
-    @Value
-    private static class DatapointKey {
-
-        private String metric;
-
-        private Map<String, String> tags;
-    }
 }
@@ -0,0 +1,244 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.opentsdb.bolts;
+
+import java.util.Map;
+
+/**
+ * Compact index of the last sent value and time of each time series.
+ * <p/>
+ * A series (metric name and tags) is identified by a 64-bit hash, no strings or maps are retained. Entries are kept in
+ * an open addressing table of primitive arrays with linear probing. Expired entries are removed incrementally: each
+ * {@link #expire(long)} call sweeps the next portion of the table, so the whole table is swept once per
+ * {@code sweepSteps} calls.
+ */
+final class SeriesIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY = 0;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_INTEGRAL = 1;
+    private static final byte VALUE_FLOATING = 2;
+    private static final byte VALUE_OTHER = 3;
+
+    private final int sweepSteps;
+
+    private long[] keys;
+    private long[] times;
+    private long[] values;
+    private byte[] valueTypes;
+    private int size;
+    private int sweepPosition;
+
+    SeriesIndex(int sweepSteps) {
+        this.sweepSteps = sweepSteps;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the slot of the series, or -1 if the series is not in the index.
+     */
+    int find(long key) {
+        int mask = keys.length - 1;
+        for (int slot = (int) key & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    long getTime(int slot) {
+        return times[slot];
+    }
+
+    boolean isSameValue(int slot, Number value) {
+        return valueTypes[slot] == valueType(value) && values[slot] == valueBits(value);
+    }
+
+    /**
+     * Stores the last sent value and time of the series.
+     */
+    void put(long key, long time, Number value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int slot = (int) key & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        times[slot] = time;
+        values[slot] = valueBits(value);
+        valueTypes[slot] = valueType(value);
+    }
+
+    /**
+     * Removes entries older than the deadline from the next portion of the table.
+     *
+     * @return number of removed entries.
+     */
+    int expire(long deadline) {
+        int step = (keys.length + sweepSteps - 1) / sweepSteps;
+        int end = Math.min(sweepPosition + step, keys.length);
+        int removed = 0;
+
+        int slot = sweepPosition;
+        while (slot < end) {
+            if (keys[slot] != EMPTY && times[slot] < deadline) {
+                remove(slot);
+                removed++;
+                // another entry could be shifted into this slot
+            } else {
+                slot++;
+            }
+        }
+
+        sweepPosition = end;
+        if (sweepPosition >= keys.length) {
+            sweepPosition = 0;
+            if (keys.length > INITIAL_CAPACITY && size * 8 < keys.length) {
+                resize(keys.length / 2);
+            }
+        }
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Calculates the 64-bit hash of the series. Tags are combined in an order independent way.
+     */
+    static long hash(String metric, Map<String, String> tags) {
+        long result = mix(hash(metric));
+        if (tags != null) {
+            long tagsHash = 0;
+            for (Map.Entry<String, String> entry : tags.entrySet()) {
+                tagsHash += mix(hash(entry.getKey()) * 31 + hash(entry.getValue()));
+            }
+            result = mix(result ^ tagsHash);
+        }
+        return result == EMPTY ? 1 : result;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the string.
+     */
+    private static long hash(String value) {
+        if (value == null) {
+            return 0;
+        }
+        long result = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            result ^= value.charAt(i);
+            result *= 0x100000001b3L;
+        }
+        return result;
+    }
+
+    /**
+     * Finalization step of the SplitMix64 generator, spreads bits of the hash.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static byte valueType(Number value) {
+        if (value == null) {
+            return VALUE_NULL;
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            return VALUE_INTEGRAL;
+        } else if (value instanceof Double || value instanceof Float) {
+            return VALUE_FLOATING;
+        }
+        return VALUE_OTHER;
+    }
+
+    private static long valueBits(Number value) {
+        switch (valueType(value)) {
+            case VALUE_NULL:
+                return 0;
+            case VALUE_INTEGRAL:
+                return value.longValue();
+            case VALUE_FLOATING:
+                return Double.doubleToLongBits(value.doubleValue());
+            default:
+                return hash(value.toString());
+        }
+    }
+
+    /**
+     * Backward shift deletion, keeps probe sequences of the remaining entries unbroken.
+     */
+    private void remove(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int current = (hole + 1) & mask; keys[current] != EMPTY; current = (current + 1) & mask) {
+            int home = (int) keys[current] & mask;
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                keys[hole] = keys[current];
+                times[hole] = times[current];
+                values[hole] = values[current];
+                valueTypes[hole] = valueTypes[current];
+                hole = current;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldTimes = times;
+        long[] oldValues = values;
+        byte[] oldValueTypes = valueTypes;
+
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int slot = (int) oldKeys[i] & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            times[slot] = oldTimes[i];
+            values[slot] = oldValues[i];
+            valueTypes[slot] = oldValueTypes[i];
+        }
+        sweepPosition = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        times = new long[capacity];
+        values = new long[capacity];
+        valueTypes = new byte[capacity];
+    }
+}
@@ -72,6 +72,7 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
 
         input(topology);
         inputRouter(topology);
+        flowSyncInput(topology);
 
         flowFetcher(topology);
         periodicPingShaping(topology);
@@ -116,13 +117,20 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
                 .shuffleGrouping(ComponentId.INPUT.toString());
     }
 
+    private void flowSyncInput(TopologyBuilder topology) {
+        KafkaSpout<String, Message> spout = buildKafkaSpout(
+                topologyConfig.getKafkaSpeakerFlowTopic(), ComponentId.FLOW_SYNC_INPUT.toString());
+        topology.setSpout(ComponentId.FLOW_SYNC_INPUT.toString(), spout, scaleFactor);
+    }
+
     private void flowFetcher(TopologyBuilder topology) {
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
 
-        FlowFetcher bolt = new FlowFetcher(persistenceManager);
+        FlowFetcher bolt = new FlowFetcher(persistenceManager, topologyConfig.getFlowResyncInterval());
         topology.setBolt(FlowFetcher.BOLT_ID, bolt, scaleFactor)
                 .globalGrouping(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID)
+                .globalGrouping(ComponentId.FLOW_SYNC_INPUT.toString())
                 .shuffleGrouping(InputRouter.BOLT_ID, InputRouter.STREAM_ON_DEMAND_REQUEST_ID);
     }
 
@@ -224,9 +232,10 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
     private void otsdbEncoder(TopologyBuilder topology) {
         OtsdbEncoder bolt = new OtsdbEncoder();
         topology.setBolt(OtsdbEncoder.BOLT_ID, bolt, scaleFactor)
+                .allGrouping(TickDeduplicator.BOLT_ID)
                 .shuffleGrouping(StatsProducer.BOLT_ID);
 
-        KafkaBolt output = buildKafkaBolt(topologyConfig.getKafkaOtsdbTopic());
+        KafkaBolt output = buildDatapointKafkaBolt(topologyConfig.getKafkaOtsdbTopic());
         topology.setBolt(ComponentId.OTSDB_OUTPUT.toString(), output, scaleFactor)
                 .shuffleGrouping(OtsdbEncoder.BOLT_ID);
     }
@@ -47,6 +47,10 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         return getPingConfig().getFailReset();
     }
 
+    default int getFlowResyncInterval() {
+        return getPingConfig().getFlowResyncInterval();
+    }
+
     default String getKafkaPingTopic() {
         return getKafkaTopics().getPingTopic();
     }
@@ -55,6 +59,10 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         return getKafkaTopics().getSpeakerFlowPingTopic();
     }
 
+    default String getKafkaSpeakerFlowTopic() {
+        return getKafkaTopics().getSpeakerFlowTopic();
+    }
+
     default String getKafkaNorthboundTopic() {
         return getKafkaTopics().getNorthboundTopic();
     }
@@ -89,5 +97,9 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         @Key("fail.reset")
         @Default("1800")
         int getFailReset();
+
+        @Key("resync.interval")
+        @Default("600")
+        int getFlowResyncInterval();
     }
 }
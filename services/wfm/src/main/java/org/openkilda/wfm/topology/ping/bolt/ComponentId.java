@@ -22,6 +22,7 @@ public enum ComponentId {
     INPUT("input"),
     INPUT_DECODER("input.decoder"),
     INPUT_ROUTER("input.router"),
+    FLOW_SYNC_INPUT("flow_sync.input"),
 
     FLOW_FETCHER("flow_fetcher"),
     PING_PRODUCER("ping_producer"),
@@ -15,7 +15,13 @@
 
 package org.openkilda.wfm.topology.ping.bolt;
 
+import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.BaseFlow;
+import org.openkilda.messaging.command.flow.BaseInstallFlow;
+import org.openkilda.messaging.command.flow.BatchInstallRequest;
 import org.openkilda.messaging.command.flow.FlowPingRequest;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
 import org.openkilda.messaging.model.BidirectionalFlowDto;
@@ -30,6 +36,7 @@ import org.openkilda.wfm.topology.ping.model.FlowRef;
 import org.openkilda.wfm.topology.ping.model.FlowsHeap;
 import org.openkilda.wfm.topology.ping.model.PingContext;
 import org.openkilda.wfm.topology.ping.model.PingContext.Kinds;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.topology.OutputFieldsDeclarer;
@@ -37,10 +44,23 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Produces ping requests for flows.
+ *
+ * <p>Periodic pings are produced from the local copy of flows with enabled periodic pings. The copy is loaded from the
+ * DB on start and then kept up to date by flow install/remove commands sent to the speaker - each such command marks
+ * the flow as dirty and dirty flows are re-read from the DB on the next ping tick. In addition, the whole copy is
+ * reloaded once per resync interval, so changes that don't produce speaker commands are picked up too.
+ */
 public class FlowFetcher extends Abstract {
     public static final String BOLT_ID = ComponentId.FLOW_FETCHER.toString();
 
@@ -58,11 +78,16 @@ public class FlowFetcher extends Abstract {
     public static final String STREAM_ON_DEMAND_RESPONSE_ID = "on_demand_response";
 
     private final PersistenceManager persistenceManager;
+    private final long resyncInterval;
     private transient FlowRepository flowRepository;
-    private FlowsHeap flowsHeap;
 
-    public FlowFetcher(PersistenceManager persistenceManager) {
+    private Map<String, BidirectionalFlowDto> flows;
+    private Set<String> dirtyFlows;
+    private long resyncAt;
+
+    public FlowFetcher(PersistenceManager persistenceManager, int resyncInterval) {
         this.persistenceManager = persistenceManager;
+        this.resyncInterval = TimeUnit.SECONDS.toMillis(resyncInterval);
     }
 
     @Override
@@ -73,6 +98,8 @@ public class FlowFetcher extends Abstract {
             handlePeriodicRequest(input);
         } else if (InputRouter.BOLT_ID.equals(component)) {
             handleOnDemandRequest(input);
+        } else if (ComponentId.FLOW_SYNC_INPUT.toString().equals(component)) {
+            handleFlowSync(input);
         } else {
             unhandledInput(input);
         }
@@ -80,21 +107,95 @@ public class FlowFetcher extends Abstract {
 
     private void handlePeriodicRequest(Tuple input) throws PipelineException {
         log.debug("Handle periodic ping request");
-        final List<BidirectionalFlowDto> flows = flowRepository.findFlowPairsWithPeriodicPingsEnabled().stream()
-                .map(pair -> new BidirectionalFlowDto(FlowMapper.INSTANCE.map(pair)))
-                .collect(Collectors.toList());
+        final List<FlowRef> expired;
+        long now = System.currentTimeMillis();
+        if (resyncAt <= now) {
+            expired = resync();
+            resyncAt = now + resyncInterval;
+        } else {
+            expired = refreshDirtyFlows();
+        }
 
         final CommandContext commandContext = pullContext(input);
-        final FlowsHeap heap = new FlowsHeap();
-        for (BidirectionalFlowDto flow : flows) {
+        for (BidirectionalFlowDto flow : flows.values()) {
             PingContext pingContext = new PingContext(Kinds.PERIODIC, flow);
             emit(input, pingContext, commandContext);
+        }
+
+        emitCacheExpire(input, commandContext, expired);
+    }
+
+    private void handleFlowSync(Tuple input) throws PipelineException {
+        Message message = pullValue(input, KafkaRecordTranslator.FIELD_ID_PAYLOAD, Message.class);
+        if (!(message instanceof CommandMessage)) {
+            return;
+        }
+
+        CommandData data = ((CommandMessage) message).getData();
+        for (String flowId : getAffectedFlowIds(data)) {
+            if (dirtyFlows.add(flowId)) {
+                log.debug("Flow {} is marked for refresh by {}", flowId, data.getClass().getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * Returns ids of the flows whose rules are installed or removed by the speaker command. Rules of batch created
+     * flows are sent in per switch {@link BatchInstallRequest}.
+     */
+    static Set<String> getAffectedFlowIds(CommandData data) {
+        Set<String> flowIds = new HashSet<>();
+        if (data instanceof BaseFlow) {
+            flowIds.add(((BaseFlow) data).getId());
+        } else if (data instanceof BatchInstallRequest) {
+            for (BaseInstallFlow command : ((BatchInstallRequest) data).getFlowCommands()) {
+                flowIds.add(command.getId());
+            }
+        }
+        return flowIds;
+    }
+
+    private List<FlowRef> resync() {
+        Map<String, BidirectionalFlowDto> actual = new HashMap<>();
+        for (FlowPair pair : flowRepository.findFlowPairsWithPeriodicPingsEnabled()) {
+            BidirectionalFlowDto flow = new BidirectionalFlowDto(FlowMapper.INSTANCE.map(pair));
+            actual.put(flow.getFlowId(), flow);
+        }
+        log.debug("Periodic ping flows have been reloaded: {} flows", actual.size());
+
+        List<FlowRef> expired = extra(flows.values(), actual.values());
+        flows = actual;
+        dirtyFlows.clear();
+        return expired;
+    }
 
-            heap.add(flow);
+    private List<FlowRef> refreshDirtyFlows() {
+        List<BidirectionalFlowDto> before = new ArrayList<>();
+        List<BidirectionalFlowDto> after = new ArrayList<>();
+        for (String flowId : dirtyFlows) {
+            BidirectionalFlowDto current = flows.remove(flowId);
+            if (current != null) {
+                before.add(current);
+            }
+
+            Optional<FlowPair> pair = flowRepository.findFlowPairById(flowId);
+            if (pair.isPresent() && pair.get().getForward().isPeriodicPings()) {
+                BidirectionalFlowDto flow = new BidirectionalFlowDto(FlowMapper.INSTANCE.map(pair.get()));
+                flows.put(flowId, flow);
+                after.add(flow);
+            }
         }
+        dirtyFlows.clear();
+
+        return extra(before, after);
+    }
 
-        emitCacheExpire(input, commandContext, heap);
-        flowsHeap = heap;
+    private List<FlowRef> extra(Iterable<BidirectionalFlowDto> before, Iterable<BidirectionalFlowDto> after) {
+        FlowsHeap beforeHeap = new FlowsHeap();
+        before.forEach(beforeHeap::add);
+        FlowsHeap afterHeap = new FlowsHeap();
+        after.forEach(afterHeap::add);
+        return beforeHeap.extra(afterHeap);
     }
 
     private void handleOnDemandRequest(Tuple input) throws PipelineException {
@@ -129,9 +230,9 @@ public class FlowFetcher extends Abstract {
         getOutput().emit(STREAM_ON_DEMAND_RESPONSE_ID, input, output);
     }
 
-    private void emitCacheExpire(Tuple input, CommandContext commandContext, FlowsHeap heap) {
+    private void emitCacheExpire(Tuple input, CommandContext commandContext, List<FlowRef> expired) {
         OutputCollector collector = getOutput();
-        for (FlowRef ref : flowsHeap.extra(heap)) {
+        for (FlowRef ref : expired) {
             Values output = new Values(ref, commandContext);
             collector.emit(STREAM_EXPIRE_CACHE_ID, input, output);
         }
@@ -151,6 +252,8 @@ public class FlowFetcher extends Abstract {
     @Override
     public void init() {
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
-        flowsHeap = new FlowsHeap();
+        flows = new HashMap<>();
+        dirtyFlows = new HashSet<>();
+        resyncAt = 0;
     }
 }
@@ -18,10 +18,10 @@ package org.openkilda.wfm.topology.ping.bolt;
 import org.openkilda.wfm.error.AbstractException;
 import org.openkilda.wfm.error.WorkflowException;
 import org.openkilda.wfm.topology.ping.model.CollectorDescriptor;
-import org.openkilda.wfm.topology.ping.model.ExpirableMap;
 import org.openkilda.wfm.topology.ping.model.Group;
 import org.openkilda.wfm.topology.ping.model.GroupId;
 import org.openkilda.wfm.topology.ping.model.PingContext;
+import org.openkilda.wfm.topology.ping.model.TimingWheel;
 
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
@@ -39,9 +39,11 @@ public class GroupCollector extends Abstract {
 
     public static final String STREAM_ON_DEMAND_ID = "periodic.ping";
 
+    private static final long WHEEL_TICK = 100;
+
     private long expireDelay;
 
-    private ExpirableMap<GroupId, CollectorDescriptor> cache;
+    private TimingWheel<GroupId, CollectorDescriptor> cache;
 
     public GroupCollector(int pingTimeout) {
         expireDelay = TimeUnit.SECONDS.toMillis(pingTimeout);
@@ -51,7 +53,7 @@ public class GroupCollector extends Abstract {
     protected void init() {
         super.init();
 
-        cache = new ExpirableMap<>();
+        cache = new TimingWheel<>(WHEEL_TICK, System.currentTimeMillis());
     }
 
     @Override
@@ -81,6 +83,7 @@ public class GroupCollector extends Abstract {
     private void collect(Tuple input) throws AbstractException {
         CollectorDescriptor descriptor = saveCurrentRecord(input);
         if (descriptor.isCompleted()) {
+            cache.remove(descriptor.getGroupId());
             Group group = descriptor.makeGroup();
             emitGroup(input, group);
         }
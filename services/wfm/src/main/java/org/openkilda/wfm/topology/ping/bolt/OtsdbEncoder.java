@@ -15,20 +15,23 @@
 
 package org.openkilda.wfm.topology.ping.bolt;
 
-import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.AbstractException;
-import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.error.PipelineException;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMapper;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the datapoints and sends them on each tick in a single record.
+ */
 public class OtsdbEncoder extends AbstractBolt {
     public static final String BOLT_ID = ComponentId.OTSDB_ENCODER.toString();
 
@@ -37,23 +40,66 @@ public class OtsdbEncoder extends AbstractBolt {
     public static final Fields STREAM_FIELDS = new Fields(
             FieldNameBasedTupleToKafkaMapper.BOLT_KEY, FieldNameBasedTupleToKafkaMapper.BOLT_MESSAGE);
 
+    /**
+     * Max number of datapoints sent in one record.
+     */
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private transient List<Datapoint> pending;
+
+    /**
+     * Inputs of the pending datapoints, acked when the record is emitted anchored to them.
+     */
+    private transient List<Tuple> pendingTuples;
+
     @Override
-    protected void handleInput(Tuple input) throws AbstractException {
-        Datapoint datapoint = pullDatapoint(input);
-        String json = encode(datapoint);
+    protected void init() {
+        super.init();
 
-        Values output = new Values(null, json);
-        getOutput().emit(input, output);
+        pending = new ArrayList<>();
+        pendingTuples = new ArrayList<>();
     }
 
-    private String encode(Datapoint datapoint) throws JsonEncodeException {
-        String encoded;
+    /**
+     * Holds the datapoint inputs instead of acking them right away, they are acked by {@link #flush()}.
+     */
+    @Override
+    public void execute(Tuple input) {
+        if (TickDeduplicator.BOLT_ID.equals(input.getSourceComponent())) {
+            super.execute(input);
+            return;
+        }
+
         try {
-            encoded = Utils.MAPPER.writeValueAsString(datapoint);
-        } catch (JsonProcessingException e) {
-            throw new JsonEncodeException(datapoint, e);
+            pending.add(pullDatapoint(input));
+        } catch (PipelineException e) {
+            log.error("Unable to read the datapoint", e);
+            getOutput().ack(input);
+            return;
         }
-        return encoded;
+
+        pendingTuples.add(input);
+        if (pending.size() >= MAX_BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws AbstractException {
+        // only ticks are passed here, see execute()
+        flush();
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Values output = new Values(null, new ArrayList<>(pending));
+        getOutput().emit(new ArrayList<>(pendingTuples), output);
+        pendingTuples.forEach(getOutput()::ack);
+        pending.clear();
+        pendingTuples.clear();
     }
 
     private Datapoint pullDatapoint(Tuple input) throws PipelineException {
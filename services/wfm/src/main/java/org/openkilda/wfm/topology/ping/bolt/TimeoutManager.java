@@ -22,9 +22,9 @@ import org.openkilda.messaging.model.Ping.Errors;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.AbstractException;
 import org.openkilda.wfm.error.PipelineException;
-import org.openkilda.wfm.topology.ping.model.ExpirableMap;
 import org.openkilda.wfm.topology.ping.model.PingContext;
 import org.openkilda.wfm.topology.ping.model.TimeoutDescriptor;
+import org.openkilda.wfm.topology.ping.model.TimingWheel;
 
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
@@ -46,9 +46,11 @@ public class TimeoutManager extends Abstract {
     public static final Fields STREAM_RESPONSE_FIELDS = new Fields(FIELD_ID_FLOW_ID, FIELD_ID_PING, FIELD_ID_CONTEXT);
     public static final String STREAM_RESPONSE_ID = "response";
 
+    private static final long WHEEL_TICK = 100;
+
     private final long pingTimeout;
 
-    private ExpirableMap<UUID, TimeoutDescriptor> pendingPings;
+    private TimingWheel<UUID, TimeoutDescriptor> pendingPings;
 
     public TimeoutManager(int pingTimeout) {
         this.pingTimeout = TimeUnit.SECONDS.toMillis(pingTimeout);
@@ -58,7 +60,7 @@ public class TimeoutManager extends Abstract {
     protected void init() {
         super.init();
 
-        pendingPings = new ExpirableMap<>();
+        pendingPings = new TimingWheel<>(WHEEL_TICK, System.currentTimeMillis());
     }
 
     @Override
@@ -0,0 +1,227 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.ping.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel of {@link Expirable} records.
+ *
+ * <p>Same contract as {@link ExpirableMap}, but records are kept in per-tick slots of cascading wheels instead of a
+ * single FIFO queue. Scheduling and removal are O(1) and removed records are unlinked immediately, so they don't
+ * stay in memory until their expiration time. Records also don't need to be added in order of their expiration time.
+ *
+ * <p>Records are never expired earlier than their expiration time and no later than one tick after it.
+ */
+public class TimingWheel<K, V extends Expirable<K>> {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickDuration;
+    private final Node<K, V>[][] wheels;
+    private final HashMap<K, Node<K, V>> map = new HashMap<>();
+
+    /**
+     * The first tick that has not been processed yet.
+     */
+    private long nextTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickDuration, long now) {
+        if (tickDuration < 1) {
+            throw new IllegalArgumentException(String.format("Invalid tickDuration value %d < 1", tickDuration));
+        }
+        this.tickDuration = tickDuration;
+        this.wheels = new Node[LEVELS][WHEEL_SIZE];
+        this.nextTick = now / tickDuration;
+    }
+
+    /**
+     * Add record, the record with the same key (if any) is replaced.
+     */
+    public V put(K key, V value) {
+        Node<K, V> node = new Node<>(key, value, expireTick(value));
+        Node<K, V> current = map.put(key, node);
+        schedule(node);
+
+        if (current == null) {
+            return null;
+        }
+        unlink(current);
+        return current.value;
+    }
+
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        return node != null ? node.value : null;
+    }
+
+    public void add(V value) {
+        put(value.getExpirableKey(), value);
+    }
+
+    /**
+     * Add record if there is no record with same key.
+     */
+    public V addIfAbsent(V value) {
+        K key = value.getExpirableKey();
+        Node<K, V> current = map.get(key);
+        if (current != null) {
+            return current.value;
+        }
+
+        Node<K, V> node = new Node<>(key, value, expireTick(value));
+        map.put(key, node);
+        schedule(node);
+        return value;
+    }
+
+    /**
+     * Remove record by key.
+     */
+    public V remove(K key) {
+        Node<K, V> node = map.remove(key);
+        if (node == null) {
+            return null;
+        }
+
+        unlink(node);
+        node.value.setActive(false);
+        return node.value;
+    }
+
+    /**
+     * Process all ticks up to the {@code now} time. Remove and return the records expired during these ticks.
+     */
+    public List<V> expire(long now) {
+        List<V> expired = new ArrayList<>();
+        long targetTick = now / tickDuration;
+        if (map.isEmpty()) {
+            nextTick = Math.max(nextTick, targetTick + 1);
+            return expired;
+        }
+
+        for (; nextTick <= targetTick; nextTick++) {
+            int index = (int) (nextTick & WHEEL_MASK);
+            if (index == 0) {
+                cascade(1);
+            }
+
+            Node<K, V> node = wheels[0][index];
+            wheels[0][index] = null;
+            while (node != null) {
+                Node<K, V> next = node.next;
+                node.prev = node.next = null;
+                if (nextTick < node.expireTick) {
+                    // was clamped to the wheels span
+                    schedule(node);
+                } else {
+                    map.remove(node.key);
+                    expired.add(node.value);
+                }
+                node = next;
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    private long expireTick(V value) {
+        // round up, so the record is never expired before its expiration time
+        return (value.getExpireAt() + tickDuration - 1) / tickDuration;
+    }
+
+    /**
+     * Move records from the current slot of the {@code level} wheel into the lower wheels. Cascade the next level
+     * wheel if the current one has made the full turn.
+     */
+    private void cascade(int level) {
+        if (LEVELS <= level) {
+            return;
+        }
+
+        int index = (int) ((nextTick >> (WHEEL_BITS * level)) & WHEEL_MASK);
+        if (index == 0) {
+            cascade(level + 1);
+        }
+
+        Node<K, V> node = wheels[level][index];
+        wheels[level][index] = null;
+        while (node != null) {
+            Node<K, V> next = node.next;
+            node.prev = node.next = null;
+            schedule(node);
+            node = next;
+        }
+    }
+
+    private void schedule(Node<K, V> node) {
+        long delta = Math.min(node.expireTick - nextTick, MAX_DELTA);
+        long tick = nextTick + Math.max(delta, 0);
+
+        int level = 0;
+        while (level < LEVELS - 1 && (1L << (WHEEL_BITS * (level + 1))) <= delta) {
+            level++;
+        }
+        int index = (int) ((tick >> (WHEEL_BITS * level)) & WHEEL_MASK);
+
+        node.level = level;
+        node.index = index;
+        node.next = wheels[level][index];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        wheels[level][index] = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else if (wheels[node.level][node.index] == node) {
+            wheels[node.level][node.index] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = node.next = null;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final long expireTick;
+
+        int level;
+        int index;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long expireTick) {
+            this.key = key;
+            this.value = value;
+            this.expireTick = expireTick;
+        }
+    }
+}
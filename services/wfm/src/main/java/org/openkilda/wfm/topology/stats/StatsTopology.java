@@ -66,7 +66,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
 
 
         final String kafkaSpoutId = StatsComponentType.STATS_OFS_KAFKA_SPOUT.toString();
-        KafkaSpout kafkaSpout = createKafkaSpout(topologyConfig.getKafkaStatsTopic(), kafkaSpoutId);
+        KafkaSpout kafkaSpout = buildKafkaSpout(topologyConfig.getKafkaStatsTopic(), kafkaSpoutId);
         builder.setSpout(kafkaSpoutId, kafkaSpout, parallelism);
 
         SpeakerBolt speakerBolt = new SpeakerBolt();
@@ -106,10 +106,10 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), fieldMessage);
 
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
-        builder.setBolt("stats-opentsdb", createKafkaBolt(openTsdbTopic))
-                .shuffleGrouping(PORT_STATS_METRIC_GEN.name())
-                .shuffleGrouping(METER_CFG_STATS_METRIC_GEN.name())
-                .shuffleGrouping(FLOW_STATS_METRIC_GEN.name());
+        builder.setBolt("stats-opentsdb", buildDatapointKafkaBolt(openTsdbTopic), parallelism)
+                .localOrShuffleGrouping(PORT_STATS_METRIC_GEN.name())
+                .localOrShuffleGrouping(METER_CFG_STATS_METRIC_GEN.name())
+                .localOrShuffleGrouping(FLOW_STATS_METRIC_GEN.name());
 
         return builder.createTopology();
     }
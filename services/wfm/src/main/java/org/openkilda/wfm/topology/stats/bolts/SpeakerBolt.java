@@ -19,13 +19,13 @@ import static org.openkilda.wfm.topology.AbstractTopology.fieldMessage;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -36,7 +36,6 @@ import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.Map;
 
 public class SpeakerBolt extends BaseRichBolt {
@@ -53,30 +52,26 @@ public class SpeakerBolt extends BaseRichBolt {
     @Override
     public void execute(Tuple tuple) {
         logger.debug("Ingoing tuple: {}", tuple);
-        String request = tuple.getString(0);
-        //String request = tuple.getStringByField("value");
+        Message stats = (Message) tuple.getValueByField(KafkaRecordTranslator.FIELD_ID_PAYLOAD);
         try {
-            Message stats = Utils.MAPPER.readValue(request, Message.class);
             if (!Destination.WFM_STATS.equals(stats.getDestination()) || !(stats instanceof InfoMessage)) {
                 return;
             }
             InfoMessage message = (InfoMessage) stats;
             final InfoData data = message.getData();
             if (data instanceof PortStatsData) {
-                logger.debug("Port stats message: {}", new Values(request));
+                logger.debug("Port stats message: {}", message);
                 outputCollector.emit(PORT_STATS_STREAM, tuple, new Values(message));
             } else if (data instanceof MeterConfigStatsData) {
-                logger.debug("Meter config stats message: {}", new Values(request));
+                logger.debug("Meter config stats message: {}", message);
                 outputCollector.emit(METER_CFG_STATS_STREAM, tuple, new Values(message));
             } else if (data instanceof FlowStatsData) {
-                logger.debug("Flow stats message: {}", new Values(request));
+                logger.debug("Flow stats message: {}", message);
                 outputCollector.emit(FLOW_STATS_STREAM, tuple, new Values(message));
             }
-        } catch (IOException exception) {
-            logger.error("Could not deserialize message={}", request, exception);
         } finally {
             outputCollector.ack(tuple);
-            logger.debug("Message ack: {}", request);
+            logger.debug("Message ack: {}", stats);
         }
     }
 
@@ -20,41 +20,53 @@ import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.CACHE_FIELD;
 
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.FlowStatsReply;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceException;
-import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
 
+import com.google.common.collect.ImmutableMap;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 /**
- * The type Flow metric gen bolt.
+ * Generates flow metrics from {@link FlowStatsData}.
+ * <p/>
+ * All datapoints of one {@link FlowStatsData} are emitted as a single tuple holding a {@code List<Datapoint>}, they
+ * are written to the OpenTSDB topic as a single record. Tag maps are immutable and shared between datapoints of the
+ * same cookie and between subsequent replies of the switch while the cookie belongs to the same flow.
  */
 public class FlowMetricGenBolt extends MetricGenBolt {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowMetricGenBolt.class);
 
+    private static final int MAX_DATAPOINTS_PER_ENTRY = 9;
+    private static final String UNKNOWN_FLOW_ID = "unknown";
+
+    private transient Map<SwitchId, SwitchTags> tagsCache;
 
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        this.tagsCache = new HashMap<>();
     }
 
     @Override
@@ -75,16 +87,12 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         LOGGER.debug("Flow stats message: {}={}, component={}, stream={}",
                 CORRELATION_ID, message.getCorrelationId(), componentId,
                 StatsStreamType.valueOf(input.getSourceStreamId()));
-        FlowStatsData data = (FlowStatsData) message.getData();
-        long timestamp = message.getTimestamp();
-        SwitchId switchId = data.getSwitchId();
 
         try {
-            for (FlowStatsReply reply : data.getStats()) {
-                for (FlowStatsEntry entry : reply.getEntries()) {
-                    @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
-                    emit(entry, timestamp, switchId, flowEntry);
-                }
+            List<Datapoint> datapoints = makeDatapoints((FlowStatsData) message.getData(), message.getTimestamp(),
+                    dataCache);
+            if (!datapoints.isEmpty()) {
+                collector.emit(new Values(datapoints));
             }
             collector.ack(input);
         } catch (PersistenceException e) {
@@ -96,71 +104,126 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         }
     }
 
-    private void emit(FlowStatsEntry entry, long timestamp, @Nonnull SwitchId switchId,
-                      @Nullable CacheFlowEntry flowEntry) throws Exception {
-        String flowId = "unknown";
-        if (flowEntry != null) {
-            flowId = flowEntry.getFlowId();
-        } else {
+    List<Datapoint> makeDatapoints(FlowStatsData data, long timestamp, Map<Long, CacheFlowEntry> dataCache) {
+        SwitchId switchId = data.getSwitchId();
+        SwitchTags previous = tagsCache.get(switchId);
+        SwitchTags switchTags = new SwitchTags(previous != null ? previous.switchId : switchId.toOtsdFormat());
+
+        int entriesCount = 0;
+        for (FlowStatsReply reply : data.getStats()) {
+            entriesCount += reply.getEntries().size();
+        }
+
+        List<Datapoint> datapoints = new ArrayList<>(entriesCount * MAX_DATAPOINTS_PER_ENTRY);
+        for (FlowStatsReply reply : data.getStats()) {
+            for (FlowStatsEntry entry : reply.getEntries()) {
+                @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
+                try {
+                    CookieTags tags = switchTags.getOrMake(previous, entry, flowEntry);
+                    addDatapoints(datapoints, entry, timestamp, switchTags.switchId, flowEntry, tags);
+                } catch (FlowCookieException e) {
+                    LOGGER.warn("Skip stats entry of sw {} with cookie {}: {}", switchId, entry.getCookie(),
+                            e.getMessage());
+                }
+            }
+        }
+
+        // Tags of cookies not reported anymore are dropped with the previous snapshot.
+        tagsCache.put(switchId, switchTags);
+        return datapoints;
+    }
+
+    private void addDatapoints(List<Datapoint> datapoints, FlowStatsEntry entry, long timestamp, String switchId,
+                               @Nullable CacheFlowEntry flowEntry, CookieTags tags) {
+        if (flowEntry == null) {
             LOGGER.warn("missed cache for sw {} cookie {}", switchId, entry.getCookie());
         }
 
-        emitAnySwitchMetrics(entry, timestamp, switchId, flowId);
+        long packets = entry.getPacketCount();
+        long bytes = entry.getByteCount();
+        Map<String, String> switchTags = tags.switchTags;
+        datapoints.add(new Datapoint("pen.flow.raw.packets", timestamp, switchTags, packets));
+        datapoints.add(new Datapoint("pen.flow.raw.bytes", timestamp, switchTags, bytes));
+        datapoints.add(new Datapoint("pen.flow.raw.bits", timestamp, switchTags, bytes * 8));
 
-        if (flowEntry != null) {
-            Map<String, String> flowTags = makeFlowTags(entry, flowEntry.getFlowId());
+        if (flowEntry == null) {
+            return;
+        }
 
-            boolean isMatch = false;
-            if (switchId.toOtsdFormat().equals(flowEntry.getIngressSwitch())) {
-                emitIngressMetrics(entry, timestamp, flowTags);
-                isMatch = true;
-            }
-            if (switchId.toOtsdFormat().equals(flowEntry.getEgressSwitch())) {
-                emitEgressMetrics(entry, timestamp, flowTags);
-                isMatch = true;
-            }
+        boolean isMatch = false;
+        if (switchId.equals(flowEntry.getIngressSwitch())) {
+            datapoints.add(new Datapoint("pen.flow.ingress.packets", timestamp, tags.flowTags, packets));
+            datapoints.add(new Datapoint("pen.flow.ingress.bytes", timestamp, tags.flowTags, bytes));
+            datapoints.add(new Datapoint("pen.flow.ingress.bits", timestamp, tags.flowTags, bytes * 8));
+            isMatch = true;
+        }
+        if (switchId.equals(flowEntry.getEgressSwitch())) {
+            datapoints.add(new Datapoint("pen.flow.packets", timestamp, tags.flowTags, packets));
+            datapoints.add(new Datapoint("pen.flow.bytes", timestamp, tags.flowTags, bytes));
+            datapoints.add(new Datapoint("pen.flow.bits", timestamp, tags.flowTags, bytes * 8));
+            isMatch = true;
+        }
 
-            if (!isMatch && LOGGER.isDebugEnabled()) {
-                LOGGER.debug("FlowStatsEntry with cookie {} and flow {} is not ingress not egress bc switch {} "
-                                + "is not any of {}, {}", entry.getCookie(), flowId, switchId,
-                        flowEntry.getIngressSwitch(), flowEntry.getEgressSwitch());
-            }
+        if (!isMatch && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("FlowStatsEntry with cookie {} and flow {} is not ingress not egress bc switch {} "
+                            + "is not any of {}, {}", entry.getCookie(), flowEntry.getFlowId(), switchId,
+                    flowEntry.getIngressSwitch(), flowEntry.getEgressSwitch());
         }
     }
 
-    private void emitAnySwitchMetrics(FlowStatsEntry entry, long timestamp, SwitchId switchId, String flowId)
-            throws JsonEncodeException, FlowCookieException {
-        Map<String, String> tags = new HashMap<>();
-        tags.put("switchid", switchId.toOtsdFormat());
-        tags.put("cookie", String.valueOf(entry.getCookie()));
-        tags.put("tableid", String.valueOf(entry.getTableId()));
-        tags.put("flowid", flowId);
-        tags.put("direction", FlowDirectionHelper.findDirection(entry.getCookie()).name().toLowerCase());
-
-        collector.emit(tuple("pen.flow.raw.packets", timestamp, entry.getPacketCount(), tags));
-        collector.emit(tuple("pen.flow.raw.bytes", timestamp, entry.getByteCount(), tags));
-        collector.emit(tuple("pen.flow.raw.bits", timestamp, entry.getByteCount() * 8, tags));
-    }
+    /**
+     * Tags of all cookies reported by the switch in the last reply.
+     */
+    private static final class SwitchTags {
+        private final String switchId;
+        private final Map<Long, CookieTags> cookies = new HashMap<>();
 
-    private void emitIngressMetrics(FlowStatsEntry entry, long timestamp, Map<String, String> tags)
-            throws JsonEncodeException {
-        collector.emit(tuple("pen.flow.ingress.packets", timestamp, entry.getPacketCount(), tags));
-        collector.emit(tuple("pen.flow.ingress.bytes", timestamp, entry.getByteCount(), tags));
-        collector.emit(tuple("pen.flow.ingress.bits", timestamp, entry.getByteCount() * 8, tags));
-    }
+        SwitchTags(String switchId) {
+            this.switchId = switchId;
+        }
+
+        CookieTags getOrMake(@Nullable SwitchTags previous, FlowStatsEntry entry, @Nullable CacheFlowEntry flowEntry)
+                throws FlowCookieException {
+            String flowId = flowEntry != null ? flowEntry.getFlowId() : UNKNOWN_FLOW_ID;
+            Long cookie = entry.getCookie();
 
-    private void emitEgressMetrics(FlowStatsEntry entry, long timestamp, Map<String, String> tags)
-            throws JsonEncodeException {
-        collector.emit(tuple("pen.flow.packets", timestamp, entry.getPacketCount(), tags));
-        collector.emit(tuple("pen.flow.bytes", timestamp, entry.getByteCount(), tags));
-        collector.emit(tuple("pen.flow.bits", timestamp, entry.getByteCount() * 8, tags));
+            CookieTags tags = cookies.get(cookie);
+            if (tags == null && previous != null) {
+                tags = previous.cookies.get(cookie);
+            }
+            if (tags == null || !tags.matches(flowId, entry.getTableId())) {
+                tags = new CookieTags(switchId, entry, flowId);
+            }
+            cookies.put(cookie, tags);
+            return tags;
+        }
     }
 
-    private Map<String, String> makeFlowTags(FlowStatsEntry entry, String flowId) throws FlowCookieException {
-        Map<String, String> tags = new HashMap<>();
-        tags.put("flowid", flowId);
-        tags.put("direction", FlowDirectionHelper.findDirection(entry.getCookie()).name().toLowerCase());
+    private static final class CookieTags {
+        private final String flowId;
+        private final int tableId;
+        private final Map<String, String> switchTags;
+        private final Map<String, String> flowTags;
+
+        CookieTags(String switchId, FlowStatsEntry entry, String flowId) throws FlowCookieException {
+            String direction = FlowDirectionHelper.findDirection(entry.getCookie()).name().toLowerCase();
+
+            this.flowId = flowId;
+            this.tableId = entry.getTableId();
+            this.switchTags = ImmutableMap.<String, String>builder()
+                    .put("switchid", switchId)
+                    .put("cookie", String.valueOf(entry.getCookie()))
+                    .put("tableid", String.valueOf(entry.getTableId()))
+                    .put("flowid", flowId)
+                    .put("direction", direction)
+                    .build();
+            this.flowTags = ImmutableMap.of(
+                    "flowid", flowId,
+                    "direction", direction);
+        }
 
-        return tags;
+        boolean matches(String flowId, int tableId) {
+            return this.tableId == tableId && this.flowId.equals(flowId);
+        }
     }
 }
@@ -19,19 +19,21 @@ import static org.openkilda.messaging.Utils.CORRELATION_ID;
 import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.MeterConfigReply;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
-import org.openkilda.model.SwitchId;
-import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class MeterConfigMetricGenBolt extends MetricGenBolt {
@@ -54,26 +56,26 @@ public class MeterConfigMetricGenBolt extends MetricGenBolt {
         long timestamp = message.getTimestamp();
 
         try {
-            SwitchId switchId = data.getSwitchId();
+            String switchId = data.getSwitchId().toOtsdFormat();
+            List<Datapoint> datapoints = new ArrayList<>();
             for (MeterConfigReply reply : data.getStats()) {
                 for (Long meterId : reply.getMeterIds()) {
-                    emit(timestamp, meterId, switchId);
+                    datapoints.add(makeDatapoint(timestamp, meterId, switchId));
                 }
             }
+            if (!datapoints.isEmpty()) {
+                collector.emit(new Values(datapoints));
+            }
         } finally {
             collector.ack(input);
         }
     }
 
-    private void emit(long timestamp, Long meterId, SwitchId switchId) {
-        try {
-            Map<String, String> tags = ImmutableMap.of(
-                    "switchid", switchId.toOtsdFormat(),
-                    "meterId", meterId.toString()
-            );
-            collector.emit(tuple("pen.switch.meters", timestamp, meterId, tags));
-        } catch (JsonEncodeException e) {
-            LOGGER.error("Error during serialization of datapoint", e);
-        }
+    private Datapoint makeDatapoint(long timestamp, Long meterId, String switchId) {
+        Map<String, String> tags = ImmutableMap.of(
+                "switchid", switchId,
+                "meterId", meterId.toString()
+        );
+        return new Datapoint("pen.switch.meters", timestamp, tags, meterId);
     }
 }
@@ -15,37 +15,23 @@
 
 package org.openkilda.wfm.topology.stats.metrics;
 
-import org.openkilda.messaging.Utils;
-import org.openkilda.messaging.info.Datapoint;
-import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.topology.AbstractTopology;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 
+/**
+ * Base class for metric generators. Each input message produces at most one tuple holding a
+ * {@code List<Datapoint>}, the batch is written to the OpenTSDB topic as a single record.
+ */
 public abstract class MetricGenBolt extends BaseRichBolt {
 
     protected OutputCollector collector;
 
-    protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
-            throws JsonEncodeException {
-        Datapoint datapoint = new Datapoint(metric, timestamp, tag, value);
-        String json;
-        try {
-            json = Utils.MAPPER.writeValueAsString(datapoint);
-        } catch (JsonProcessingException e) {
-            throw new JsonEncodeException(datapoint, e);
-        }
-        return Collections.singletonList(json);
-    }
-
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
@@ -19,20 +19,22 @@ import static org.openkilda.messaging.Utils.CORRELATION_ID;
 import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.messaging.info.stats.PortStatsEntry;
 import org.openkilda.messaging.info.stats.PortStatsReply;
-import org.openkilda.model.SwitchId;
-import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class PortMetricGenBolt extends MetricGenBolt {
@@ -54,39 +56,40 @@ public class PortMetricGenBolt extends MetricGenBolt {
         long timestamp = message.getTimestamp();
 
         try {
+            String switchId = data.getSwitchId().toOtsdFormat();
+            List<Datapoint> datapoints = new ArrayList<>();
             for (PortStatsReply reply : data.getStats()) {
                 for (PortStatsEntry entry : reply.getEntries()) {
-                    emit(entry, timestamp, data.getSwitchId());
+                    addDatapoints(datapoints, entry, timestamp, switchId);
                 }
             }
+            if (!datapoints.isEmpty()) {
+                collector.emit(new Values(datapoints));
+            }
         } finally {
             collector.ack(input);
         }
     }
 
-    private void emit(PortStatsEntry entry, long timestamp, SwitchId switchId) {
-        try {
-            Map<String, String> tags = ImmutableMap.of(
-                    "switchid", switchId.toOtsdFormat(),
-                    "port", String.valueOf(entry.getPortNo())
-            );
+    private void addDatapoints(List<Datapoint> datapoints, PortStatsEntry entry, long timestamp, String switchId) {
+        Map<String, String> tags = ImmutableMap.of(
+                "switchid", switchId,
+                "port", String.valueOf(entry.getPortNo())
+        );
 
-            collector.emit(tuple("pen.switch.rx-packets", timestamp, entry.getRxPackets(), tags));
-            collector.emit(tuple("pen.switch.tx-packets", timestamp, entry.getTxPackets(), tags));
-            collector.emit(tuple("pen.switch.rx-bytes", timestamp, entry.getRxBytes(), tags));
-            collector.emit(tuple("pen.switch.rx-bits", timestamp, entry.getRxBytes() * 8, tags));
-            collector.emit(tuple("pen.switch.tx-bytes", timestamp, entry.getTxBytes(), tags));
-            collector.emit(tuple("pen.switch.tx-bits", timestamp, entry.getTxBytes() * 8, tags));
-            collector.emit(tuple("pen.switch.rx-dropped", timestamp, entry.getRxDropped(), tags));
-            collector.emit(tuple("pen.switch.tx-dropped", timestamp, entry.getTxDropped(), tags));
-            collector.emit(tuple("pen.switch.rx-errors", timestamp, entry.getRxErrors(), tags));
-            collector.emit(tuple("pen.switch.tx-errors", timestamp, entry.getTxErrors(), tags));
-            collector.emit(tuple("pen.switch.rx-frame-error", timestamp, entry.getRxFrameErr(), tags));
-            collector.emit(tuple("pen.switch.rx-over-error", timestamp, entry.getRxOverErr(), tags));
-            collector.emit(tuple("pen.switch.rx-crc-error", timestamp, entry.getRxCrcErr(), tags));
-            collector.emit(tuple("pen.switch.collisions", timestamp, entry.getCollisions(), tags));
-        } catch (JsonEncodeException e) {
-            LOGGER.error("Error during serialization of datapoint", e);
-        }
+        datapoints.add(new Datapoint("pen.switch.rx-packets", timestamp, tags, entry.getRxPackets()));
+        datapoints.add(new Datapoint("pen.switch.tx-packets", timestamp, tags, entry.getTxPackets()));
+        datapoints.add(new Datapoint("pen.switch.rx-bytes", timestamp, tags, entry.getRxBytes()));
+        datapoints.add(new Datapoint("pen.switch.rx-bits", timestamp, tags, entry.getRxBytes() * 8));
+        datapoints.add(new Datapoint("pen.switch.tx-bytes", timestamp, tags, entry.getTxBytes()));
+        datapoints.add(new Datapoint("pen.switch.tx-bits", timestamp, tags, entry.getTxBytes() * 8));
+        datapoints.add(new Datapoint("pen.switch.rx-dropped", timestamp, tags, entry.getRxDropped()));
+        datapoints.add(new Datapoint("pen.switch.tx-dropped", timestamp, tags, entry.getTxDropped()));
+        datapoints.add(new Datapoint("pen.switch.rx-errors", timestamp, tags, entry.getRxErrors()));
+        datapoints.add(new Datapoint("pen.switch.tx-errors", timestamp, tags, entry.getTxErrors()));
+        datapoints.add(new Datapoint("pen.switch.rx-frame-error", timestamp, tags, entry.getRxFrameErr()));
+        datapoints.add(new Datapoint("pen.switch.rx-over-error", timestamp, tags, entry.getRxOverErr()));
+        datapoints.add(new Datapoint("pen.switch.rx-crc-error", timestamp, tags, entry.getRxCrcErr()));
+        datapoints.add(new Datapoint("pen.switch.collisions", timestamp, tags, entry.getCollisions()));
     }
 }
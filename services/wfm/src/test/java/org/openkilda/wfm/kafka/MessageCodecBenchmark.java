@@ -0,0 +1,164 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.kafka;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.InstallTransitFlow;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.messaging.info.stats.FlowStatsReply;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsReply;
+import org.openkilda.model.SwitchId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding / decoding of the most frequent messages in JSON and in the binary format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MessageCodecBenchmark {
+    private static final String JSON_TOPIC = "json";
+    private static final String BINARY_TOPIC = "binary";
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+
+    @Param({JSON_TOPIC, BINARY_TOPIC})
+    private String topic;
+
+    private MessageSerializer serializer;
+    private MessageDeserializer deserializer;
+
+    private Message flowStats;
+    private Message portStats;
+    private Message isl;
+    private Message command;
+
+    private byte[] flowStatsData;
+    private byte[] portStatsData;
+    private byte[] islData;
+    private byte[] commandData;
+
+    /**
+     * Prepares messages and their encoded representation.
+     */
+    @Setup
+    public void setUp() {
+        serializer = new MessageSerializer();
+        serializer.configure(Collections.singletonMap(MessageSerializer.BINARY_TOPICS_CONFIG, BINARY_TOPIC), false);
+        deserializer = new MessageDeserializer();
+
+        List<FlowStatsEntry> flowEntries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            flowEntries.add(new FlowStatsEntry(0, 0x4000000000000000L + i, 1000L * i, 64000L * i));
+        }
+        flowStats = new InfoMessage(new FlowStatsData(SWITCH_ID,
+                Collections.singletonList(new FlowStatsReply(1, flowEntries))), 1, "flow-stats");
+
+        List<PortStatsEntry> portEntries = new ArrayList<>();
+        for (int i = 0; i < 48; i++) {
+            portEntries.add(new PortStatsEntry(i, 1000, 2000, 64000, 128000, 0, 0, 0, 0, 0, 0, 0, 0));
+        }
+        portStats = new InfoMessage(new PortStatsData(SWITCH_ID,
+                Collections.singletonList(new PortStatsReply(1, portEntries))), 1, "port-stats");
+
+        isl = new InfoMessage(new IslInfoData(100, new PathNode(SWITCH_ID, 1, 0),
+                new PathNode(new SwitchId("00:00:00:00:00:00:00:02"), 2, 1), 10000000, IslChangeType.DISCOVERED,
+                10000000, false), 1, "isl");
+
+        command = new CommandMessage(new InstallTransitFlow(UUID.randomUUID(), "flow", 0x4000000000000001L,
+                SWITCH_ID, 1, 2, 100), 1, "command");
+
+        flowStatsData = serializer.serialize(topic, flowStats);
+        portStatsData = serializer.serialize(topic, portStats);
+        islData = serializer.serialize(topic, isl);
+        commandData = serializer.serialize(topic, command);
+    }
+
+    @Benchmark
+    public byte[] encodeFlowStats() {
+        return serializer.serialize(topic, flowStats);
+    }
+
+    @Benchmark
+    public Message decodeFlowStats() {
+        return deserializer.deserialize(topic, flowStatsData);
+    }
+
+    @Benchmark
+    public byte[] encodePortStats() {
+        return serializer.serialize(topic, portStats);
+    }
+
+    @Benchmark
+    public Message decodePortStats() {
+        return deserializer.deserialize(topic, portStatsData);
+    }
+
+    @Benchmark
+    public byte[] encodeIsl() {
+        return serializer.serialize(topic, isl);
+    }
+
+    @Benchmark
+    public Message decodeIsl() {
+        return deserializer.deserialize(topic, islData);
+    }
+
+    @Benchmark
+    public byte[] encodeCommand() {
+        return serializer.serialize(topic, command);
+    }
+
+    @Benchmark
+    public Message decodeCommand() {
+        return deserializer.deserialize(topic, commandData);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MessageCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
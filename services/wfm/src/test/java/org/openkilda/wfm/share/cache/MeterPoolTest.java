@@ -16,10 +16,12 @@
 package org.openkilda.wfm.share.cache;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Set;
 
 public class MeterPoolTest {
@@ -70,4 +72,32 @@ public class MeterPoolTest {
         assertTrue(dumpPool.contains(first));
         assertTrue(dumpPool.contains(second));
     }
+
+    @Test
+    public void meterPoolRegisterAllTest() {
+        MeterPool pool = new MeterPool(1, 4);
+        pool.registerAll(Arrays.asList(1, 3));
+
+        assertEquals(2, (int) pool.allocate());
+        assertEquals(4, (int) pool.allocate());
+
+        pool.deallocate(3);
+        pool.deallocate(1);
+        assertEquals(3, (int) pool.allocate(3));
+        assertNull(pool.allocate(3));
+
+        assertEquals(1, (int) pool.allocate());
+    }
+
+    @Test
+    public void meterPoolClearTest() {
+        MeterPool pool = new MeterPool(1, 4);
+        pool.allocate();
+        pool.allocate(17);
+
+        pool.clear();
+
+        assertTrue(pool.dumpPool().isEmpty());
+        assertEquals(1, (int) pool.allocate());
+    }
 }
@@ -229,4 +229,43 @@ public class ResourceCacheTest {
         first = resourceCache.allocateMeterId(SWITCH_ID);
         assertEquals(m1 + 1, first);
     }
+
+    @Test
+    public void shouldAllocateFromOwnPartitionOnly() {
+        ResourceCache first = new ResourceCache(0, 2);
+        ResourceCache second = new ResourceCache(1, 2);
+
+        int firstVlan = first.allocateVlanId();
+        int secondVlan = second.allocateVlanId();
+        assertEquals(ResourceCache.MIN_VLAN_ID, firstVlan);
+        assertEquals(ResourceCache.MIN_VLAN_ID + (ResourceCache.MAX_VLAN_ID - ResourceCache.MIN_VLAN_ID + 1) / 2 + 1,
+                secondVlan);
+
+        int firstMeter = first.allocateMeterId(SWITCH_ID);
+        int secondMeter = second.allocateMeterId(SWITCH_ID);
+        assertEquals(ResourceCache.MIN_METER_ID, firstMeter);
+        assertTrue(secondMeter > firstMeter);
+
+        int firstCookie = first.allocateCookie();
+        int secondCookie = second.allocateCookie();
+        assertTrue(secondCookie > firstCookie);
+    }
+
+    @Test
+    public void shouldIgnoreRegistrationOfResourcesFromOtherPartition() {
+        ResourceCache first = new ResourceCache(0, 2);
+        ResourceCache second = new ResourceCache(1, 2);
+
+        int secondVlan = second.allocateVlanId();
+        first.allocateVlanId(secondVlan);
+        first.allocateMeterId(SWITCH_ID, ResourceCache.MAX_METER_ID);
+        first.allocateCookie(ResourceCache.MAX_COOKIE);
+
+        assertTrue(first.getAllVlanIds().isEmpty());
+        assertTrue(first.getAllMeterIds(SWITCH_ID).isEmpty());
+        assertTrue(first.getAllCookies().isEmpty());
+
+        second.allocateMeterId(SWITCH_ID, ResourceCache.MAX_METER_ID);
+        assertEquals(1, second.getAllMeterIds(SWITCH_ID).size());
+    }
 }
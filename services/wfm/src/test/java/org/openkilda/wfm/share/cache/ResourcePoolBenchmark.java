@@ -0,0 +1,88 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocate / deallocate churn over half-full pools.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ResourcePoolBenchmark {
+    private static final int MAX_COOKIE = 128 * 1024;
+
+    private ResourcePool cookiePool;
+    private MeterPool meterPool;
+
+    /**
+     * Fills a half of each pool with allocated ids.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        cookiePool = new ResourcePool(1, MAX_COOKIE);
+        for (int i = 0; i < MAX_COOKIE / 2; i++) {
+            cookiePool.allocate();
+        }
+
+        meterPool = new MeterPool(ResourceCache.MIN_METER_ID, ResourceCache.MAX_METER_ID);
+        for (int i = 0; i < (ResourceCache.MAX_METER_ID - ResourceCache.MIN_METER_ID) / 2; i++) {
+            meterPool.allocate();
+        }
+    }
+
+    @Benchmark
+    public int cookieChurn() {
+        int cookie = cookiePool.allocate();
+        cookiePool.deallocate(cookie);
+        return cookie;
+    }
+
+    @Benchmark
+    public int meterChurn() {
+        int meterId = meterPool.allocate();
+        meterPool.deallocate(meterId);
+        return meterId;
+    }
+
+    @Benchmark
+    public MeterPool meterPoolCreation() {
+        return new MeterPool(ResourceCache.MIN_METER_ID, ResourceCache.MAX_METER_ID);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResourcePoolBenchmark.class.getSimpleName()).build()).run();
+    }
+}
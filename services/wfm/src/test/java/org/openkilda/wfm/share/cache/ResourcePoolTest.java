@@ -16,9 +16,14 @@
 package org.openkilda.wfm.share.cache;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableSet;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 public class ResourcePoolTest {
     private static final ResourcePool pool = new ResourcePool(1, 5);
 
@@ -68,4 +73,28 @@ public class ResourcePoolTest {
         pool.allocate();
         pool.allocate();
     }
+
+    @Test
+    public void shouldAllocateLastIdOfRange() {
+        ResourcePool mypool = new ResourcePool(1, 2);
+        mypool.allocate();
+        mypool.allocate();
+
+        assertEquals(2, mypool.dumpPool().size());
+    }
+
+    @Test
+    public void shouldRegisterAllAndClear() {
+        ResourcePool mypool = new ResourcePool(1, 5);
+        mypool.registerAll(Arrays.asList(1, 2, 3, 100));
+
+        assertEquals(ImmutableSet.of(1, 2, 3, 100), mypool.dumpPool());
+        assertNull(mypool.allocate(100));
+        assertEquals(4, (int) mypool.allocate());
+
+        mypool.clear();
+
+        assertTrue(mypool.dumpPool().isEmpty());
+        assertEquals(1, (int) mypool.allocate());
+    }
 }
@@ -26,6 +26,7 @@ import static org.openkilda.wfm.topology.event.OfeLinkBolt.STATE_ID_DISCOVERY;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoLinkDeactivation;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
@@ -33,6 +34,7 @@ import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.model.DiscoveryLink;
 import org.openkilda.messaging.model.DiscoveryLink.LinkState;
+import org.openkilda.messaging.model.NetworkEndpoint;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.AbstractStormTest;
 import org.openkilda.wfm.error.ConfigurationException;
@@ -173,4 +175,25 @@ public class OfeLinkBoltTest extends AbstractStormTest {
 
         assertFalse(discoveryLink.getState().isActive());
     }
+
+    @Test
+    public void shouldDeactivateLinkOnRequestOfAnotherShard() throws JsonProcessingException {
+        final SwitchId switchId = new SwitchId("00:01");
+        final int port = 1;
+        DiscoveryLink discoveryLink = new DiscoveryLink(switchId, port, new SwitchId("00:02"), port, 0, -1, true);
+        KeyValueState<String, Object> boltState = new InMemoryKeyValueState<>();
+        Map<SwitchId, List<DiscoveryLink>> links =
+                Collections.singletonMap(switchId, Collections.singletonList(discoveryLink));
+        boltState.put(STATE_ID_DISCOVERY, links);
+        bolt.initState(boltState);
+        bolt.state = State.MAIN;
+
+        DiscoLinkDeactivation deactivation = new DiscoLinkDeactivation(new NetworkEndpoint(switchId, port));
+        InfoMessage inputMessage = new InfoMessage(deactivation, 0, DEFAULT_CORRELATION_ID, Destination.WFM);
+        Tuple tuple = new TupleImpl(context, new Values(objectMapper.writeValueAsString(inputMessage)),
+                TASK_ID_BOLT, STREAM_ID_INPUT);
+        bolt.doWork(tuple);
+
+        assertFalse(discoveryLink.getState().isActive());
+    }
 }
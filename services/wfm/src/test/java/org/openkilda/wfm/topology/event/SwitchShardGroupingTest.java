@@ -0,0 +1,99 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.event;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openkilda.messaging.Utils.PAYLOAD;
+import static org.openkilda.wfm.topology.event.PortEventRouterBolt.FIELD_ID_PEER_SWITCH_ID;
+import static org.openkilda.wfm.topology.event.PortEventRouterBolt.FIELD_ID_SWITCH_ID;
+
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.model.SwitchId;
+
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.task.WorkerTopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SwitchShardGroupingTest {
+    private static final List<Integer> TASKS = Arrays.asList(12, 10, 11);
+    private static final int SHARD_COUNT = TASKS.size();
+
+    private WorkerTopologyContext context;
+    private GlobalStreamId stream;
+
+    @Before
+    public void setUp() {
+        context = mock(WorkerTopologyContext.class);
+        stream = mock(GlobalStreamId.class);
+        when(context.getComponentOutputFields(stream))
+                .thenReturn(new Fields(PAYLOAD, FIELD_ID_SWITCH_ID, FIELD_ID_PEER_SWITCH_ID));
+    }
+
+    @Test
+    public void shouldRouteSwitchToShardTask() {
+        SwitchShardGrouping grouping = new SwitchShardGrouping(FIELD_ID_SWITCH_ID);
+        grouping.prepare(context, stream, TASKS);
+
+        for (long i = 0; i < 16; i++) {
+            SwitchId switchId = new SwitchId(i);
+            int expectedTask = 10 + NetworkCommandData.getShard(switchId, SHARD_COUNT);
+            assertThat(grouping.chooseTasks(0, Arrays.asList("json", switchId, null)), contains(expectedTask));
+        }
+    }
+
+    @Test
+    public void shouldRouteToOwnersOfBothSwitches() {
+        SwitchShardGrouping grouping = new SwitchShardGrouping(FIELD_ID_SWITCH_ID, FIELD_ID_PEER_SWITCH_ID);
+        grouping.prepare(context, stream, TASKS);
+
+        SwitchId first = new SwitchId(1);
+        SwitchId second = findSwitchOfAnotherShard(first);
+
+        assertThat(grouping.chooseTasks(0, Arrays.asList("json", first, second)), containsInAnyOrder(
+                10 + NetworkCommandData.getShard(first, SHARD_COUNT),
+                10 + NetworkCommandData.getShard(second, SHARD_COUNT)));
+        assertEquals(1, grouping.chooseTasks(0, Arrays.asList("json", first, first)).size());
+    }
+
+    @Test
+    public void shouldRouteTupleWithoutSwitchToFirstTask() {
+        SwitchShardGrouping grouping = new SwitchShardGrouping(FIELD_ID_SWITCH_ID, FIELD_ID_PEER_SWITCH_ID);
+        grouping.prepare(context, stream, TASKS);
+
+        assertThat(grouping.chooseTasks(0, Arrays.asList("json", null, null)), contains(10));
+    }
+
+    private SwitchId findSwitchOfAnotherShard(SwitchId switchId) {
+        int shard = NetworkCommandData.getShard(switchId, SHARD_COUNT);
+        for (long i = switchId.toLong() + 1; ; i++) {
+            SwitchId candidate = new SwitchId(i);
+            if (NetworkCommandData.getShard(candidate, SHARD_COUNT) != shard) {
+                return candidate;
+            }
+        }
+    }
+}
@@ -19,7 +19,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import org.openkilda.messaging.info.event.NetworkTopologyChangeType;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslStatus;
 import org.openkilda.model.LinkProps;
@@ -37,6 +43,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.time.Duration;
+
 public class IslServiceTest extends Neo4jBasedTest {
     private static LinkPropsRepository linkPropsRepository;
     private static IslRepository islRepository;
@@ -149,6 +157,53 @@ public class IslServiceTest extends Neo4jBasedTest {
         assertFalse(updated);
     }
 
+    @Test
+    public void shouldCoalesceRediscoveryOfActiveIsl() {
+        IslService cachingIslService = new IslService(txManager, persistenceManager.getRepositoryFactory(),
+                new IslStateCache(Duration.ZERO, Duration.ofMinutes(10)), 10);
+        Sender sender = mock(Sender.class);
+
+        Isl isl = createIsl();
+        isl.setLatency(10);
+        cachingIslService.createOrUpdateIsl(isl, sender);
+        verify(sender).sendRerouteInactiveFlowsMessage(anyString());
+        verify(sender).sendNetworkTopologyChange(NetworkTopologyChangeType.ENDPOINT_ADD,
+                TEST_SWITCH_A_ID, TEST_SWITCH_A_PORT);
+
+        Isl rediscoveredIsl = createIsl();
+        rediscoveredIsl.setLatency(20);
+        cachingIslService.createOrUpdateIsl(rediscoveredIsl, sender);
+        verifyNoMoreInteractions(sender);
+
+        Isl foundIsl = islRepository.findByEndpoints(TEST_SWITCH_A_ID, TEST_SWITCH_A_PORT,
+                TEST_SWITCH_B_ID, TEST_SWITCH_B_PORT).get();
+        assertEquals(10, foundIsl.getLatency());
+
+        cachingIslService.flushPendingIslUpdates();
+
+        foundIsl = islRepository.findByEndpoints(TEST_SWITCH_A_ID, TEST_SWITCH_A_PORT,
+                TEST_SWITCH_B_ID, TEST_SWITCH_B_PORT).get();
+        assertEquals(20, foundIsl.getLatency());
+        assertEquals(IslStatus.ACTIVE, foundIsl.getActualStatus());
+    }
+
+    @Test
+    public void shouldProcessRediscoveryAfterDiscoveryFailure() {
+        IslService cachingIslService = new IslService(txManager, persistenceManager.getRepositoryFactory(),
+                new IslStateCache(Duration.ZERO, Duration.ofMinutes(10)), 10);
+        Sender sender = mock(Sender.class);
+
+        Isl isl = createIsl();
+        cachingIslService.createOrUpdateIsl(isl, sender);
+        cachingIslService.islDiscoveryFailed(isl);
+        cachingIslService.createOrUpdateIsl(createIsl(), sender);
+
+        verify(sender, times(2)).sendRerouteInactiveFlowsMessage(anyString());
+        Isl foundIsl = islRepository.findByEndpoints(TEST_SWITCH_A_ID, TEST_SWITCH_A_PORT,
+                TEST_SWITCH_B_ID, TEST_SWITCH_B_PORT).get();
+        assertEquals(IslStatus.ACTIVE, foundIsl.getActualStatus());
+    }
+
     private Isl createIsl() {
         Isl isl = new Isl();
         isl.setSrcSwitch(createSwitchIfNotExist(TEST_SWITCH_A_ID));
@@ -0,0 +1,180 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.event.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+public class IslStateCacheTest {
+    private static final SwitchId SWITCH_ID_A = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_B = new SwitchId(2);
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+    private static final Duration TTL = Duration.ofSeconds(600);
+    private static final Instant START = Instant.parse("2018-10-01T00:00:00Z");
+
+    private MutableClock clock;
+    private IslStateCache cache;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock(START);
+        cache = new IslStateCache(WINDOW, TTL, clock);
+    }
+
+    @Test
+    public void shouldSkipUnchangedIsl() {
+        assertFalse(cache.isActive(buildIsl(1, 10)));
+        cache.handlePersisted(buildIsl(1, 10));
+
+        assertTrue(cache.isActive(buildIsl(1, 10)));
+        assertFalse(cache.handleRediscovered(buildIsl(1, 10)));
+
+        clock.instant = START.plus(WINDOW);
+        assertThat(cache.pollPendingUpdates(), Matchers.empty());
+    }
+
+    @Test
+    public void shouldCoalesceUpdatesWithinWindow() {
+        cache.handlePersisted(buildIsl(1, 10));
+
+        assertTrue(cache.handleRediscovered(buildIsl(1, 11)));
+        clock.instant = START.plus(WINDOW.minusSeconds(1));
+        assertTrue(cache.handleRediscovered(buildIsl(1, 12)));
+        assertThat(cache.pollPendingUpdates(), Matchers.empty());
+
+        clock.instant = START.plus(WINDOW);
+        List<Isl> updates = cache.pollPendingUpdates();
+        assertThat(updates, Matchers.hasSize(1));
+        assertEquals(12, updates.get(0).getLatency());
+
+        // the update is applied to the cached state.
+        assertFalse(cache.handleRediscovered(buildIsl(1, 12)));
+        assertThat(cache.pollPendingUpdates(), Matchers.empty());
+    }
+
+    @Test
+    public void shouldDropUpdateIfIslChangedBack() {
+        cache.handlePersisted(buildIsl(1, 10));
+
+        assertTrue(cache.handleRediscovered(buildIsl(1, 11)));
+        assertFalse(cache.handleRediscovered(buildIsl(1, 10)));
+
+        clock.instant = START.plus(WINDOW);
+        assertThat(cache.pollPendingUpdates(), Matchers.empty());
+    }
+
+    @Test
+    public void shouldInvalidateIslsBySourceEndpoint() {
+        cache.handlePersisted(buildIsl(1, 10));
+        cache.handlePersisted(buildIsl(2, 10));
+        cache.handleRediscovered(buildIsl(1, 11));
+
+        cache.invalidate(SWITCH_ID_A, 1);
+
+        assertFalse(cache.isActive(buildIsl(1, 10)));
+        assertTrue(cache.isActive(buildIsl(2, 10)));
+        clock.instant = START.plus(WINDOW);
+        assertThat(cache.pollPendingUpdates(), Matchers.empty());
+    }
+
+    @Test
+    public void shouldInvalidateIslsByDestinationEndpoint() {
+        cache.handlePersisted(buildIsl(1, 10));
+        cache.handlePersisted(buildIsl(2, 10));
+        cache.handleRediscovered(buildIsl(1, 11));
+
+        // port down on the destination side of the ISL.
+        cache.invalidate(SWITCH_ID_B, 1);
+
+        assertFalse(cache.isActive(buildIsl(1, 10)));
+        assertTrue(cache.isActive(buildIsl(2, 10)));
+        clock.instant = START.plus(WINDOW);
+        assertThat(cache.pollPendingUpdates(), Matchers.empty());
+    }
+
+    @Test
+    public void shouldExpireIsls() {
+        cache.handlePersisted(buildIsl(1, 10));
+        cache.handleRediscovered(buildIsl(1, 11));
+
+        clock.instant = START.plus(TTL);
+        assertFalse(cache.isActive(buildIsl(1, 10)));
+        assertThat(cache.pollPendingUpdates(), Matchers.empty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldNotKeepIslsWithZeroTtl() {
+        cache = new IslStateCache(Duration.ZERO, Duration.ZERO, clock);
+        cache.handlePersisted(buildIsl(1, 10));
+
+        assertFalse(cache.isActive(buildIsl(1, 10)));
+        assertEquals(0, cache.size());
+    }
+
+    private Isl buildIsl(int srcPort, int latency) {
+        return Isl.builder()
+                .srcSwitch(Switch.builder().switchId(SWITCH_ID_A).build())
+                .srcPort(srcPort)
+                .destSwitch(Switch.builder().switchId(SWITCH_ID_B).build())
+                .destPort(srcPort)
+                .latency(latency)
+                .speed(10000)
+                .availableBandwidth(10000)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
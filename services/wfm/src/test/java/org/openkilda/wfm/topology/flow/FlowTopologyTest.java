@@ -49,6 +49,7 @@ import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowReadResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
+import org.openkilda.messaging.info.flow.FlowsDumpResponse;
 import org.openkilda.messaging.model.BidirectionalFlowDto;
 import org.openkilda.messaging.model.FlowDto;
 import org.openkilda.messaging.model.FlowPairDto;
@@ -524,10 +525,10 @@ public class FlowTopologyTest extends AbstractStormTest {
         assertNotNull(record.value());
 
         InfoMessage infoMessage = objectMapper.readValue(record.value(), InfoMessage.class);
-        FlowReadResponse infoData = (FlowReadResponse) infoMessage.getData();
+        FlowsDumpResponse infoData = (FlowsDumpResponse) infoMessage.getData();
         assertNotNull(infoData);
-        assertNotNull(infoData.getPayload());
-        assertEquals(flowId, infoData.getPayload().getFlowId());
+        assertEquals(1, infoData.getFlows().size());
+        assertEquals(flowId, infoData.getFlows().get(0).getFlowId());
     }
 
     @Test
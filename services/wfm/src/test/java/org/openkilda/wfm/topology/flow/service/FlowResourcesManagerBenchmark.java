@@ -0,0 +1,126 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.service;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPair;
+import org.openkilda.model.FlowResources;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.share.cache.ResourceCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bootstrapping of the resource cache with resources of already existing flows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class FlowResourcesManagerBenchmark {
+    private static final int FLOW_COUNT = 100_000;
+    private static final int SWITCH_COUNT = 500;
+
+    private final List<FlowPair> flows = new ArrayList<>(FLOW_COUNT);
+    private final List<FlowResources> flowResources = new ArrayList<>(FLOW_COUNT * 2);
+
+    /**
+     * Builds flows between switches with resources spread over the pool ranges.
+     */
+    @Setup
+    public void setUp() {
+        int vlanRange = ResourceCache.MAX_VLAN_ID - ResourceCache.MIN_VLAN_ID;
+        int meterRange = ResourceCache.MAX_METER_ID - ResourceCache.MIN_METER_ID;
+
+        for (int i = 0; i < FLOW_COUNT; i++) {
+            Switch srcSwitch = Switch.builder().switchId(new SwitchId(i % SWITCH_COUNT + 1)).build();
+            Switch dstSwitch = Switch.builder().switchId(new SwitchId((i + 1) % SWITCH_COUNT + 1)).build();
+            int cookie = i + 1;
+            int meterId = ResourceCache.MIN_METER_ID + (i / SWITCH_COUNT) % meterRange;
+
+            Flow forward = Flow.builder()
+                    .flowId("flow-" + i)
+                    .srcSwitch(srcSwitch)
+                    .destSwitch(dstSwitch)
+                    .cookie(cookie | Flow.FORWARD_FLOW_COOKIE_MASK)
+                    .transitVlan(ResourceCache.MIN_VLAN_ID + (2 * i) % vlanRange)
+                    .meterId(meterId)
+                    .build();
+            Flow reverse = Flow.builder()
+                    .flowId("flow-" + i)
+                    .srcSwitch(dstSwitch)
+                    .destSwitch(srcSwitch)
+                    .cookie(cookie | Flow.REVERSE_FLOW_COOKIE_MASK)
+                    .transitVlan(ResourceCache.MIN_VLAN_ID + (2 * i + 1) % vlanRange)
+                    .meterId(meterId)
+                    .build();
+            flows.add(FlowPair.builder().forward(forward).reverse(reverse).build());
+            flowResources.add(toFlowResources(forward));
+            flowResources.add(toFlowResources(reverse));
+        }
+    }
+
+    @Benchmark
+    public FlowResourcesManager registerUsedByFlow() {
+        FlowResourcesManager resourcesManager = new FlowResourcesManager(new ResourceCache());
+        for (FlowPair flow : flows) {
+            resourcesManager.registerUsedByFlow(flow);
+        }
+        return resourcesManager;
+    }
+
+    @Benchmark
+    public FlowResourcesManager registerUsedByFlowResources() {
+        FlowResourcesManager resourcesManager = new FlowResourcesManager(new ResourceCache());
+        for (FlowResources resources : flowResources) {
+            resourcesManager.registerUsedByFlow(resources);
+        }
+        return resourcesManager;
+    }
+
+    private FlowResources toFlowResources(Flow flow) {
+        return FlowResources.builder()
+                .flowId(flow.getFlowId())
+                .cookie(flow.getCookie())
+                .transitVlan(flow.getTransitVlan())
+                .meterId(flow.getMeterId())
+                .srcSwitchId(flow.getSrcSwitch().getSwitchId())
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FlowResourcesManagerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
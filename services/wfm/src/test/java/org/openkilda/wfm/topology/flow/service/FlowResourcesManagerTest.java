@@ -22,10 +22,12 @@ import static org.junit.Assert.assertNull;
 import org.openkilda.messaging.model.FlowDto;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPair;
+import org.openkilda.model.FlowResources;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.cache.ResourceCache;
 import org.openkilda.wfm.share.mappers.FlowMapper;
 
+import com.google.common.collect.ImmutableSet;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -131,4 +133,32 @@ public class FlowResourcesManagerTest {
             resourcesManager.allocateFlow(FlowPair.builder().forward(flow4).reverse(flow4).build());
         }
     }
+
+    @Test
+    public void shouldRegisterFlowResources() {
+        resourcesManager.registerUsedByFlow(FlowResources.builder()
+                .flowId("first-flow")
+                .cookie(1 | Flow.FORWARD_FLOW_COOKIE_MASK)
+                .transitVlan(2)
+                .meterId(11)
+                .srcSwitchId(new SwitchId("ff:01"))
+                .build());
+        resourcesManager.registerUsedByFlow(FlowResources.builder()
+                .flowId("first-flow")
+                .cookie(1 | Flow.REVERSE_FLOW_COOKIE_MASK)
+                .transitVlan(3)
+                .meterId(11)
+                .srcSwitchId(new SwitchId("ff:03"))
+                .build());
+        resourcesManager.registerUsedByFlow(FlowResources.builder()
+                .flowId("one-switch-flow")
+                .cookie(2 | Flow.FORWARD_FLOW_COOKIE_MASK)
+                .srcSwitchId(new SwitchId("ff:03"))
+                .build());
+
+        assertEquals(ImmutableSet.of(1, 2), resourcesManager.getAllocatedCookies());
+        assertEquals(ImmutableSet.of(2, 3), resourcesManager.getAllocatedVlans());
+        assertEquals(ImmutableSet.of(11), resourcesManager.getAllocatedMeters().get(new SwitchId("ff:01")));
+        assertEquals(ImmutableSet.of(11), resourcesManager.getAllocatedMeters().get(new SwitchId("ff:03")));
+    }
 }
@@ -16,11 +16,20 @@
 package org.openkilda.wfm.topology.flow.service;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.model.Flow;
@@ -30,6 +39,7 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.PathComputationResult;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.pce.PathPair;
@@ -39,6 +49,8 @@ import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.Neo4jBasedTest;
 import org.openkilda.wfm.share.cache.ResourceCache;
+import org.openkilda.wfm.topology.flow.model.FlowBatchResult;
+import org.openkilda.wfm.topology.flow.model.FlowRerouteResult;
 import org.openkilda.wfm.topology.flow.service.FlowService.ReroutedFlow;
 import org.openkilda.wfm.topology.flow.validation.FlowValidationException;
 import org.openkilda.wfm.topology.flow.validation.FlowValidator;
@@ -47,6 +59,8 @@ import org.openkilda.wfm.topology.flow.validation.SwitchValidationException;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+
 public class FlowServiceTest extends Neo4jBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
     private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
@@ -171,6 +185,110 @@ public class FlowServiceTest extends Neo4jBasedTest {
         assertEquals(flow.getFlowId(), foundFlow.getFlowId());
     }
 
+    @Test
+    public void shouldRerouteFlowsInBatch() throws RecoverableException, UnroutableFlowException,
+            FlowAlreadyExistException, FlowValidationException, SwitchValidationException {
+        PathComputer pathComputer = mock(PathComputer.class);
+        PathComputerFactory pathComputerFactory = mock(PathComputerFactory.class);
+        FlowValidator flowValidator = new FlowValidator(persistenceManager.getRepositoryFactory());
+        when(pathComputerFactory.getPathComputer()).thenReturn(pathComputer);
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+
+        FlowService flowService = new FlowService(persistenceManager,
+                pathComputerFactory, new FlowResourcesManager(new ResourceCache()), flowValidator);
+
+        Flow flow = buildFlow("test-flow", 101);
+        flowService.createFlow(flow, mock(FlowCommandSender.class));
+        flowService.updateFlowStatus(flow.getFlowId(), FlowStatus.UP);
+
+        when(pathComputer.getPaths(any(), eq(true))).thenReturn(singletonList(
+                PathComputationResult.of(flow.getFlowId(), PATH_1_TO_3_VIA_2)));
+
+        FlowCommandSender sender = mock(FlowCommandSender.class);
+        List<FlowRerouteResult> results = flowService.rerouteFlows(
+                asList(flow.getFlowId(), "missing-flow", flow.getFlowId()), false, flowId -> sender);
+
+        assertThat(results, hasSize(3));
+        assertTrue(results.get(0).isSuccessful());
+        assertEquals(PATH_1_TO_3_VIA_2.getForward(),
+                results.get(0).getReroutedFlow().getNewFlow().getForward().getFlowPath());
+        assertThat(results.get(1).getError(), instanceOf(FlowNotFoundException.class));
+        assertSame(results.get(0), results.get(2));
+
+        verify(pathComputer, times(1)).getPaths(any(), eq(true));
+        verify(sender, times(1)).sendUpdateRulesCommand(any());
+    }
+
+    @Test
+    public void shouldCreateFlowsInBatch() throws RecoverableException {
+        PathComputer pathComputer = mock(PathComputer.class);
+        PathComputerFactory pathComputerFactory = mock(PathComputerFactory.class);
+        FlowValidator flowValidator = new FlowValidator(persistenceManager.getRepositoryFactory());
+        when(pathComputerFactory.getPathComputer()).thenReturn(pathComputer);
+
+        FlowService flowService = new FlowService(persistenceManager,
+                pathComputerFactory, new FlowResourcesManager(new ResourceCache()), flowValidator);
+
+        Flow routable = buildFlow("routable-flow", 101);
+        Flow unroutable = buildFlow("unroutable-flow", 201);
+        Flow duplicate = buildFlow("routable-flow", 301);
+        when(pathComputer.getPaths(any(), eq(false))).thenReturn(asList(
+                PathComputationResult.of(routable.getFlowId(), PATH_DIRECT_1_TO_3),
+                PathComputationResult.failed(unroutable.getFlowId(), new UnroutableFlowException("no path"))));
+
+        FlowCommandSender sender = mock(FlowCommandSender.class);
+        List<FlowBatchResult> results = flowService.createFlows(asList(routable, unroutable, duplicate), sender);
+
+        assertThat(results, hasSize(3));
+        assertTrue(results.get(0).isSuccessful());
+        assertEquals(PATH_DIRECT_1_TO_3.getForward(), results.get(0).getFlowPair().getForward().getFlowPath());
+        assertThat(results.get(1).getError(), instanceOf(UnroutableFlowException.class));
+        assertThat(results.get(2).getError(), instanceOf(FlowAlreadyExistException.class));
+
+        verify(sender, times(1)).sendInstallRulesCommand(any());
+        assertTrue(flowService.doesFlowExist(routable.getFlowId()));
+        assertFalse(flowService.doesFlowExist(unroutable.getFlowId()));
+    }
+
+    @Test
+    public void shouldDeleteFlowsInBatch() throws RecoverableException, UnroutableFlowException,
+            FlowAlreadyExistException, FlowValidationException, SwitchValidationException {
+        PathComputer pathComputer = mock(PathComputer.class);
+        PathComputerFactory pathComputerFactory = mock(PathComputerFactory.class);
+        FlowValidator flowValidator = new FlowValidator(persistenceManager.getRepositoryFactory());
+        when(pathComputerFactory.getPathComputer()).thenReturn(pathComputer);
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+
+        FlowService flowService = new FlowService(persistenceManager,
+                pathComputerFactory, new FlowResourcesManager(new ResourceCache()), flowValidator);
+
+        Flow flow = buildFlow("test-flow", 101);
+        flowService.createFlow(flow, mock(FlowCommandSender.class));
+
+        FlowCommandSender sender = mock(FlowCommandSender.class);
+        List<FlowBatchResult> results = flowService.deleteFlows(asList(flow.getFlowId(), "missing-flow"), sender);
+
+        assertThat(results, hasSize(2));
+        assertTrue(results.get(0).isSuccessful());
+        assertThat(results.get(1).getError(), instanceOf(FlowNotFoundException.class));
+
+        verify(sender, times(1)).sendRemoveRulesCommand(any());
+        assertFalse(flowService.doesFlowExist(flow.getFlowId()));
+    }
+
+    private Flow buildFlow(String flowId, int vlan) {
+        return Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(getOrCreateSwitch(SWITCH_ID_1))
+                .srcPort(1)
+                .srcVlan(vlan)
+                .destSwitch(getOrCreateSwitch(SWITCH_ID_3))
+                .destPort(2)
+                .destVlan(vlan + 1)
+                .bandwidth(0)
+                .build();
+    }
+
     private Switch getOrCreateSwitch(SwitchId switchId) {
         SwitchRepository switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         return switchRepository.findById(switchId).orElseGet(() -> {
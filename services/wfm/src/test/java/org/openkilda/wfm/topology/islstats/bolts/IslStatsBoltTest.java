@@ -17,12 +17,17 @@ package org.openkilda.wfm.topology.islstats.bolts;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
-import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.openkilda.messaging.Destination;
-import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
@@ -31,12 +36,17 @@ import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
+import org.apache.storm.Constants;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.tuple.Tuple;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.InOrder;
 
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
 
 public class IslStatsBoltTest {
@@ -73,14 +83,11 @@ public class IslStatsBoltTest {
     public ExpectedException thrown = ExpectedException.none();
 
     @Test
-    public void buildTsdbTuple() throws Exception {
-        List<Object> tsdbTuple = statsBolt.buildTsdbTuple(ISL_INFO_DATA, TIMESTAMP);
-        assertThat(tsdbTuple.size(), is(1));
-
-        Datapoint datapoint = Utils.MAPPER.readValue(tsdbTuple.get(0).toString(), Datapoint.class);
+    public void buildDatapoint() throws Exception {
+        Datapoint datapoint = statsBolt.buildDatapoint(ISL_INFO_DATA, TIMESTAMP);
         assertEquals("pen.isl.latency", datapoint.getMetric());
         assertEquals((Long) TIMESTAMP, datapoint.getTime());
-        assertEquals(LATENCY, datapoint.getValue());
+        assertEquals(LATENCY, datapoint.getValue().intValue());
 
         Map<String, String> pathNode = datapoint.getTags();
         assertEquals(SWITCH1_ID_OTSD_FORMAT, pathNode.get("src_switch"));
@@ -107,4 +114,28 @@ public class IslStatsBoltTest {
         InfoMessage badMessage = new InfoMessage(portData, TIMESTAMP, CORRELATION_ID, null);
         statsBolt.getIslInfoData(statsBolt.getIslInfoData(badMessage.getData()));
     }
+
+    @Test
+    public void shouldAckInputsAfterBatchIsEmitted() {
+        OutputCollector collector = mock(OutputCollector.class);
+        statsBolt.prepare(Collections.emptyMap(), null, collector);
+
+        Tuple input = mockTuple("spout", "default");
+        when(input.getValueByField(KafkaRecordTranslator.FIELD_ID_PAYLOAD)).thenReturn(MESSAGE);
+        statsBolt.execute(input);
+        verify(collector, never()).ack(input);
+
+        statsBolt.execute(mockTuple(Constants.SYSTEM_COMPONENT_ID, Constants.SYSTEM_TICK_STREAM_ID));
+
+        InOrder order = inOrder(collector);
+        order.verify(collector).emit(eq(Collections.singletonList(input)), anyList());
+        order.verify(collector).ack(input);
+    }
+
+    private Tuple mockTuple(String component, String stream) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(component);
+        when(tuple.getSourceStreamId()).thenReturn(stream);
+        return tuple;
+    }
 }
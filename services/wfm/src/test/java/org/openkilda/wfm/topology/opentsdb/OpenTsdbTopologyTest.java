@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.opentsdb;
 import static org.mockserver.integration.ClientAndServer.startClientAndServer;
 import static org.openkilda.messaging.Utils.MAPPER;
 
+import org.openkilda.messaging.codec.DatapointBatchCodec;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.StableAbstractStormTest;
 import org.openkilda.wfm.topology.TestingKafkaBolt;
@@ -35,6 +36,7 @@ import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.verify.VerificationTimes;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
@@ -68,7 +70,7 @@ public class OpenTsdbTopologyTest extends StableAbstractStormTest {
             OpenTsdbTopology topology = new TestingTargetTopology(new TestingKafkaBolt());
 
             sources.addMockData(OpenTsdbTopology.OTSDB_SPOUT_ID,
-                    new Values(MAPPER.writeValueAsString(datapoint)));
+                    new Values(MAPPER.writeValueAsBytes(datapoint)));
             completeTopologyParam.setMockedSources(sources);
 
             StormTopology stormTopology = topology.createTopology();
@@ -83,7 +85,7 @@ public class OpenTsdbTopologyTest extends StableAbstractStormTest {
     @Test
     public void shouldSendDatapointRequestsOnlyOnce() throws Exception {
         Datapoint datapoint = new Datapoint("metric", timestamp, Collections.emptyMap(), 123);
-        String jsonDatapoint = MAPPER.writeValueAsString(datapoint);
+        byte[] jsonDatapoint = MAPPER.writeValueAsBytes(datapoint);
 
         MockedSources sources = new MockedSources();
 
@@ -105,10 +107,10 @@ public class OpenTsdbTopologyTest extends StableAbstractStormTest {
     @Test
     public void shouldSendDatapointRequestsTwice() throws Exception {
         Datapoint datapoint1 = new Datapoint("metric", timestamp, Collections.emptyMap(), 123);
-        String jsonDatapoint1 = MAPPER.writeValueAsString(datapoint1);
+        byte[] jsonDatapoint1 = MAPPER.writeValueAsBytes(datapoint1);
 
         Datapoint datapoint2 = new Datapoint("metric", timestamp, Collections.emptyMap(), 456);
-        String jsonDatapoint2 = MAPPER.writeValueAsString(datapoint2);
+        byte[] jsonDatapoint2 = MAPPER.writeValueAsBytes(datapoint2);
 
         MockedSources sources = new MockedSources();
 
@@ -127,6 +129,30 @@ public class OpenTsdbTopologyTest extends StableAbstractStormTest {
         mockServer.verify(HttpRequest.request(), VerificationTimes.exactly(2));
     }
 
+    @Test
+    public void shouldSendDatapointsOfBatch() throws Exception {
+        Datapoint datapoint1 = new Datapoint("metric", timestamp, Collections.emptyMap(), 123);
+        Datapoint datapoint2 = new Datapoint("metric", timestamp, Collections.emptyMap(), 456);
+        byte[] batch = DatapointBatchCodec.encode(Arrays.asList(datapoint1, datapoint2));
+        byte[] jsonDatapoint1 = MAPPER.writeValueAsBytes(datapoint1);
+
+        MockedSources sources = new MockedSources();
+
+        Testing.withTrackedCluster(clusterParam, (cluster) ->  {
+            OpenTsdbTopology topology = new TestingTargetTopology(new TestingKafkaBolt());
+
+            sources.addMockData(OpenTsdbTopology.OTSDB_SPOUT_ID,
+                    new Values(batch), new Values(jsonDatapoint1));
+            completeTopologyParam.setMockedSources(sources);
+
+            StormTopology stormTopology = topology.createTopology();
+
+            Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
+        });
+        //verify that both datapoints of the batch are sent and the JSON duplicate is filtered out
+        mockServer.verify(HttpRequest.request(), VerificationTimes.exactly(2));
+    }
+
     private class TestingTargetTopology extends OpenTsdbTopology {
 
         private KafkaBolt kafkaBolt;
@@ -0,0 +1,133 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.opentsdb.bolts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SeriesIndexTest {
+    private static final int SWEEP_STEPS = 4;
+
+    @Test
+    public void shouldHashTagsRegardlessOfOrder() {
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("switchid", "00000000000000001");
+        tags.put("port", "1");
+        Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("port", "1");
+        reversed.put("switchid", "00000000000000001");
+
+        assertEquals(SeriesIndex.hash("metric", tags), SeriesIndex.hash("metric", reversed));
+        assertNotEquals(SeriesIndex.hash("metric", tags), SeriesIndex.hash("metric2", tags));
+        assertNotEquals(SeriesIndex.hash("metric", ImmutableMap.of("a", "b", "c", "d")),
+                SeriesIndex.hash("metric", ImmutableMap.of("a", "d", "c", "b")));
+        assertNotEquals(SeriesIndex.hash("metric", Collections.emptyMap()),
+                SeriesIndex.hash("metric", Collections.singletonMap("", "")));
+    }
+
+    @Test
+    public void shouldCompareValues() {
+        SeriesIndex index = new SeriesIndex(SWEEP_STEPS);
+        index.put(1, 100, 5);
+        index.put(2, 100, 0.5);
+        index.put(3, 100, null);
+
+        assertTrue(index.isSameValue(index.find(1), 5L));
+        assertFalse(index.isSameValue(index.find(1), 6));
+        assertFalse(index.isSameValue(index.find(1), 5.0));
+        assertTrue(index.isSameValue(index.find(2), 0.5f));
+        assertTrue(index.isSameValue(index.find(3), null));
+        assertFalse(index.isSameValue(index.find(3), 0));
+    }
+
+    @Test
+    public void shouldKeepEntriesAcrossResizes() {
+        SeriesIndex index = new SeriesIndex(SWEEP_STEPS);
+        for (long key = 1; key <= 10000; key++) {
+            index.put(key * 1024, key, key);
+        }
+
+        assertEquals(10000, index.size());
+        for (long key = 1; key <= 10000; key++) {
+            int slot = index.find(key * 1024);
+            assertTrue(slot >= 0);
+            assertEquals(key, index.getTime(slot));
+        }
+        assertEquals(-1, index.find(1023));
+    }
+
+    @Test
+    public void shouldExpireIncrementally() {
+        SeriesIndex index = new SeriesIndex(SWEEP_STEPS);
+        for (long key = 1; key <= 1000; key++) {
+            index.put(key, key % 2 == 0 ? 10 : 20, 0);
+        }
+
+        int removed = 0;
+        for (int i = 0; i < SWEEP_STEPS; i++) {
+            int step = index.expire(15);
+            assertTrue(step < 500);
+            removed += step;
+        }
+
+        assertEquals(500, removed);
+        assertEquals(500, index.size());
+        for (long key = 1; key <= 1000; key++) {
+            assertEquals(key % 2 != 0, index.find(key) >= 0);
+        }
+    }
+
+    @Test
+    public void shouldFindEntriesShiftedByRemoval() {
+        SeriesIndex index = new SeriesIndex(1);
+        // all keys collide into the same home slot
+        for (long key = 1; key <= 10; key++) {
+            index.put(key << 32, key, 0);
+        }
+
+        index.expire(6);
+
+        assertEquals(5, index.size());
+        for (long key = 6; key <= 10; key++) {
+            assertTrue(index.find(key << 32) >= 0);
+        }
+    }
+
+    @Test
+    public void shouldShrinkAfterExpiration() {
+        SeriesIndex index = new SeriesIndex(1);
+        for (long key = 1; key <= 10000; key++) {
+            index.put(key, 10, 0);
+        }
+        index.put(10001, 20, 0);
+
+        index.expire(15);
+        index.expire(15);
+
+        assertEquals(1, index.size());
+        assertTrue(index.find(10001) >= 0);
+    }
+}
@@ -0,0 +1,53 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.bolt;
+
+import static org.junit.Assert.assertThat;
+
+import org.openkilda.messaging.command.flow.BatchInstallRequest;
+import org.openkilda.messaging.command.flow.InstallEgressFlow;
+import org.openkilda.messaging.command.flow.InstallTransitFlow;
+import org.openkilda.messaging.command.flow.RemoveFlow;
+import org.openkilda.model.OutputVlanType;
+import org.openkilda.model.SwitchId;
+
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+public class FlowFetcherTest {
+    private static final SwitchId SWITCH_ID = new SwitchId(1);
+
+    @Test
+    public void shouldMarkFlowOfSingleCommand() {
+        RemoveFlow command = new RemoveFlow(UUID.randomUUID(), "flow-1", 1L, SWITCH_ID, null, null);
+
+        assertThat(FlowFetcher.getAffectedFlowIds(command), Matchers.contains("flow-1"));
+    }
+
+    @Test
+    public void shouldMarkFlowsOfBatchInstall() {
+        BatchInstallRequest request = new BatchInstallRequest(SWITCH_ID, Arrays.asList(
+                new InstallTransitFlow(UUID.randomUUID(), "flow-1", 1L, SWITCH_ID, 1, 2, 100),
+                new InstallEgressFlow(UUID.randomUUID(), "flow-2", 2L, SWITCH_ID, 1, 3, 101, 0,
+                        OutputVlanType.NONE),
+                new InstallTransitFlow(UUID.randomUUID(), "flow-1", 3L, SWITCH_ID, 2, 1, 100)));
+
+        assertThat(FlowFetcher.getAffectedFlowIds(request), Matchers.containsInAnyOrder("flow-1", "flow-2"));
+    }
+}
@@ -0,0 +1,117 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.ping.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ping timeouts tracking with 100k pings in flight: each operation schedules a new ping and receives a response on
+ * one of the pending pings (every 10th ping is left to time out), time is advanced by 1ms on every 50th operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TimingWheelBenchmark {
+    private static final int IN_FLIGHT = 100_000;
+    private static final int PINGS_PER_MILLI = 50;
+    private static final long TIMEOUT = IN_FLIGHT / PINGS_PER_MILLI;
+
+    private ExpirableMap<Integer, Record> expirableMap;
+    private TimingWheel<Integer, Record> timingWheel;
+
+    private int key;
+    private long now;
+
+    /**
+     * Fills both containers with pending pings.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        expirableMap = new ExpirableMap<>();
+        timingWheel = new TimingWheel<>(100, 0);
+        for (key = 0, now = 0; key < IN_FLIGHT; key++) {
+            expirableMap.add(new Record(key, now + TIMEOUT));
+            timingWheel.add(new Record(key, now + TIMEOUT));
+            if (key % PINGS_PER_MILLI == 0) {
+                now++;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Record> expirableMap() {
+        expirableMap.add(new Record(key, now + TIMEOUT));
+        if (key % 10 != 0) {
+            expirableMap.remove(key - IN_FLIGHT / 2);
+        }
+        return advance() ? expirableMap.expire(now) : null;
+    }
+
+    @Benchmark
+    public List<Record> timingWheel() {
+        timingWheel.add(new Record(key, now + TIMEOUT));
+        if (key % 10 != 0) {
+            timingWheel.remove(key - IN_FLIGHT / 2);
+        }
+        return advance() ? timingWheel.expire(now) : null;
+    }
+
+    private boolean advance() {
+        if (++key % PINGS_PER_MILLI == 0) {
+            now++;
+            return true;
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TimingWheelBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static class Record extends Expirable<Integer> {
+        private final int key;
+
+        Record(int key, long expireAt) {
+            super(expireAt);
+            this.key = key;
+        }
+
+        @Override
+        public Integer getExpirableKey() {
+            return key;
+        }
+    }
+}
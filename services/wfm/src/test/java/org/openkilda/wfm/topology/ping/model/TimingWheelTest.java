@@ -0,0 +1,161 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.ping.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TimingWheelTest {
+    private static final long TICK = 100;
+    private static final long START = 1_000_000;
+
+    @Test
+    public void expireInOrderOfExpirationTime() {
+        TimingWheel<Integer, Record> wheel = new TimingWheel<>(TICK, START);
+        wheel.add(new Record(3, START + 3000));
+        wheel.add(new Record(1, START + 1000));
+        wheel.add(new Record(2, START + 2000));
+
+        Assert.assertEquals(Collections.emptyList(), keys(wheel.expire(START + 999)));
+        Assert.assertEquals(Collections.singletonList(1), keys(wheel.expire(START + 1000)));
+        Assert.assertEquals(2, wheel.size());
+        Assert.assertEquals(Collections.singletonList(2), keys(wheel.expire(START + 2500)));
+        Assert.assertEquals(Collections.singletonList(3), keys(wheel.expire(START + 10000)));
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void removedRecordIsNotExpired() {
+        TimingWheel<Integer, Record> wheel = new TimingWheel<>(TICK, START);
+        Record record = new Record(1, START + 1000);
+        wheel.add(record);
+        wheel.add(new Record(2, START + 1000));
+
+        Assert.assertSame(record, wheel.remove(1));
+        Assert.assertFalse(record.isActive());
+        Assert.assertNull(wheel.remove(1));
+        Assert.assertEquals(1, wheel.size());
+
+        Assert.assertEquals(Collections.singletonList(2), keys(wheel.expire(START + 1000)));
+    }
+
+    @Test
+    public void addIfAbsentKeepsExistingRecord() {
+        TimingWheel<Integer, Record> wheel = new TimingWheel<>(TICK, START);
+        Record first = new Record(1, START + 1000);
+        Assert.assertSame(first, wheel.addIfAbsent(first));
+        Assert.assertSame(first, wheel.addIfAbsent(new Record(1, START + 5000)));
+        Assert.assertSame(first, wheel.get(1));
+
+        Assert.assertEquals(Collections.singletonList(1), keys(wheel.expire(START + 1000)));
+        Assert.assertNull(wheel.get(1));
+    }
+
+    @Test
+    public void putReplacesRecord() {
+        TimingWheel<Integer, Record> wheel = new TimingWheel<>(TICK, START);
+        Record first = new Record(1, START + 1000);
+        wheel.add(first);
+        Assert.assertSame(first, wheel.put(1, new Record(1, START + 5000)));
+
+        Assert.assertEquals(Collections.emptyList(), keys(wheel.expire(START + 4999)));
+        Assert.assertEquals(Collections.singletonList(1), keys(wheel.expire(START + 5000)));
+    }
+
+    @Test
+    public void overdueRecordIsExpiredOnNextCall() {
+        TimingWheel<Integer, Record> wheel = new TimingWheel<>(TICK, START);
+        wheel.expire(START + 5000);
+        wheel.add(new Record(1, START + 1000));
+
+        Assert.assertEquals(Collections.singletonList(1), keys(wheel.expire(START + 5100)));
+    }
+
+    @Test
+    public void distantRecordsAreCascaded() {
+        TimingWheel<Integer, Record> wheel = new TimingWheel<>(1, 0);
+        long[] expireAt = {63, 64, 65, 4095, 4096, 4097, 300000, 16777215, 16777216, 50000000};
+        for (int i = 0; i < expireAt.length; i++) {
+            wheel.add(new Record(i, expireAt[i]));
+        }
+
+        for (int i = 0; i < expireAt.length; i++) {
+            Assert.assertEquals(Collections.emptyList(), keys(wheel.expire(expireAt[i] - 1)));
+            Assert.assertEquals(Collections.singletonList(i), keys(wheel.expire(expireAt[i])));
+        }
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void matchExpirableMapOnRandomLoad() {
+        Random random = new Random(42);
+        TimingWheel<Integer, Record> wheel = new TimingWheel<>(1, 0);
+        List<Record> pending = new ArrayList<>();
+
+        long now = 0;
+        for (int key = 0; key < 5000; key++) {
+            Record record = new Record(key, now + 1 + random.nextInt(200000));
+            wheel.add(record);
+            pending.add(record);
+            if (random.nextInt(3) == 0) {
+                Record removed = pending.remove(random.nextInt(pending.size()));
+                Assert.assertSame(removed, wheel.remove(removed.getExpirableKey()));
+            }
+
+            now += random.nextInt(20);
+            List<Integer> expected = new ArrayList<>();
+            for (Record entry : new ArrayList<>(pending)) {
+                if (entry.getExpireAt() <= now) {
+                    expected.add(entry.getExpirableKey());
+                    pending.remove(entry);
+                }
+            }
+            List<Integer> actual = keys(wheel.expire(now));
+            Collections.sort(expected);
+            Collections.sort(actual);
+            Assert.assertEquals(expected, actual);
+        }
+        Assert.assertEquals(pending.size(), wheel.size());
+    }
+
+    private static List<Integer> keys(List<Record> records) {
+        List<Integer> result = new ArrayList<>();
+        for (Record entry : records) {
+            result.add(entry.getExpirableKey());
+        }
+        return result;
+    }
+
+    private static class Record extends Expirable<Integer> {
+        private final int key;
+
+        Record(int key, long expireAt) {
+            super(expireAt);
+            this.key = key;
+        }
+
+        @Override
+        public Integer getExpirableKey() {
+            return key;
+        }
+    }
+}
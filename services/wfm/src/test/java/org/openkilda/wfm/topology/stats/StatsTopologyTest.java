@@ -23,7 +23,6 @@ import static org.openkilda.messaging.Utils.CORRELATION_ID;
 import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.messaging.Destination;
-import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
 import org.openkilda.messaging.info.Datapoint;
@@ -45,6 +44,7 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.spi.PersistenceProvider;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.EmbeddedNeo4jDatabase;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.StableAbstractStormTest;
@@ -64,9 +64,7 @@ import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 
-import java.io.IOException;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -129,7 +127,7 @@ public class StatsTopologyTest extends StableAbstractStormTest {
         //mock kafka spout
         MockedSources sources = new MockedSources();
         sources.addMockData(StatsComponentType.STATS_OFS_KAFKA_SPOUT.toString(),
-                new Values(MAPPER.writeValueAsString(message)));
+                new Values(message, new CommandContext(message)));
         completeTopologyParam.setMockedSources(sources);
 
         //execute topology
@@ -139,16 +137,13 @@ public class StatsTopologyTest extends StableAbstractStormTest {
 
             //verify results
             Map result = Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
-            ArrayList<FixedTuple> tuples =
-                    (ArrayList<FixedTuple>) result.get(StatsComponentType.PORT_STATS_METRIC_GEN.name());
-            assertThat(tuples.size(), is(728));
-            tuples.stream()
-                    .map(this::readFromJson)
-                    .forEach(datapoint -> {
-                        assertThat(datapoint.getTags().get("switchId"), is(switchId.toString().replaceAll(":", "")));
-                        assertThat(datapoint.getTime(), is(timestamp));
-                        assertThat(datapoint.getMetric(), startsWith("pen.switch"));
-                    });
+            List<Datapoint> datapoints = readDatapoints(result, StatsComponentType.PORT_STATS_METRIC_GEN);
+            assertThat(datapoints.size(), is(728));
+            datapoints.forEach(datapoint -> {
+                assertThat(datapoint.getTags().get("switchId"), is(switchId.toString().replaceAll(":", "")));
+                assertThat(datapoint.getTime(), is(timestamp));
+                assertThat(datapoint.getMetric(), startsWith("pen.switch"));
+            });
         });
     }
 
@@ -163,7 +158,7 @@ public class StatsTopologyTest extends StableAbstractStormTest {
         //mock kafka spout
         MockedSources sources = new MockedSources();
         sources.addMockData(StatsComponentType.STATS_OFS_KAFKA_SPOUT.toString(),
-                new Values(MAPPER.writeValueAsString(message)));
+                new Values(message, new CommandContext(message)));
         sources.addMockData(StatsComponentType.STATS_KILDA_SPEAKER_SPOUT.name(),
                 new Values(MAPPER.writeValueAsString(message))
         );
@@ -177,17 +172,14 @@ public class StatsTopologyTest extends StableAbstractStormTest {
 
             //verify results
             Map result = Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
-            ArrayList<FixedTuple> tuples =
-                    (ArrayList<FixedTuple>) result.get(StatsComponentType.METER_CFG_STATS_METRIC_GEN.name());
-            assertThat(tuples.size(), is(3));
-            tuples.stream()
-                    .map(this::readFromJson)
-                    .forEach(datapoint -> {
-                        assertThat(datapoint.getTags().get("switchid"),
-                                is(switchId.toOtsdFormat()));
-                        assertThat(datapoint.getTime(), is(timestamp));
-                        assertThat(datapoint.getMetric(), is("pen.switch.meters"));
-                    });
+            List<Datapoint> datapoints = readDatapoints(result, StatsComponentType.METER_CFG_STATS_METRIC_GEN);
+            assertThat(datapoints.size(), is(3));
+            datapoints.forEach(datapoint -> {
+                assertThat(datapoint.getTags().get("switchid"),
+                        is(switchId.toOtsdFormat()));
+                assertThat(datapoint.getTime(), is(timestamp));
+                assertThat(datapoint.getMetric(), is("pen.switch.meters"));
+            });
         });
     }
 
@@ -229,7 +221,7 @@ public class StatsTopologyTest extends StableAbstractStormTest {
                 timestamp, CORRELATION_ID, Destination.WFM_STATS);
 
         sources.addMockData(StatsComponentType.STATS_OFS_KAFKA_SPOUT.toString(),
-                new Values(MAPPER.writeValueAsString(message)));
+                new Values(message, new CommandContext(message)));
 
         sources.addMockData(StatsComponentType.STATS_KILDA_SPEAKER_SPOUT.name(),
                 new Values("")
@@ -245,18 +237,15 @@ public class StatsTopologyTest extends StableAbstractStormTest {
             Map result = Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
 
             //verify results which were sent to Kafka bolt
-            ArrayList<FixedTuple> tuples =
-                    (ArrayList<FixedTuple>) result.get(StatsComponentType.FLOW_STATS_METRIC_GEN.name());
-            assertThat(tuples.size(), is(9));
-            tuples.stream()
-                    .map(this::readFromJson)
-                    .forEach(datapoint -> {
-                        if (datapoint.getMetric().equals("pen.flow.packets")) {
-                            assertThat(datapoint.getTags().get("direction"), is("forward"));
-                        }
-                        assertThat(datapoint.getTags().get("flowid"), is(flowId));
-                        assertThat(datapoint.getTime(), is(timestamp));
-                    });
+            List<Datapoint> datapoints = readDatapoints(result, StatsComponentType.FLOW_STATS_METRIC_GEN);
+            assertThat(datapoints.size(), is(9));
+            datapoints.forEach(datapoint -> {
+                if (datapoint.getMetric().equals("pen.flow.packets")) {
+                    assertThat(datapoint.getTags().get("direction"), is("forward"));
+                }
+                assertThat(datapoint.getTags().get("flowid"), is(flowId));
+                assertThat(datapoint.getTime(), is(timestamp));
+            });
         });
     }
 
@@ -304,13 +293,11 @@ public class StatsTopologyTest extends StableAbstractStormTest {
         });
     }
 
-    private Datapoint readFromJson(FixedTuple tuple) {
-        try {
-            return Utils.MAPPER.readValue(tuple.values.get(0).toString(), Datapoint.class);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return null;
+    private List<Datapoint> readDatapoints(Map result, StatsComponentType component) {
+        List<FixedTuple> tuples = (List<FixedTuple>) result.get(component.name());
+        return tuples.stream()
+                .flatMap(tuple -> ((List<Datapoint>) tuple.values.get(0)).stream())
+                .collect(toList());
     }
 
     /**
@@ -335,5 +322,9 @@ public class StatsTopologyTest extends StableAbstractStormTest {
             return kafkaBolt;
         }
 
+        @Override
+        protected KafkaBolt buildDatapointKafkaBolt(String topic) {
+            return kafkaBolt;
+        }
     }
 }
@@ -0,0 +1,112 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
+import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.CACHE_FIELD;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.messaging.info.stats.FlowStatsReply;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.stats.CacheFlowEntry;
+import org.openkilda.wfm.topology.stats.StatsComponentType;
+import org.openkilda.wfm.topology.stats.StatsStreamType;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.tuple.Tuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execute path of {@link FlowMetricGenBolt} for a switch reporting 1000 flow entries, run with GC profiler to see the
+ * allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FlowMetricGenBoltBenchmark {
+    private static final int FLOWS = 1000;
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+
+    private FlowMetricGenBolt bolt;
+    private Tuple input;
+
+    /**
+     * Prepares the bolt and the input tuple. Mocks are stub only, so they don't record invocations.
+     */
+    @Setup
+    public void setUp() {
+        List<FlowStatsEntry> entries = new ArrayList<>(FLOWS);
+        Map<Long, CacheFlowEntry> cache = new HashMap<>();
+        for (int i = 0; i < FLOWS; i++) {
+            long cookie = 0x4000000000000000L + i;
+            entries.add(new FlowStatsEntry(0, cookie, 1000L * i, 64000L * i));
+            cache.put(cookie, new CacheFlowEntry("flow-" + i, SWITCH_ID.toOtsdFormat(), SWITCH_ID.toOtsdFormat()));
+        }
+        InfoMessage message = new InfoMessage(new FlowStatsData(SWITCH_ID,
+                Collections.singletonList(new FlowStatsReply(1, entries))), 1, "benchmark", Destination.WFM_STATS);
+
+        input = mock(Tuple.class, withSettings().stubOnly());
+        when(input.getSourceComponent()).thenReturn(StatsComponentType.STATS_CACHE_BOLT.name());
+        when(input.getSourceStreamId()).thenReturn(StatsStreamType.FLOW_STATS.name());
+        when(input.getValueByField(MESSAGE_FIELD)).thenReturn(message);
+        when(input.getValueByField(CACHE_FIELD)).thenReturn(cache);
+
+        bolt = new FlowMetricGenBolt();
+        bolt.prepare(Collections.emptyMap(), null, mock(OutputCollector.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public void execute() {
+        bolt.execute(input);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FlowMetricGenBoltBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.messaging.info.stats.FlowStatsReply;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.stats.CacheFlowEntry;
+
+import org.apache.storm.task.OutputCollector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class FlowMetricGenBoltTest {
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final long COOKIE = 0x4000000000000001L;
+    private static final String FLOW_ID = "flow";
+
+    private FlowMetricGenBolt bolt;
+
+    @Before
+    public void setUp() {
+        bolt = new FlowMetricGenBolt();
+        bolt.prepare(Collections.emptyMap(), null, mock(OutputCollector.class));
+    }
+
+    @Test
+    public void shouldMakeAllMetricsForOneSwitchFlow() {
+        String sw = SWITCH_ID.toOtsdFormat();
+        List<Datapoint> datapoints = bolt.makeDatapoints(makeStats(), 1,
+                Collections.singletonMap(COOKIE, new CacheFlowEntry(FLOW_ID, sw, sw)));
+
+        assertThat(datapoints, hasSize(9));
+        for (Datapoint datapoint : datapoints) {
+            assertThat(datapoint.getTags().get("flowid"), is(FLOW_ID));
+            assertThat(datapoint.getTags().get("direction"), is("forward"));
+        }
+        assertThat(datapoints.get(0).getTags().get("switchid"), is(sw));
+        assertThat(datapoints.get(2).getValue(), is(3000L * 8));
+    }
+
+    @Test
+    public void shouldMakeRawMetricsForUnknownFlow() {
+        List<Datapoint> datapoints = bolt.makeDatapoints(makeStats(), 1, Collections.emptyMap());
+
+        assertThat(datapoints, hasSize(3));
+        assertThat(datapoints.get(0).getTags().get("flowid"), is("unknown"));
+    }
+
+    @Test
+    public void shouldReuseTagsWhileFlowIsTheSame() {
+        Map<Long, CacheFlowEntry> cache = Collections.singletonMap(COOKIE, new CacheFlowEntry(FLOW_ID));
+        Map<String, String> tags = bolt.makeDatapoints(makeStats(), 1, cache).get(0).getTags();
+
+        assertThat(bolt.makeDatapoints(makeStats(), 2, cache).get(0).getTags(), sameInstance(tags));
+
+        Map<String, String> unknownFlowTags = bolt.makeDatapoints(makeStats(), 3, Collections.emptyMap())
+                .get(0).getTags();
+        assertThat(unknownFlowTags, not(sameInstance(tags)));
+        assertThat(unknownFlowTags.get("flowid"), is("unknown"));
+    }
+
+    private FlowStatsData makeStats() {
+        FlowStatsEntry entry = new FlowStatsEntry(0, COOKIE, 1500L, 3000L);
+        return new FlowStatsData(SWITCH_ID,
+                Collections.singletonList(new FlowStatsReply(1, Collections.singletonList(entry))));
+    }
+}